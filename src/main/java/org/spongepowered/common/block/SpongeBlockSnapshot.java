@@ -91,8 +91,8 @@ public class SpongeBlockSnapshot implements BlockSnapshot {
     private final UUID worldUniqueId;
     private final Vector3i pos;
     private final ImmutableList<ImmutableDataManipulator<?, ?>> extraData;
-    private ImmutableMap<Key<?>, ImmutableValue<?>> keyValueMap;
-    private ImmutableSet<ImmutableValue<?>> valueSet;
+    @Nullable private ImmutableMap<Key<?>, ImmutableValue<?>> keyValueMap;
+    @Nullable private ImmutableSet<ImmutableValue<?>> valueSet;
     private ImmutableList<ImmutableDataManipulator<?, ?>> blockData;
     private ImmutableMap<Key<?>, ImmutableValue<?>> blockKeyValueMap;
     private ImmutableSet<ImmutableValue<?>> blockValueSet;
@@ -116,15 +116,9 @@ public class SpongeBlockSnapshot implements BlockSnapshot {
 
         // This avoids cross contamination of block state based values versus tile entity values.
         // TODO - delegate this to NbtProcessors when schematics are merged.
-        final ImmutableMap.Builder<Key<?>, ImmutableValue<?>> tileBuilder = ImmutableMap.builder();
+        // The tile key/value views are built lazily in getTileMap, most captured snapshots
+        // are only ever used to restore or compare and never have their values queried.
         this.extraData = builder.manipulators == null ? ImmutableList.<ImmutableDataManipulator<?, ?>>of() : ImmutableList.copyOf(builder.manipulators);
-        for (final ImmutableDataManipulator<?, ?> manipulator : this.extraData) {
-            for (final ImmutableValue<?> value : manipulator.getValues()) {
-                tileBuilder.put(value.getKey(), value);
-            }
-        }
-        this.keyValueMap = tileBuilder.build();
-        this.valueSet = this.keyValueMap.isEmpty() ? ImmutableSet.of() : ImmutableSet.copyOf(this.keyValueMap.values());
         this.compound = builder.compound;
         this.changeFlag = builder.flag;
     }
@@ -298,7 +292,7 @@ public DataContainer toContainer() {
             container.set(Constants.Block.BLOCK_EXTENDED_STATE, this.extendedState);
         }
         if (this.compound != null) {
-            container.set(Constants.Sponge.UNSAFE_NBT, NbtTranslator.getInstance().translateFrom(this.compound));
+            container.set(Constants.Sponge.UNSAFE_NBT, NbtTranslator.getInstance().translateFrom(this.compound, true));
         }
         final List<DataView> dataList = DataUtil.getSerializedImmutableManipulatorList(this.extraData);
         if (!dataList.isEmpty()) {
@@ -415,8 +409,9 @@ public BlockSnapshot merge(final BlockSnapshot that, final MergeFunction functio
 
     @Override
     public <E> Optional<E> get(final Key<? extends BaseValue<E>> key) {
-        if (this.keyValueMap.containsKey(key)) {
-            return Optional.of((E) this.keyValueMap.get(key).get());
+        final ImmutableMap<Key<?>, ImmutableValue<?>> tileMap = getTileMap();
+        if (tileMap.containsKey(key)) {
+            return Optional.of((E) tileMap.get(key).get());
         } else if (getKeyValueMap().containsKey(key)) {
             return Optional.of((E) this.blockKeyValueMap.get(key).get());
         }
@@ -471,8 +466,9 @@ private ImmutableMap<Key<?>, ImmutableValue<?>> getTileMap() {
 
     @Override
     public <E, V extends BaseValue<E>> Optional<V> getValue(final Key<V> key) {
-        if (this.keyValueMap.containsKey(key)) {
-            return Optional.of((V) this.keyValueMap.get(key).asMutable());
+        final ImmutableMap<Key<?>, ImmutableValue<?>> tileMap = getTileMap();
+        if (tileMap.containsKey(key)) {
+            return Optional.of((V) tileMap.get(key).asMutable());
         } else if (getKeyValueMap().containsKey(key)) {
             return Optional.of((V) this.blockKeyValueMap.get(key).asMutable());
         }
@@ -482,7 +478,7 @@ public <E, V extends BaseValue<E>> Optional<V> getValue(final Key<V> key) {
     @Override
     public boolean supports(final Key<?> key) {
         checkNotNull(key, "Key");
-        return this.keyValueMap.containsKey(key) || getKeyValueMap().containsKey(key);
+        return getTileMap().containsKey(key) || getKeyValueMap().containsKey(key);
     }
 
     @Override
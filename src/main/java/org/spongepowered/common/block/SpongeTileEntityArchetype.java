@@ -71,7 +71,7 @@ public TileEntityType getTileEntityType() {
 
     @Override
     public DataContainer getTileData() {
-        return NbtTranslator.getInstance().translateFrom(this.data);
+        return NbtTranslator.getInstance().translateFrom(this.data, false);
     }
 
     @Override
@@ -31,6 +31,7 @@
 import net.minecraft.entity.Entity;
 import net.minecraft.tileentity.TileEntity;
 import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.MinecraftException;
 import net.minecraft.world.WorldServer;
 import net.minecraft.world.chunk.Chunk;
 import org.spongepowered.api.block.BlockSnapshot;
@@ -137,6 +138,15 @@ public interface WorldServerBridge {
 
     void bridge$updateConfigCache();
 
+    /**
+     * Saves the level data and queues the dirty chunks of this world to be
+     * saved over the given amount of ticks, rather than saving them now.
+     *
+     * @param interval The amount of ticks to spread the chunk saves over
+     * @throws MinecraftException If the level data could not be saved
+     */
+    void bridge$startIncrementalSave(int interval) throws MinecraftException;
+
     SpongeProxyBlockAccess bridge$getProxyAccess();
 
     SpongeChunkGenerator bridge$getSpongeGenerator();
@@ -29,7 +29,6 @@
 import net.minecraft.world.chunk.Chunk;
 
 import java.util.List;
-import java.util.concurrent.ExecutorService;
 
 public interface WorldServerBridge_AsyncLighting {
 
@@ -37,5 +36,20 @@ public interface WorldServerBridge_AsyncLighting {
 
     boolean asyncLightingBridge$checkLightAsync(EnumSkyBlock lightType, BlockPos pos, Chunk chunk, List<Chunk> neighbors);
 
-    ExecutorService asyncLightingBridge$getLightingExecutor();
+    /**
+     * Gets the loaded chunks around the given chunk, including the diagonal
+     * ones, that a light update in the chunk may read from or write to.
+     *
+     * @param chunk The chunk
+     * @return The neighbor chunks
+     */
+    List<Chunk> asyncLightingBridge$getLightNeighbors(Chunk chunk);
+
+    /**
+     * Stops running light updates for this world, the updates still
+     * queued are discarded.
+     */
+    void asyncLightingBridge$shutdownLighting();
+
+    boolean asyncLightingBridge$isLightingShutdown();
 }
@@ -37,13 +37,13 @@
 import org.spongepowered.api.world.BlockChangeFlag;
 import org.spongepowered.api.world.extent.EntityUniverse;
 import org.spongepowered.common.entity.PlayerTracker;
+import org.spongepowered.common.entity.PlayerTrackerTable;
 import org.spongepowered.common.event.tracking.IPhaseState;
 import org.spongepowered.common.event.tracking.PhaseContext;
 import org.spongepowered.common.event.tracking.context.BlockTransaction;
 
 import javax.annotation.Nullable;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
@@ -51,9 +51,9 @@
 
 public interface ChunkBridge {
 
-    Map<Short, PlayerTracker> bridge$getTrackedShortPlayerPositions();
+    PlayerTrackerTable bridge$getTrackedShortPlayerPositions();
 
-    Map<Integer, PlayerTracker> bridge$getTrackedIntPlayerPositions();
+    PlayerTrackerTable bridge$getTrackedIntPlayerPositions();
 
     Optional<User> bridge$getBlockOwner(BlockPos pos);
 
@@ -72,9 +72,9 @@ public interface ChunkBridge {
 
     void bridge$addTrackedBlockPosition(Block block, BlockPos pos, User user, PlayerTracker.Type trackerType);
 
-    void bridge$setTrackedIntPlayerPositions(Map<Integer, PlayerTracker> trackedPlayerPositions);
+    void bridge$setTrackedIntPlayerPositions(PlayerTrackerTable trackedPlayerPositions);
 
-    void bridge$setTrackedShortPlayerPositions(Map<Short, PlayerTracker> trackedPlayerPositions);
+    void bridge$setTrackedShortPlayerPositions(PlayerTrackerTable trackedPlayerPositions);
 
     void bridge$setNeighbor(Direction direction, Chunk neighbor);
 
@@ -24,9 +24,8 @@
  */
 package org.spongepowered.common.bridge.world.chunk;
 
-import net.minecraft.world.EnumSkyBlock;
+import org.spongepowered.common.world.lighting.ChunkLightQueue;
 
-import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
 
 public interface ChunkBridge_AsyncLighting extends ChunkBridge {
@@ -37,5 +36,5 @@ public interface ChunkBridge_AsyncLighting extends ChunkBridge {
 
     void asyncLightingBridge$setLightUpdateTime(long time);
 
-    Set<Short> asyncLightingBridge$getQueuedLightingUpdates(EnumSkyBlock type);
+    ChunkLightQueue asyncLightingBridge$getLightQueue();
 }
@@ -34,6 +34,7 @@
 import net.minecraft.world.gen.ChunkProviderServer;
 import net.minecraft.world.gen.IChunkGenerator;
 import org.spongepowered.common.world.gen.SpongeChunkGenerator;
+import org.spongepowered.common.world.storage.IncrementalChunkSaver;
 
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
@@ -58,6 +59,15 @@ public interface ChunkProviderServerBridge {
 
     long bridge$getChunkUnloadDelay();
 
+    /**
+     * Gets the saver that spreads auto-saves of this provider's chunks over
+     * the world's auto-save interval, see {@code incremental-auto-save}.
+     *
+     * @return The incremental saver, or null for fake worlds
+     */
+    @Nullable
+    IncrementalChunkSaver bridge$getIncrementalSaver();
+
     /**
      * Used strictly for implementation, because this method
      * is used in various other places, SpongeForge needs to
@@ -69,4 +79,21 @@ public interface ChunkProviderServerBridge {
      * look at ChunkProviderServerMixin#impl$ProvideChunkForced(Chunk, int, int)
      */
     Chunk bridge$loadChunkForce(final int x, final int z);
+
+    /**
+     * Loads the chunk at the given chunk coordinates without blocking the
+     * server thread on disk access. The region file is read and the chunk
+     * NBT is decompressed and data fixed off-thread, after which the chunk
+     * is created and added to the world during the next provider tick.
+     *
+     * <p>Must be called from the server thread. The returned future is
+     * completed on the server thread, with {@code null} if the chunk does
+     * not exist and {@code generate} is {@code false}.</p>
+     *
+     * @param x The chunk x coordinate
+     * @param z The chunk z coordinate
+     * @param generate Whether to generate the chunk if it does not exist
+     * @return The future of the loaded chunk
+     */
+    CompletableFuture<Chunk> bridge$loadChunkAsync(int x, int z, boolean generate);
 }
@@ -24,14 +24,75 @@
  */
 package org.spongepowered.common.bridge.world.chunk.storage;
 
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.util.math.ChunkPos;
 import net.minecraft.world.World;
+import org.spongepowered.common.world.storage.ChunkIOStatistics;
 
+import java.io.IOException;
 import java.nio.file.Path;
 
+import javax.annotation.Nullable;
+
 public interface AnvilChunkLoaderBridge {
 
     // Forge method
     boolean bridge$chunkExists(World world, int x, int z);
 
     Path bridge$getWorldDir();
+
+    /**
+     * Writes the chunk data currently pending for the given position, if
+     * any. Called by the writer threads of the chunk IO engine.
+     *
+     * @param pos The chunk position
+     */
+    void bridge$writeQueuedChunk(ChunkPos pos);
+
+    /**
+     * Reads and decodes the chunk at the given position, keeping the result
+     * until the chunk is loaded. Called by the reader threads of the chunk
+     * IO engine.
+     *
+     * @param x The chunk x coordinate
+     * @param z The chunk z coordinate
+     */
+    void bridge$readAheadChunk(int x, int z);
+
+    /**
+     * Reads, decompresses and data fixes the stored data of a chunk. Safe to
+     * call from any thread, pending saves are not taken into account.
+     *
+     * @param x The chunk x coordinate
+     * @param z The chunk z coordinate
+     * @return The chunk data, or null if the chunk is not stored
+     * @throws IOException If the chunk could not be read
+     */
+    @Nullable NBTTagCompound bridge$readChunkData(int x, int z) throws IOException;
+
+    /**
+     * Gets the counter of queued saves of the chunk, to be passed to
+     * {@link #bridge$offerChunkData(ChunkPos, NBTTagCompound, long)} by
+     * readers that obtained it before reading. The counter is shared with
+     * a few other chunks, but not with the whole world.
+     *
+     * @param x The chunk x coordinate
+     * @param z The chunk z coordinate
+     * @return The save counter
+     */
+    long bridge$getSaveCounter(int x, int z);
+
+    /**
+     * Offers chunk data read off the main thread, to be used by the next
+     * load of the chunk instead of reading it again.
+     *
+     * @param pos The chunk position
+     * @param compound The chunk data
+     * @param saveCounter The save counter obtained before the data was read
+     * @return False if a save was queued since, in which case the data may be stale and is discarded,
+     *     or if loads don't use offered data on this platform
+     */
+    boolean bridge$offerChunkData(ChunkPos pos, NBTTagCompound compound, long saveCounter);
+
+    ChunkIOStatistics bridge$getIOStatistics();
 }
@@ -54,6 +54,7 @@
 import net.minecraft.util.math.RayTraceResult;
 import net.minecraft.world.WorldServer;
 import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.storage.IChunkLoader;
 import ninja.leaping.configurate.commented.CommentedConfigurationNode;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.block.BlockState;
@@ -97,6 +98,7 @@
 import org.spongepowered.common.bridge.world.WorldBridge;
 import org.spongepowered.common.bridge.world.WorldInfoBridge;
 import org.spongepowered.common.bridge.world.chunk.ChunkBridge;
+import org.spongepowered.common.bridge.world.chunk.storage.AnvilChunkLoaderBridge;
 import org.spongepowered.common.config.SpongeConfig;
 import org.spongepowered.common.config.category.MetricsCategory;
 import org.spongepowered.common.config.type.ConfigBase;
@@ -107,7 +109,11 @@
 import org.spongepowered.common.entity.EntityUtil;
 import org.spongepowered.common.event.SpongeEventManager;
 import org.spongepowered.common.mixin.core.world.WorldAccessor;
+import org.spongepowered.common.mixin.core.world.chunk.ChunkProviderServerAccessor;
+import org.spongepowered.common.scheduler.AsyncPluginExecutor;
 import org.spongepowered.common.util.SpongeHooks;
+import org.spongepowered.common.world.lighting.AsyncLightingEngine;
+import org.spongepowered.common.world.storage.ChunkIOStatistics;
 
 import java.io.File;
 import java.net.MalformedURLException;
@@ -224,6 +230,7 @@ public static CommandSpec createSpongeCommand() {
         nonFlagChildren.register(createSpongeTimingsCommand(), "timings");
         nonFlagChildren.register(createSpongeWhichCommand(), "which");
         nonFlagChildren.register(createSpongeMetricsCommand(), "metrics");
+        nonFlagChildren.register(createSpongeSchedulerCommand(), "scheduler");
         flagChildren.register(createSpongeChunksCommand(), "chunks");
         flagChildren.register(createSpongeTPSCommand(), "tps");
         trackerFlagChildren.register(createSpongeConfigCommand(), "config");
@@ -246,6 +253,7 @@ INDENT, title("plugins"), LONG_INDENT, "List currently installed plugins\n",
                 INDENT, title("which"), LONG_INDENT, "List plugins that own a specific command\n",
                 INDENT, title("tps"), LONG_INDENT, "Provides TPS (ticks per second) data for loaded worlds\n",
                 INDENT, title("metrics"), LONG_INDENT, "Gets or sets permission for metric plugins to operate\n",
+                INDENT, title("scheduler"), LONG_INDENT, "Provides asynchronous task statistics per plugin\n",
                 SpongeImplHooks.getAdditionalCommandDescriptions()))
             .arguments(firstParsing(nonFlagChildren,
                 flags().flag("-global", "g")
@@ -404,7 +412,8 @@ protected Text getChunksInfo(final WorldServer worldserver) {
                     if (((WorldBridge) worldserver).bridge$isFake() || worldserver.getWorldInfo() == null) {
                         return Text.of(NEWLINE_TEXT, "Fake world");
                     }
-                    return Text.of(NEWLINE_TEXT, key("DimensionId: "), value(((WorldServerBridge) worldserver).bridge$getDimensionId()), NEWLINE_TEXT,
+                    final Text.Builder builder = Text.builder().append(NEWLINE_TEXT,
+                        key("DimensionId: "), value(((WorldServerBridge) worldserver).bridge$getDimensionId()), NEWLINE_TEXT,
                         key("Loaded chunks: "), value(worldserver.getChunkProvider().getLoadedChunkCount()), NEWLINE_TEXT,
                         key("Active chunks: "), value(worldserver.getChunkProvider().getLoadedChunks().size()), NEWLINE_TEXT,
                         key("Entities: "), value(worldserver.loadedEntityList.size()), NEWLINE_TEXT,
@@ -412,6 +421,28 @@ protected Text getChunksInfo(final WorldServer worldserver) {
                         key("Removed Entities:"), value(((WorldAccessor) worldserver).accessor$getUnloadedEntityList().size()), NEWLINE_TEXT,
                         key("Removed Tile Entities: "), value(((WorldAccessor) worldserver).accessor$getTileEntitiesToBeRemoved()), NEWLINE_TEXT
                     );
+                    final IChunkLoader chunkLoader = ((ChunkProviderServerAccessor) worldserver.getChunkProvider()).accessor$getChunkLoader();
+                    if (chunkLoader instanceof AnvilChunkLoaderBridge) {
+                        final ChunkIOStatistics statistics = ((AnvilChunkLoaderBridge) chunkLoader).bridge$getIOStatistics();
+                        builder.append(
+                            key("Chunk writes: "), value(statistics.getWrites()), NEWLINE_TEXT,
+                            key("Coalesced chunk writes: "), value(statistics.getCoalescedWrites()), NEWLINE_TEXT,
+                            key("Chunk write time (mean/max): "), value(THREE_DECIMAL_DIGITS_FORMATTER.format(statistics.getAverageWriteMillis())
+                                + "ms/" + THREE_DECIMAL_DIGITS_FORMATTER.format(statistics.getMaxWriteMillis()) + "ms"), NEWLINE_TEXT,
+                            key("Chunks read ahead (used): "), value(statistics.getReadAheads() + " (" + statistics.getReadAheadHits() + ")"),
+                            NEWLINE_TEXT
+                        );
+                    }
+                    if (SpongeImpl.getGlobalConfigAdapter().getConfig().getModules().useOptimizations()
+                        && SpongeImpl.getGlobalConfigAdapter().getConfig().getOptimizations().useAsyncLighting()) {
+                        final AsyncLightingEngine lighting = AsyncLightingEngine.getInstance();
+                        builder.append(
+                            key("Queued light updates (all worlds): "), value(lighting.getQueuedUpdates()), NEWLINE_TEXT,
+                            key("Light update lag (mean/max): "), value(THREE_DECIMAL_DIGITS_FORMATTER.format(lighting.getAverageLagMillis())
+                                + "ms/" + THREE_DECIMAL_DIGITS_FORMATTER.format(lighting.getMaxLagMillis()) + "ms"), NEWLINE_TEXT
+                        );
+                    }
+                    return builder.build();
                 }
             })
             .build();
@@ -880,6 +911,34 @@ private static Long mean(final long[] values) {
         return mean;
     }
 
+    private static CommandSpec createSpongeSchedulerCommand() {
+        return CommandSpec.builder()
+            .permission("sponge.command.scheduler")
+            .description(Text.of("Provides asynchronous task statistics per plugin."))
+            .arguments(optional(plugin(PLUGIN_KEY)))
+            .executor((src, args) -> {
+                final Collection<PluginContainer> plugins = args.getAll(PLUGIN_KEY);
+                final List<AsyncPluginExecutor> executors = SpongeImpl.getScheduler().getAsyncPluginExecutors().stream()
+                    .filter(executor -> plugins.isEmpty() || plugins.contains(executor.getPlugin()))
+                    .sorted(Comparator.comparing(executor -> executor.getPlugin().getId()))
+                    .collect(Collectors.toList());
+                if (executors.isEmpty()) {
+                    src.sendMessage(Text.of("No asynchronous tasks have been submitted yet."));
+                    return CommandResult.empty();
+                }
+                for (final AsyncPluginExecutor executor : executors) {
+                    src.sendMessage(Text.of("Plugin [", TextColors.DARK_GREEN, executor.getPlugin().getId(), TextColors.RESET,
+                        "] Queued: ", TextColors.LIGHT_PURPLE, executor.getQueuedTasks(), TextColors.RESET,
+                        ", Running: ", TextColors.LIGHT_PURPLE, executor.getRunningTasks(), TextColors.RESET,
+                        ", Completed: ", TextColors.LIGHT_PURPLE, executor.getCompletedTasks(), TextColors.RESET,
+                        ", Rejected: ", TextColors.RED, executor.getRejectedTasks(), TextColors.RESET,
+                        ", Mean wait: ", TextColors.RED, THREE_DECIMAL_DIGITS_FORMATTER.format(executor.getAverageQueueWait() * 1.0e-6d), "ms"));
+                }
+                return CommandResult.success();
+            })
+            .build();
+    }
+
     /**
      * Creates a new instance of the Sponge help command.
      *
@@ -33,8 +33,13 @@ public class AsyncLightingCategory extends ConfigCategory {
     @Setting(value = "enabled", comment = "If 'true', lighting updates are run asynchronously.")
     private boolean enabled = true;
 
-    @Setting(value = "num-threads", comment = "The amount of threads to dedicate for asynchronous lighting updates. (Default: 2)")
-    private int numAsyncThreads = 2;
+    @Setting(value = "num-threads", comment = "The amount of threads to dedicate for asynchronous lighting updates. The threads are \n"
+                                            + "shared by all worlds. 0 will use half of the available processors. (Default: 0)")
+    private int numAsyncThreads = 0;
+
+    @Setting(value = "batch-size", comment = "The maximum amount of queued light updates of a chunk processed at once, before \n"
+                                           + "the light threads move on to other chunks. (Default: 256)")
+    private int batchSize = 256;
 
     public boolean isEnabled() {
         return this.enabled;
@@ -43,4 +48,8 @@ public boolean isEnabled() {
     public int getNumThreads() {
         return this.numAsyncThreads;
     }
+
+    public int getBatchSize() {
+        return this.batchSize;
+    }
 }
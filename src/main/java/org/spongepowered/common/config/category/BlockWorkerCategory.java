@@ -0,0 +1,63 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.config.category;
+
+import ninja.leaping.configurate.objectmapping.Setting;
+import ninja.leaping.configurate.objectmapping.serialize.ConfigSerializable;
+
+@ConfigSerializable
+public class BlockWorkerCategory extends ConfigCategory {
+
+    @Setting(value = "parallel-reduce", comment = "If 'true', reductions over block buffers and immutable block volumes are split \n"
+                                                + "along chunk section boundaries and run on the common fork-join pool. World backed \n"
+                                                + "volumes are always reduced on the calling thread. Every split starts from the \n"
+                                                + "same identity and is combined with the merge function, so this breaks plugins \n"
+                                                + "reducing into a mutable identity. (Default: false)")
+    private boolean parallelReduce = false;
+
+    @Setting(value = "parallel-threshold", comment = "The amount of blocks a volume has to contain before a reduction over it is split \n"
+                                                   + "into parallel tasks. (Default: 32768)")
+    private int parallelThreshold = 32768;
+
+    @Setting(value = "batched-world-writes", comment = "If 'true', block workers writing into a world and schematics being pasted collect \n"
+                                                     + "their changes first, throw one event per kind of change, write each chunk section \n"
+                                                     + "directly and relight and resend each chunk once, instead of setting every block \n"
+                                                     + "individually. Blocks are placed without running their placement or break logic, \n"
+                                                     + "so this should only be enabled on servers using block workers or schematics for \n"
+                                                     + "building or restoring regions.")
+    private boolean batchedWorldWrites = false;
+
+    public boolean isParallelReduce() {
+        return this.parallelReduce;
+    }
+
+    public int getParallelThreshold() {
+        return this.parallelThreshold;
+    }
+
+    public boolean isBatchedWorldWrites() {
+        return this.batchedWorldWrites;
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.config.category;
+
+import ninja.leaping.configurate.objectmapping.Setting;
+import ninja.leaping.configurate.objectmapping.serialize.ConfigSerializable;
+
+@ConfigSerializable
+public class ChunkIOCategory extends ConfigCategory {
+
+    @Setting(value = "enabled", comment = "If 'true', chunks are written by a pool of writer threads instead of the single \n"
+                                        + "Vanilla file IO thread. Writes are sharded by region file, so chunks of the same \n"
+                                        + "region are always written in order by the same thread.")
+    private boolean enabled = false;
+
+    @Setting(value = "writer-threads", comment = "The amount of threads to dedicate to writing chunks. (Default: 2)")
+    private int writerThreads = 2;
+
+    @Setting(value = "read-ahead", comment = "If 'true', the neighbours of a chunk loaded from disk are read and decoded \n"
+                                           + "asynchronously, so they are ready once they are requested.")
+    private boolean readAhead = true;
+
+    @Setting(value = "read-ahead-threads", comment = "The amount of threads to dedicate to reading chunks ahead. (Default: 1)")
+    private int readAheadThreads = 1;
+
+    @Setting(value = "read-ahead-cache-size", comment = "The maximum amount of chunks read ahead per world that are kept \n"
+                                                      + "until they are requested. (Default: 256)")
+    private int readAheadCacheSize = 256;
+
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    public int getWriterThreads() {
+        return this.writerThreads;
+    }
+
+    public boolean isReadAheadEnabled() {
+        return this.readAhead;
+    }
+
+    public int getReadAheadThreads() {
+        return this.readAheadThreads;
+    }
+
+    public int getReadAheadCacheSize() {
+        return this.readAheadCacheSize;
+    }
+}
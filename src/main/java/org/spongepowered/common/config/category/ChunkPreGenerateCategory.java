@@ -0,0 +1,67 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.config.category;
+
+import ninja.leaping.configurate.objectmapping.Setting;
+import ninja.leaping.configurate.objectmapping.serialize.ConfigSerializable;
+
+@ConfigSerializable
+public class ChunkPreGenerateCategory extends ConfigCategory {
+
+    @Setting(value = "read-ahead", comment = "If 'true', chunk pre-generation checks which chunks already exist, and reads \n"
+                                           + "those that do, on a pool of worker threads ahead of the server thread. Terrain \n"
+                                           + "generation and population still run one chunk at a time on the server thread, \n"
+                                           + "so this only speeds up areas that are already partially generated.")
+    private boolean readAhead = false;
+
+    @Setting(value = "worker-threads", comment = "The amount of threads used to read ahead of pre-generation. \n"
+                                               + "0 will use the amount of available processors. (Default: 0)")
+    private int workerThreads = 0;
+
+    @Setting(value = "in-flight-chunks", comment = "The maximum amount of chunk groups pre-generation reads \n"
+                                                 + "ahead of the server thread. (Default: 64)")
+    private int inFlightChunks = 64;
+
+    @Setting(value = "checkpoint-interval", comment = "The interval, in seconds, at which the progress of a pre-generation task \n"
+                                                    + "is saved to the world directory. A task started again for the same area \n"
+                                                    + "resumes from the last checkpoint. 0 disables checkpoints. (Default: 0)")
+    private int checkpointInterval = 0;
+
+    public boolean isReadAhead() {
+        return this.readAhead;
+    }
+
+    public int getWorkerThreads() {
+        return this.workerThreads;
+    }
+
+    public int getInFlightChunks() {
+        return this.inFlightChunks;
+    }
+
+    public int getCheckpointInterval() {
+        return this.checkpointInterval;
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.config.category;
+
+import ninja.leaping.configurate.objectmapping.Setting;
+import ninja.leaping.configurate.objectmapping.serialize.ConfigSerializable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@ConfigSerializable
+public class EventDispatchCategory extends ConfigCategory {
+
+    @Setting(value = "compiled", comment = "If 'true', events that are posted often are dispatched through a class generated \n"
+                                         + "for their event type, which calls every listener in order without looking them up \n"
+                                         + "again. The class is generated again when listeners are registered or unregistered.")
+    private boolean compiled = false;
+
+    @Setting(value = "compile-threshold", comment = "The amount of times an event type has to be posted before its dispatcher \n"
+                                                  + "is generated. (Default: 100)")
+    private int compileThreshold = 100;
+
+    @Setting(value = "untracked-listener-plugins", comment = "The ids of plugins whose listeners never change the world while handling \n"
+                                                           + "an event. Their listeners are called without entering a listener phase, \n"
+                                                           + "so block changes and spawns made by them will not be captured. Only \n"
+                                                           + "applies to events dispatched through a generated class, see 'compiled'.")
+    private List<String> untrackedListenerPlugins = new ArrayList<>();
+
+    public boolean isCompiled() {
+        return this.compiled;
+    }
+
+    public int getCompileThreshold() {
+        return this.compileThreshold;
+    }
+
+    public List<String> getUntrackedListenerPlugins() {
+        return this.untrackedListenerPlugins;
+    }
+}
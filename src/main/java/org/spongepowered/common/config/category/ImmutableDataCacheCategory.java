@@ -0,0 +1,54 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.config.category;
+
+import ninja.leaping.configurate.objectmapping.Setting;
+import ninja.leaping.configurate.objectmapping.serialize.ConfigSerializable;
+
+@ConfigSerializable
+public class ImmutableDataCacheCategory extends ConfigCategory {
+
+    @Setting(value = "manipulator-cache-size", comment = "The maximum amount of immutable data manipulators kept for reuse. (Default: 100000)")
+    private int manipulatorCacheSize = 100000;
+
+    @Setting(value = "value-cache-size", comment = "The maximum amount of immutable values kept for reuse. (Default: 100000)")
+    private int valueCacheSize = 100000;
+
+    @Setting(value = "weak-values", comment = "If 'true', cached immutable data is also dropped as soon as nothing else references \n"
+                                            + "it, trading fewer reuses for a smaller heap.")
+    private boolean weakValues = false;
+
+    public int getManipulatorCacheSize() {
+        return this.manipulatorCacheSize;
+    }
+
+    public int getValueCacheSize() {
+        return this.valueCacheSize;
+    }
+
+    public boolean useWeakValues() {
+        return this.weakValues;
+    }
+}
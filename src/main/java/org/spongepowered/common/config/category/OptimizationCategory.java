@@ -55,6 +55,28 @@ public class OptimizationCategory extends ConfigCategory {
     @Setting(value = "async-lighting", comment = "Runs lighting updates asynchronously.")
     private AsyncLightingCategory asyncLightingCategory = new AsyncLightingCategory();
 
+    @Setting(value = "chunk-io", comment = "Writes and reads chunks on a pool of threads.")
+    private ChunkIOCategory chunkIOCategory = new ChunkIOCategory();
+
+    @Setting(value = "chunk-pre-generate", comment = "Configuration options related to chunk pre-generation tasks.")
+    private ChunkPreGenerateCategory chunkPreGenerateCategory = new ChunkPreGenerateCategory();
+
+    @Setting(value = "event-dispatch", comment = "Configuration options related to posting events to plugin listeners.")
+    private EventDispatchCategory eventDispatchCategory = new EventDispatchCategory();
+
+    @Setting(value = "block-worker", comment = "Configuration options related to block volume workers.")
+    private BlockWorkerCategory blockWorkerCategory = new BlockWorkerCategory();
+
+    @Setting(value = "immutable-data-cache", comment = "Configuration options related to the reuse of immutable data manipulators and values.")
+    private ImmutableDataCacheCategory immutableDataCacheCategory = new ImmutableDataCacheCategory();
+
+    @Setting(value = "nbt-backed-data-views", comment = "If 'true', the unsafe NBT of snapshots, archetypes, entities, items and \n"
+                                                        + "tile entities is exposed through views backed directly by the compound \n"
+                                                        + "instead of being copied in to memory views up front. These views only \n"
+                                                        + "accept values that can be stored as NBT, and lists of booleans read back \n"
+                                                        + "as bytes, so plugins relying on either can break.")
+    private boolean nbtBackedDataViews = false;
+
     @Setting(value = "eigen-redstone", comment = "Uses theosib's redstone algorithms to completely overhaul the way redstone works.")
     private EigenRedstoneCategory eigenRedstonCategory = new EigenRedstoneCategory();
 
@@ -167,6 +189,30 @@ public boolean useAsyncLighting() {
         return this.asyncLightingCategory.isEnabled();
     }
 
+    public ChunkIOCategory getChunkIOCategory() {
+        return this.chunkIOCategory;
+    }
+
+    public ChunkPreGenerateCategory getChunkPreGenerateCategory() {
+        return this.chunkPreGenerateCategory;
+    }
+
+    public EventDispatchCategory getEventDispatchCategory() {
+        return this.eventDispatchCategory;
+    }
+
+    public BlockWorkerCategory getBlockWorkerCategory() {
+        return this.blockWorkerCategory;
+    }
+
+    public ImmutableDataCacheCategory getImmutableDataCacheCategory() {
+        return this.immutableDataCacheCategory;
+    }
+
+    public boolean useNbtBackedDataViews() {
+        return this.nbtBackedDataViews;
+    }
+
     public EigenRedstoneCategory getEigenRedstoneCategory() {
         return this.eigenRedstonCategory;
     }
@@ -0,0 +1,85 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.config.category;
+
+import ninja.leaping.configurate.objectmapping.Setting;
+import ninja.leaping.configurate.objectmapping.serialize.ConfigSerializable;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@ConfigSerializable
+public class SchedulerCategory extends ConfigCategory {
+
+    public static final String EXECUTOR_WORK_STEALING = "work-stealing";
+    public static final String EXECUTOR_CACHED = "cached";
+    public static final String EXECUTOR_VIRTUAL = "virtual";
+
+    @Setting(value = "async-executor", comment = "The executor used to run asynchronous plugin tasks. (Default: work-stealing) \n"
+                                               + "'work-stealing' runs tasks on a bounded pool of 'async-threads' threads. \n"
+                                               + "'cached' creates a new thread whenever all existing threads are busy. \n"
+                                               + "'virtual' runs every task on its own virtual thread, this requires a Java \n"
+                                               + "runtime with virtual thread support and falls back to 'work-stealing' otherwise. \n"
+                                               + "Sponge's own asynchronous work always runs on a separate pool.")
+    private String asyncExecutor = EXECUTOR_WORK_STEALING;
+
+    @Setting(value = "async-threads", comment = "The amount of threads used by the 'work-stealing' executor. \n"
+                                              + "If '0', twice the amount of available processors is used. (Default: 0)")
+    private int asyncThreads = 0;
+
+    @Setting(value = "max-running-tasks-per-plugin", comment = "The maximum amount of asynchronous tasks of a single plugin that may run \n"
+                                                             + "at the same time. Further tasks wait until one has finished. \n"
+                                                             + "If '0', half of the 'work-stealing' threads are used so a single plugin \n"
+                                                             + "blocking its tasks can never occupy the whole pool, the other executors \n"
+                                                             + "are not limited. If '-1', there is no limit. (Default: 0)")
+    private int maxRunningTasks = 0;
+
+    @Setting(value = "max-queued-tasks-per-plugin", comment = "The maximum amount of asynchronous tasks of a single plugin that may wait \n"
+                                                            + "for a free slot. Tasks submitted beyond this limit are rejected. \n"
+                                                            + "If '0', there is no limit. (Default: 0)")
+    private int maxQueuedTasks = 0;
+
+    @Setting(value = "plugin-max-running-tasks", comment = "Per plugin id overrides of 'max-running-tasks-per-plugin'.")
+    private Map<String, Integer> pluginMaxRunningTasks = new HashMap<>();
+
+    @Setting(value = "plugin-max-queued-tasks", comment = "Per plugin id overrides of 'max-queued-tasks-per-plugin'.")
+    private Map<String, Integer> pluginMaxQueuedTasks = new HashMap<>();
+
+    public String getAsyncExecutor() {
+        return this.asyncExecutor;
+    }
+
+    public int getAsyncThreads() {
+        return this.asyncThreads;
+    }
+
+    public int getMaxRunningTasks(String pluginId) {
+        return this.pluginMaxRunningTasks.getOrDefault(pluginId, this.maxRunningTasks);
+    }
+
+    public int getMaxQueuedTasks(String pluginId) {
+        return this.pluginMaxQueuedTasks.getOrDefault(pluginId, this.maxQueuedTasks);
+    }
+}
@@ -46,6 +46,10 @@ public class SpawnerCategory extends ConfigCategory {
     private int tickRateAquatic = 1;
     @Setting(value = "tick-rate-monster", comment = "The monster spawning tick rate. Default: 1")
     private int tickRateMonster = 1;
+    @Setting(value = "spawn-search-budget", comment = "The maximum amount of milliseconds spent searching for spawn positions \n"
+                                                   + "in a single tick. Chunks not reached are tried first in the next tick. \n"
+                                                   + "Set to 0 to disable. (Default: 0)")
+    private int spawnSearchBudget = 0;
 
     public SpawnerCategory() {
         
@@ -82,4 +86,8 @@ public int getAquaticTickRate() {
     public int getMonsterTickRate() {
         return this.tickRateMonster;
     }
+
+    public int getSpawnSearchBudget() {
+        return this.spawnSearchBudget;
+    }
 }
@@ -40,6 +40,15 @@ public class WorldCategory extends ConfigCategory {
                                                    + "Note: 20 ticks is equivalent to 1 second.")
     private int autoSaveInterval = 900;
 
+    @Setting(value = "incremental-auto-save", comment = "If 'true', the dirty chunks of this world are saved a few at a time over the \n"
+                                                     + "whole auto-save-interval, the chunks that went the longest without a save first, \n"
+                                                     + "instead of all of them in the tick the interval elapses.")
+    private boolean incrementalAutoSave = false;
+
+    @Setting(value = "auto-save-tick-budget", comment = "The maximum amount of milliseconds spent saving chunks in a single tick when \n"
+                                                     + "incremental-auto-save is enabled. (Default: 5)")
+    private int autoSaveTickBudget = 5;
+
     @Setting(value = "mob-spawn-range", comment = "Specifies the radius (in chunks) of where creatures will spawn. \n"
                                                 + "This value is capped to the current view distance setting in server.properties")
     private int mobSpawnRange = 4;
@@ -105,6 +114,11 @@ public class WorldCategory extends ConfigCategory {
     @Setting(value = "weather-ice-and-snow", comment = "If 'true', natural formation of ice and snow in supported biomes will be allowed.")
     private boolean weatherIceAndSnow = true;
 
+    @Setting(value = "mapped-region-files", comment = "If 'true', chunks are read from region files through memory mapped region \n"
+                                                    + "headers and a single positional read per chunk into a reused buffer, instead \n"
+                                                    + "of seeking and reading into new arrays for every chunk. Writes are unaffected.")
+    private boolean mappedRegionFiles = false;
+
     public static final int USE_SERVER_VIEW_DISTANCE = -1;
     @Setting(
             value = "view-distance",
@@ -131,6 +145,14 @@ public int getAutoSaveInterval() {
         return this.autoSaveInterval;
     }
 
+    public boolean useIncrementalAutoSave() {
+        return this.incrementalAutoSave;
+    }
+
+    public int getAutoSaveTickBudget() {
+        return this.autoSaveTickBudget;
+    }
+
     public boolean isWorldEnabled() {
         return this.worldEnabled;
     }
@@ -219,6 +241,10 @@ public boolean getWeatherIceAndSnow() {
         return this.weatherIceAndSnow;
     }
 
+    public boolean useMappedRegionFiles() {
+        return this.mappedRegionFiles;
+    }
+
     public int getViewDistance() {
         return this.viewDistance;
     }
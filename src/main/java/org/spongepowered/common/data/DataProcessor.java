@@ -55,6 +55,20 @@
 
     boolean supports(DataHolder dataHolder);
 
+    /**
+     * Checks if this processor may {@link #supports(DataHolder) support}
+     * holders of the given class at all. This must only return false if
+     * {@link #supports(DataHolder)} is false for every instance of the class,
+     * it is used to build the per class dispatch tables of
+     * {@link org.spongepowered.common.data.util.DataProcessorDelegate}s.
+     *
+     * @param holderClass The exact class of the holder
+     * @return False if no holder of the class can be supported
+     */
+    default boolean isApplicableTo(Class<?> holderClass) {
+        return true;
+    }
+
     boolean supports(EntityType entityType);
 
     /**
@@ -28,15 +28,17 @@
 
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
-import org.spongepowered.api.CatalogType;
+import com.google.common.cache.CacheStats;
 import org.spongepowered.api.data.key.Key;
 import org.spongepowered.api.data.manipulator.ImmutableDataManipulator;
 import org.spongepowered.api.data.value.BaseValue;
 import org.spongepowered.api.data.value.immutable.ImmutableValue;
 import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.config.category.ImmutableDataCacheCategory;
 
 import java.lang.reflect.InvocationTargetException;
 import java.util.Arrays;
+import java.util.Objects;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 
@@ -48,15 +50,12 @@ private ImmutableDataCachingUtil() {}
     public static final int MANIPULATOR_CACHE_LIMIT = 100000;
     public static final int VALUE_CACHE_LIMIT = 100000;
 
-    private static final Cache<String, ImmutableDataManipulator<?, ?>> manipulatorCache = CacheBuilder.newBuilder()
-        .maximumSize(MANIPULATOR_CACHE_LIMIT)
-        .concurrencyLevel(4)
-        .build();
-
-    private static final Cache<String, ImmutableValue<?>> valueCache = CacheBuilder.newBuilder()
-        .concurrencyLevel(4)
-        .maximumSize(VALUE_CACHE_LIMIT)
-        .build();
+    /**
+     * Reusable lookup keys, a cache hit only compares against these and
+     * never allocates a key of its own. Inserts store a private copy.
+     */
+    private static final ThreadLocal<ManipulatorKey> manipulatorProbe = ThreadLocal.withInitial(ManipulatorKey::new);
+    private static final ThreadLocal<ValueKey> valueProbe = ThreadLocal.withInitial(ValueKey::new);
 
     /**
      * Retrieves a basic manipulator from {@link Cache}. If the {@link Cache}
@@ -75,11 +74,20 @@ private ImmutableDataCachingUtil() {}
      */
     @SuppressWarnings("unchecked")
     public static <T extends ImmutableDataManipulator<?, ?>> T getManipulator(final Class<T> immutableClass, final Object... args) {
-        final String key = getKey(immutableClass, args);
+        final ManipulatorKey probe = manipulatorProbe.get().set(immutableClass, args);
+        final ImmutableDataManipulator<?, ?> cached;
+        try {
+            cached = Caches.manipulatorCache.getIfPresent(probe);
+        } finally {
+            probe.clear();
+        }
+        if (cached != null) {
+            return (T) cached;
+        }
         // We can't really use the generic typing here because it's complicated...
         try {
-            // Let's get the key
-            return (T) ImmutableDataCachingUtil.manipulatorCache.get(key, (Callable<ImmutableDataManipulator<?, ?>>) () -> {
+            return (T) Caches.manipulatorCache.get(new ManipulatorKey().set(immutableClass, args.clone()),
+                (Callable<ImmutableDataManipulator<?, ?>>) () -> {
                     try {
                         return createUnsafeInstance(immutableClass, args);
                     } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
@@ -97,9 +105,18 @@ private ImmutableDataCachingUtil() {}
     @SuppressWarnings("unchecked")
     public static <E, V extends ImmutableValue<?>, T extends ImmutableValue<E>> T getValue(final Class<V> valueClass,
             final Key<? extends BaseValue<E>> usedKey, final E defaultArg, final E arg, final Object... extraArgs) {
-        final String key = getKey(valueClass, usedKey.getQuery().asString('.'), arg.getClass(), arg);
+        final ValueKey probe = valueProbe.get().set(valueClass, usedKey, defaultArg, arg);
+        final ImmutableValue<?> cached;
         try {
-            return (T) ImmutableDataCachingUtil.valueCache.get(key, (Callable<ImmutableValue<?>>) () -> {
+            cached = Caches.valueCache.getIfPresent(probe);
+        } finally {
+            probe.clear();
+        }
+        if (cached != null) {
+            return (T) cached;
+        }
+        try {
+            return (T) Caches.valueCache.get(new ValueKey().set(valueClass, usedKey, defaultArg, arg), (Callable<ImmutableValue<?>>) () -> {
                     try {
                         if (extraArgs == null || extraArgs.length == 0) {
                             return createUnsafeInstance(valueClass, usedKey, defaultArg, arg);
@@ -115,15 +132,146 @@ public static <E, V extends ImmutableValue<?>, T extends ImmutableValue<E>> T ge
         }
     }
 
-    private static String getKey(final Class<?> immutableClass, final Object... args) {
-        final StringBuilder builder = new StringBuilder(immutableClass.getCanonicalName() + ":");
-        for (Object object : args) {
-            if (object instanceof CatalogType) {
-                builder.append("{").append(((CatalogType) object).getId()).append("}");
-            } else {
-                builder.append("{").append(object.toString()).append("}");
+    public static CacheStats getManipulatorCacheStats() {
+        return Caches.manipulatorCache.stats();
+    }
+
+    public static CacheStats getValueCacheStats() {
+        return Caches.valueCache.stats();
+    }
+
+    public static long getManipulatorCacheSize() {
+        return Caches.manipulatorCache.size();
+    }
+
+    public static long getValueCacheSize() {
+        return Caches.valueCache.size();
+    }
+
+    /**
+     * Holds the caches so they are only built, and the config only read, on
+     * first use rather than whenever this class happens to be loaded.
+     */
+    private static final class Caches {
+
+        static final Cache<ManipulatorKey, ImmutableDataManipulator<?, ?>> manipulatorCache;
+        static final Cache<ValueKey, ImmutableValue<?>> valueCache;
+
+        static {
+            int manipulatorLimit = MANIPULATOR_CACHE_LIMIT;
+            int valueLimit = VALUE_CACHE_LIMIT;
+            boolean weakValues = false;
+            if (SpongeImpl.isInitialized()) {
+                final ImmutableDataCacheCategory category =
+                    SpongeImpl.getGlobalConfigAdapter().getConfig().getOptimizations().getImmutableDataCacheCategory();
+                manipulatorLimit = Math.max(0, category.getManipulatorCacheSize());
+                valueLimit = Math.max(0, category.getValueCacheSize());
+                weakValues = category.useWeakValues();
+            }
+            manipulatorCache = newCache(manipulatorLimit, weakValues);
+            valueCache = newCache(valueLimit, weakValues);
+        }
+
+        private static <K, V> Cache<K, V> newCache(final int limit, final boolean weakValues) {
+            final CacheBuilder<Object, Object> builder = CacheBuilder.newBuilder()
+                .concurrencyLevel(4)
+                .maximumSize(limit)
+                .recordStats();
+            if (weakValues) {
+                builder.weakValues();
             }
+            return builder.build();
+        }
+
+        private Caches() {}
+    }
+
+    private static final class ManipulatorKey {
+
+        private Class<?> type;
+        private Object[] args;
+        private int hash;
+
+        ManipulatorKey set(final Class<?> type, final Object[] args) {
+            this.type = type;
+            this.args = args;
+            this.hash = 31 * type.hashCode() + Arrays.deepHashCode(args);
+            return this;
+        }
+
+        void clear() {
+            this.type = null;
+            this.args = null;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof ManipulatorKey)) {
+                return false;
+            }
+            final ManipulatorKey other = (ManipulatorKey) obj;
+            return this.hash == other.hash
+                   && this.type == other.type
+                   && Arrays.deepEquals(this.args, other.args);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hash;
+        }
+    }
+
+    private static final class ValueKey {
+
+        private Class<?> type;
+        private Key<?> key;
+        private Object defaultArg;
+        private Object arg;
+        private int hash;
+
+        ValueKey set(final Class<?> type, final Key<?> key, final Object defaultArg, final Object arg) {
+            this.type = type;
+            this.key = key;
+            this.defaultArg = defaultArg;
+            this.arg = arg;
+            int hash = type.hashCode();
+            hash = 31 * hash + key.hashCode();
+            hash = 31 * hash + Objects.hashCode(defaultArg);
+            hash = 31 * hash + arg.hashCode();
+            this.hash = hash;
+            return this;
+        }
+
+        void clear() {
+            this.type = null;
+            this.key = null;
+            this.defaultArg = null;
+            this.arg = null;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof ValueKey)) {
+                return false;
+            }
+            final ValueKey other = (ValueKey) obj;
+            return this.hash == other.hash
+                   && this.type == other.type
+                   && this.key.equals(other.key)
+                   && this.arg.getClass() == other.arg.getClass()
+                   && this.arg.equals(other.arg)
+                   && Objects.equals(this.defaultArg, other.defaultArg);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hash;
         }
-        return builder.toString();
     }
 }
@@ -35,7 +35,16 @@
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
-import com.google.common.collect.Maps;
+import it.unimi.dsi.fastutil.doubles.DoubleArrayList;
+import it.unimi.dsi.fastutil.doubles.DoubleList;
+import it.unimi.dsi.fastutil.doubles.DoubleLists;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
+import it.unimi.dsi.fastutil.ints.IntLists;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongList;
+import it.unimi.dsi.fastutil.longs.LongLists;
+import it.unimi.dsi.fastutil.objects.Object2ObjectLinkedOpenHashMap;
 import org.apache.commons.lang3.ArrayUtils;
 import org.spongepowered.api.CatalogType;
 import org.spongepowered.api.Sponge;
@@ -48,6 +57,8 @@
 import org.spongepowered.api.data.persistence.DataTranslator;
 import org.spongepowered.api.data.value.BaseValue;
 import org.spongepowered.api.util.Coerce;
+import org.spongepowered.common.data.persistence.NbtDataView;
+import org.spongepowered.common.data.util.DataQueryCache;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -67,26 +78,56 @@
  */
 public class MemoryDataView implements DataView {
 
-    protected final Map<String, Object> map = Maps.newLinkedHashMap();
+    /**
+     * Most views only hold a handful of entries, so the default open addressing
+     * map starts out small instead of with the usual sixteen buckets.
+     */
+    private static final int INITIAL_CAPACITY = 4;
+
+    /**
+     * Collections of a single boxed number type at least this large are
+     * stored as primitive lists.
+     */
+    private static final int UNBOXED_LIST_THRESHOLD = 8;
+
+    protected final Map<String, Object> map;
     private final DataContainer container;
     private final DataView parent;
     private final DataQuery path;
     private final DataView.SafetyMode safety;
 
     MemoryDataView(DataView.SafetyMode safety) {
+        this(safety, new Object2ObjectLinkedOpenHashMap<>(INITIAL_CAPACITY));
+    }
+
+    /**
+     * Creates a root view storing its entries in the provided map, allowing
+     * subclasses to back a view with something other than a plain
+     * {@link java.util.LinkedHashMap}.
+     *
+     * @param safety The safety mode
+     * @param map The backing map
+     */
+    protected MemoryDataView(DataView.SafetyMode safety, Map<String, Object> map) {
         checkState(this instanceof DataContainer, "Cannot construct a root MemoryDataView without a container!");
         this.path = of();
         this.parent = this;
         this.container = (DataContainer) this;
         this.safety = checkNotNull(safety, "Safety mode");
+        this.map = checkNotNull(map, "map");
     }
 
     private MemoryDataView(DataView parent, DataQuery path, DataView.SafetyMode safety) {
+        this(parent, path, safety, new Object2ObjectLinkedOpenHashMap<>(INITIAL_CAPACITY));
+    }
+
+    protected MemoryDataView(DataView parent, DataQuery path, DataView.SafetyMode safety, Map<String, Object> map) {
         checkArgument(path.getParts().size() >= 1, "Path must have at least one part");
         this.parent = parent;
         this.container = parent.getContainer();
         this.path = parent.getCurrentPath().then(path);
         this.safety = checkNotNull(safety, "Safety mode");
+        this.map = checkNotNull(map, "map");
     }
 
     @Override
@@ -115,13 +156,13 @@ public Set<DataQuery> getKeys(boolean deep) {
         ImmutableSet.Builder<DataQuery> builder = ImmutableSet.builder();
 
         for (Map.Entry<String, Object> entry : this.map.entrySet()) {
-            builder.add(of(entry.getKey()));
+            builder.add(DataQueryCache.of(entry.getKey()));
         }
         if (deep) {
             for (Map.Entry<String, Object> entry : this.map.entrySet()) {
                 if (entry.getValue() instanceof DataView) {
                     for (DataQuery query : ((DataView) entry.getValue()).getKeys(true)) {
-                        builder.add(of(entry.getKey()).then(query));
+                        builder.add(DataQueryCache.of(entry.getKey()).then(query));
                     }
                 }
             }
@@ -148,12 +189,17 @@ public final boolean contains(DataQuery path) {
         checkNotNull(path, "path");
         List<String> queryParts = path.getParts();
 
-        String key = queryParts.get(0);
-        if (queryParts.size() == 1) {
-            return this.map.containsKey(key);
+        // Walk down nested memory views directly rather than popping a new query per level
+        final int sz = queryParts.size();
+        MemoryDataView view = this;
+        for (int i = 0; i < sz - 1; i++) {
+            final Object child = view.map.get(queryParts.get(i));
+            if (!(child instanceof MemoryDataView)) {
+                return child instanceof DataView && ((DataView) child).contains(DataQuery.of(queryParts.subList(i + 1, sz)));
+            }
+            view = (MemoryDataView) child;
         }
-        Optional<DataView> subViewOptional = this.getUnsafeView(key);
-        return subViewOptional.isPresent() && subViewOptional.get().contains(path.popFirst());
+        return view.map.containsKey(queryParts.get(sz - 1));
     }
 
     @Override
@@ -187,42 +233,45 @@ public Optional<Object> get(DataQuery path) {
             return Optional.<Object>of(this);
         }
 
-        String key = queryParts.get(0);
-        if (sz == 1) {
-            final Object object = this.map.get(key);
-            if (object == null) {
-                return Optional.empty();
+        // Walk down nested memory views directly rather than popping a new query per level
+        MemoryDataView view = this;
+        for (int i = 0; i < sz - 1; i++) {
+            final Object child = view.map.get(queryParts.get(i));
+            if (!(child instanceof MemoryDataView)) {
+                return child instanceof DataView ? ((DataView) child).get(DataQuery.of(queryParts.subList(i + 1, sz))) : Optional.empty();
             }
-            if (this.safety == SafetyMode.ALL_DATA_CLONED) {
-                if (object.getClass().isArray()) {
-                    if (object instanceof byte[]) {
-                        return Optional.<Object>of(ArrayUtils.clone((byte[]) object));
-                    } else if (object instanceof short[]) {
-                        return Optional.<Object>of(ArrayUtils.clone((short[]) object));
-                    } else if (object instanceof int[]) {
-                        return Optional.<Object>of(ArrayUtils.clone((int[]) object));
-                    } else if (object instanceof long[]) {
-                        return Optional.<Object>of(ArrayUtils.clone((long[]) object));
-                    } else if (object instanceof float[]) {
-                        return Optional.<Object>of(ArrayUtils.clone((float[]) object));
-                    } else if (object instanceof double[]) {
-                        return Optional.<Object>of(ArrayUtils.clone((double[]) object));
-                    } else if (object instanceof boolean[]) {
-                        return Optional.<Object>of(ArrayUtils.clone((boolean[]) object));
-                    } else {
-                        return Optional.<Object>of(ArrayUtils.clone((Object[]) object));
-                    }
-                }
-            }
-            return Optional.of(object);
+            view = (MemoryDataView) child;
         }
-        Optional<DataView> subViewOptional = this.getUnsafeView(key);
-        if (!subViewOptional.isPresent()) {
+        return view.getLocal(queryParts.get(sz - 1));
+    }
+
+    private Optional<Object> getLocal(String key) {
+        final Object object = this.map.get(key);
+        if (object == null) {
             return Optional.empty();
         }
-        DataView subView = subViewOptional.get();
-        return subView.get(path.popFirst());
-
+        if (this.safety == SafetyMode.ALL_DATA_CLONED) {
+            if (object.getClass().isArray()) {
+                if (object instanceof byte[]) {
+                    return Optional.<Object>of(ArrayUtils.clone((byte[]) object));
+                } else if (object instanceof short[]) {
+                    return Optional.<Object>of(ArrayUtils.clone((short[]) object));
+                } else if (object instanceof int[]) {
+                    return Optional.<Object>of(ArrayUtils.clone((int[]) object));
+                } else if (object instanceof long[]) {
+                    return Optional.<Object>of(ArrayUtils.clone((long[]) object));
+                } else if (object instanceof float[]) {
+                    return Optional.<Object>of(ArrayUtils.clone((float[]) object));
+                } else if (object instanceof double[]) {
+                    return Optional.<Object>of(ArrayUtils.clone((double[]) object));
+                } else if (object instanceof boolean[]) {
+                    return Optional.<Object>of(ArrayUtils.clone((boolean[]) object));
+                } else {
+                    return Optional.<Object>of(ArrayUtils.clone((Object[]) object));
+                }
+            }
+        }
+        return Optional.of(object);
     }
 
     @Override
@@ -243,9 +292,9 @@ public DataView set(DataQuery path, Object value) {
         }
 
         List<String> parts = path.getParts();
-        String key = parts.get(0);
+        String key = DataQueryCache.intern(parts.get(0));
         if (parts.size() > 1) {
-            DataQuery subQuery = of(key);
+            DataQuery subQuery = DataQueryCache.of(key);
             Optional<DataView> subViewOptional = this.getUnsafeView(subQuery);
             DataView subView;
             if (!subViewOptional.isPresent()) {
@@ -254,11 +303,17 @@ public DataView set(DataQuery path, Object value) {
             } else {
                 subView = subViewOptional.get();
             }
-            subView.set(path.popFirst(), value);
+            subView.set(DataQueryCache.popFirst(path), value);
             return this;
         }
         if (value instanceof DataView) {
             checkArgument(value != this, "Cannot set a DataView to itself.");
+            if (value instanceof NbtDataView && !this.map.containsKey(key)) {
+                // Copying the backing compound is far cheaper than walking the view,
+                // existing views are still merged in to below
+                this.map.put(key, ((NbtDataView) value).copyTo(this, DataQueryCache.of(key)));
+                return this;
+            }
             // always have to copy a data view to avoid overwriting existing
             // views and to set the interior path correctly.
             copyDataView(path, (DataView) value);
@@ -314,6 +369,11 @@ public <E> DataView set(Key<? extends BaseValue<E>> key, E value) {
 
     @SuppressWarnings({"unchecked", "rawtypes"})
     private void setCollection(String key, Collection<?> value) {
+        final List<?> unboxed = unboxed(value);
+        if (unboxed != null) {
+            this.map.put(key, unboxed);
+            return;
+        }
         ImmutableList.Builder<Object> builder = ImmutableList.builder();
         @Nullable DataManager manager;
 
@@ -363,6 +423,41 @@ private void setCollection(String key, Collection<?> value) {
         this.map.put(key, builder.build());
     }
 
+    /**
+     * Copies a collection made up of a single boxed number type in to an
+     * unmodifiable primitive list, saving the boxes of large lists.
+     *
+     * @param value The collection to copy
+     * @return The primitive list, or null if the collection is not eligible
+     */
+    @Nullable
+    private static List<?> unboxed(Collection<?> value) {
+        if (value.size() < UNBOXED_LIST_THRESHOLD) {
+            return null;
+        }
+        final Class<?> type = value.iterator().next().getClass();
+        if (type != Integer.class && type != Long.class && type != Double.class) {
+            return null;
+        }
+        for (Object object : value) {
+            if (object.getClass() != type) {
+                return null;
+            }
+        }
+        if (type == Integer.class) {
+            final IntList list = new IntArrayList(value.size());
+            value.forEach(object -> list.add(((Integer) object).intValue()));
+            return IntLists.unmodifiable(list);
+        } else if (type == Long.class) {
+            final LongList list = new LongArrayList(value.size());
+            value.forEach(object -> list.add(((Long) object).longValue()));
+            return LongLists.unmodifiable(list);
+        }
+        final DoubleList list = new DoubleArrayList(value.size());
+        value.forEach(object -> list.add(((Double) object).doubleValue()));
+        return DoubleLists.unmodifiable(list);
+    }
+
     @SuppressWarnings("rawtypes")
     private ImmutableList<Object> ensureSerialization(Collection<?> collection) {
         ImmutableList.Builder<Object> objectBuilder = ImmutableList.builder();
@@ -397,7 +492,7 @@ private ImmutableList<Object> ensureSerialization(Collection<?> collection) {
     }
 
     private void setMap(String key, Map<?, ?> value) {
-        DataView view = createView(of(key));
+        DataView view = createView(DataQueryCache.of(key));
         for (Map.Entry<?, ?> entry : value.entrySet()) {
             view.set(of(entry.getKey().toString()), entry.getValue());
         }
@@ -422,7 +517,7 @@ public DataView remove(DataQuery path) {
                 return this;
             }
             DataView subView = subViewOptional.get();
-            subView.remove(path.popFirst());
+            subView.remove(DataQueryCache.popFirst(path));
         } else {
             this.map.remove(parts.get(0));
         }
@@ -438,23 +533,35 @@ public DataView createView(DataQuery path) {
 
         checkArgument(sz != 0, "The size of the query must be at least 1");
 
-        String key = queryParts.get(0);
-        DataQuery keyQuery = of(key);
+        DataQuery keyQuery = DataQueryCache.of(queryParts.get(0));
+        String key = keyQuery.getParts().get(0);
 
         if (sz == 1) {
-            DataView result = new MemoryDataView(this, keyQuery, this.safety);
+            DataView result = createChildView(this, keyQuery);
             this.map.put(key, result);
             return result;
         }
-        DataQuery subQuery = path.popFirst();
+        DataQuery subQuery = DataQueryCache.popFirst(path);
         DataView subView = (DataView) this.map.get(key);
         if (subView == null) {
-            subView = new MemoryDataView(this.parent, keyQuery, this.safety);
+            subView = createChildView(this.parent, keyQuery);
             this.map.put(key, subView);
         }
         return subView.createView(subQuery);
     }
 
+    /**
+     * Creates the child view that {@link #createView(DataQuery)} stores under
+     * the given key. The returned view is put in to the backing map as is.
+     *
+     * @param parent The parent of the new view
+     * @param key The single part key of the new view
+     * @return The new view
+     */
+    protected DataView createChildView(DataView parent, DataQuery key) {
+        return new MemoryDataView(parent, key, this.safety);
+    }
+
     @Override
     public DataView createView(DataQuery path, Map<?, ?> map) {
         checkNotNull(path, "path");
@@ -521,14 +628,6 @@ private Optional<DataView> getUnsafeView(DataQuery path) {
         return get(path).filter(obj -> obj instanceof DataView).map(obj -> (DataView) obj);
     }
 
-    private Optional<DataView> getUnsafeView(String path) {
-        final Object object = this.map.get(path);
-        if (!(object instanceof DataView)) {
-            return Optional.empty();
-        }
-        return Optional.of((DataView) object);
-    }
-
 
     @Override
     public Optional<Boolean> getBoolean(DataQuery path) {
@@ -653,7 +752,7 @@ public Optional<List<Short>> getShortList(DataQuery path) {
 
     @Override
     public Optional<List<Integer>> getIntegerList(DataQuery path) {
-        return getUnsafeList(path).map(list ->
+        return getUnsafeList(path).map(list -> list instanceof IntList ? new IntArrayList((IntList) list) :
                 list.stream()
                         .map(Coerce::asInteger)
                         .filter(Optional::isPresent)
@@ -664,7 +763,7 @@ public Optional<List<Integer>> getIntegerList(DataQuery path) {
 
     @Override
     public Optional<List<Long>> getLongList(DataQuery path) {
-        return getUnsafeList(path).map(list ->
+        return getUnsafeList(path).map(list -> list instanceof LongList ? new LongArrayList((LongList) list) :
                 list.stream()
                         .map(Coerce::asLong)
                         .filter(Optional::isPresent)
@@ -686,7 +785,7 @@ public Optional<List<Float>> getFloatList(DataQuery path) {
 
     @Override
     public Optional<List<Double>> getDoubleList(DataQuery path) {
-        return getUnsafeList(path).map(list ->
+        return getUnsafeList(path).map(list -> list instanceof DoubleList ? new DoubleArrayList((DoubleList) list) :
                 list.stream()
                         .map(Coerce::asDouble)
                         .filter(Optional::isPresent)
@@ -843,7 +942,9 @@ public boolean equals(@Nullable Object obj) {
         if (this == obj) {
             return true;
         }
-        if (obj == null || getClass() != obj.getClass()) {
+        // Views backed by different maps are still equal when their contents are,
+        // but a container is never equal to a plain view.
+        if (!(obj instanceof MemoryDataView) || (this instanceof DataContainer) != (obj instanceof DataContainer)) {
             return false;
         }
         final MemoryDataView other = (MemoryDataView) obj;
@@ -139,6 +139,20 @@
      */
     boolean supports(ValueContainer<?> container);
 
+    /**
+     * Checks if this processor may {@link #supports(ValueContainer) support}
+     * containers of the given class at all. This must only return false if
+     * {@link #supports(ValueContainer)} is false for every instance of the
+     * class, it is used to build the per class dispatch tables of
+     * {@link org.spongepowered.common.data.util.ValueProcessorDelegate}s.
+     *
+     * @param containerClass The exact class of the container
+     * @return False if no container of the class can be supported
+     */
+    default boolean isApplicableTo(Class<?> containerClass) {
+        return true;
+    }
+
     /**
      * Offers the provided {@link BaseValue} containing a value of the
      * appropriate value type of this {@link ValueProcessor} to offer
@@ -0,0 +1,634 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.data.persistence;
+
+import it.unimi.dsi.fastutil.doubles.DoubleArrayList;
+import it.unimi.dsi.fastutil.doubles.DoubleList;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongList;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import org.spongepowered.api.data.DataContainer;
+import org.spongepowered.api.data.DataQuery;
+import org.spongepowered.api.data.DataSerializable;
+import org.spongepowered.api.data.DataView;
+import org.spongepowered.api.data.persistence.DataFormat;
+import org.spongepowered.api.data.persistence.InvalidDataFormatException;
+import org.spongepowered.common.SpongeCatalogType;
+import org.spongepowered.common.data.util.DataQueryCache;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.Nullable;
+
+/**
+ * A compact binary {@link DataFormat}. Data is streamed without building an
+ * intermediate tree, using variable length integers, unboxed primitive arrays
+ * and lists, and a string table so repeated keys and values are only written
+ * once per stream.
+ *
+ * <p>Strings are prefixed with a header, 0 for a new string that is added to
+ * the table, 1 for a string that is too long to be worth a table entry, or
+ * the table index plus 2 for a string that was written before.</p>
+ */
+public final class BinaryDataFormat extends SpongeCatalogType implements DataFormat {
+
+    private static final int MAGIC = 0x53504442; // SPDB
+    private static final int VERSION = 1;
+    private static final int MAX_TABLE_STRING_LENGTH = 256;
+    private static final int BUFFER_SIZE = 8192;
+
+    private static final byte END = 0;
+    private static final byte NULL = 1;
+    private static final byte FALSE = 2;
+    private static final byte TRUE = 3;
+    private static final byte BYTE = 4;
+    private static final byte SHORT = 5;
+    private static final byte CHAR = 6;
+    private static final byte INT = 7;
+    private static final byte LONG = 8;
+    private static final byte FLOAT = 9;
+    private static final byte DOUBLE = 10;
+    private static final byte STRING = 11;
+    private static final byte VIEW = 12;
+    private static final byte LIST = 13;
+    private static final byte MAP = 14;
+    private static final byte BYTE_ARRAY = 15;
+    private static final byte SHORT_ARRAY = 16;
+    private static final byte INT_ARRAY = 17;
+    private static final byte LONG_ARRAY = 18;
+    private static final byte FLOAT_ARRAY = 19;
+    private static final byte DOUBLE_ARRAY = 20;
+    private static final byte BOOLEAN_ARRAY = 21;
+    private static final byte INT_LIST = 22;
+    private static final byte LONG_LIST = 23;
+    private static final byte DOUBLE_LIST = 24;
+
+    public BinaryDataFormat(String id) {
+        super(id);
+    }
+
+    @Override
+    public String getName() {
+        return "Binary";
+    }
+
+    @Override
+    public DataContainer readFrom(InputStream input) throws InvalidDataFormatException, IOException {
+        try (Reader reader = new Reader(input)) {
+            return reader.readContainer();
+        }
+    }
+
+    public DataContainer readFrom(ReadableByteChannel channel) throws InvalidDataFormatException, IOException {
+        return readFrom(Channels.newInputStream(channel));
+    }
+
+    @Override
+    public void writeTo(OutputStream output, DataView data) throws IOException {
+        try (Writer writer = new Writer(output)) {
+            writer.writeContainer(data);
+        }
+    }
+
+    public void writeTo(WritableByteChannel channel, DataView data) throws IOException {
+        writeTo(Channels.newOutputStream(channel), data);
+    }
+
+    private static final class Writer implements AutoCloseable {
+
+        private final DataOutputStream out;
+        private final Object2IntOpenHashMap<String> strings = new Object2IntOpenHashMap<>();
+
+        Writer(OutputStream output) {
+            this.out = new DataOutputStream(output instanceof BufferedOutputStream ? output : new BufferedOutputStream(output, BUFFER_SIZE));
+            this.strings.defaultReturnValue(-1);
+        }
+
+        void writeContainer(DataView view) throws IOException {
+            this.out.writeInt(MAGIC);
+            this.out.writeByte(VERSION);
+            writeEntries(view);
+        }
+
+        private void writeEntries(DataView view) throws IOException {
+            // Not getValues, which would turn every nested view in to a map first
+            for (DataQuery key : view.getKeys(false)) {
+                final Object value = view.get(key).orElse(null);
+                final byte type = typeOf(value);
+                this.out.writeByte(type);
+                writeString(key.asString('.'));
+                writePayload(type, value);
+            }
+            this.out.writeByte(END);
+        }
+
+        private static byte typeOf(@Nullable Object value) {
+            if (value == null) {
+                return NULL;
+            } else if (value instanceof Boolean) {
+                return (Boolean) value ? TRUE : FALSE;
+            } else if (value instanceof Byte) {
+                return BYTE;
+            } else if (value instanceof Short) {
+                return SHORT;
+            } else if (value instanceof Character) {
+                return CHAR;
+            } else if (value instanceof Integer) {
+                return INT;
+            } else if (value instanceof Long) {
+                return LONG;
+            } else if (value instanceof Float) {
+                return FLOAT;
+            } else if (value instanceof Double) {
+                return DOUBLE;
+            } else if (value instanceof String) {
+                return STRING;
+            } else if (value instanceof DataView || value instanceof DataSerializable) {
+                return VIEW;
+            } else if (value instanceof IntList) {
+                return INT_LIST;
+            } else if (value instanceof LongList) {
+                return LONG_LIST;
+            } else if (value instanceof DoubleList) {
+                return DOUBLE_LIST;
+            } else if (value instanceof Collection || value instanceof Object[]) {
+                return LIST;
+            } else if (value instanceof Map) {
+                return MAP;
+            } else if (value instanceof byte[]) {
+                return BYTE_ARRAY;
+            } else if (value instanceof short[]) {
+                return SHORT_ARRAY;
+            } else if (value instanceof int[]) {
+                return INT_ARRAY;
+            } else if (value instanceof long[]) {
+                return LONG_ARRAY;
+            } else if (value instanceof float[]) {
+                return FLOAT_ARRAY;
+            } else if (value instanceof double[]) {
+                return DOUBLE_ARRAY;
+            } else if (value instanceof boolean[]) {
+                return BOOLEAN_ARRAY;
+            }
+            throw new IllegalArgumentException("Unable to translate object to binary: " + value);
+        }
+
+        private void writeValue(@Nullable Object value) throws IOException {
+            final byte type = typeOf(value);
+            this.out.writeByte(type);
+            writePayload(type, value);
+        }
+
+        private void writePayload(byte type, @Nullable Object value) throws IOException {
+            final DataOutputStream out = this.out;
+            switch (type) {
+                case NULL:
+                case FALSE:
+                case TRUE:
+                    break;
+                case BYTE:
+                    out.writeByte((Byte) value);
+                    break;
+                case SHORT:
+                    writeVarInt(zigZag((Short) value));
+                    break;
+                case CHAR:
+                    writeVarInt((Character) value);
+                    break;
+                case INT:
+                    writeVarInt(zigZag((Integer) value));
+                    break;
+                case LONG:
+                    writeVarLong(zigZag((Long) value));
+                    break;
+                case FLOAT:
+                    out.writeFloat((Float) value);
+                    break;
+                case DOUBLE:
+                    out.writeDouble((Double) value);
+                    break;
+                case STRING:
+                    writeString((String) value);
+                    break;
+                case VIEW:
+                    writeEntries(value instanceof DataView ? (DataView) value : ((DataSerializable) value).toContainer());
+                    break;
+                case INT_LIST: {
+                    final IntList list = (IntList) value;
+                    writeVarInt(list.size());
+                    for (int i = 0; i < list.size(); i++) {
+                        writeVarInt(zigZag(list.getInt(i)));
+                    }
+                    break;
+                }
+                case LONG_LIST: {
+                    final LongList list = (LongList) value;
+                    writeVarInt(list.size());
+                    for (int i = 0; i < list.size(); i++) {
+                        writeVarLong(zigZag(list.getLong(i)));
+                    }
+                    break;
+                }
+                case DOUBLE_LIST: {
+                    final DoubleList list = (DoubleList) value;
+                    writeVarInt(list.size());
+                    for (int i = 0; i < list.size(); i++) {
+                        out.writeDouble(list.getDouble(i));
+                    }
+                    break;
+                }
+                case LIST: {
+                    final Collection<?> collection = value instanceof Object[] ? Arrays.asList((Object[]) value) : (Collection<?>) value;
+                    writeVarInt(collection.size());
+                    for (Object element : collection) {
+                        writeValue(element);
+                    }
+                    break;
+                }
+                case MAP: {
+                    final Map<?, ?> map = (Map<?, ?>) value;
+                    writeVarInt(map.size());
+                    for (Map.Entry<?, ?> entry : map.entrySet()) {
+                        final Object key = entry.getKey();
+                        writeValue(key instanceof DataQuery ? ((DataQuery) key).asString('.') : key);
+                        writeValue(entry.getValue());
+                    }
+                    break;
+                }
+                case BYTE_ARRAY: {
+                    final byte[] array = (byte[]) value;
+                    writeVarInt(array.length);
+                    out.write(array);
+                    break;
+                }
+                case SHORT_ARRAY: {
+                    final short[] array = (short[]) value;
+                    writeVarInt(array.length);
+                    for (short element : array) {
+                        out.writeShort(element);
+                    }
+                    break;
+                }
+                case INT_ARRAY: {
+                    final int[] array = (int[]) value;
+                    writeVarInt(array.length);
+                    for (int element : array) {
+                        writeVarInt(zigZag(element));
+                    }
+                    break;
+                }
+                case LONG_ARRAY: {
+                    final long[] array = (long[]) value;
+                    writeVarInt(array.length);
+                    for (long element : array) {
+                        writeVarLong(zigZag(element));
+                    }
+                    break;
+                }
+                case FLOAT_ARRAY: {
+                    final float[] array = (float[]) value;
+                    writeVarInt(array.length);
+                    for (float element : array) {
+                        out.writeFloat(element);
+                    }
+                    break;
+                }
+                case DOUBLE_ARRAY: {
+                    final double[] array = (double[]) value;
+                    writeVarInt(array.length);
+                    for (double element : array) {
+                        out.writeDouble(element);
+                    }
+                    break;
+                }
+                case BOOLEAN_ARRAY: {
+                    final boolean[] array = (boolean[]) value;
+                    writeVarInt(array.length);
+                    for (boolean element : array) {
+                        out.writeBoolean(element);
+                    }
+                    break;
+                }
+                default:
+                    throw new IllegalStateException();
+            }
+        }
+
+        private void writeString(String string) throws IOException {
+            final int index = this.strings.getInt(string);
+            if (index != -1) {
+                writeVarInt(index + 2);
+                return;
+            }
+            if (string.length() > MAX_TABLE_STRING_LENGTH) {
+                writeVarInt(1);
+            } else {
+                this.strings.put(string, this.strings.size());
+                writeVarInt(0);
+            }
+            final byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(bytes.length);
+            this.out.write(bytes);
+        }
+
+        private void writeVarInt(int value) throws IOException {
+            while ((value & ~0x7F) != 0) {
+                this.out.writeByte((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            this.out.writeByte(value);
+        }
+
+        private void writeVarLong(long value) throws IOException {
+            while ((value & ~0x7FL) != 0) {
+                this.out.writeByte((int) (value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            this.out.writeByte((int) value);
+        }
+
+        private static int zigZag(int value) {
+            return (value << 1) ^ (value >> 31);
+        }
+
+        private static long zigZag(long value) {
+            return (value << 1) ^ (value >> 63);
+        }
+
+        @Override
+        public void close() throws IOException {
+            this.out.close();
+        }
+    }
+
+    private static final class Reader implements AutoCloseable {
+
+        private final DataInputStream in;
+        private final List<String> strings = new ArrayList<>();
+
+        Reader(InputStream input) {
+            this.in = new DataInputStream(input instanceof BufferedInputStream ? input : new BufferedInputStream(input, BUFFER_SIZE));
+        }
+
+        DataContainer readContainer() throws IOException {
+            if (this.in.readInt() != MAGIC) {
+                throw new InvalidDataFormatException("Not binary data, the magic number does not match");
+            }
+            final int version = this.in.readUnsignedByte();
+            if (version != VERSION) {
+                throw new InvalidDataFormatException("Unsupported binary data version " + version);
+            }
+            return readView();
+        }
+
+        private DataContainer readView() throws IOException {
+            final DataContainer container = DataContainer.createNew(DataView.SafetyMode.NO_DATA_CLONED);
+            readEntries(container);
+            return container;
+        }
+
+        private void readEntries(DataView view) throws IOException {
+            for (byte type = this.in.readByte(); type != END; type = this.in.readByte()) {
+                final DataQuery key = DataQueryCache.of(readString());
+                if (type == VIEW) {
+                    // Read straight in to the child view rather than copying a container
+                    readEntries(view.createView(key));
+                } else {
+                    final Object value = readPayload(type);
+                    if (value != null) {
+                        view.set(key, value);
+                    }
+                }
+            }
+        }
+
+        @Nullable
+        private Object readValue() throws IOException {
+            return readPayload(this.in.readByte());
+        }
+
+        @Nullable
+        private Object readPayload(byte type) throws IOException {
+            final DataInputStream in = this.in;
+            switch (type) {
+                case NULL:
+                    return null;
+                case FALSE:
+                    return false;
+                case TRUE:
+                    return true;
+                case BYTE:
+                    return in.readByte();
+                case SHORT:
+                    return (short) unZigZag(readVarInt());
+                case CHAR:
+                    return (char) readVarInt();
+                case INT:
+                    return unZigZag(readVarInt());
+                case LONG:
+                    return unZigZag(readVarLong());
+                case FLOAT:
+                    return in.readFloat();
+                case DOUBLE:
+                    return in.readDouble();
+                case STRING:
+                    return readString();
+                case VIEW:
+                    return readView();
+                case INT_LIST: {
+                    final int size = readLength();
+                    final IntList list = new IntArrayList(size);
+                    for (int i = 0; i < size; i++) {
+                        list.add(unZigZag(readVarInt()));
+                    }
+                    return list;
+                }
+                case LONG_LIST: {
+                    final int size = readLength();
+                    final LongList list = new LongArrayList(size);
+                    for (int i = 0; i < size; i++) {
+                        list.add(unZigZag(readVarLong()));
+                    }
+                    return list;
+                }
+                case DOUBLE_LIST: {
+                    final int size = readLength();
+                    final DoubleList list = new DoubleArrayList(size);
+                    for (int i = 0; i < size; i++) {
+                        list.add(in.readDouble());
+                    }
+                    return list;
+                }
+                case LIST: {
+                    final int size = readLength();
+                    final List<Object> list = new ArrayList<>(size);
+                    for (int i = 0; i < size; i++) {
+                        list.add(readValue());
+                    }
+                    return list;
+                }
+                case MAP: {
+                    final int size = readLength();
+                    final Map<Object, Object> map = new LinkedHashMap<>();
+                    for (int i = 0; i < size; i++) {
+                        map.put(readValue(), readValue());
+                    }
+                    return map;
+                }
+                case BYTE_ARRAY: {
+                    final byte[] array = new byte[readLength()];
+                    in.readFully(array);
+                    return array;
+                }
+                case SHORT_ARRAY: {
+                    final short[] array = new short[readLength()];
+                    for (int i = 0; i < array.length; i++) {
+                        array[i] = in.readShort();
+                    }
+                    return array;
+                }
+                case INT_ARRAY: {
+                    final int[] array = new int[readLength()];
+                    for (int i = 0; i < array.length; i++) {
+                        array[i] = unZigZag(readVarInt());
+                    }
+                    return array;
+                }
+                case LONG_ARRAY: {
+                    final long[] array = new long[readLength()];
+                    for (int i = 0; i < array.length; i++) {
+                        array[i] = unZigZag(readVarLong());
+                    }
+                    return array;
+                }
+                case FLOAT_ARRAY: {
+                    final float[] array = new float[readLength()];
+                    for (int i = 0; i < array.length; i++) {
+                        array[i] = in.readFloat();
+                    }
+                    return array;
+                }
+                case DOUBLE_ARRAY: {
+                    final double[] array = new double[readLength()];
+                    for (int i = 0; i < array.length; i++) {
+                        array[i] = in.readDouble();
+                    }
+                    return array;
+                }
+                case BOOLEAN_ARRAY: {
+                    final boolean[] array = new boolean[readLength()];
+                    for (int i = 0; i < array.length; i++) {
+                        array[i] = in.readBoolean();
+                    }
+                    return array;
+                }
+                default:
+                    throw new InvalidDataFormatException("Unknown binary data type " + type);
+            }
+        }
+
+        private String readString() throws IOException {
+            final int header = readVarInt();
+            if (header >= 2) {
+                final int index = header - 2;
+                if (index >= this.strings.size()) {
+                    throw new InvalidDataFormatException("Unknown string table index " + index);
+                }
+                return this.strings.get(index);
+            }
+            final byte[] bytes = new byte[readLength()];
+            this.in.readFully(bytes);
+            final String string = new String(bytes, StandardCharsets.UTF_8);
+            if (header == 0) {
+                this.strings.add(string);
+            }
+            return string;
+        }
+
+        private int readLength() throws IOException {
+            final int length = readVarInt();
+            if (length < 0) {
+                throw new InvalidDataFormatException("Negative length " + length);
+            }
+            return length;
+        }
+
+        private int readVarInt() throws IOException {
+            int value = 0;
+            for (int shift = 0; shift < 35; shift += 7) {
+                final int b = this.in.readUnsignedByte();
+                value |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new InvalidDataFormatException("VarInt too big");
+        }
+
+        private long readVarLong() throws IOException {
+            long value = 0;
+            for (int shift = 0; shift < 70; shift += 7) {
+                final int b = this.in.readUnsignedByte();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new InvalidDataFormatException("VarLong too big");
+        }
+
+        private static int unZigZag(int value) {
+            return (value >>> 1) ^ -(value & 1);
+        }
+
+        private static long unZigZag(long value) {
+            return (value >>> 1) ^ -(value & 1);
+        }
+
+        @Override
+        public void close() throws IOException {
+            this.in.close();
+        }
+    }
+
+}
@@ -0,0 +1,188 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.data.persistence;
+
+import com.google.common.collect.Iterators;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import net.minecraft.nbt.NBTBase;
+import net.minecraft.nbt.NBTTagByte;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagList;
+import org.spongepowered.common.data.util.DataQueryCache;
+import org.spongepowered.common.util.Constants;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.Nullable;
+
+/**
+ * The backing map of a {@link NbtDataView}. Entries are converted from their
+ * {@link NBTBase} form whenever they are read and written straight in to the
+ * compound, nested compounds are exposed as (cached) child views sharing the
+ * same underlying tags.
+ */
+final class NbtCompoundMap extends AbstractMap<String, Object> {
+
+    final NBTTagCompound compound;
+    private final Map<String, NbtDataView> views = Maps.newHashMap();
+    @Nullable private NbtDataView owner;
+
+    NbtCompoundMap(NBTTagCompound compound) {
+        this.compound = compound;
+    }
+
+    void setOwner(NbtDataView owner) {
+        this.owner = owner;
+    }
+
+    @Override
+    public int size() {
+        return this.compound.getSize();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.compound.isEmpty();
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        if (!(key instanceof String)) {
+            return false;
+        }
+        return this.compound.hasKey((String) key) || this.compound.hasKey(key + NbtTranslator.BOOLEAN_IDENTIFIER, Constants.NBT.TAG_BYTE);
+    }
+
+    @Override
+    @Nullable
+    public Object get(Object key) {
+        if (!(key instanceof String)) {
+            return null;
+        }
+        final String name = (String) key;
+        final NBTBase base = this.compound.getTag(name);
+        if (base == null) {
+            final NBTBase flag = this.compound.getTag(name + NbtTranslator.BOOLEAN_IDENTIFIER);
+            return flag instanceof NBTTagByte ? ((NBTTagByte) flag).getByte() != 0 : null;
+        }
+        return fromTag(name, base);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Object fromTag(String key, NBTBase base) {
+        final byte type = base.getId();
+        if (type == Constants.NBT.TAG_COMPOUND) {
+            NbtDataView view = this.views.get(key);
+            if (view == null || view.getCompound() != base) {
+                view = new NbtDataView(this.owner, DataQueryCache.of(key), (NBTTagCompound) base, this.owner.getSafetyMode());
+                this.views.put(key, view);
+            }
+            return view;
+        } else if (type == Constants.NBT.TAG_LIST && ((NBTTagList) base).getTagType() == Constants.NBT.TAG_COMPOUND) {
+            final NBTTagList list = (NBTTagList) base;
+            final int count = list.tagCount();
+            final List objectList = Lists.newArrayListWithCapacity(count);
+            for (int i = 0; i < count; i++) {
+                objectList.add(new NbtDataContainer(list.getCompoundTagAt(i), this.owner.getSafetyMode()));
+            }
+            return objectList;
+        }
+        return NbtTranslator.fromTagBase(base, type);
+    }
+
+    @Override
+    @Nullable
+    public Object put(String key, Object value) {
+        this.views.remove(key);
+        if (value instanceof Boolean) {
+            this.compound.removeTag(key);
+            this.compound.setTag(key + NbtTranslator.BOOLEAN_IDENTIFIER, new NBTTagByte((Boolean) value ? (byte) 1 : 0));
+            return null;
+        }
+        this.compound.removeTag(key + NbtTranslator.BOOLEAN_IDENTIFIER);
+        if (value instanceof NbtDataView) {
+            // Only views created through createView are put as is (everything else
+            // set is copied first), so share the compound of the new child view
+            this.compound.setTag(key, ((NbtDataView) value).getCompound());
+            this.views.put(key, (NbtDataView) value);
+        } else {
+            this.compound.setTag(key, NbtTranslator.getBaseFromObject(value));
+        }
+        // The previous value is not materialized just to be discarded
+        return null;
+    }
+
+    @Override
+    @Nullable
+    public Object remove(Object key) {
+        if (key instanceof String) {
+            this.views.remove(key);
+            this.compound.removeTag((String) key);
+            this.compound.removeTag(key + NbtTranslator.BOOLEAN_IDENTIFIER);
+        }
+        return null;
+    }
+
+    @Override
+    public void clear() {
+        this.views.clear();
+        for (String key : Lists.newArrayList(this.compound.getKeySet())) {
+            this.compound.removeTag(key);
+        }
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        return new AbstractSet<Entry<String, Object>>() {
+            @Override
+            public Iterator<Entry<String, Object>> iterator() {
+                // Copy the keys so the compound may be modified while iterating
+                final Iterator<String> keys = Lists.newArrayList(NbtCompoundMap.this.compound.getKeySet()).iterator();
+                return Iterators.transform(keys, NbtCompoundMap.this::toEntry);
+            }
+
+            @Override
+            public int size() {
+                return NbtCompoundMap.this.size();
+            }
+        };
+    }
+
+    private Entry<String, Object> toEntry(String key) {
+        final NBTBase base = this.compound.getTag(key);
+        if (key.endsWith(NbtTranslator.BOOLEAN_IDENTIFIER) && base.getId() == Constants.NBT.TAG_BYTE) {
+            final String name = key.substring(0, key.length() - NbtTranslator.BOOLEAN_IDENTIFIER.length());
+            return new SimpleImmutableEntry<>(name, ((NBTTagByte) base).getByte() != 0);
+        }
+        return new SimpleImmutableEntry<>(key, fromTag(key, base));
+    }
+
+}
@@ -0,0 +1,92 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.data.persistence;
+
+import net.minecraft.nbt.NBTTagCompound;
+import org.spongepowered.api.data.DataContainer;
+import org.spongepowered.api.data.DataQuery;
+import org.spongepowered.api.data.DataView;
+import org.spongepowered.common.data.MemoryDataView;
+
+/**
+ * A {@link DataView} backed directly by a {@link NBTTagCompound}. Nothing is
+ * copied up front, values are translated as they are accessed and every
+ * change is written through to the compound, which makes it considerably
+ * cheaper than {@link NbtTranslator#translateFrom(NBTTagCompound)} for data
+ * that is only partially read, or read once and discarded.
+ *
+ * <p>Being backed by NBT, only values that {@link NbtTranslator} is able to
+ * represent as a tag may be set.</p>
+ */
+public class NbtDataView extends MemoryDataView {
+
+    NbtDataView(NBTTagCompound compound, DataView.SafetyMode safety) {
+        super(safety, new NbtCompoundMap(compound));
+        ((NbtCompoundMap) this.map).setOwner(this);
+    }
+
+    NbtDataView(DataView parent, DataQuery path, NBTTagCompound compound, DataView.SafetyMode safety) {
+        super(parent, path, safety, new NbtCompoundMap(compound));
+        ((NbtCompoundMap) this.map).setOwner(this);
+    }
+
+    /**
+     * Gets the live compound backing this view.
+     *
+     * @return The backing compound
+     */
+    public NBTTagCompound getCompound() {
+        return ((NbtCompoundMap) this.map).compound;
+    }
+
+    /**
+     * Creates a child view of the given parent backed by a copy of this
+     * view's compound, used to set this view in to another view without
+     * translating every tag.
+     *
+     * @param parent The view the copy is set in to
+     * @param key The single part key the copy is set under
+     * @return The copied view
+     */
+    public DataView copyTo(DataView parent, DataQuery key) {
+        return new NbtDataView(parent, key, getCompound().copy(), parent.getSafetyMode());
+    }
+
+    @Override
+    protected DataView createChildView(DataView parent, DataQuery key) {
+        return new NbtDataView(parent, key, new NBTTagCompound(), getSafetyMode());
+    }
+
+    @Override
+    public DataContainer copy() {
+        return copy(getSafetyMode());
+    }
+
+    @Override
+    public DataContainer copy(SafetyMode safety) {
+        return new NbtDataContainer(getCompound().copy(), safety);
+    }
+
+}
@@ -27,7 +27,6 @@
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
-import static org.spongepowered.api.data.DataQuery.of;
 
 import com.google.common.collect.Lists;
 import com.google.common.reflect.TypeToken;
@@ -50,6 +49,8 @@
 import org.spongepowered.api.data.DataView;
 import org.spongepowered.api.data.persistence.DataTranslator;
 import org.spongepowered.api.data.persistence.InvalidDataException;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.data.util.DataQueryCache;
 import org.spongepowered.common.mixin.core.nbt.NBTTagLongArrayAccessor;
 import org.spongepowered.common.util.Constants;
 
@@ -70,6 +71,10 @@ private NbtTranslator() { } // #NOPE
 
     private static NBTTagCompound containerToCompound(final DataView container) {
         checkNotNull(container);
+        if (container instanceof NbtDataView) {
+            // Already backed by a compound, copying it is far cheaper than walking the view
+            return ((NbtDataView) container).getCompound().copy();
+        }
         NBTTagCompound compound = new NBTTagCompound();
         containerToCompound(container, compound);
         return compound;
@@ -84,9 +89,7 @@ private static void containerToCompound(final DataView container, final NBTTagCo
             Object value = entry.getValue();
             String key = entry.getKey().asString('.');
             if (value instanceof DataView) {
-                NBTTagCompound inner = new NBTTagCompound();
-                containerToCompound(container.getView(entry.getKey()).get(), inner);
-                compound.setTag(key, inner);
+                compound.setTag(key, containerToCompound(container.getView(entry.getKey()).get()));
             } else if (value instanceof Boolean) {
                 compound.setTag(key + BOOLEAN_IDENTIFIER, new NBTTagByte(((Boolean) value) ? (byte) 1 : 0));
             } else {
@@ -96,7 +99,7 @@ private static void containerToCompound(final DataView container, final NBTTagCo
     }
 
     @SuppressWarnings({"unchecked", "rawtypes"})
-    private static NBTBase getBaseFromObject(Object value) {
+    static NBTBase getBaseFromObject(Object value) {
         checkNotNull(value);
         if (value instanceof Boolean) {
             return new NBTTagByte((Boolean) value ? (byte) 1 : 0);
@@ -192,31 +195,31 @@ private static void setInternal(NBTBase base, byte type, DataView view, String k
         switch (type) {
             case Constants.NBT.TAG_BYTE:
                 if (key.contains(BOOLEAN_IDENTIFIER)) {
-                    view.set(of(key.replace(BOOLEAN_IDENTIFIER, "")), (((NBTTagByte) base).getByte() != 0));
+                    view.set(DataQueryCache.of(key.replace(BOOLEAN_IDENTIFIER, "")), (((NBTTagByte) base).getByte() != 0));
                 } else {
-                    view.set(of(key), ((NBTTagByte) base).getByte());
+                    view.set(DataQueryCache.of(key), ((NBTTagByte) base).getByte());
                 }
                 break;
             case Constants.NBT.TAG_SHORT:
-                view.set(of(key), ((NBTTagShort) base).getShort());
+                view.set(DataQueryCache.of(key), ((NBTTagShort) base).getShort());
                 break;
             case Constants.NBT.TAG_INT:
-                view.set(of(key), ((NBTTagInt) base).getInt());
+                view.set(DataQueryCache.of(key), ((NBTTagInt) base).getInt());
                 break;
             case Constants.NBT.TAG_LONG:
-                view.set(of(key), ((NBTTagLong) base).getLong());
+                view.set(DataQueryCache.of(key), ((NBTTagLong) base).getLong());
                 break;
             case Constants.NBT.TAG_FLOAT:
-                view.set(of(key), ((NBTTagFloat) base).getFloat());
+                view.set(DataQueryCache.of(key), ((NBTTagFloat) base).getFloat());
                 break;
             case Constants.NBT.TAG_DOUBLE:
-                view.set(of(key), ((NBTTagDouble) base).getDouble());
+                view.set(DataQueryCache.of(key), ((NBTTagDouble) base).getDouble());
                 break;
             case Constants.NBT.TAG_BYTE_ARRAY:
-                view.set(of(key), ((NBTTagByteArray) base).getByteArray());
+                view.set(DataQueryCache.of(key), ((NBTTagByteArray) base).getByteArray());
                 break;
             case Constants.NBT.TAG_STRING:
-                view.set(of(key), ((NBTTagString) base).getString());
+                view.set(DataQueryCache.of(key), ((NBTTagString) base).getString());
                 break;
             case Constants.NBT.TAG_LIST:
                 NBTTagList list = (NBTTagList) base;
@@ -226,10 +229,10 @@ private static void setInternal(NBTBase base, byte type, DataView view, String k
                 for (int i = 0; i < count; i++) {
                     objectList.add(fromTagBase(list.get(i), listType));
                 }
-                view.set(of(key), objectList);
+                view.set(DataQueryCache.of(key), objectList);
                 break;
             case Constants.NBT.TAG_COMPOUND:
-                DataView internalView = view.createView(of(key));
+                DataView internalView = view.createView(DataQueryCache.of(key));
                 NBTTagCompound compound = (NBTTagCompound) base;
                 for (String internalKey : compound.getKeySet()) {
                     NBTBase internalBase = compound.getTag(internalKey);
@@ -242,10 +245,10 @@ private static void setInternal(NBTBase base, byte type, DataView view, String k
                 }
                 break;
             case Constants.NBT.TAG_INT_ARRAY:
-                view.set(of(key), ((NBTTagIntArray) base).getIntArray());
+                view.set(DataQueryCache.of(key), ((NBTTagIntArray) base).getIntArray());
                 break;
             case Constants.NBT.TAG_LONG_ARRAY:
-                view.set(of(key), ((NBTTagLongArrayAccessor) base).accessor$getLongArray());
+                view.set(DataQueryCache.of(key), ((NBTTagLongArrayAccessor) base).accessor$getLongArray());
                 break;
             default:
                 throw new IllegalArgumentException("Unknown NBT type " + type);
@@ -253,7 +256,7 @@ private static void setInternal(NBTBase base, byte type, DataView view, String k
     }
 
     @SuppressWarnings({"unchecked", "rawtypes"})
-    private static Object fromTagBase(NBTBase base, byte type) {
+    static Object fromTagBase(NBTBase base, byte type) {
         switch (type) {
             case Constants.NBT.TAG_BYTE:
                 return ((NBTTagByte) base).getByte();
@@ -303,6 +306,39 @@ public DataContainer translateFrom(NBTTagCompound node) {
         return NbtTranslator.getViewFromCompound(node);
     }
 
+    /**
+     * Creates a {@link DataContainer} of the given compound, {@link #wrap
+     * wrapping} it if NBT backed data views are enabled in the optimization
+     * config and {@link #translateFrom(NBTTagCompound) translating} it
+     * otherwise.
+     *
+     * @param node The compound
+     * @param owned Whether the compound may be wrapped as is, because it is
+     *     owned by the caller or the container is only read, instead of
+     *     wrapping a copy of it
+     * @return The container of the compound
+     */
+    public DataContainer translateFrom(NBTTagCompound node, boolean owned) {
+        if (SpongeImpl.isInitialized() && SpongeImpl.getGlobalConfigAdapter().getConfig().getOptimizations().useNbtBackedDataViews()) {
+            return wrap(owned ? node : node.copy());
+        }
+        return getViewFromCompound(node);
+    }
+
+    /**
+     * Creates a {@link DataContainer} backed directly by the given compound
+     * instead of copying its contents in to a {@link DataContainer#createNew()
+     * memory container}. Values are only converted as they are read and
+     * writes go straight through to the compound, so this should only be used
+     * with compounds owned by the caller, or when the container is only read.
+     *
+     * @param node The compound to wrap
+     * @return The container view of the compound
+     */
+    public DataContainer wrap(NBTTagCompound node) {
+        return new NbtDataContainer(checkNotNull(node, "node"), DataView.SafetyMode.NO_DATA_CLONED);
+    }
+
     @Override
     public TypeToken<NBTTagCompound> getToken() {
         return TOKEN;
@@ -0,0 +1,68 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.data.persistence;
+
+import org.spongepowered.api.data.DataView;
+import org.spongepowered.common.data.MemoryDataContainer;
+import org.spongepowered.common.util.gen.PackedBlockIds;
+
+import javax.annotation.Nullable;
+
+/**
+ * A schematic read by {@link StreamingSchematicCodec}, holding its block
+ * data already decoded instead of as an NBT byte array. It is only meant to
+ * be translated with {@link SchematicTranslator} or written with
+ * {@link SchematicDataFormat}.
+ */
+final class SchematicDataContainer extends MemoryDataContainer {
+
+    @Nullable private final PackedBlockIds blockIds;
+    private boolean blockIdsTaken;
+
+    SchematicDataContainer(@Nullable PackedBlockIds blockIds) {
+        super(DataView.SafetyMode.NO_DATA_CLONED);
+        this.blockIds = blockIds;
+    }
+
+    @Nullable
+    PackedBlockIds getBlockIds() {
+        return this.blockIds;
+    }
+
+    /**
+     * Gets the block data for a new block buffer. Only the first buffer
+     * takes over the decoded data, every further one gets a copy.
+     *
+     * @return The block data, or null if it's kept in the container
+     */
+    @Nullable
+    PackedBlockIds takeBlockIds() {
+        if (this.blockIds == null || !this.blockIdsTaken) {
+            this.blockIdsTaken = true;
+            return this.blockIds;
+        }
+        return this.blockIds.copy();
+    }
+}
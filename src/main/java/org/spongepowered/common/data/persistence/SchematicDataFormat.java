@@ -0,0 +1,76 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.data.persistence;
+
+import net.minecraft.nbt.CompressedStreamTools;
+import org.spongepowered.api.data.DataContainer;
+import org.spongepowered.api.data.DataView;
+import org.spongepowered.api.data.persistence.DataFormat;
+import org.spongepowered.api.data.persistence.InvalidDataFormatException;
+import org.spongepowered.common.SpongeCatalogType;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Uncompressed NBT, the same as {@code DataFormats.NBT}, that reads Sponge
+ * schematics through {@link StreamingSchematicCodec}. The block data is
+ * decoded straight from the stream instead of being held in an NBT tree and
+ * a block buffer at once, as long as the container is translated with
+ * {@code DataTranslators.SCHEMATIC}.
+ */
+public class SchematicDataFormat extends SpongeCatalogType implements DataFormat {
+
+    public SchematicDataFormat(String id) {
+        super(id);
+    }
+
+    @Override
+    public DataContainer readFrom(InputStream input) throws InvalidDataFormatException, IOException {
+        try {
+            return StreamingSchematicCodec.readContainer(input);
+        } finally {
+            input.close();
+        }
+    }
+
+    @Override
+    public void writeTo(OutputStream output, DataView data) throws IOException {
+        try {
+            if (data instanceof SchematicDataContainer && ((SchematicDataContainer) data).getBlockIds() != null) {
+                StreamingSchematicCodec.writeContainer((SchematicDataContainer) data, output);
+            } else {
+                // The view already holds its block data, there's nothing left to stream
+                final DataOutputStream dos = output instanceof DataOutputStream ? (DataOutputStream) output : new DataOutputStream(output);
+                CompressedStreamTools.write(NbtTranslator.getInstance().translateData(data), dos);
+                dos.flush();
+            }
+        } finally {
+            output.close();
+        }
+    }
+}
@@ -62,6 +62,7 @@
 import org.spongepowered.common.util.PairStream;
 import org.spongepowered.common.util.gen.ArrayMutableBlockBuffer;
 import org.spongepowered.common.util.gen.ByteArrayMutableBiomeBuffer;
+import org.spongepowered.common.util.gen.PackedBlockIds;
 import org.spongepowered.common.world.schematic.BimapPalette;
 import org.spongepowered.common.world.schematic.BlockPaletteWrapper;
 import org.spongepowered.common.world.schematic.GlobalPalette;
@@ -117,6 +118,23 @@ public TypeToken<Schematic> getToken() {
 
     @Override
     public Schematic translate(DataView unprocessed) throws InvalidDataException {
+        if (unprocessed instanceof SchematicDataContainer) {
+            // Read by the schematic data format, the block data is already decoded
+            return translate(unprocessed, ((SchematicDataContainer) unprocessed).takeBlockIds());
+        }
+        return translate(unprocessed, null);
+    }
+
+    /**
+     * Translates a schematic whose block data may already have been decoded,
+     * in which case the view is not expected to contain any.
+     *
+     * @param unprocessed The schematic data
+     * @param blockIds The decoded block data, indexed in block buffer order
+     * @return The schematic
+     * @throws InvalidDataException If the data is not a valid schematic
+     */
+    Schematic translate(DataView unprocessed, @Nullable PackedBlockIds blockIds) throws InvalidDataException {
         if (VANILLA_FIXER == null) {
             VANILLA_FIXER = ((MinecraftServerAccessor) SpongeImpl.getServer()).accessor$getDataFixer();
         }
@@ -217,37 +235,15 @@ public Schematic translate(DataView unprocessed) throws InvalidDataException {
         final SpongeSchematicBuilder builder = new SpongeSchematicBuilder();
         builder.blockPalette(palette);
 
-        final MutableBlockVolume buffer =
-                new ArrayMutableBlockBuffer(palette, new Vector3i(-offset[0], -offset[1], -offset[2]), new Vector3i(width, height, length));
-
-        final byte[] blockdata = (byte[]) updatedView.get(Constants.Sponge.Schematic.BLOCK_DATA).orElseThrow(() -> new InvalidDataException("Missing BlockData for Schematic"));
-        int index = 0;
-        int i = 0;
-        int value = 0;
-        int varint_length = 0;
-        while (i < blockdata.length) {
-            value = 0;
-            varint_length = 0;
-
-            while (true) {
-                value |= (blockdata[i] & 127) << (varint_length++ * 7);
-                if (varint_length > 5) {
-                    throw new RuntimeException("VarInt too big (probably corrupted data)");
-                }
-                if ((blockdata[i] & 128) != 128) {
-                    i++;
-                    break;
-                }
-                i++;
-            }
-            // index = (y * length + z) * width + x
-            final int y = index / (width * length);
-            final int z = (index % (width * length)) / width;
-            final int x = (index % (width * length)) % width;
-            final BlockState state = palette.get(value).get();
-            buffer.setBlock(x - offset[0], y - offset[1], z - offset[2], state);
-
-            index++;
+        final Vector3i start = new Vector3i(-offset[0], -offset[1], -offset[2]);
+        final MutableBlockVolume buffer;
+        if (blockIds != null) {
+            buffer = new ArrayMutableBlockBuffer(palette, start, new Vector3i(width, height, length), blockIds);
+        } else {
+            buffer = new ArrayMutableBlockBuffer(palette, start, new Vector3i(width, height, length));
+            final byte[] blockdata = (byte[]) updatedView.get(Constants.Sponge.Schematic.BLOCK_DATA)
+                .orElseThrow(() -> new InvalidDataException("Missing BlockData for Schematic"));
+            readBlockData(blockdata, buffer, palette, width, length, offset);
         }
         builder.blocks(buffer);
 
@@ -366,6 +362,20 @@ public DataContainer translate(final Schematic schematic) throws InvalidDataExce
 
     @Override
     public DataView addTo(final Schematic schematic, final DataView data) {
+        return addTo(schematic, data, true);
+    }
+
+    /**
+     * Adds the given schematic to the view, leaving out the block data if it
+     * is written separately. The block palette is complete either way, as
+     * long as every block of the schematic has been assigned an id before.
+     *
+     * @param schematic The schematic
+     * @param data The view to add to
+     * @param includeBlockData Whether to add the block data
+     * @return The view
+     */
+    DataView addTo(final Schematic schematic, final DataView data, final boolean includeBlockData) {
         final int xMin = schematic.getBlockMin().getX();
         final int yMin = schematic.getBlockMin().getY();
         final int zMin = schematic.getBlockMin().getZ();
@@ -391,22 +401,24 @@ public DataView addTo(final Schematic schematic, final DataView data) {
         data.set(Constants.Sponge.Schematic.OFFSET, offset);
 
         final Palette<BlockState> palette = schematic.getPalette();
-        try (final ByteArrayOutputStream buffer = new ByteArrayOutputStream(width * height * length)) {
-            for (int y = 0; y < height; y++) {
-                final int y0 = yMin + y;
-                for (int z = 0; z < length; z++) {
-                    final int z0 = zMin + z;
-                    for (int x = 0; x < width; x++) {
-                        final int x0 = xMin + x;
-                        final BlockState state = schematic.getBlock(x0, y0, z0);
-                        writeIdToBuffer(buffer, palette.getOrAssign(state));
+        if (includeBlockData) {
+            try (final ByteArrayOutputStream buffer = new ByteArrayOutputStream(width * height * length)) {
+                for (int y = 0; y < height; y++) {
+                    final int y0 = yMin + y;
+                    for (int z = 0; z < length; z++) {
+                        final int z0 = zMin + z;
+                        for (int x = 0; x < width; x++) {
+                            final int x0 = xMin + x;
+                            final BlockState state = schematic.getBlock(x0, y0, z0);
+                            writeIdToBuffer(buffer, palette.getOrAssign(state));
+                        }
                     }
                 }
-            }
 
-            data.set(Constants.Sponge.Schematic.BLOCK_DATA, buffer.toByteArray());
-        } catch (IOException e) {
-            // should never reach here
+                data.set(Constants.Sponge.Schematic.BLOCK_DATA, buffer.toByteArray());
+            } catch (IOException e) {
+                // should never reach here
+            }
         }
 
         final Palette<BiomeType> biomePalette = schematic.getBiomePalette();
@@ -422,7 +434,7 @@ public DataView addTo(final Schematic schematic, final DataView data) {
 
                 }
 
-                data.set(Constants.Sponge.Schematic.BLOCK_DATA, buffer.toByteArray());
+                data.set(Constants.Sponge.Schematic.BIOME_DATA, buffer.toByteArray());
             } catch (IOException e) {
                 // Should never reach here.
             }
@@ -498,6 +510,38 @@ public DataView addTo(final Schematic schematic, final DataView data) {
         return data;
     }
 
+    private static void readBlockData(final byte[] blockdata, final MutableBlockVolume buffer, final Palette<BlockState> palette,
+        final int width, final int length, final int[] offset) {
+        int index = 0;
+        int i = 0;
+        int value = 0;
+        int varint_length = 0;
+        while (i < blockdata.length) {
+            value = 0;
+            varint_length = 0;
+
+            while (true) {
+                value |= (blockdata[i] & 127) << (varint_length++ * 7);
+                if (varint_length > 5) {
+                    throw new RuntimeException("VarInt too big (probably corrupted data)");
+                }
+                if ((blockdata[i] & 128) != 128) {
+                    i++;
+                    break;
+                }
+                i++;
+            }
+            // index = (y * length + z) * width + x
+            final int y = index / (width * length);
+            final int z = (index % (width * length)) / width;
+            final int x = (index % (width * length)) % width;
+            final BlockState state = palette.get(value).get();
+            buffer.setBlock(x - offset[0], y - offset[1], z - offset[2], state);
+
+            index++;
+        }
+    }
+
      private void writeIdToBuffer(final ByteArrayOutputStream buffer, final int orAssign) {
         int id = orAssign;
 
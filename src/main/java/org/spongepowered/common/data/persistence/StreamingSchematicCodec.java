@@ -0,0 +1,401 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.data.persistence;
+
+import com.flowpowered.math.vector.Vector3i;
+import net.minecraft.nbt.CompressedStreamTools;
+import net.minecraft.nbt.NBTBase;
+import net.minecraft.nbt.NBTTagByte;
+import net.minecraft.nbt.NBTTagByteArray;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagDouble;
+import net.minecraft.nbt.NBTTagFloat;
+import net.minecraft.nbt.NBTTagInt;
+import net.minecraft.nbt.NBTTagIntArray;
+import net.minecraft.nbt.NBTTagList;
+import net.minecraft.nbt.NBTTagLong;
+import net.minecraft.nbt.NBTTagLongArray;
+import net.minecraft.nbt.NBTTagShort;
+import net.minecraft.nbt.NBTTagString;
+import org.spongepowered.api.block.BlockState;
+import org.spongepowered.api.data.DataContainer;
+import org.spongepowered.api.data.DataView;
+import org.spongepowered.api.data.persistence.InvalidDataException;
+import org.spongepowered.api.world.schematic.Palette;
+import org.spongepowered.api.world.schematic.Schematic;
+import org.spongepowered.common.util.Constants;
+import org.spongepowered.common.util.gen.PackedBlockIds;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import javax.annotation.Nullable;
+
+/**
+ * Reads and writes Sponge schematics as uncompressed NBT, the same as
+ * {@code DataFormats.NBT}, without holding the block data of a schematic in
+ * memory more than once.
+ *
+ * <p>When reading, the block data is decoded straight from the stream into
+ * the packed ids backing the schematic's block buffer. Every other tag is
+ * small and is read into a compound and translated as usual. This requires
+ * the dimensions of the schematic to appear before its block data, which
+ * is the case for schematics written by this codec; otherwise the block data
+ * is read into an array and decoded afterwards.</p>
+ *
+ * <p>When writing, the block data is encoded from the schematic straight
+ * into the stream, after a first pass over the blocks to find its length.</p>
+ */
+@SuppressWarnings("deprecation")
+public final class StreamingSchematicCodec {
+
+    private static final String WIDTH = Constants.Sponge.Schematic.WIDTH.asString('.');
+    private static final String HEIGHT = Constants.Sponge.Schematic.HEIGHT.asString('.');
+    private static final String LENGTH = Constants.Sponge.Schematic.LENGTH.asString('.');
+    private static final String PALETTE_MAX = Constants.Sponge.Schematic.PALETTE_MAX.asString('.');
+    private static final String BLOCK_DATA = Constants.Sponge.Schematic.BLOCK_DATA.asString('.');
+    private static final String PALETTE = Constants.Sponge.Schematic.PALETTE.asString('.');
+    private static final int MAX_DEPTH = 512;
+    private static final int BUFFER_SIZE = 8192;
+    // The highest id to prepare for when the schematic does not declare one
+    private static final int DEFAULT_HIGHEST_ID = 0xFF;
+
+    private StreamingSchematicCodec() {
+    }
+
+    /**
+     * Reads a schematic from the given stream, which is not closed.
+     *
+     * @param input The stream to read from
+     * @return The schematic
+     * @throws IOException If the stream could not be read
+     * @throws InvalidDataException If the stream does not contain a valid schematic
+     */
+    public static Schematic read(InputStream input) throws IOException, InvalidDataException {
+        return SchematicTranslator.get().translate(readContainer(input));
+    }
+
+    /**
+     * Reads a schematic from the given stream into a container holding its
+     * decoded block data, see {@link SchematicDataContainer}. The stream is
+     * not closed.
+     *
+     * @param input The stream to read from
+     * @return The schematic data
+     * @throws IOException If the stream could not be read
+     * @throws InvalidDataException If the stream does not contain a valid schematic
+     */
+    static SchematicDataContainer readContainer(InputStream input) throws IOException, InvalidDataException {
+        final DataInputStream in = new DataInputStream(input instanceof BufferedInputStream ? input : new BufferedInputStream(input));
+        if (in.readByte() != Constants.NBT.TAG_COMPOUND) {
+            throw new InvalidDataException("Expected a compound at the root of the schematic");
+        }
+        in.readUTF();
+        final NBTTagCompound header = new NBTTagCompound();
+        @Nullable PackedBlockIds blockIds = null;
+        byte type;
+        while ((type = in.readByte()) != Constants.NBT.TAG_END) {
+            final String key = in.readUTF();
+            if (type == Constants.NBT.TAG_BYTE_ARRAY && BLOCK_DATA.equals(key) && header.hasKey(WIDTH, Constants.NBT.TAG_SHORT)
+                && header.hasKey(HEIGHT, Constants.NBT.TAG_SHORT) && header.hasKey(LENGTH, Constants.NBT.TAG_SHORT)) {
+                final int highestId = header.hasKey(PALETTE_MAX, Constants.NBT.TAG_INT) ? header.getInteger(PALETTE_MAX) : DEFAULT_HIGHEST_ID;
+                // Written by this codec, the palette comes first and every id is checked while decoding
+                final int maxId = header.hasKey(PALETTE, Constants.NBT.TAG_COMPOUND) ? getHighestPaletteId(header.getCompoundTag(PALETTE)) : Integer.MAX_VALUE;
+                blockIds = readBlockData(in, in.readInt(), header.getShort(WIDTH), header.getShort(HEIGHT), header.getShort(LENGTH), highestId, maxId);
+            } else {
+                header.setTag(key, readTag(in, type, 1));
+            }
+        }
+        if (blockIds != null && header.hasKey(PALETTE, Constants.NBT.TAG_COMPOUND)
+            && blockIds.getHighestId() > getHighestPaletteId(header.getCompoundTag(PALETTE))) {
+            throw new InvalidDataException("The schematic contains block id " + blockIds.getHighestId() + " which is not in its palette");
+        }
+        final SchematicDataContainer container = new SchematicDataContainer(blockIds);
+        NbtTranslator.getInstance().addTo(header, container);
+        return container;
+    }
+
+    private static int getHighestPaletteId(NBTTagCompound palette) {
+        int highestId = -1;
+        for (final String key : palette.getKeySet()) {
+            highestId = Math.max(highestId, palette.getInteger(key));
+        }
+        return highestId;
+    }
+
+    /**
+     * Writes a schematic to the given stream, which is flushed but not
+     * closed.
+     *
+     * @param schematic The schematic
+     * @param output The stream to write to
+     * @throws IOException If the stream could not be written to
+     */
+    public static void write(Schematic schematic, OutputStream output) throws IOException {
+        final Vector3i min = schematic.getBlockMin();
+        final Vector3i size = schematic.getBlockSize();
+        if (size.getX() > Constants.Sponge.Schematic.MAX_SIZE || size.getY() > Constants.Sponge.Schematic.MAX_SIZE
+            || size.getZ() > Constants.Sponge.Schematic.MAX_SIZE) {
+            throw new IllegalArgumentException(String.format("Schematic is larger than maximum allowable size (found: (%d, %d, %d) max: (%d, %<d, %<d)",
+                size.getX(), size.getY(), size.getZ(), Constants.Sponge.Schematic.MAX_SIZE));
+        }
+        final Palette<BlockState> palette = schematic.getPalette();
+        final BlockIdSource ids = (x, y, z) -> palette.getOrAssign(schematic.getBlock(min.getX() + x, min.getY() + y, min.getZ() + z));
+        // Assigns every id before the palette is written
+        final long blockDataLength = getBlockDataLength(ids, size.getX(), size.getY(), size.getZ());
+        if (blockDataLength > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("The block data of the schematic does not fit in an NBT byte array");
+        }
+
+        final DataView header = SchematicTranslator.get().addTo(schematic, DataContainer.createNew(DataView.SafetyMode.NO_DATA_CLONED), false);
+        final DataOutputStream out = new DataOutputStream(output instanceof BufferedOutputStream ? output : new BufferedOutputStream(output));
+        out.writeByte(Constants.NBT.TAG_COMPOUND);
+        out.writeUTF("");
+        writeEntries(NbtTranslator.getInstance().translate(header), out);
+        out.writeByte(Constants.NBT.TAG_BYTE_ARRAY);
+        out.writeUTF(BLOCK_DATA);
+        out.writeInt((int) blockDataLength);
+        writeBlockData(out, ids, size.getX(), size.getY(), size.getZ());
+        out.writeByte(Constants.NBT.TAG_END);
+        out.flush();
+    }
+
+    /**
+     * Writes a schematic read by {@link #readContainer(InputStream)} back
+     * to the given stream, which is flushed but not closed.
+     *
+     * @param container The schematic data
+     * @param output The stream to write to
+     * @throws IOException If the stream could not be written to
+     */
+    static void writeContainer(SchematicDataContainer container, OutputStream output) throws IOException {
+        final PackedBlockIds blockIds = container.getBlockIds();
+        final NBTTagCompound header = NbtTranslator.getInstance().translateData(container);
+        final int width = header.getShort(WIDTH);
+        final int height = header.getShort(HEIGHT);
+        final int length = header.getShort(LENGTH);
+        final int yzSlice = height * length;
+        final BlockIdSource ids = (x, y, z) -> blockIds.get(x * yzSlice + z * height + y);
+        final long blockDataLength = getBlockDataLength(ids, width, height, length);
+
+        final DataOutputStream out = new DataOutputStream(output instanceof BufferedOutputStream ? output : new BufferedOutputStream(output));
+        out.writeByte(Constants.NBT.TAG_COMPOUND);
+        out.writeUTF("");
+        writeEntries(header, out);
+        out.writeByte(Constants.NBT.TAG_BYTE_ARRAY);
+        out.writeUTF(BLOCK_DATA);
+        out.writeInt((int) blockDataLength);
+        writeBlockData(out, ids, width, height, length);
+        out.writeByte(Constants.NBT.TAG_END);
+        out.flush();
+    }
+
+    /**
+     * Decodes block data of the given length from the stream. The ids are
+     * stored in (y, z, x) order in the stream and are indexed in block
+     * buffer order in the result.
+     *
+     * @param maxId The highest id of the palette, any higher id fails the read
+     */
+    static PackedBlockIds readBlockData(DataInput in, int byteLength, int width, int height, int length, int highestId, int maxId)
+        throws IOException {
+        final long area = (long) width * height * length;
+        if (width <= 0 || height <= 0 || length <= 0 || area > Integer.MAX_VALUE) {
+            throw new InvalidDataException(String.format("Invalid schematic size (%d, %d, %d)", width, height, length));
+        }
+        final PackedBlockIds ids = new PackedBlockIds((int) area, highestId);
+        final byte[] buffer = new byte[Math.min(Math.max(byteLength, 0), BUFFER_SIZE)];
+        final int yzSlice = height * length;
+        int remaining = byteLength;
+        int count = 0;
+        int value = 0;
+        int shift = 0;
+        int x = 0;
+        int y = 0;
+        int z = 0;
+        while (remaining > 0) {
+            final int read = Math.min(remaining, buffer.length);
+            in.readFully(buffer, 0, read);
+            remaining -= read;
+            for (int i = 0; i < read; i++) {
+                final byte b = buffer[i];
+                value |= (b & 127) << shift;
+                if ((b & 128) != 0) {
+                    shift += 7;
+                    if (shift >= 35) {
+                        throw new InvalidDataException("VarInt too big (probably corrupted data)");
+                    }
+                    continue;
+                }
+                if (count++ == area) {
+                    throw new InvalidDataException("The schematic contains more blocks than its size allows");
+                }
+                if (value > maxId) {
+                    throw new InvalidDataException("The schematic contains block id " + value + " which is not in its palette");
+                }
+                ids.set(x * yzSlice + z * height + y, value);
+                value = 0;
+                shift = 0;
+                if (++x == width) {
+                    x = 0;
+                    if (++z == length) {
+                        z = 0;
+                        y++;
+                    }
+                }
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Encodes the ids of every block, in (y, z, x) order, into the stream.
+     */
+    static void writeBlockData(DataOutput out, BlockIdSource ids, int width, int height, int length) throws IOException {
+        final byte[] buffer = new byte[BUFFER_SIZE];
+        int position = 0;
+        for (int y = 0; y < height; y++) {
+            for (int z = 0; z < length; z++) {
+                for (int x = 0; x < width; x++) {
+                    if (position > BUFFER_SIZE - 5) {
+                        out.write(buffer, 0, position);
+                        position = 0;
+                    }
+                    int id = ids.getId(x, y, z);
+                    while ((id & -128) != 0) {
+                        buffer[position++] = (byte) (id & 127 | 128);
+                        id >>>= 7;
+                    }
+                    buffer[position++] = (byte) id;
+                }
+            }
+        }
+        out.write(buffer, 0, position);
+    }
+
+    static long getBlockDataLength(BlockIdSource ids, int width, int height, int length) {
+        long byteLength = 0;
+        for (int y = 0; y < height; y++) {
+            for (int z = 0; z < length; z++) {
+                for (int x = 0; x < width; x++) {
+                    final int id = ids.getId(x, y, z);
+                    byteLength += (id & -128) == 0 ? 1 : (id & -16384) == 0 ? 2 : (id & -2097152) == 0 ? 3 : (id & -268435456) == 0 ? 4 : 5;
+                }
+            }
+        }
+        return byteLength;
+    }
+
+    /**
+     * Writes the entries of the given compound without its surrounding tag,
+     * so that more entries can be written after them.
+     */
+    private static void writeEntries(NBTTagCompound compound, DataOutput out) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        CompressedStreamTools.write(compound, new DataOutputStream(bytes));
+        final byte[] array = bytes.toByteArray();
+        // Skips the tag type and empty name in front, and the end tag after
+        out.write(array, 3, array.length - 4);
+    }
+
+    private static NBTBase readTag(DataInput in, byte type, int depth) throws IOException {
+        if (depth > MAX_DEPTH) {
+            throw new IOException("Tried to read NBT tag with too high complexity, depth > " + MAX_DEPTH);
+        }
+        switch (type) {
+            case Constants.NBT.TAG_BYTE:
+                return new NBTTagByte(in.readByte());
+            case Constants.NBT.TAG_SHORT:
+                return new NBTTagShort(in.readShort());
+            case Constants.NBT.TAG_INT:
+                return new NBTTagInt(in.readInt());
+            case Constants.NBT.TAG_LONG:
+                return new NBTTagLong(in.readLong());
+            case Constants.NBT.TAG_FLOAT:
+                return new NBTTagFloat(in.readFloat());
+            case Constants.NBT.TAG_DOUBLE:
+                return new NBTTagDouble(in.readDouble());
+            case Constants.NBT.TAG_BYTE_ARRAY: {
+                final byte[] array = new byte[in.readInt()];
+                in.readFully(array);
+                return new NBTTagByteArray(array);
+            }
+            case Constants.NBT.TAG_STRING:
+                return new NBTTagString(in.readUTF());
+            case Constants.NBT.TAG_LIST: {
+                final byte elementType = in.readByte();
+                final int size = in.readInt();
+                final NBTTagList list = new NBTTagList();
+                for (int i = 0; i < size; i++) {
+                    list.appendTag(readTag(in, elementType, depth + 1));
+                }
+                return list;
+            }
+            case Constants.NBT.TAG_COMPOUND: {
+                final NBTTagCompound compound = new NBTTagCompound();
+                byte entryType;
+                while ((entryType = in.readByte()) != Constants.NBT.TAG_END) {
+                    final String key = in.readUTF();
+                    compound.setTag(key, readTag(in, entryType, depth + 1));
+                }
+                return compound;
+            }
+            case Constants.NBT.TAG_INT_ARRAY: {
+                final int[] array = new int[in.readInt()];
+                for (int i = 0; i < array.length; i++) {
+                    array[i] = in.readInt();
+                }
+                return new NBTTagIntArray(array);
+            }
+            case Constants.NBT.TAG_LONG_ARRAY: {
+                final long[] array = new long[in.readInt()];
+                for (int i = 0; i < array.length; i++) {
+                    array[i] = in.readLong();
+                }
+                return new NBTTagLongArray(array);
+            }
+            default:
+                throw new IOException("Unknown NBT tag type " + type);
+        }
+    }
+
+    /**
+     * Provides the palette id of the block at a position relative to the
+     * minimum of a schematic.
+     */
+    @FunctionalInterface
+    interface BlockIdSource {
+
+        int getId(int x, int y, int z);
+    }
+}
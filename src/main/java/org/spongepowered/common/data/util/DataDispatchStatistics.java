@@ -0,0 +1,83 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.data.util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters of the per holder class dispatch tables of the processor
+ * delegates, shared by all of them.
+ */
+public final class DataDispatchStatistics {
+
+    private static final LongAdder hits = new LongAdder();
+    private static final LongAdder misses = new LongAdder();
+    private static final LongAdder missTime = new LongAdder();
+
+    static void recordHit() {
+        hits.increment();
+    }
+
+    static void recordMiss(long nanos) {
+        misses.increment();
+        missTime.add(nanos);
+    }
+
+    public static long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Gets the amount of lookups that had to build the dispatch table of a
+     * holder class.
+     *
+     * @return The miss count
+     */
+    public static long getMisses() {
+        return misses.sum();
+    }
+
+    public static double getHitRate() {
+        final long hits = getHits();
+        final long total = hits + getMisses();
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    /**
+     * Gets the average time it took to build a dispatch table, lookups that
+     * hit are a single map lookup and are not timed.
+     *
+     * @return The average miss time in microseconds
+     */
+    public static double getAverageMissMicros() {
+        final long misses = getMisses();
+        return misses == 0 ? 0 : (double) missTime.sum() / misses / TimeUnit.MICROSECONDS.toNanos(1);
+    }
+
+    private DataDispatchStatistics() {
+    }
+
+}
@@ -41,11 +41,14 @@
 import org.spongepowered.common.SpongeImplHooks;
 import org.spongepowered.common.data.DataProcessor;
 
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 public final class DataProcessorDelegate<M extends DataManipulator<M, I>, I extends ImmutableDataManipulator<I, M>> implements DataProcessor<M, I> {
 
     private final ImmutableList<Tuple<DataProcessor<M, I>, Timing>> processors;
+    private final Map<Class<?>, ImmutableList<Tuple<DataProcessor<M, I>, Timing>>> dispatch = new ConcurrentHashMap<>();
 
     public DataProcessorDelegate(final ImmutableList<DataProcessor<M, I>> processors) {
         final ImmutableList.Builder<Tuple<DataProcessor<M, I>, Timing>> builder = ImmutableList.builder();
@@ -55,6 +58,34 @@ public DataProcessorDelegate(final ImmutableList<DataProcessor<M, I>> processors
         this.processors = builder.build();
     }
 
+    /**
+     * Gets the processors, in priority order, that may support holders of the
+     * given class. Whether a processor supports a holder can depend on the
+     * holder itself, so only the processors that can never support the class
+     * are skipped rather than remembering a single processor.
+     *
+     * @param holderClass The holder class
+     * @return The processors to check
+     */
+    private ImmutableList<Tuple<DataProcessor<M, I>, Timing>> getProcessors(final Class<?> holderClass) {
+        ImmutableList<Tuple<DataProcessor<M, I>, Timing>> processors = this.dispatch.get(holderClass);
+        if (processors != null) {
+            DataDispatchStatistics.recordHit();
+            return processors;
+        }
+        final long start = System.nanoTime();
+        final ImmutableList.Builder<Tuple<DataProcessor<M, I>, Timing>> builder = ImmutableList.builder();
+        for (final Tuple<DataProcessor<M, I>, Timing> tuple : this.processors) {
+            if (tuple.getFirst().isApplicableTo(holderClass)) {
+                builder.add(tuple);
+            }
+        }
+        processors = builder.build();
+        this.dispatch.put(holderClass, processors);
+        DataDispatchStatistics.recordMiss(System.nanoTime() - start);
+        return processors;
+    }
+
     @Override
     public int getPriority() {
         return Integer.MAX_VALUE;
@@ -64,7 +95,7 @@ public int getPriority() {
     public boolean supports(final DataHolder dataHolder) {
         final boolean callingFromMinecraftThread = SpongeImplHooks.isMainThread();
 
-        for (final Tuple<DataProcessor<M, I>, Timing> tuple : this.processors) {
+        for (final Tuple<DataProcessor<M, I>, Timing> tuple : getProcessors(dataHolder.getClass())) {
             if (callingFromMinecraftThread) {
                 tuple.getSecond().startTiming();
             }
@@ -81,6 +112,11 @@ public boolean supports(final DataHolder dataHolder) {
         return false;
     }
 
+    @Override
+    public boolean isApplicableTo(final Class<?> holderClass) {
+        return !getProcessors(holderClass).isEmpty();
+    }
+
     @SuppressWarnings("unused")
     @Override
     public boolean supports(final EntityType entityType) {
@@ -102,7 +138,7 @@ public boolean supports(final EntityType entityType) {
     public Optional<M> from(final DataHolder dataHolder) {
         final boolean callingFromMinecraftThread = SpongeImplHooks.isMainThread();
 
-        for (final Tuple<DataProcessor<M, I>, Timing> tuple : this.processors) {
+        for (final Tuple<DataProcessor<M, I>, Timing> tuple : getProcessors(dataHolder.getClass())) {
             if (callingFromMinecraftThread) {
                 tuple.getSecond().startTiming();
             }
@@ -127,7 +163,7 @@ public Optional<M> from(final DataHolder dataHolder) {
     public Optional<M> fill(final DataHolder dataHolder, final M manipulator, final MergeFunction overlap) {
         final boolean callingFromMinecraftThread = SpongeImplHooks.isMainThread();
 
-        for (final Tuple<DataProcessor<M, I>, Timing> tuple : this.processors) {
+        for (final Tuple<DataProcessor<M, I>, Timing> tuple : getProcessors(dataHolder.getClass())) {
             if (callingFromMinecraftThread) {
                 tuple.getSecond().startTiming();
             }
@@ -171,7 +207,7 @@ public Optional<M> fill(final DataContainer container, final M m) {
     public DataTransactionResult set(final DataHolder dataHolder, final M manipulator, final MergeFunction function) {
         final boolean callingFromMinecraftThread = SpongeImplHooks.isMainThread();
 
-        for (final Tuple<DataProcessor<M, I>, Timing> tuple : this.processors) {
+        for (final Tuple<DataProcessor<M, I>, Timing> tuple : getProcessors(dataHolder.getClass())) {
             if (callingFromMinecraftThread) {
                 tuple.getSecond().startTiming();
             }
@@ -215,7 +251,7 @@ public Optional<I> with(final Key<? extends BaseValue<?>> key, final Object valu
     public DataTransactionResult remove(final DataHolder dataHolder) {
         final boolean callingFromMinecraftThread = SpongeImplHooks.isMainThread();
 
-        for (final Tuple<DataProcessor<M, I>, Timing> tuple : this.processors) {
+        for (final Tuple<DataProcessor<M, I>, Timing> tuple : getProcessors(dataHolder.getClass())) {
             if (callingFromMinecraftThread) {
                 tuple.getSecond().startTiming();
             }
@@ -240,7 +276,7 @@ public DataTransactionResult remove(final DataHolder dataHolder) {
     public Optional<M> createFrom(final DataHolder dataHolder) {
         final boolean callingFromMinecraftThread = SpongeImplHooks.isMainThread();
 
-        for (final Tuple<DataProcessor<M, I>, Timing> tuple : this.processors) {
+        for (final Tuple<DataProcessor<M, I>, Timing> tuple : getProcessors(dataHolder.getClass())) {
             if (callingFromMinecraftThread) {
                 tuple.getSecond().startTiming();
             }
@@ -0,0 +1,107 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.data.util;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+import org.spongepowered.api.data.DataQuery;
+
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Canonical single part {@link DataQuery} instances for the keys of data
+ * views. The same handful of keys are used by every manipulator, so views
+ * built from data share a single query, and key string, per key instead of
+ * allocating new ones on every translation, {@link
+ * org.spongepowered.api.data.DataView#getKeys(boolean)} and lookup.
+ *
+ * <p>Keys and queries are only held weakly, so keys that stop being used,
+ * like the ids of removed entities, don't stay cached.</p>
+ */
+public final class DataQueryCache {
+
+    private static final Interner<String> KEYS = Interners.newWeakInterner();
+    private static final ConcurrentMap<String, DataQuery> QUERIES = CacheBuilder.newBuilder()
+            .weakValues()
+            .<String, DataQuery>build()
+            .asMap();
+    // Compared by identity, the paths of keys and other constants are used over and over
+    private static final ConcurrentMap<DataQuery, DataQuery> TAILS = CacheBuilder.newBuilder()
+            .weakKeys()
+            .<DataQuery, DataQuery>build()
+            .asMap();
+
+    /**
+     * Gets the canonical single part query for the given key.
+     *
+     * @param key The key
+     * @return The query
+     */
+    public static DataQuery of(String key) {
+        DataQuery query = QUERIES.get(key);
+        if (query == null) {
+            final String canonicalKey = KEYS.intern(key);
+            query = DataQuery.of(canonicalKey);
+            final DataQuery previous = QUERIES.putIfAbsent(canonicalKey, query);
+            if (previous != null) {
+                query = previous;
+            }
+        }
+        return query;
+    }
+
+    /**
+     * Gets the canonical instance of the given key string, to be used when
+     * storing the key.
+     *
+     * @param key The key
+     * @return The canonical key
+     */
+    public static String intern(String key) {
+        return KEYS.intern(key);
+    }
+
+    /**
+     * Gets the given path without its first part, for passing the rest of a
+     * path on to a nested view. The result is cached for the path instance,
+     * so setting the same key on many views only splits its path once.
+     *
+     * @param path The path, with at least one part
+     * @return The path without its first part
+     */
+    public static DataQuery popFirst(DataQuery path) {
+        DataQuery tail = TAILS.get(path);
+        if (tail == null) {
+            tail = path.popFirst();
+            TAILS.putIfAbsent(path, tail);
+        }
+        return tail;
+    }
+
+    private DataQueryCache() {
+    }
+
+}
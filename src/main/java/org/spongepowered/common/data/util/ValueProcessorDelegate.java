@@ -33,7 +33,9 @@
 import org.spongepowered.api.data.value.mutable.Value;
 import org.spongepowered.common.data.ValueProcessor;
 
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * This is really just a lazy class to handle processing on multiple
@@ -46,12 +48,41 @@
 
     private final Key<V> key;
     private final ImmutableList<ValueProcessor<E, V>> processors;
+    private final Map<Class<?>, ImmutableList<ValueProcessor<E, V>>> dispatch = new ConcurrentHashMap<>();
 
     public ValueProcessorDelegate(Key<V> key, ImmutableList<ValueProcessor<E, V>> processors) {
         this.key = key;
         this.processors = processors;
     }
 
+    /**
+     * Gets the processors, in priority order, that may support containers of
+     * the given class. Whether a processor supports a container can depend on
+     * the container itself, so only the processors that can never support the
+     * class are skipped rather than remembering a single processor.
+     *
+     * @param containerClass The container class
+     * @return The processors to check
+     */
+    private ImmutableList<ValueProcessor<E, V>> getProcessors(Class<?> containerClass) {
+        ImmutableList<ValueProcessor<E, V>> processors = this.dispatch.get(containerClass);
+        if (processors != null) {
+            DataDispatchStatistics.recordHit();
+            return processors;
+        }
+        final long start = System.nanoTime();
+        final ImmutableList.Builder<ValueProcessor<E, V>> builder = ImmutableList.builder();
+        for (ValueProcessor<E, V> processor : this.processors) {
+            if (processor.isApplicableTo(containerClass)) {
+                builder.add(processor);
+            }
+        }
+        processors = builder.build();
+        this.dispatch.put(containerClass, processors);
+        DataDispatchStatistics.recordMiss(System.nanoTime() - start);
+        return processors;
+    }
+
     @Override
     public Key<? extends BaseValue<E>> getKey() {
         return this.key;
@@ -64,7 +95,7 @@ public int getPriority() {
 
     @Override
     public Optional<E> getValueFromContainer(ValueContainer<?> container) {
-        for (ValueProcessor<E, V> processor : this.processors) {
+        for (ValueProcessor<E, V> processor : getProcessors(container.getClass())) {
             if (processor.supports(container)) {
                 final Optional<E> optional = processor.getValueFromContainer(container);
                 if (optional.isPresent()) {
@@ -77,7 +108,7 @@ public Optional<E> getValueFromContainer(ValueContainer<?> container) {
 
     @Override
     public Optional<V> getApiValueFromContainer(ValueContainer<?> container) {
-        for (ValueProcessor<E, V> processor : this.processors) {
+        for (ValueProcessor<E, V> processor : getProcessors(container.getClass())) {
             if (processor.supports(container)) {
                 final Optional<V> optional = processor.getApiValueFromContainer(container);
                 if (optional.isPresent()) {
@@ -90,7 +121,7 @@ public Optional<V> getApiValueFromContainer(ValueContainer<?> container) {
 
     @Override
     public boolean supports(ValueContainer<?> container) {
-        for (ValueProcessor<E, V> processor : this.processors) {
+        for (ValueProcessor<E, V> processor : getProcessors(container.getClass())) {
             if (processor.supports(container)) {
                 return true;
             }
@@ -98,10 +129,16 @@ public boolean supports(ValueContainer<?> container) {
         return false;
     }
 
+    @Override
+    public boolean isApplicableTo(Class<?> containerClass) {
+        return !getProcessors(containerClass).isEmpty();
+    }
+
     @SuppressWarnings("unchecked")
     @Override
     public DataTransactionResult offerToStore(ValueContainer<?> container, E value) {
-        for (ValueProcessor<E, V> processor : this.processors) {
+        final ImmutableList<ValueProcessor<E, V>> processors = getProcessors(container.getClass());
+        for (ValueProcessor<E, V> processor : processors) {
             if (processor.supports(container)) {
                 final DataTransactionResult result = processor.offerToStore(container, value);
                 if (!result.getType().equals(DataTransactionResult.Type.FAILURE)) {
@@ -109,7 +146,7 @@ public DataTransactionResult offerToStore(ValueContainer<?> container, E value)
                 }
             }
         }
-        for (ValueProcessor<E, V> processor : this.processors) {
+        for (ValueProcessor<E, V> processor : processors) {
             if (processor.supports(container)) {
                 final Optional<V> currentValueOptional = processor.getApiValueFromContainer(container);
                 if (currentValueOptional.isPresent()) {
@@ -132,7 +169,7 @@ public DataTransactionResult offerToStore(ValueContainer<?> container, E value)
 
     @Override
     public DataTransactionResult removeFrom(ValueContainer<?> container) {
-        for (ValueProcessor<E, V> processor : this.processors) {
+        for (ValueProcessor<E, V> processor : getProcessors(container.getClass())) {
             if (processor.supports(container)) {
                 final DataTransactionResult result = processor.removeFrom(container);
                 if (!result.getType().equals(DataTransactionResult.Type.FAILURE)) {
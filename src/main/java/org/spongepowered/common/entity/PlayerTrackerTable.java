@@ -0,0 +1,293 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.entity;
+
+import it.unimi.dsi.fastutil.HashCommon;
+
+import java.util.Arrays;
+
+/**
+ * The owner and notifier indices of tracked block positions in a chunk,
+ * keyed by packed block positions.
+ *
+ * <p>This is an open addressing hash table with linear probing that keeps
+ * keys and both indices in parallel {@code int} arrays, so tracking a block
+ * never allocates a key or a {@link PlayerTracker}. A missing index is
+ * stored as {@code -1}, just like {@link PlayerTracker} does.</p>
+ */
+public final class PlayerTrackerTable {
+
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final float LOAD_FACTOR = 0.75f;
+
+    // A key of 0 marks a free slot, the entry for the actual key 0 is kept at index n
+    private int[] keys;
+    private int[] owners;
+    private int[] notifiers;
+    private boolean containsZeroKey;
+    private int mask;
+    private int n;
+    private int maxFill;
+    private int size;
+
+    public PlayerTrackerTable() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public PlayerTrackerTable(final int expected) {
+        this.allocate(HashCommon.arraySize(Math.max(expected, 2), LOAD_FACTOR));
+    }
+
+    /**
+     * Reads a table from the packed representation created by
+     * {@link #toPackedArray()}. Entries without an owner and notifier are
+     * dropped, as is a trailing incomplete entry.
+     *
+     * @param packed The packed entries
+     * @return The table
+     */
+    public static PlayerTrackerTable fromPackedArray(final int[] packed) {
+        final PlayerTrackerTable table = new PlayerTrackerTable(packed.length / 3);
+        for (int i = 0; i + 2 < packed.length; i += 3) {
+            if (packed[i + 1] != -1 || packed[i + 2] != -1) {
+                table.put(packed[i], packed[i + 1], packed[i + 2]);
+            }
+        }
+        return table;
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    public boolean containsKey(final int key) {
+        return this.find(key) >= 0;
+    }
+
+    /**
+     * Gets the owner index tracked for the given position.
+     *
+     * @param key The packed position
+     * @return The owner index, or -1 if there is none
+     */
+    public int getOwner(final int key) {
+        final int slot = this.find(key);
+        return slot < 0 ? -1 : this.owners[slot];
+    }
+
+    /**
+     * Gets the notifier index tracked for the given position.
+     *
+     * @param key The packed position
+     * @return The notifier index, or -1 if there is none
+     */
+    public int getNotifier(final int key) {
+        final int slot = this.find(key);
+        return slot < 0 ? -1 : this.notifiers[slot];
+    }
+
+    public void put(final int key, final int owner, final int notifier) {
+        final int slot = this.insert(key);
+        this.owners[slot] = owner;
+        this.notifiers[slot] = notifier;
+    }
+
+    /**
+     * Sets the owner of the given position, leaving the notifier as it is
+     * or -1 if the position wasn't tracked yet.
+     *
+     * @param key The packed position
+     * @param owner The owner index
+     */
+    public void setOwner(final int key, final int owner) {
+        final int slot = this.insert(key);
+        this.owners[slot] = owner;
+    }
+
+    /**
+     * Sets the notifier of the given position, leaving the owner as it is
+     * or -1 if the position wasn't tracked yet.
+     *
+     * @param key The packed position
+     * @param notifier The notifier index
+     */
+    public void setNotifier(final int key, final int notifier) {
+        final int slot = this.insert(key);
+        this.notifiers[slot] = notifier;
+    }
+
+    public void remove(final int key) {
+        if (key == 0) {
+            if (this.containsZeroKey) {
+                this.containsZeroKey = false;
+                this.size--;
+            }
+            return;
+        }
+        int pos = HashCommon.mix(key) & this.mask;
+        while (this.keys[pos] != 0) {
+            if (this.keys[pos] == key) {
+                this.size--;
+                this.shiftKeys(pos);
+                return;
+            }
+            pos = (pos + 1) & this.mask;
+        }
+    }
+
+    public void clear() {
+        Arrays.fill(this.keys, 0);
+        this.containsZeroKey = false;
+        this.size = 0;
+    }
+
+    /**
+     * Packs all entries into a flat array of position, owner and notifier
+     * triples, the format chunks are saved in.
+     *
+     * @return The packed entries
+     */
+    public int[] toPackedArray() {
+        final int[] packed = new int[this.size * 3];
+        int i = 0;
+        if (this.containsZeroKey) {
+            packed[i++] = 0;
+            packed[i++] = this.owners[this.n];
+            packed[i++] = this.notifiers[this.n];
+        }
+        for (int slot = 0; slot < this.n; slot++) {
+            if (this.keys[slot] != 0) {
+                packed[i++] = this.keys[slot];
+                packed[i++] = this.owners[slot];
+                packed[i++] = this.notifiers[slot];
+            }
+        }
+        return packed;
+    }
+
+    private int find(final int key) {
+        if (key == 0) {
+            return this.containsZeroKey ? this.n : -1;
+        }
+        int pos = HashCommon.mix(key) & this.mask;
+        int current;
+        while ((current = this.keys[pos]) != 0) {
+            if (current == key) {
+                return pos;
+            }
+            pos = (pos + 1) & this.mask;
+        }
+        return -1;
+    }
+
+    private int insert(final int key) {
+        int pos;
+        if (key == 0) {
+            pos = this.n;
+            if (this.containsZeroKey) {
+                return pos;
+            }
+            this.containsZeroKey = true;
+        } else {
+            pos = HashCommon.mix(key) & this.mask;
+            int current;
+            while ((current = this.keys[pos]) != 0) {
+                if (current == key) {
+                    return pos;
+                }
+                pos = (pos + 1) & this.mask;
+            }
+            this.keys[pos] = key;
+        }
+        this.owners[pos] = -1;
+        this.notifiers[pos] = -1;
+        if (this.size++ >= this.maxFill) {
+            this.rehash(HashCommon.arraySize(this.size + 1, LOAD_FACTOR));
+            return this.find(key);
+        }
+        return pos;
+    }
+
+    private void shiftKeys(int pos) {
+        // Backward shift deletion, keeps probe sequences intact without tombstones
+        int last;
+        int slot;
+        int current;
+        while (true) {
+            pos = ((last = pos) + 1) & this.mask;
+            while (true) {
+                if ((current = this.keys[pos]) == 0) {
+                    this.keys[last] = 0;
+                    return;
+                }
+                slot = HashCommon.mix(current) & this.mask;
+                if (last <= pos ? last >= slot || slot > pos : last >= slot && slot > pos) {
+                    break;
+                }
+                pos = (pos + 1) & this.mask;
+            }
+            this.keys[last] = current;
+            this.owners[last] = this.owners[pos];
+            this.notifiers[last] = this.notifiers[pos];
+        }
+    }
+
+    private void rehash(final int capacity) {
+        final int[] oldKeys = this.keys;
+        final int[] oldOwners = this.owners;
+        final int[] oldNotifiers = this.notifiers;
+        final int oldN = this.n;
+        this.allocate(capacity);
+        if (this.containsZeroKey) {
+            this.owners[this.n] = oldOwners[oldN];
+            this.notifiers[this.n] = oldNotifiers[oldN];
+        }
+        for (int i = 0; i < oldN; i++) {
+            final int key = oldKeys[i];
+            if (key != 0) {
+                int pos = HashCommon.mix(key) & this.mask;
+                while (this.keys[pos] != 0) {
+                    pos = (pos + 1) & this.mask;
+                }
+                this.keys[pos] = key;
+                this.owners[pos] = oldOwners[i];
+                this.notifiers[pos] = oldNotifiers[i];
+            }
+        }
+    }
+
+    private void allocate(final int capacity) {
+        this.n = capacity;
+        this.mask = capacity - 1;
+        this.maxFill = HashCommon.maxFill(capacity, LOAD_FACTOR);
+        this.keys = new int[capacity + 1];
+        this.owners = new int[capacity + 1];
+        this.notifiers = new int[capacity + 1];
+    }
+}
@@ -102,7 +102,7 @@ public Optional<Vector3d> getPosition() {
 
     @Override
     public DataContainer getEntityData() {
-        return NbtTranslator.getInstance().translateFrom(this.data);
+        return NbtTranslator.getInstance().translateFrom(this.data, false);
     }
 
     @SuppressWarnings("unchecked")
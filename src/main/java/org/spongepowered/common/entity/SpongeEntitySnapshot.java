@@ -196,7 +196,7 @@ public DataContainer toContainer() {
             container.set(Constants.Entity.UUID, this.entityUuid.toString());
         }
         if (this.compound != null) {
-            container.set(Constants.Sponge.UNSAFE_NBT, NbtTranslator.getInstance().translateFrom(this.compound));
+            container.set(Constants.Sponge.UNSAFE_NBT, NbtTranslator.getInstance().translateFrom(this.compound, true));
         }
 
         return container;
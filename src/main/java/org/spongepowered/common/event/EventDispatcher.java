@@ -0,0 +1,129 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event;
+
+import co.aikar.timings.Timing;
+import org.spongepowered.api.event.Cancellable;
+import org.spongepowered.api.event.CauseStackManager;
+import org.spongepowered.api.event.Event;
+import org.spongepowered.api.event.impl.AbstractEvent;
+import org.spongepowered.common.event.tracking.PhaseContext;
+import org.spongepowered.common.relocate.co.aikar.timings.TimingsManager;
+
+import javax.annotation.Nullable;
+
+/**
+ * Posts events to a fixed and ordered set of listeners.
+ *
+ * <p>Subclasses are generated by {@link EventDispatcherFactory} for a single
+ * event type and call every listener from its own call site, so each call
+ * only ever sees one listener implementation. A dispatcher is never
+ * modified, a new one is generated when the listeners change.</p>
+ */
+public abstract class EventDispatcher {
+
+    private final SpongeEventManager manager;
+    private final RegisteredListener<?>[] listeners;
+    private final boolean[] tracked;
+
+    protected EventDispatcher(final SpongeEventManager manager, final RegisteredListener<?>[] listeners, final boolean[] tracked) {
+        this.manager = manager;
+        this.listeners = listeners;
+        this.tracked = tracked;
+    }
+
+    boolean post(final Event event) {
+        final boolean sync = this.manager.isMainThread();
+        if (sync) {
+            TimingsManager.PLUGIN_EVENT_HANDLER.startTimingIfSync();
+        }
+        this.dispatch(event, sync);
+        if (event instanceof AbstractEvent) {
+            ((AbstractEvent) event).currentOrder = null;
+        }
+        return event instanceof Cancellable && ((Cancellable) event).isCancelled();
+    }
+
+    /**
+     * Calls {@link #before}, the listener and {@link #after} for each
+     * listener in order, passing any exception thrown to {@link #fail}.
+     *
+     * @param event The event to post
+     * @param sync Whether the event is posted on the main thread
+     */
+    protected abstract void dispatch(Event event, boolean sync);
+
+    @Nullable
+    protected final ListenerFrame before(final int index, final Event event, final boolean sync) {
+        final RegisteredListener<?> listener = this.listeners[index];
+        final ListenerFrame frame = sync ? this.manager.openListenerFrame(listener, this.tracked[index]) : null;
+        if (event instanceof AbstractEvent) {
+            ((AbstractEvent) event).currentOrder = listener.getOrder();
+        }
+        return frame;
+    }
+
+    protected final void after(@Nullable final ListenerFrame frame) {
+        if (frame != null) {
+            frame.close();
+        }
+    }
+
+    protected final void fail(final int index, final Event event, final Throwable throwable) {
+        this.manager.logger.error("Could not pass {} to {}", event.getClass().getSimpleName(), this.listeners[index].getPlugin(), throwable);
+    }
+
+    /**
+     * The cause frame, phase context and timing entered for a listener
+     * posted to on the main thread.
+     */
+    protected static final class ListenerFrame {
+
+        private final CauseStackManager.StackFrame frame;
+        @Nullable private final PhaseContext<?> context;
+        private final Timing timing;
+
+        ListenerFrame(final CauseStackManager.StackFrame frame, @Nullable final PhaseContext<?> context, final Timing timing) {
+            this.frame = frame;
+            this.context = context;
+            this.timing = timing;
+        }
+
+        void close() {
+            // Closed in the reverse order they were entered in, like try-with-resources does
+            try {
+                this.timing.close();
+            } finally {
+                try {
+                    if (this.context != null) {
+                        this.context.close();
+                    }
+                } finally {
+                    this.frame.close();
+                }
+            }
+        }
+    }
+}
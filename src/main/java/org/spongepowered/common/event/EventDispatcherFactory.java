@@ -0,0 +1,203 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event;
+
+import static org.objectweb.asm.Opcodes.AALOAD;
+import static org.objectweb.asm.Opcodes.ACC_FINAL;
+import static org.objectweb.asm.Opcodes.ACC_PRIVATE;
+import static org.objectweb.asm.Opcodes.ACC_PROTECTED;
+import static org.objectweb.asm.Opcodes.ACC_PUBLIC;
+import static org.objectweb.asm.Opcodes.ACC_SUPER;
+import static org.objectweb.asm.Opcodes.ACONST_NULL;
+import static org.objectweb.asm.Opcodes.ALOAD;
+import static org.objectweb.asm.Opcodes.ASTORE;
+import static org.objectweb.asm.Opcodes.BIPUSH;
+import static org.objectweb.asm.Opcodes.GETFIELD;
+import static org.objectweb.asm.Opcodes.GOTO;
+import static org.objectweb.asm.Opcodes.ICONST_0;
+import static org.objectweb.asm.Opcodes.ILOAD;
+import static org.objectweb.asm.Opcodes.INVOKEINTERFACE;
+import static org.objectweb.asm.Opcodes.INVOKESPECIAL;
+import static org.objectweb.asm.Opcodes.INVOKEVIRTUAL;
+import static org.objectweb.asm.Opcodes.PUTFIELD;
+import static org.objectweb.asm.Opcodes.RETURN;
+import static org.objectweb.asm.Opcodes.SIPUSH;
+import static org.objectweb.asm.Opcodes.V1_6;
+
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Type;
+import org.spongepowered.api.event.Event;
+import org.spongepowered.api.event.EventListener;
+import org.spongepowered.common.event.gen.DefineableClassLoader;
+
+import java.lang.reflect.Constructor;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Generates an {@link EventDispatcher} for an ordered list of listeners.
+ *
+ * <p>Each dispatcher class is defined in a class loader of its own, so the
+ * classes of dispatchers replaced after a registration change can be
+ * unloaded.</p>
+ */
+final class EventDispatcherFactory {
+
+    // Keeps the generated dispatch method well below the maximum method size
+    static final int MAX_LISTENERS = 1024;
+
+    private static final String TARGET_PACKAGE = "org.spongepowered.common.event.dispatch.";
+    private static final String BASE_DISPATCHER = Type.getInternalName(EventDispatcher.class);
+    private static final String FRAME_DESCRIPTOR = Type.getDescriptor(EventDispatcher.ListenerFrame.class);
+    private static final String LISTENER_NAME = Type.getInternalName(EventListener.class);
+    private static final String LISTENER_DESCRIPTOR = Type.getDescriptor(EventListener.class);
+    private static final String REGISTERED_LISTENER_NAME = Type.getInternalName(RegisteredListener.class);
+    private static final String EVENT_DESCRIPTOR = Type.getDescriptor(Event.class);
+    private static final String CONSTRUCTOR_DESCRIPTOR = "(" + Type.getDescriptor(SpongeEventManager.class)
+            + Type.getDescriptor(RegisteredListener[].class) + "[Z)V";
+
+    private static final AtomicInteger id = new AtomicInteger();
+
+    private EventDispatcherFactory() {
+    }
+
+    static EventDispatcher create(final SpongeEventManager manager, final Class<?> eventClass, final List<RegisteredListener<?>> listeners,
+            final boolean[] tracked) throws ReflectiveOperationException {
+        final String name = TARGET_PACKAGE + eventClass.getSimpleName() + "Dispatcher_" + id.incrementAndGet();
+        final DefineableClassLoader classLoader = new DefineableClassLoader(EventDispatcher.class.getClassLoader());
+        final Class<? extends EventDispatcher> dispatcherClass = classLoader.defineClass(name, generateClass(name, listeners.size()));
+        final Constructor<? extends EventDispatcher> constructor =
+                dispatcherClass.getConstructor(SpongeEventManager.class, RegisteredListener[].class, boolean[].class);
+        return constructor.newInstance(manager, listeners.toArray(new RegisteredListener<?>[0]), tracked);
+    }
+
+    private static byte[] generateClass(String name, final int listenerCount) {
+        name = name.replace('.', '/');
+        // Class versions before 50 don't need stack map frames, so none have to be computed
+        final ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+        MethodVisitor mv;
+
+        cw.visit(V1_6, ACC_PUBLIC + ACC_FINAL + ACC_SUPER, name, null, BASE_DISPATCHER, null);
+        for (int i = 0; i < listenerCount; i++) {
+            cw.visitField(ACC_PRIVATE + ACC_FINAL, "listener" + i, LISTENER_DESCRIPTOR, null, null).visitEnd();
+        }
+        {
+            mv = cw.visitMethod(ACC_PUBLIC, "<init>", CONSTRUCTOR_DESCRIPTOR, null, null);
+            mv.visitCode();
+            mv.visitVarInsn(ALOAD, 0);
+            mv.visitVarInsn(ALOAD, 1);
+            mv.visitVarInsn(ALOAD, 2);
+            mv.visitVarInsn(ALOAD, 3);
+            mv.visitMethodInsn(INVOKESPECIAL, BASE_DISPATCHER, "<init>", CONSTRUCTOR_DESCRIPTOR, false);
+            for (int i = 0; i < listenerCount; i++) {
+                mv.visitVarInsn(ALOAD, 0);
+                mv.visitVarInsn(ALOAD, 2);
+                visitIntConstant(mv, i);
+                mv.visitInsn(AALOAD);
+                mv.visitMethodInsn(INVOKEVIRTUAL, REGISTERED_LISTENER_NAME, "getListener", "()" + LISTENER_DESCRIPTOR, false);
+                mv.visitFieldInsn(PUTFIELD, name, "listener" + i, LISTENER_DESCRIPTOR);
+            }
+            mv.visitInsn(RETURN);
+            mv.visitMaxs(0, 0);
+            mv.visitEnd();
+        }
+        {
+            // Locals: 0 this, 1 event, 2 sync, 3 listener frame, 4 thrown exception
+            mv = cw.visitMethod(ACC_PROTECTED, "dispatch", "(" + EVENT_DESCRIPTOR + "Z)V", null, null);
+            mv.visitCode();
+            for (int i = 0; i < listenerCount; i++) {
+                final Label start = new Label();
+                final Label end = new Label();
+                final Label handler = new Label();
+                final Label after = new Label();
+                final Label afterEnd = new Label();
+                final Label afterHandler = new Label();
+                final Label next = new Label();
+                mv.visitTryCatchBlock(start, end, handler, "java/lang/Throwable");
+                // Closing the frame is protected separately so a failing close
+                // is reported like a failing listener and the rest still run
+                mv.visitTryCatchBlock(after, afterEnd, afterHandler, "java/lang/Throwable");
+
+                mv.visitInsn(ACONST_NULL);
+                mv.visitVarInsn(ASTORE, 3);
+                mv.visitLabel(start);
+                mv.visitVarInsn(ALOAD, 0);
+                visitIntConstant(mv, i);
+                mv.visitVarInsn(ALOAD, 1);
+                mv.visitVarInsn(ILOAD, 2);
+                mv.visitMethodInsn(INVOKEVIRTUAL, name, "before", "(I" + EVENT_DESCRIPTOR + "Z)" + FRAME_DESCRIPTOR, false);
+                mv.visitVarInsn(ASTORE, 3);
+                mv.visitVarInsn(ALOAD, 0);
+                mv.visitFieldInsn(GETFIELD, name, "listener" + i, LISTENER_DESCRIPTOR);
+                mv.visitVarInsn(ALOAD, 1);
+                mv.visitMethodInsn(INVOKEINTERFACE, LISTENER_NAME, "handle", "(" + EVENT_DESCRIPTOR + ")V", true);
+                mv.visitLabel(end);
+                mv.visitJumpInsn(GOTO, after);
+
+                mv.visitLabel(handler);
+                visitFail(mv, name, i);
+
+                mv.visitLabel(after);
+                mv.visitVarInsn(ALOAD, 0);
+                mv.visitVarInsn(ALOAD, 3);
+                mv.visitMethodInsn(INVOKEVIRTUAL, name, "after", "(" + FRAME_DESCRIPTOR + ")V", false);
+                mv.visitLabel(afterEnd);
+                mv.visitJumpInsn(GOTO, next);
+
+                mv.visitLabel(afterHandler);
+                visitFail(mv, name, i);
+
+                mv.visitLabel(next);
+            }
+            mv.visitInsn(RETURN);
+            mv.visitMaxs(0, 0);
+            mv.visitEnd();
+        }
+        cw.visitEnd();
+
+        return cw.toByteArray();
+    }
+
+    private static void visitFail(final MethodVisitor mv, final String name, final int index) {
+        mv.visitVarInsn(ASTORE, 4);
+        mv.visitVarInsn(ALOAD, 0);
+        visitIntConstant(mv, index);
+        mv.visitVarInsn(ALOAD, 1);
+        mv.visitVarInsn(ALOAD, 4);
+        mv.visitMethodInsn(INVOKEVIRTUAL, name, "fail", "(I" + EVENT_DESCRIPTOR + "Ljava/lang/Throwable;)V", false);
+    }
+
+    private static void visitIntConstant(final MethodVisitor mv, final int value) {
+        if (value <= 5) {
+            mv.visitInsn(ICONST_0 + value);
+        } else if (value <= Byte.MAX_VALUE) {
+            mv.visitIntInsn(BIPUSH, value);
+        } else {
+            mv.visitIntInsn(SIPUSH, value);
+        }
+    }
+}
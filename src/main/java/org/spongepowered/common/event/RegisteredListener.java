@@ -40,6 +40,8 @@
 import java.util.EnumMap;
 import java.util.List;
 
+import javax.annotation.Nullable;
+
 public final class RegisteredListener<T extends Event> implements SpongeEventListener<T>, Comparable<RegisteredListener<?>> {
 
     private final PluginContainer plugin;
@@ -72,6 +74,10 @@ public Order getOrder() {
         return this.order;
     }
 
+    public EventListener<? super T> getListener() {
+        return this.listener;
+    }
+
     public boolean isBeforeModifications() {
         return this.beforeModifications;
     }
@@ -104,10 +110,15 @@ public int compareTo(RegisteredListener<?> handler) {
 
     public static final class Cache {
 
+        private final EventType<?> eventType;
         private final List<RegisteredListener<?>> listeners;
         private final EnumMap<Order, List<RegisteredListener<?>>> listenersByOrder;
+        @Nullable volatile EventDispatcher dispatcher;
+        // Not exact when posted from several threads, only used to decide when to compile
+        int posts;
 
-        Cache(List<RegisteredListener<?>> listeners) {
+        Cache(EventType<?> eventType, List<RegisteredListener<?>> listeners) {
+            this.eventType = eventType;
             this.listeners = listeners;
 
             this.listenersByOrder = new EnumMap<>(Order.class);
@@ -117,6 +128,10 @@ public static final class Cache {
             }
         }
 
+        public EventType<?> getEventType() {
+            return this.eventType;
+        }
+
         public List<RegisteredListener<?>> getListeners() {
             return this.listeners;
         }
@@ -34,6 +34,7 @@
 import com.github.benmanes.caffeine.cache.Caffeine;
 import com.github.benmanes.caffeine.cache.LoadingCache;
 import com.google.common.collect.HashMultimap;
+import com.google.common.collect.ImmutableMultimap;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Multimap;
@@ -55,6 +56,7 @@
 import org.spongepowered.api.plugin.PluginManager;
 import org.spongepowered.asm.util.PrettyPrinter;
 import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.config.category.EventDispatchCategory;
 import org.spongepowered.common.event.filter.FilterFactory;
 import org.spongepowered.common.event.gen.DefineableClassLoader;
 import org.spongepowered.common.event.tracking.PhaseContext;
@@ -73,6 +75,7 @@
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -91,6 +94,7 @@
 public class SpongeEventManager implements EventManager {
 
     private static final TypeVariable<?> GENERIC_EVENT_TYPE = GenericEvent.class.getTypeParameters()[0];
+    private static final EventDispatchCategory DEFAULT_DISPATCH_CONFIG = new EventDispatchCategory();
 
     private final Object lock = new Object();
     protected final Logger logger;
@@ -98,6 +102,10 @@ public class SpongeEventManager implements EventManager {
     private final Multimap<Class<?>, RegisteredListener<?>> handlersByEvent = HashMultimap.create();
     private final Map<ClassLoader, AnnotatedEventListener.Factory> classLoaders = new IdentityHashMap<>();
     private final Set<Object> registeredListeners = new ReferenceOpenHashSet<>();
+    // A copy of handlersByEvent published on every change, so baking handlers doesn't contend on the lock
+    private volatile ImmutableMultimap<Class<?>, RegisteredListener<?>> handlersSnapshot = ImmutableMultimap.of();
+    // Event types whose dispatcher was compiled, these are compiled again as soon as their listeners change
+    private final Set<EventType<?>> compiledEventTypes = ConcurrentHashMap.newKeySet();
 
     public final ListenerChecker checker = new ListenerChecker(ShouldFire.class);
 
@@ -141,30 +149,78 @@ public SpongeEventManager(Logger logger, PluginManager pluginManager) {
     <T extends Event> RegisteredListener.Cache bakeHandlers(EventType<T> eventType) {
         final List<RegisteredListener<?>> handlers = new ArrayList<>();
         final Set<Class<? super T>> types = TypeToken.of(eventType.getType()).getTypes().rawTypes();
-
-        synchronized (this.lock) {
-            for (Class<? super T> type : types) {
-                if (Event.class.isAssignableFrom(type)) {
-                    final Collection<RegisteredListener<?>> listeners = this.handlersByEvent.get(type);
-                    if (GenericEvent.class.isAssignableFrom(type)) {
-                        final TypeToken<?> genericType = eventType.getGenericType();
-                        checkNotNull(genericType);
-                        for (RegisteredListener<?> listener : listeners) {
-                            final TypeToken<?> genericType1 = listener.getEventType().getGenericType();
-                            checkNotNull(genericType1);
-                            if (TypeTokenHelper.isAssignable(genericType, genericType1)) {
-                                handlers.add(listener);
-                            }
+        final ImmutableMultimap<Class<?>, RegisteredListener<?>> handlersByEvent = this.handlersSnapshot;
+
+        for (Class<? super T> type : types) {
+            if (Event.class.isAssignableFrom(type)) {
+                final Collection<RegisteredListener<?>> listeners = handlersByEvent.get(type);
+                if (GenericEvent.class.isAssignableFrom(type)) {
+                    final TypeToken<?> genericType = eventType.getGenericType();
+                    checkNotNull(genericType);
+                    for (RegisteredListener<?> listener : listeners) {
+                        final TypeToken<?> genericType1 = listener.getEventType().getGenericType();
+                        checkNotNull(genericType1);
+                        if (TypeTokenHelper.isAssignable(genericType, genericType1)) {
+                            handlers.add(listener);
                         }
-                    } else {
-                        handlers.addAll(listeners);
                     }
+                } else {
+                    handlers.addAll(listeners);
                 }
             }
         }
 
         Collections.sort(handlers);
-        return new RegisteredListener.Cache(handlers);
+        final RegisteredListener.Cache cache = new RegisteredListener.Cache(eventType, handlers);
+        if (this.compiledEventTypes.contains(eventType) && this.getDispatchConfig().isCompiled()) {
+            this.compileDispatcher(cache);
+        }
+        return cache;
+    }
+
+    /**
+     * Generates the dispatcher of the given handlers, unless another thread
+     * already did or it can't be generated.
+     *
+     * @param cache The handlers to generate a dispatcher for
+     * @return The dispatcher, or null if there is none
+     */
+    @Nullable
+    private EventDispatcher compileDispatcher(RegisteredListener.Cache cache) {
+        synchronized (cache) {
+            if (cache.dispatcher != null || cache.posts == Integer.MIN_VALUE) {
+                return cache.dispatcher;
+            }
+            final List<RegisteredListener<?>> listeners = cache.getListeners();
+            if (listeners.size() > EventDispatcherFactory.MAX_LISTENERS) {
+                // Never reaches the threshold again
+                cache.posts = Integer.MIN_VALUE;
+                return null;
+            }
+            final Set<String> untrackedPlugins = new HashSet<>(this.getDispatchConfig().getUntrackedListenerPlugins());
+            final boolean[] tracked = new boolean[listeners.size()];
+            for (int i = 0; i < tracked.length; i++) {
+                tracked[i] = !untrackedPlugins.contains(listeners.get(i).getPlugin().getId());
+            }
+            try {
+                cache.dispatcher = EventDispatcherFactory.create(this, cache.getEventType().getType(), listeners, tracked);
+                this.compiledEventTypes.add(cache.getEventType());
+            } catch (ReflectiveOperationException | LinkageError e) {
+                this.logger.error("Failed to generate the event dispatcher for {}, its listeners will be called without one",
+                        cache.getEventType().getType().getName(), e);
+                cache.posts = Integer.MIN_VALUE;
+            }
+            return cache.dispatcher;
+        }
+    }
+
+    protected EventDispatchCategory getDispatchConfig() {
+        return SpongeImpl.isInitialized() ? SpongeImpl.getGlobalConfigAdapter().getConfig().getOptimizations().getEventDispatchCategory()
+                : DEFAULT_DISPATCH_CONFIG;
+    }
+
+    protected boolean isMainThread() {
+        return Sponge.getServer().isMainThread();
     }
 
     @Nullable
@@ -212,6 +268,9 @@ private void register(List<RegisteredListener<? extends Event>> handlers) {
                     this.checker.registerListenerFor(raw);
                 }
             }
+            if (changed) {
+                this.handlersSnapshot = ImmutableMultimap.copyOf(this.handlersByEvent);
+            }
         }
 
         if (changed) {
@@ -362,6 +421,9 @@ private void unregister(Predicate<RegisteredListener<?>> unregister) {
                     this.registeredListeners.remove(handler.getHandle());
                 }
             }
+            if (changed) {
+                this.handlersSnapshot = ImmutableMultimap.copyOf(this.handlersByEvent);
+            }
         }
 
         if (changed) {
@@ -399,9 +461,26 @@ protected RegisteredListener.Cache getHandlerCache(Event event) {
         return this.handlersCache.get(eventType);
     }
 
+    private boolean post(Event event, RegisteredListener.Cache cache) {
+        final EventDispatchCategory config = this.getDispatchConfig();
+        if (config.isCompiled()) {
+            if (cache.getListeners().isEmpty()) {
+                return event instanceof Cancellable && ((Cancellable) event).isCancelled();
+            }
+            EventDispatcher dispatcher = cache.dispatcher;
+            if (dispatcher == null && ++cache.posts >= config.getCompileThreshold()) {
+                dispatcher = this.compileDispatcher(cache);
+            }
+            if (dispatcher != null) {
+                return dispatcher.post(event);
+            }
+        }
+        return post(event, cache.getListeners());
+    }
+
     @SuppressWarnings("unchecked")
     private boolean post(Event event, List<RegisteredListener<?>> handlers) {
-        if (!Sponge.getServer().isMainThread()) {
+        if (!this.isMainThread()) {
             // If this event is being posted asynchronously then we don't want
             // to do any timing or cause stack changes
             for (@SuppressWarnings("rawtypes") RegisteredListener handler : handlers) {
@@ -446,6 +525,31 @@ private boolean post(Event event, List<RegisteredListener<?>> handlers) {
         return event instanceof Cancellable && ((Cancellable) event).isCancelled();
     }
 
+    /**
+     * Enters the cause frame, phase context and timing of a listener the
+     * same way {@link #post(Event, List)} does.
+     */
+    EventDispatcher.ListenerFrame openListenerFrame(RegisteredListener<?> handler, boolean tracked) {
+        final CauseStackManager.StackFrame frame = Sponge.getCauseStackManager().pushCauseFrame();
+        PhaseContext<?> context = null;
+        try {
+            frame.pushCause(handler.getPlugin());
+            context = tracked ? createPluginContext(handler) : null;
+            if (context != null) {
+                context.buildAndSwitch();
+            }
+            final Timing timings = handler.getTimingsHandler();
+            timings.startTimingIfSync();
+            return new EventDispatcher.ListenerFrame(frame, context, timings);
+        } catch (RuntimeException | Error e) {
+            if (context != null) {
+                context.close();
+            }
+            frame.close();
+            throw e;
+        }
+    }
+
     @Nullable
     private EventListenerPhaseContext createPluginContext(RegisteredListener<?> handler) {
         if (PhaseTracker.getInstance().getCurrentState().allowsEventListener()) {
@@ -477,7 +581,7 @@ public boolean postServer(Event event) {
     }
 
     public boolean post(Event event, boolean allowClientThread) {
-        return post(event, getHandlerCache(event).getListeners());
+        return post(event, getHandlerCache(event));
     }
 
     public boolean post(Event event, PluginContainer plugin) {
@@ -32,6 +32,8 @@
 import com.google.common.collect.Lists;
 import com.google.common.collect.Multimap;
 import com.google.common.collect.Multimaps;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
 import net.minecraft.block.Block;
 import net.minecraft.block.BlockEventData;
 import net.minecraft.block.state.IBlockState;
@@ -59,14 +61,12 @@
 
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.Set;
 import java.util.function.BiConsumer;
 
 import javax.annotation.Nullable;
@@ -76,11 +76,15 @@ public final class MultiBlockCaptureSupplier implements ICaptureSupplier {
 
     public static final boolean PRINT_TRANSACTIONS = Boolean.valueOf(System.getProperty("sponge.debugBlockTransactions", "false"));
 
+    // Snapshots are kept as built objects even for positions without a tile entity. The snapshot is the identity
+    // that BlockChange association, pruning and restoring work on, its creator and notifier have to be read before
+    // the chunk tracker overwrites them, and every capture ends up in a ChangeBlockEvent whose transaction list
+    // is built eagerly, so deferring construction to unwind would only move the allocation.
     @Nullable private LinkedListMultimap<BlockPos, SpongeBlockSnapshot> multimap;
     @Nullable private ListMultimap<BlockPos, BlockEventData> scheduledEvents;
     @Nullable private List<SpongeBlockSnapshot> snapshots;
     @Nullable private LinkedHashMap<WorldServer, SpongeProxyBlockAccess.Proxy> processingWorlds;
-    @Nullable private Set<BlockPos> usedBlocks;
+    @Nullable private LongSet usedBlocks; // Packed positions, see BlockPos#toLong
     private int transactionIndex = -1; // These are used to keep track of which snapshot is being referred to as "most recent change"
     private int snapshotIndex = -1;    // so that we can appropriately cancel or discard or apply specific event transactions
     // We made BlockTransaction a Node and this is a pseudo LinkedList due to the nature of needing
@@ -120,14 +124,14 @@ public boolean put(final BlockSnapshot snapshot, final IBlockState newState) {
         if (this.usedBlocks == null) { // Means we have a first usage. All three fields are null
             // At this point, we know we have not captured anything and
             // can just populate the normal list.
-            this.usedBlocks = new HashSet<>();
+            this.usedBlocks = new LongOpenHashSet();
 
-            this.usedBlocks.add(blockPos);
+            this.usedBlocks.add(blockPos.toLong());
             this.addSnapshot(backingSnapshot);
             return true;
         }
         // This isn't our first rodeo...
-        final boolean added = this.usedBlocks.add(blockPos); // add it to the set of positions already used and use the boolean
+        final boolean added = this.usedBlocks.add(blockPos.toLong()); // add it to the set of positions already used and use the boolean
         if (this.multimap != null) {
             // Means we've already got multiple changes per position once before.
             // Likewise, the used blocks, snapshots and multimap will NOT be null.
@@ -264,7 +268,7 @@ private void pruneSingle(final SpongeBlockSnapshot backingSnapshot, final BlockP
             // also means we didn't capture.... wtf is going on at this point?
             throw new IllegalStateException("Expected to remove a single block change that was supposed to be captured....");
         }
-        this.usedBlocks.remove(blockPos);
+        this.usedBlocks.remove(blockPos.toLong());
         this.snapshots.remove(backingSnapshot); // Should be the same snapshot used
     }
 
@@ -287,7 +291,7 @@ private void pruneFromMulti(final SpongeBlockSnapshot backingSnapshot, final Blo
                     if (next.equals(backingSnapshot)) {
                         firsts.remove();
                         // And if it's been found, remove the position from the used blocks as well.
-                        this.usedBlocks.remove(blockPos);
+                        this.usedBlocks.remove(blockPos.toLong());
                         break;
                     }
                 }
@@ -615,7 +619,7 @@ public Optional<Transaction<BlockSnapshot>> createTransaction(final SpongeBlockS
     }
 
     public boolean trackEvent(final BlockPos pos, final BlockEventData blockEventData) {
-        if (this.usedBlocks != null && this.usedBlocks.contains(pos)) {
+        if (this.usedBlocks != null && this.usedBlocks.contains(pos.toLong())) {
             if (this.scheduledEvents == null) {
                 this.scheduledEvents = LinkedListMultimap.create();
             }
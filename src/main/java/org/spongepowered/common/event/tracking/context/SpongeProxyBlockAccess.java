@@ -24,9 +24,11 @@
  */
 package org.spongepowered.common.event.tracking.context;
 
-import com.google.common.collect.LinkedListMultimap;
-import com.google.common.collect.ListMultimap;
 import com.google.common.collect.Queues;
+import it.unimi.dsi.fastutil.longs.Long2ObjectLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.tileentity.TileEntity;
 import net.minecraft.util.EnumFacing;
@@ -48,24 +50,33 @@
 import org.spongepowered.common.world.BlockChange;
 
 import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Deque;
-import java.util.HashSet;
-import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Map;
-import java.util.Set;
+import java.util.function.BiConsumer;
 
 import javax.annotation.Nullable;
 
 public final class SpongeProxyBlockAccess implements IBlockAccess, AutoCloseable {
     private static final boolean DEBUG_PROXY = Boolean.valueOf(System.getProperty("sponge.debugProxyChanges", "false"));
 
-    private final LinkedHashMap<BlockPos, IBlockState> processed = new LinkedHashMap<>();
-    private final LinkedHashMap<BlockPos, TileEntity> affectedTileEntities = new LinkedHashMap<>();
-    private final ListMultimap<BlockPos, TileEntity> queuedTiles = LinkedListMultimap.create();
-    private final ListMultimap<BlockPos, TileEntity> queuedRemovals = LinkedListMultimap.create();
-    private final Set<BlockPos> markedRemoved = new HashSet<>();
+    // Sizes past which pooled collections are shrunk back when they are released,
+    // so a single huge explosion does not pin its tables for the life of the world.
+    private static final int POOL_LIMIT = 16;
+    private static final int TRIM_SIZE = 64;
+
+    // All positions are packed with BlockPos#toLong, so proxied changes do not
+    // retain BlockPos keys or linked entry nodes.
+    private final Long2ObjectLinkedOpenHashMap<IBlockState> processed = new Long2ObjectLinkedOpenHashMap<>();
+    private final Long2ObjectLinkedOpenHashMap<TileEntity> affectedTileEntities = new Long2ObjectLinkedOpenHashMap<>();
+    private final TileEntityQueue queuedTiles = new TileEntityQueue();
+    private final TileEntityQueue queuedRemovals = new TileEntityQueue();
+    private final LongOpenHashSet markedRemoved = new LongOpenHashSet();
     private final Deque<Proxy> proxies = Queues.newArrayDeque();
+    // Collections handed out to proxies, returned here when the proxy is popped.
+    private final Deque<LongOpenHashSet> pooledSets = new ArrayDeque<>();
+    private final Deque<Long2ObjectLinkedOpenHashMap<IBlockState>> pooledStates = new ArrayDeque<>();
     private WorldServer processingWorld;
     @Nullable private BlockTransaction processingTransaction;
     @Nullable private Deque<BlockTransaction> processingStack;
@@ -88,7 +99,7 @@ SpongeProxyBlockAccess proceed(final BlockPos pos, final IBlockState state, fina
         if (this.proxies.isEmpty()) {
             throw new IllegalStateException("Cannot push a new block change without having proxies!");
         }
-        final IBlockState existing = this.processed.put(pos, state);
+        final IBlockState existing = this.processed.put(pos.toLong(), state);
 
         if (!this.proxies.isEmpty()) {
             final Proxy proxy = this.proxies.peek();
@@ -160,33 +171,34 @@ private void popProxy(final Proxy oldProxy) {
         }
         this.proxies.pop();
         if (proxy.hasNew()) {
-            for (final BlockPos pos : proxy.newBlocks) {
-                this.processed.remove(pos);
+            for (final LongIterator iterator = proxy.newBlocks.iterator(); iterator.hasNext(); ) {
+                this.processed.remove(iterator.nextLong());
             }
         }
         if (proxy.hasStored()) {
             if (!this.proxies.isEmpty()) {
-                for (final Map.Entry<BlockPos, IBlockState> entry : proxy.processed.entrySet()) {
-                    this.processed.put(entry.getKey(), entry.getValue());
+                for (final Long2ObjectMap.Entry<IBlockState> entry : proxy.processed.long2ObjectEntrySet()) {
+                    this.processed.put(entry.getLongKey(), entry.getValue());
                 }
             } else {
-                for (final BlockPos blockPos : proxy.processed.keySet()) {
-                    this.processed.remove(blockPos);
+                for (final LongIterator iterator = proxy.processed.keySet().iterator(); iterator.hasNext(); ) {
+                    this.processed.remove(iterator.nextLong());
                 }
             }
         }
         if (proxy.hasRemovals()) {
-            for (final BlockPos removedTile : proxy.markedRemovedTiles) {
-                this.markedRemoved.remove(removedTile);
+            for (final LongIterator iterator = proxy.markedRemovedTiles.iterator(); iterator.hasNext(); ) {
+                this.markedRemoved.remove(iterator.nextLong());
             }
         }
+        proxy.release();
         if (this.proxies.isEmpty()) {
             PrettyPrinter pretty = null;
             if (!this.processed.isEmpty()) {
                 pretty = new PrettyPrinter(60)
                     .add("%s : %s", "Remaining", this.processed.size());
                 final PrettyPrinter printer = pretty;
-                this.processed.forEach(((pos, state) -> printer.add("- %s : %s", "Pos", pos).addWrapped(60, "  %s : %s", "State", state)));
+                forEachPosition(this.processed, (pos, state) -> printer.add("- %s : %s", "Pos", pos).addWrapped(60, "  %s : %s", "State", state));
                 this.processed.clear();
             }
             if (!this.markedRemoved.isEmpty()) {
@@ -195,7 +207,9 @@ private void popProxy(final Proxy oldProxy) {
                 }
                 pretty.add("Unclaimed Removed Tile Positions");
                 final PrettyPrinter printer = pretty;
-                this.markedRemoved.forEach(pos -> printer.add("  -%s", pos));
+                for (final LongIterator iterator = this.markedRemoved.iterator(); iterator.hasNext(); ) {
+                    printer.add("  -%s", BlockPos.fromLong(iterator.nextLong()));
+                }
                 pretty.add();
                 this.markedRemoved.clear();
             }
@@ -222,7 +236,7 @@ private void popProxy(final Proxy oldProxy) {
                     pretty = new PrettyPrinter(60);
                 }
                 final PrettyPrinter printer = pretty;
-                this.affectedTileEntities.forEach(((pos, tileEntity) -> {
+                forEachPosition(this.affectedTileEntities, (pos, tileEntity) -> {
                     if (tileEntity == null) {
                         return;
                     }
@@ -231,7 +245,7 @@ private void popProxy(final Proxy oldProxy) {
                     }
                     this.hasTile = true;
                     printer.add(" - %s : %s", pos, ((TileEntityBridge) tileEntity).bridge$getPrettyPrinterString());
-                }));
+                });
                 this.affectedTileEntities.clear();
             }
 
@@ -242,29 +256,65 @@ private void popProxy(final Proxy oldProxy) {
                     pretty.trace(System.err);
                 }
             }
+            // The access lives as long as its world, don't let one large batch of changes keep its tables grown.
+            this.processed.trim(TRIM_SIZE);
+            this.affectedTileEntities.trim(TRIM_SIZE);
+            this.markedRemoved.trim(TRIM_SIZE);
+        }
+    }
+
+    LongOpenHashSet borrowSet() {
+        final LongOpenHashSet set = this.pooledSets.poll();
+        return set == null ? new LongOpenHashSet() : set;
+    }
+
+    Long2ObjectLinkedOpenHashMap<IBlockState> borrowStates() {
+        final Long2ObjectLinkedOpenHashMap<IBlockState> states = this.pooledStates.poll();
+        return states == null ? new Long2ObjectLinkedOpenHashMap<>() : states;
+    }
+
+    void releaseSet(final LongOpenHashSet set) {
+        if (this.pooledSets.size() < POOL_LIMIT) {
+            set.clear();
+            set.trim(TRIM_SIZE);
+            this.pooledSets.push(set);
+        }
+    }
+
+    void releaseStates(final Long2ObjectLinkedOpenHashMap<IBlockState> states) {
+        if (this.pooledStates.size() < POOL_LIMIT) {
+            states.clear();
+            states.trim(TRIM_SIZE);
+            this.pooledStates.push(states);
+        }
+    }
+
+    private static <V> void forEachPosition(final Long2ObjectLinkedOpenHashMap<V> map, final BiConsumer<BlockPos, V> consumer) {
+        for (final Long2ObjectMap.Entry<V> entry : map.long2ObjectEntrySet()) {
+            consumer.accept(BlockPos.fromLong(entry.getLongKey()), entry.getValue());
         }
     }
 
     @Override
     public TileEntity getTileEntity(final BlockPos pos) {
-        return this.affectedTileEntities.get(pos);
+        return this.affectedTileEntities.get(pos.toLong());
     }
 
     public boolean hasTileEntity(final BlockPos pos) {
-        return this.affectedTileEntities.containsKey(pos);
+        return this.affectedTileEntities.containsKey(pos.toLong());
     }
 
     public boolean hasTileEntity(final BlockPos pos, final TileEntity tileEntity) {
-        return this.affectedTileEntities.get(pos) == tileEntity;
+        return this.affectedTileEntities.get(pos.toLong()) == tileEntity;
     }
 
     public boolean isTileEntityRemoved(final BlockPos pos) {
-        return this.markedRemoved.contains(pos);
+        return this.markedRemoved.contains(pos.toLong());
     }
 
     @Override
     public IBlockState getBlockState(final BlockPos pos) {
-        return this.processed.get(pos);
+        return this.processed.get(pos.toLong());
     }
 
     @Override
@@ -298,7 +348,7 @@ public void onChunkChanged(final BlockPos pos, final IBlockState newState) {
     }
 
     private void unmarkRemoval(final BlockPos pos) {
-        this.markedRemoved.remove(pos);
+        this.markedRemoved.remove(pos.toLong());
         if (!this.proxies.isEmpty()) {
             final Proxy proxy = this.proxies.peek();
             if (proxy.isMarkedForRemoval(pos)) {
@@ -311,16 +361,16 @@ void unmarkRemoval(final BlockPos pos, final TileEntity tileEntity) {
         unmarkRemoval(pos);
         if (tileEntity != null) {
             this.queuedRemovals.remove(pos, tileEntity);
-            final TileEntity removed = this.affectedTileEntities.remove(pos);
+            final TileEntity removed = this.affectedTileEntities.remove(pos.toLong());
             if (removed != null) {
-                this.affectedTileEntities.put(pos, tileEntity);
+                this.affectedTileEntities.put(pos.toLong(), tileEntity);
             }
         }
     }
 
     void proceedWithRemoval(final BlockPos targetPosition, final TileEntity removed) {
-        this.markedRemoved.remove(targetPosition);
-        final TileEntity existing = this.affectedTileEntities.remove(targetPosition);
+        this.markedRemoved.remove(targetPosition.toLong());
+        final TileEntity existing = this.affectedTileEntities.remove(targetPosition.toLong());
         // existing should be removed
         // Always remove the tile entity from various lists.
         if (removed != null) {
@@ -357,7 +407,7 @@ void proceedWithAdd(final BlockPos targetPos, final TileEntity added) {
             System.err.println("Unknown removal for: " + targetPos + " with tile entity: " + added);
         }
         unmarkRemoval(targetPos, added);
-        final TileEntity existing = this.affectedTileEntities.remove(targetPos);
+        final TileEntity existing = this.affectedTileEntities.remove(targetPos.toLong());
         if (existing != null && existing != added) {
             ((TileEntityBridge) existing).bridge$setCaptured(false);
             existing.invalidate();
@@ -393,9 +443,9 @@ public boolean isTileQueuedForRemoval(final BlockPos pos, final TileEntity tileE
     void queueTileAddition(final BlockPos pos, final TileEntity added) {
         // We want to provide the "added tile entity" to the proxy so any requests for this
         // new tile entity will succeed in returning the appropriate one.
-        this.affectedTileEntities.put(pos, added);
+        this.affectedTileEntities.put(pos.toLong(), added);
         // Also, remove the position from being marked as removed.
-        this.markedRemoved.remove(pos);
+        this.markedRemoved.remove(pos.toLong());
         if (added != null && added.getWorld() != this.processingWorld) {
             added.setWorld(this.processingWorld);
         }
@@ -403,9 +453,9 @@ void queueTileAddition(final BlockPos pos, final TileEntity added) {
     }
 
     void unQueueTileAddition(final BlockPos pos, final TileEntity added) {
-        final TileEntity remove = this.affectedTileEntities.remove(pos);
+        final TileEntity remove = this.affectedTileEntities.remove(pos.toLong());
         if (remove != added) {
-            this.affectedTileEntities.put(pos, remove);
+            this.affectedTileEntities.put(pos.toLong(), remove);
         }
         this.queuedTiles.remove(pos, added);
     }
@@ -415,7 +465,7 @@ void queueRemoval(final TileEntity removed) {
             // Set the tile entity to the affected tile entities so it is retrieved
             // by the hooks in WorldServerMixin for getting tiles for removal.
             final BlockPos pos = removed.getPos();
-            this.affectedTileEntities.put(pos, null);
+            this.affectedTileEntities.put(pos.toLong(), null);
             markRemovedTile(pos);
             if (!this.queuedRemovals.containsEntry(pos, removed)) {
                 this.queuedRemovals.put(pos, removed);
@@ -430,8 +480,8 @@ void queueReplacement(final TileEntity added, final TileEntity removed) {
         // retrieved by the target world will return the new added tile entity
         // without it actually being added yet to the world/chunk. Likewise, it will
         // not be removed from the world/chunk until the BlockTransaction is processed.
-        final TileEntity existing = this.affectedTileEntities.put(removed.getPos(), added);
-        this.markedRemoved.remove(removed.getPos());
+        final TileEntity existing = this.affectedTileEntities.put(removed.getPos().toLong(), added);
+        this.markedRemoved.remove(removed.getPos().toLong());
         if (existing != null && existing != removed) {
             // Someone went and changed? Maybe it's already removed?
             this.queuedRemovals.put(existing.getPos(), existing);
@@ -440,7 +490,7 @@ void queueReplacement(final TileEntity added, final TileEntity removed) {
     }
 
     public boolean succeededInAdding(final BlockPos pos, final TileEntity tileEntity) {
-        final TileEntity removed = this.affectedTileEntities.remove(pos);
+        final TileEntity removed = this.affectedTileEntities.remove(pos.toLong());
         if (removed != null && removed != tileEntity) {
             System.err.println("Removed a tile entity that wasn't expected to be removed: " + removed);
             return false;
@@ -449,7 +499,7 @@ public boolean succeededInAdding(final BlockPos pos, final TileEntity tileEntity
     }
 
     void pushTile(final BlockPos pos, final TileEntity tile) {
-        this.affectedTileEntities.put(pos, tile);
+        this.affectedTileEntities.put(pos.toLong(), tile);
         if (tile == null) {
             markRemovedTile(pos);
         } else {
@@ -458,13 +508,13 @@ void pushTile(final BlockPos pos, final TileEntity tile) {
     }
 
     private void markRemovedTile(final BlockPos pos) {
-        final boolean added = this.markedRemoved.add(pos);
+        final boolean added = this.markedRemoved.add(pos.toLong());
         if (added) {
             // We want the tile entity to be null at the position, without being able to retrieve it
             // because if there's a queued tile being added, well, then it's marked for addition later,
             // but we do not want to be showing that tile entity if there's supposed to be an "empty"
             // or "null" tile entity at the processing time.
-            this.affectedTileEntities.put(pos, null);
+            this.affectedTileEntities.put(pos.toLong(), null);
         }
         if (!this.proxies.isEmpty()) {
             final Proxy proxy = this.proxies.peek();
@@ -480,13 +530,15 @@ public WorldServerBridge getWorld() {
 
     public void addToPrinter(final PrettyPrinter printer) {
         printer.add(" BlockStates");
-        this.processed.forEach((pos, state) -> printer.add("  %s : %s", pos, state));
+        forEachPosition(this.processed, (pos, state) -> printer.add("  %s : %s", pos, state));
         printer.add()
             .add(" MarkedRemoved");
-        this.markedRemoved.forEach(pos -> printer.add("  - %s", pos));
+        for (final LongIterator iterator = this.markedRemoved.iterator(); iterator.hasNext(); ) {
+            printer.add("  - %s", BlockPos.fromLong(iterator.nextLong()));
+        }
         printer.add()
             .add(" Affected Tiles");
-        this.affectedTileEntities.forEach((pos, tileEntity) -> printer.add("  - %s : %s", pos, tileEntity == null ? "null" : ((TileEntityBridge) tileEntity).bridge$getPrettyPrinterString()));
+        forEachPosition(this.affectedTileEntities, (pos, tileEntity) -> printer.add("  - %s : %s", pos, tileEntity == null ? "null" : ((TileEntityBridge) tileEntity).bridge$getPrettyPrinterString()));
         printer.add()
             .add(" QueuedTiles");
         this.queuedTiles.forEach((pos, tileEntity) -> printer.add("  - %s : %s", pos, tileEntity == null ? "null" : ((TileEntityBridge) tileEntity).bridge$getPrettyPrinterString()));
@@ -576,10 +628,10 @@ public static final class Proxy implements AutoCloseable {
 
         private final SpongeProxyBlockAccess proxyAccess;
         @Nullable Exception stack_debug;
-        @Nullable private LinkedHashMap<BlockPos, IBlockState> processed;
-        @Nullable private Set<BlockPos> newBlocks;
-        @Nullable private Set<BlockPos> markedRemovedTiles;
-        @Nullable private LinkedHashMap<BlockPos, TileEntity> removedTiles;
+        @Nullable private Long2ObjectLinkedOpenHashMap<IBlockState> processed;
+        @Nullable private LongOpenHashSet newBlocks;
+        @Nullable private LongOpenHashSet markedRemovedTiles;
+        @Nullable private Long2ObjectLinkedOpenHashMap<TileEntity> removedTiles;
 
         Proxy(final SpongeProxyBlockAccess spongeProxyBlockAccess) {
             this.proxyAccess = spongeProxyBlockAccess;
@@ -590,6 +642,24 @@ public void close() {
             this.proxyAccess.popProxy(this);
         }
 
+        /**
+         * Hands the pooled collections back to the owning access, called once
+         * this proxy has been popped and its changes have been merged.
+         */
+        void release() {
+            if (this.processed != null) {
+                this.proxyAccess.releaseStates(this.processed);
+                this.processed = null;
+            }
+            if (this.newBlocks != null) {
+                this.proxyAccess.releaseSet(this.newBlocks);
+                this.newBlocks = null;
+            }
+            if (this.markedRemovedTiles != null) {
+                this.proxyAccess.releaseSet(this.markedRemovedTiles);
+                this.markedRemovedTiles = null;
+            }
+        }
 
         boolean hasNew() {
             return this.newBlocks != null && !this.newBlocks.isEmpty();
@@ -601,40 +671,40 @@ boolean hasStored() {
 
         void markNew(final BlockPos pos) {
             if (this.newBlocks == null) {
-                this.newBlocks = new HashSet<>();
+                this.newBlocks = this.proxyAccess.borrowSet();
             }
-            this.newBlocks.add(pos);
+            this.newBlocks.add(pos.toLong());
         }
 
         boolean isNew(final BlockPos pos) {
-            return this.newBlocks != null && this.newBlocks.contains(pos);
+            return this.newBlocks != null && this.newBlocks.contains(pos.toLong());
         }
 
         boolean isStored(final BlockPos pos) {
-            return this.processed != null && this.processed.containsKey(pos);
+            return this.processed != null && this.processed.containsKey(pos.toLong());
         }
 
 
         void store(final BlockPos pos, final IBlockState state) {
             if (this.processed == null) {
-                this.processed = new LinkedHashMap<>();
+                this.processed = this.proxyAccess.borrowStates();
             }
-            this.processed.put(pos, state);
+            this.processed.put(pos.toLong(), state);
         }
 
         boolean isMarkedForRemoval(final BlockPos pos) {
-            return this.markedRemovedTiles != null && this.markedRemovedTiles.contains(pos);
+            return this.markedRemovedTiles != null && this.markedRemovedTiles.contains(pos.toLong());
         }
 
         public boolean isStoredRemoval(final BlockPos pos) {
-            return this.removedTiles != null && this.removedTiles.containsKey(pos);
+            return this.removedTiles != null && this.removedTiles.containsKey(pos.toLong());
         }
 
         void storeMarkedRemoval(final BlockPos pos) {
             if (this.markedRemovedTiles == null) {
-                this.markedRemovedTiles = new HashSet<>();
+                this.markedRemovedTiles = this.proxyAccess.borrowSet();
             }
-            this.markedRemovedTiles.add(pos);
+            this.markedRemovedTiles.add(pos.toLong());
         }
 
         boolean hasRemovals() {
@@ -642,7 +712,78 @@ boolean hasRemovals() {
         }
 
         void unmarkRemoval(final BlockPos pos) {
-            this.markedRemovedTiles.remove(pos);
+            this.markedRemovedTiles.remove(pos.toLong());
+        }
+    }
+
+    /**
+     * An insertion ordered multimap of tile entities keyed by packed position,
+     * standing in for a {@code LinkedListMultimap<BlockPos, TileEntity>}.
+     * Entries are compared by identity as tile entities do not override equals.
+     */
+    static final class TileEntityQueue {
+
+        private final Long2ObjectLinkedOpenHashMap<List<TileEntity>> tiles = new Long2ObjectLinkedOpenHashMap<>();
+
+        List<TileEntity> get(final BlockPos pos) {
+            final List<TileEntity> list = this.tiles.get(pos.toLong());
+            return list == null ? Collections.emptyList() : Collections.unmodifiableList(list);
+        }
+
+        void put(final BlockPos pos, final TileEntity tileEntity) {
+            List<TileEntity> list = this.tiles.get(pos.toLong());
+            if (list == null) {
+                list = new ArrayList<>(2);
+                this.tiles.put(pos.toLong(), list);
+            }
+            list.add(tileEntity);
+        }
+
+        boolean remove(final BlockPos pos, final TileEntity tileEntity) {
+            final List<TileEntity> list = this.tiles.get(pos.toLong());
+            if (list == null) {
+                return false;
+            }
+            for (int i = 0; i < list.size(); i++) {
+                if (list.get(i) == tileEntity) {
+                    list.remove(i);
+                    if (list.isEmpty()) {
+                        this.tiles.remove(pos.toLong());
+                    }
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        boolean containsEntry(final BlockPos pos, final TileEntity tileEntity) {
+            final List<TileEntity> list = this.tiles.get(pos.toLong());
+            if (list != null) {
+                for (final TileEntity tile : list) {
+                    if (tile == tileEntity) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        boolean isEmpty() {
+            return this.tiles.isEmpty();
+        }
+
+        void clear() {
+            this.tiles.clear();
+            this.tiles.trim(TRIM_SIZE);
+        }
+
+        void forEach(final BiConsumer<BlockPos, TileEntity> consumer) {
+            for (final Long2ObjectMap.Entry<List<TileEntity>> entry : this.tiles.long2ObjectEntrySet()) {
+                final BlockPos pos = BlockPos.fromLong(entry.getLongKey());
+                for (final TileEntity tile : entry.getValue()) {
+                    consumer.accept(pos, tile);
+                }
+            }
         }
     }
 
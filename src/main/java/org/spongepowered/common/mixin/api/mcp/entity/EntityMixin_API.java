@@ -562,7 +562,7 @@ public DataContainer toContainer() {
         final NBTTagCompound compound = new NBTTagCompound();
         writeToNBT(compound);
         Constants.NBT.filterSpongeCustomData(compound); // We must filter the custom data so it isn't stored twice
-        final DataContainer unsafeNbt = NbtTranslator.getInstance().translateFrom(compound);
+        final DataContainer unsafeNbt = NbtTranslator.getInstance().translateFrom(compound, true);
         final DataContainer container = DataContainer.createNew()
             .set(Queries.CONTENT_VERSION, getContentVersion())
             .set(Constants.Entity.CLASS, this.getClass().getName())
@@ -146,7 +146,7 @@ public DataContainer toContainer() {
             }
             Constants.NBT.filterSpongeCustomData(compound); // We must filter the custom data so it isn't stored twice
             if (!compound.isEmpty()) {
-                final DataContainer unsafeNbt = NbtTranslator.getInstance().translateFrom(compound);
+                final DataContainer unsafeNbt = NbtTranslator.getInstance().translateFrom(compound, true);
                 container.set(Constants.Sponge.UNSAFE_NBT, unsafeNbt);
             }
         }
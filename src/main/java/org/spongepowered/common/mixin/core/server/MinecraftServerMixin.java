@@ -402,6 +402,16 @@ public void saveAllWorlds(final boolean dontLog) {
                         LOGGER.info("Auto-saving chunks for level \'" + world.getWorldInfo().getWorldName() + "\'/"
                                 + ((WorldServerBridge) world).bridge$getDimensionId());
                     }
+                    if (configAdapter.getConfig().getWorld().useIncrementalAutoSave()) {
+                        // The chunk provider saves the queued chunks during its ticks until the next interval
+                        try {
+                            ((WorldServerBridge) world).bridge$startIncrementalSave(autoSaveInterval);
+                        } catch (MinecraftException ex) {
+                            LOGGER.error("Failed to start the incremental save of level '{}'/{}", world.getWorldInfo().getWorldName(),
+                                    ((WorldServerBridge) world).bridge$getDimensionId(), ex);
+                        }
+                        continue;
+                    }
                 } else if (log) {
                     LOGGER.info("Saving chunks for level \'" + world.getWorldInfo().getWorldName() + "\'/"
                         + ((WorldServerBridge) world).bridge$getDimensionId());
@@ -25,7 +25,11 @@
 package org.spongepowered.common.mixin.core.world;
 
 import com.flowpowered.math.vector.Vector3d;
-import com.google.common.collect.Sets;
+import it.unimi.dsi.fastutil.longs.Long2IntMap;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectIterator;
+import it.unimi.dsi.fastutil.objects.Reference2LongOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.entity.EntityLiving;
 import net.minecraft.entity.EntitySpawnPlacementRegistry;
@@ -56,6 +60,7 @@
 import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.SpongeImplHooks;
 import org.spongepowered.common.bridge.entity.player.EntityPlayerBridge;
+import org.spongepowered.common.bridge.world.WorldEntitySpawnerBridge;
 import org.spongepowered.common.bridge.world.WorldServerBridge;
 import org.spongepowered.common.bridge.world.WorldInfoBridge;
 import org.spongepowered.common.bridge.world.chunk.ChunkBridge;
@@ -67,21 +72,33 @@
 import org.spongepowered.common.event.tracking.phase.generation.GenerationPhase;
 import org.spongepowered.common.registry.type.entity.EntityTypeRegistryModule;
 import org.spongepowered.common.util.SpawnerSpawnType;
+import org.spongepowered.common.world.SpawnerStatistics;
 
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 import javax.annotation.Nullable;
 
 @Mixin(WorldEntitySpawner.class)
-public abstract class WorldEntitySpawnerMixin {
+public abstract class WorldEntitySpawnerMixin implements WorldEntitySpawnerBridge {
 
     @Nullable
     private static EntityType impl$spawnerEntityType;
-    private final Set<Chunk> impl$eligibleSpawnChunks = Sets.newIdentityHashSet();
+    private final List<Chunk> impl$eligibleSpawnChunks = new ArrayList<>();
+    // Amount of players whose spawn range covers a chunk, and the same for the
+    // range without its outer ring, in which chunks are eligible for spawning.
+    private final Long2IntOpenHashMap impl$coveredChunks = new Long2IntOpenHashMap();
+    private final Long2IntOpenHashMap impl$innerChunks = new Long2IntOpenHashMap();
+    private final Reference2LongOpenHashMap<EntityPlayer> impl$playerChunks = new Reference2LongOpenHashMap<>();
+    private final Set<EntityPlayer> impl$seenPlayers = new ReferenceOpenHashSet<>();
+    private int impl$coveredRange = -1;
+    private int impl$spawnCursor;
+    // The creature type that ran out of search budget, which is resumed first on the next spawn tick
+    private int impl$resumeType = -1;
 
     /**
      * @author blood - February 18th, 2017
@@ -96,18 +113,18 @@ public abstract class WorldEntitySpawnerMixin {
     @Overwrite
     public int findChunksForSpawning(final WorldServer world, final boolean spawnHostileMobs, final boolean spawnPeacefulMobs, final boolean spawnOnSetTickRate) {
         if (!spawnHostileMobs && !spawnPeacefulMobs) {
+            // Don't hold on to players while spawning is disabled
+            this.impl$clearCoverage();
             return 0;
         }
 
         try (final PhaseContext<?> context = GenerationPhase.State.WORLD_SPAWNER_SPAWNING.createPhaseContext()
                 .world(world)) {
             context.buildAndSwitch();
-            Iterator<Chunk> chunkIterator = this.impl$eligibleSpawnChunks.iterator();
-            while (chunkIterator.hasNext()) {
-                final Chunk chunk = chunkIterator.next();
+            for (final Chunk chunk : this.impl$eligibleSpawnChunks) {
                 ((ChunkBridge) chunk).bridge$setIsSpawning(false);
-                chunkIterator.remove();
             }
+            this.impl$eligibleSpawnChunks.clear();
 
             final WorldServerBridge spongeWorld = (WorldServerBridge) world;
             spongeWorld.bridge$getTimingsHandler().mobSpawn.startTiming();
@@ -120,47 +137,43 @@ public int findChunksForSpawning(final WorldServer world, final boolean spawnHos
             // mob spawn range set by server.
             final int MOB_SPAWN_COUNT_DIV = (2 * mobSpawnRange + 1) * (2 * mobSpawnRange + 1);
 
-            for (final EntityPlayer entityplayer : world.playerEntities) {
-                // We treat players who do not affect spawning as "spectators"
-                if (!((EntityPlayerBridge) entityplayer).bridge$affectsSpawning() || entityplayer.isSpectator()) {
+            // Only the squares of players that crossed a chunk border are updated,
+            // every covered chunk is then looked up once regardless of how many
+            // players overlap it.
+            this.impl$updateCoverage(world, mobSpawnRange);
+
+            final ChunkProviderBridge chunkProvider = (ChunkProviderBridge) world.getChunkProvider();
+            final ObjectIterator<Long2IntMap.Entry> coveredIterator = this.impl$coveredChunks.long2IntEntrySet().fastIterator();
+            while (coveredIterator.hasNext()) {
+                final Long2IntMap.Entry covered = coveredIterator.next();
+                final long chunkKey = covered.getLongKey();
+                final Chunk chunk = chunkProvider.bridge$getLoadedChunkWithoutMarkingActive((int) chunkKey, (int) (chunkKey >>> 32));
+                if (chunk == null || (chunk.unloadQueued && !((ChunkBridge) chunk).bridge$isPersistedChunk())) {
+                    // Don't attempt to spawn in an unloaded chunk
                     continue;
                 }
 
-                final int playerPosX = MathHelper.floor(entityplayer.posX / 16.0D);
-                final int playerPosZ = MathHelper.floor(entityplayer.posZ / 16.0D);
-
-                for (int i = -mobSpawnRange; i <= mobSpawnRange; ++i) {
-                    for (int j = -mobSpawnRange; j <= mobSpawnRange; ++j) {
-                        final boolean flag = i == -mobSpawnRange || i == mobSpawnRange || j == -mobSpawnRange || j == mobSpawnRange;
-                        final Chunk
-                            chunk =
-                            ((ChunkProviderBridge) world.getChunkProvider())
-                                .bridge$getLoadedChunkWithoutMarkingActive(i + playerPosX, j + playerPosZ);
-                        if (chunk == null || (chunk.unloadQueued && !((ChunkBridge) chunk).bridge$isPersistedChunk())) {
-                            // Don't attempt to spawn in an unloaded chunk
-                            continue;
-                        }
-                        if (this.impl$eligibleSpawnChunks.contains(chunk)) {
-                            continue;
-                        }
-
-                        final ChunkBridge spongeChunk = (ChunkBridge) chunk;
-                        ++chunkSpawnCandidates;
-                        final ChunkPos chunkPos = chunk.getPos();
-                        if (!flag && world.getWorldBorder().contains(chunkPos)) {
-                            final PlayerChunkMapEntry playerchunkmapentry = world.getPlayerChunkMap().getEntry(chunkPos.x, chunkPos.z);
-
-                            if (playerchunkmapentry != null && playerchunkmapentry.isSentToPlayers() && !spongeChunk.bridge$isSpawning()) {
-                                this.impl$eligibleSpawnChunks.add(chunk);
-                                spongeChunk.bridge$setIsSpawning(true);
-                            }
-                        }
+                final ChunkBridge spongeChunk = (ChunkBridge) chunk;
+                final ChunkPos chunkPos = chunk.getPos();
+                boolean eligible = false;
+                // Chunks on the edge of every player's square are only candidates
+                if (this.impl$innerChunks.containsKey(chunkKey) && world.getWorldBorder().contains(chunkPos)) {
+                    final PlayerChunkMapEntry playerchunkmapentry = world.getPlayerChunkMap().getEntry(chunkPos.x, chunkPos.z);
+
+                    if (playerchunkmapentry != null && playerchunkmapentry.isSentToPlayers() && !spongeChunk.bridge$isSpawning()) {
+                        this.impl$eligibleSpawnChunks.add(chunk);
+                        spongeChunk.bridge$setIsSpawning(true);
+                        eligible = true;
                     }
                 }
+                // Like vanilla, an eligible chunk is counted once, every other chunk once for each
+                // player whose square covers it, which raises the mob cap for clustered players.
+                chunkSpawnCandidates += eligible ? 1 : covered.getIntValue();
             }
 
             // If there are no eligible chunks, return early
             if (this.impl$eligibleSpawnChunks.isEmpty()) {
+                SpawnerStatistics.recordTick(0, 0, 0, false);
                 spongeWorld.bridge$getTimingsHandler().mobSpawn.stopTiming();
                 return 0;
             }
@@ -168,9 +181,22 @@ public int findChunksForSpawning(final WorldServer world, final boolean spawnHos
             int totalSpawned = 0;
             final long worldTotalTime = world.getTotalWorldTime();
             final SpongeConfig<WorldConfig> configAdapter = ((WorldInfoBridge) world.getWorldInfo()).bridge$getConfigAdapter();
+            final int eligibleCount = this.impl$eligibleSpawnChunks.size();
+            final int searchBudget = configAdapter.getConfig().getSpawner().getSpawnSearchBudget();
+            final long searchDeadline = searchBudget > 0 ? System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(searchBudget) : Long.MAX_VALUE;
+            boolean budgetExhausted = false;
+            int attempted = 0;
+            int spawned = 0;
+
+            final EnumCreatureType[] creatureTypes = EnumCreatureType.values();
+            final int resumeType = this.impl$resumeType;
+            this.impl$resumeType = -1;
 
             labelOuterLoop:
-            for (final EnumCreatureType enumCreatureType : EnumCreatureType.values()) {
+            for (int typeIndex = 0; typeIndex < creatureTypes.length; typeIndex++) {
+                // Start with the type that ran out of budget last time, so every type gets its turn
+                final EnumCreatureType enumCreatureType = creatureTypes[(Math.max(resumeType, 0) + typeIndex) % creatureTypes.length];
+                final boolean resumed = resumeType >= 0 && typeIndex == 0;
                 int limit = 0;
                 int tickRate = 0;
                 if (enumCreatureType == EnumCreatureType.MONSTER) {
@@ -187,7 +213,8 @@ public int findChunksForSpawning(final WorldServer world, final boolean spawnHos
                     tickRate = configAdapter.getConfig().getSpawner().getAmbientTickRate();
                 }
 
-                if (limit == 0 || tickRate == 0 || (worldTotalTime % tickRate) != 0L) {
+                // An interrupted type is resumed even if it isn't due on this tick
+                if (limit == 0 || tickRate == 0 || (!resumed && (worldTotalTime % tickRate) != 0L)) {
                     continue;
                 }
 
@@ -198,11 +225,18 @@ public int findChunksForSpawning(final WorldServer world, final boolean spawnHos
                         continue labelOuterLoop;
                     }
 
-                    chunkIterator = this.impl$eligibleSpawnChunks.iterator();
                     int mobLimit = maxCount - entityCount + 1;
+                    int chunkIndex = 0;
                     labelChunkStart:
-                    while (chunkIterator.hasNext() && mobLimit > 0) {
-                        final Chunk chunk = chunkIterator.next();
+                    while (chunkIndex < eligibleCount && mobLimit > 0) {
+                        if (searchBudget > 0 && System.nanoTime() > searchDeadline) {
+                            // Resume with the chunks we didn't get to on the next spawn tick
+                            this.impl$spawnCursor = (this.impl$spawnCursor + chunkIndex) % eligibleCount;
+                            this.impl$resumeType = enumCreatureType.ordinal();
+                            budgetExhausted = true;
+                            break labelOuterLoop;
+                        }
+                        final Chunk chunk = this.impl$eligibleSpawnChunks.get((this.impl$spawnCursor + chunkIndex++) % eligibleCount);
                         final BlockPos.MutableBlockPos mutableBlockPos = new BlockPos.MutableBlockPos();
                         final BlockPos blockpos = getRandomChunkPosition(world, chunk);
                         final int k1 = blockpos.getX();
@@ -221,6 +255,7 @@ public int findChunksForSpawning(final WorldServer world, final boolean spawnHos
                                 final int l3 = MathHelper.ceil(Math.random() * 4.0D);
 
                                 for (int i4 = 0; i4 < l3; ++i4) {
+                                    ++attempted;
                                     l2 += world.rand.nextInt(6) - world.rand.nextInt(6);
                                     i3 += world.rand.nextInt(1) - world.rand.nextInt(1);
                                     j3 += world.rand.nextInt(6) - world.rand.nextInt(6);
@@ -280,6 +315,7 @@ public int findChunksForSpawning(final WorldServer world, final boolean spawnHos
 
                                                 if (entityNotColliding) {
                                                     ++spawnCount;
+                                                    ++spawned;
                                                     world.spawnEntity(entityliving);
                                                 } else {
                                                     entityliving.setDead();
@@ -301,12 +337,83 @@ public int findChunksForSpawning(final WorldServer world, final boolean spawnHos
                 }
             }
 
+            SpawnerStatistics.recordTick(eligibleCount, attempted, spawned, budgetExhausted);
             spongeWorld.bridge$getTimingsHandler().mobSpawn.stopTiming();
 
             return totalSpawned;
         }
     }
 
+    private void impl$updateCoverage(final WorldServer world, final int range) {
+        if (range != this.impl$coveredRange) {
+            this.impl$clearCoverage();
+            this.impl$coveredRange = range;
+        }
+
+        for (final EntityPlayer entityplayer : world.playerEntities) {
+            // We treat players who do not affect spawning as "spectators"
+            if (!((EntityPlayerBridge) entityplayer).bridge$affectsSpawning() || entityplayer.isSpectator()) {
+                continue;
+            }
+            this.impl$seenPlayers.add(entityplayer);
+
+            final long chunkKey = ChunkPos.asLong(MathHelper.floor(entityplayer.posX / 16.0D), MathHelper.floor(entityplayer.posZ / 16.0D));
+            if (this.impl$playerChunks.containsKey(entityplayer)) {
+                final long previousKey = this.impl$playerChunks.getLong(entityplayer);
+                if (previousKey == chunkKey) {
+                    continue;
+                }
+                this.impl$coverSquare(previousKey, range, -1);
+            }
+            this.impl$playerChunks.put(entityplayer, chunkKey);
+            this.impl$coverSquare(chunkKey, range, 1);
+        }
+
+        if (this.impl$playerChunks.size() != this.impl$seenPlayers.size()) {
+            final Iterator<EntityPlayer> iterator = this.impl$playerChunks.keySet().iterator();
+            while (iterator.hasNext()) {
+                final EntityPlayer entityplayer = iterator.next();
+                if (!this.impl$seenPlayers.contains(entityplayer)) {
+                    this.impl$coverSquare(this.impl$playerChunks.getLong(entityplayer), range, -1);
+                    iterator.remove();
+                }
+            }
+        }
+        this.impl$seenPlayers.clear();
+    }
+
+    private void impl$coverSquare(final long chunkKey, final int range, final int delta) {
+        final int chunkX = (int) chunkKey;
+        final int chunkZ = (int) (chunkKey >>> 32);
+        for (int i = -range; i <= range; ++i) {
+            for (int j = -range; j <= range; ++j) {
+                final long key = ChunkPos.asLong(chunkX + i, chunkZ + j);
+                impl$addTo(this.impl$coveredChunks, key, delta);
+                if (i != -range && i != range && j != -range && j != range) {
+                    impl$addTo(this.impl$innerChunks, key, delta);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void bridge$clearSpawnCoverage() {
+        this.impl$clearCoverage();
+    }
+
+    private void impl$clearCoverage() {
+        this.impl$coveredChunks.clear();
+        this.impl$innerChunks.clear();
+        this.impl$playerChunks.clear();
+        this.impl$coveredRange = -1;
+    }
+
+    private static void impl$addTo(final Long2IntOpenHashMap map, final long key, final int delta) {
+        if (map.addTo(key, delta) + delta <= 0) {
+            map.remove(key);
+        }
+    }
+
     private static BlockPos getRandomChunkPosition(final World worldIn, final Chunk chunk)
     {
         final int i = chunk.x * 16 + worldIn.rand.nextInt(16);
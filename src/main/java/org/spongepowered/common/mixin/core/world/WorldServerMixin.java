@@ -68,6 +68,7 @@
 import net.minecraft.world.NextTickListEntry;
 import net.minecraft.world.Teleporter;
 import net.minecraft.world.World;
+import net.minecraft.world.WorldEntitySpawner;
 import net.minecraft.world.WorldProvider;
 import net.minecraft.world.WorldServer;
 import net.minecraft.world.WorldSettings;
@@ -144,6 +145,7 @@
 import org.spongepowered.common.bridge.tileentity.TileEntityBridge;
 import org.spongepowered.common.bridge.util.math.BlockPosBridge;
 import org.spongepowered.common.bridge.world.NextTickListEntryBridge;
+import org.spongepowered.common.bridge.world.WorldEntitySpawnerBridge;
 import org.spongepowered.common.bridge.world.WorldInfoBridge;
 import org.spongepowered.common.bridge.world.WorldServerBridge;
 import org.spongepowered.common.bridge.world.WorldTypeBridge;
@@ -186,6 +188,7 @@
 import org.spongepowered.common.world.gen.SpongeGenerationPopulator;
 import org.spongepowered.common.world.gen.SpongeWorldGenerator;
 import org.spongepowered.common.world.gen.WorldGenConstants;
+import org.spongepowered.common.world.storage.IncrementalChunkSaver;
 
 import javax.annotation.Nullable;
 import java.util.ArrayList;
@@ -221,6 +224,7 @@ public abstract class WorldServerMixin extends WorldMixin implements WorldServer
 
     @Shadow @Final private MinecraftServer server;
     @Shadow @Final private PlayerChunkMap playerChunkMap;
+    @Shadow @Final private WorldEntitySpawner entitySpawner;
     @Shadow @Final @Mutable private Teleporter worldTeleporter;
     @Shadow private int updateEntityTick;
 
@@ -573,14 +577,21 @@ protected void updateBlocks() {
             // Sponge start
             this.impl$timings.updateBlocksThunder.startTiming();
 
+            // Sponge start - roll the lightning and ice and snow chances up front, so the weather phase is
+            // only entered for the few chunks where either can happen this tick rather than for every chunk
+            final boolean rollsLightning = this.impl$weatherThunderEnabled && flag && flag1 && this.rand.nextInt(100000) == 0;
+            final boolean rollsIceAndSnow = this.impl$weatherIceAndSnowEnabled && this.rand.nextInt(16) == 0;
+
             // Sponge start - wrap call to canDoLightning in phase, since mods can run arbitrary code here
 
-            try (final PhaseContext<?> context = TickPhase.Tick.WEATHER.createPhaseContext().source(this)) {
-                context.buildAndSwitch();
+            try (final PhaseContext<?> context = rollsLightning || rollsIceAndSnow
+                                                 ? TickPhase.Tick.WEATHER.createPhaseContext().source(this) : null) {
+                if (context != null) {
+                    context.buildAndSwitch();
+                }
 
                 //if (this.provider.canDoLightning(chunk) && flag && flag1 && this.rand.nextInt(100000) == 0) // Sponge - Add SpongeImplHooks for forge
-                if (this.impl$weatherThunderEnabled && SpongeImplHooks.canDoLightning(this.provider, chunk) && flag && flag1
-                    && this.rand.nextInt(100000) == 0) {
+                if (rollsLightning && SpongeImplHooks.canDoLightning(this.provider, chunk)) {
 
                     // Sponge end
                     this.updateLCG = this.updateLCG * 3 + 1013904223;
@@ -659,7 +670,7 @@ protected void updateBlocks() {
                 this.profiler.endStartSection("iceandsnow");
 
                 // if (this.rand.nextInt(16) == 0) // Sponge - Rewrite to use our boolean, and forge hook
-                if (this.impl$weatherIceAndSnowEnabled && SpongeImplHooks.canDoRainSnowIce(this.provider, chunk) && this.rand.nextInt(16) == 0) {
+                if (rollsIceAndSnow && SpongeImplHooks.canDoRainSnowIce(this.provider, chunk)) {
                     // Sponge Start - Enter weather phase for snow and ice and flooding.
                     // Sponge End
                     this.updateLCG = this.updateLCG * 3 + 1013904223;
@@ -685,6 +696,8 @@ protected void updateBlocks() {
             this.impl$timings.updateBlocksRandomTick.startTiming(); // Sponge - Start random block tick timing
             this.profiler.endStartSection("tickBlocks");
 
+            // Sponge - sections without random tickable states are skipped through the tick reference
+            // count ExtendedBlockStorage keeps up to date on every set, see needsRandomTick
             if (i > 0)
             {
                 for (final ExtendedBlockStorage extendedblockstorage : chunk.getBlockStorageArray())
@@ -1164,9 +1177,24 @@ private void onSaveLevel(final CallbackInfo ci) {
      * @param all Whether to save all chunks
      * @param progressCallback The save progress callback
      */
-    @SuppressWarnings("UnnecessaryParentheses")
     @Overwrite
     public void saveAllChunks(final boolean all, @Nullable final IProgressUpdate progressCallback) throws MinecraftException
+    {
+        this.impl$saveAllChunks(all, progressCallback, 0);
+    }
+
+    @Override
+    public void bridge$startIncrementalSave(final int interval) throws MinecraftException {
+        this.impl$saveAllChunks(true, null, interval);
+    }
+
+    /**
+     * Saves the level and its chunks, or with a positive interval only queues the
+     * dirty chunks to be saved over that many ticks by the chunk provider.
+     */
+    @SuppressWarnings("UnnecessaryParentheses")
+    private void impl$saveAllChunks(final boolean all, @Nullable final IProgressUpdate progressCallback, final int incrementalInterval)
+        throws MinecraftException
     {
         final ChunkProviderServer chunkproviderserver = this.getChunkProvider();
 
@@ -1186,8 +1214,15 @@ public void saveAllChunks(final boolean all, @Nullable final IProgressUpdate pro
                 progressCallback.displayLoadingString("Saving chunks");
             }
 
-            chunkproviderserver.saveChunks(all);
-            Sponge.getEventManager().post(SpongeEventFactory.createSaveWorldEventPost(currentCause, ((org.spongepowered.api.world.World) this)));
+            final IncrementalChunkSaver incrementalSaver = ((ChunkProviderServerBridge) chunkproviderserver).bridge$getIncrementalSaver();
+            if (incrementalInterval > 0 && incrementalSaver != null) {
+                // The world is only saved once the chunk provider has written every queued chunk
+                incrementalSaver.start(incrementalInterval, () -> Sponge.getEventManager().post(
+                    SpongeEventFactory.createSaveWorldEventPost(currentCause, ((org.spongepowered.api.world.World) this))));
+            } else {
+                chunkproviderserver.saveChunks(all);
+                Sponge.getEventManager().post(SpongeEventFactory.createSaveWorldEventPost(currentCause, ((org.spongepowered.api.world.World) this)));
+            }
 
             // The chunk GC handles all queuing for chunk unloads so we return here to avoid it during a save.
             if (this.impl$chunkGCTickInterval > 0) {
@@ -2332,6 +2367,18 @@ public void markChunkDirty(final BlockPos pos, final TileEntity unusedTileEntity
         TimingHistory.tileEntityTicks += this.loadedTileEntityList.size();
     }
 
+    @Inject(method = "tick",
+        at = @At(value = "INVOKE_STRING",
+            target = "Lnet/minecraft/profiler/Profiler;startSection(Ljava/lang/String;)V",
+            args = "ldc=mobSpawner",
+            shift = At.Shift.AFTER))
+    private void impl$clearSpawnCoverageIfDisabled(final CallbackInfo ci) {
+        // The spawner isn't called at all while mob spawning is disabled, it must not keep players that leave meanwhile
+        if (!this.shadow$getGameRules().getBoolean("doMobSpawning")) {
+            ((WorldEntitySpawnerBridge) this.entitySpawner).bridge$clearSpawnCoverage();
+        }
+    }
+
     @Inject(method = "tick",
         at = @At(value = "INVOKE_STRING",
             target = "Lnet/minecraft/profiler/Profiler;endStartSection(Ljava/lang/String;)V",
@@ -27,6 +27,7 @@
 import net.minecraft.world.chunk.Chunk;
 import net.minecraft.world.gen.IChunkGenerator;
 import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.gen.Accessor;
 import org.spongepowered.asm.mixin.gen.Invoker;
 
 @Mixin(Chunk.class)
@@ -34,4 +35,10 @@ public interface ChunkAccessor {
 
     @Invoker("populate") void accessor$populate(IChunkGenerator generator);
 
+    @Accessor("lastSaveTime") long accessor$getLastSaveTime();
+
+    @Invoker("relightBlock") void accessor$relightBlock(int x, int y, int z);
+
+    @Invoker("propagateSkylightOcclusion") void accessor$propagateSkylightOcclusion(int x, int z);
+
 }
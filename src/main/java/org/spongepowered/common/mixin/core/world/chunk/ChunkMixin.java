@@ -81,6 +81,7 @@
 import org.spongepowered.common.bridge.world.chunk.ChunkBridge;
 import org.spongepowered.common.bridge.world.chunk.ChunkProviderBridge;
 import org.spongepowered.common.entity.PlayerTracker;
+import org.spongepowered.common.entity.PlayerTrackerTable;
 import org.spongepowered.common.event.ShouldFire;
 import org.spongepowered.common.event.SpongeCommonEventFactory;
 import org.spongepowered.common.event.tracking.IPhaseState;
@@ -97,7 +98,6 @@
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -110,6 +110,9 @@
 @Mixin(net.minecraft.world.chunk.Chunk.class)
 public abstract class ChunkMixin implements ChunkBridge, CacheKeyBridge {
 
+    // Handed out when block tracking is disabled, never written to
+    private static final PlayerTrackerTable impl$EMPTY_TRACKED_POSITIONS = new PlayerTrackerTable(0);
+
     @Shadow @Final private World world;
     @Shadow @Final public int x;
     @Shadow @Final public int z;
@@ -657,10 +660,10 @@ private SpongeBlockSnapshot createSpongeBlockSnapshot(
     public void bridge$addTrackedBlockPosition(final Block block, final BlockPos pos, final User user, final PlayerTracker.Type trackerType) { }
 
     @Override
-    public Map<Integer, PlayerTracker> bridge$getTrackedIntPlayerPositions() { return Collections.emptyMap(); }
+    public PlayerTrackerTable bridge$getTrackedIntPlayerPositions() { return ChunkMixin.impl$EMPTY_TRACKED_POSITIONS; }
 
     @Override
-    public Map<Short, PlayerTracker> bridge$getTrackedShortPlayerPositions() { return Collections.emptyMap(); }
+    public PlayerTrackerTable bridge$getTrackedShortPlayerPositions() { return ChunkMixin.impl$EMPTY_TRACKED_POSITIONS; }
 
     @Override
     public Optional<User> bridge$getBlockOwner(final BlockPos pos) { return Optional.empty(); }
@@ -681,10 +684,10 @@ private SpongeBlockSnapshot createSpongeBlockSnapshot(
     public void bridge$setBlockCreator(final BlockPos pos, @Nullable final UUID uuid) { }
 
     @Override
-    public void bridge$setTrackedIntPlayerPositions(final Map<Integer, PlayerTracker> trackedPositions) { }
+    public void bridge$setTrackedIntPlayerPositions(final PlayerTrackerTable trackedPositions) { }
 
     @Override
-    public void bridge$setTrackedShortPlayerPositions(final Map<Short, PlayerTracker> trackedPositions) { }
+    public void bridge$setTrackedShortPlayerPositions(final PlayerTrackerTable trackedPositions) { }
 
     // Continuing the rest of the implementation
 
@@ -25,12 +25,16 @@
 package org.spongepowered.common.mixin.core.world.chunk.storage;
 
 import com.flowpowered.math.vector.Vector3d;
+import it.unimi.dsi.fastutil.HashCommon;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.EntityList;
 import net.minecraft.entity.item.EntityMinecart;
+import net.minecraft.nbt.CompressedStreamTools;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.nbt.NBTTagList;
 import net.minecraft.util.ResourceLocation;
+import net.minecraft.util.datafix.DataFixer;
+import net.minecraft.util.datafix.FixTypes;
 import net.minecraft.util.math.ChunkPos;
 import net.minecraft.world.World;
 import net.minecraft.world.chunk.storage.AnvilChunkLoader;
@@ -61,29 +65,52 @@
 import org.spongepowered.common.SpongeImplHooks;
 import org.spongepowered.common.bridge.world.chunk.ChunkBridge;
 import org.spongepowered.common.bridge.world.chunk.storage.AnvilChunkLoaderBridge;
-import org.spongepowered.common.entity.PlayerTracker;
+import org.spongepowered.common.entity.PlayerTrackerTable;
 import org.spongepowered.common.event.ShouldFire;
 import org.spongepowered.common.registry.type.entity.EntityTypeRegistryModule;
 import org.spongepowered.common.util.Constants;
 import org.spongepowered.common.util.QueuedChunk;
 import org.spongepowered.common.util.VecHelper;
+import org.spongepowered.common.world.storage.ChunkIOEngine;
+import org.spongepowered.common.world.storage.ChunkIOStatistics;
 
+import java.io.DataInputStream;
 import java.io.File;
+import java.io.IOException;
 import java.nio.file.Path;
 import java.util.Collections;
-import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.Nullable;
 
 @Mixin(AnvilChunkLoader.class)
 public abstract class AnvilChunkLoaderMixin implements AnvilChunkLoaderBridge {
 
     private ConcurrentLinkedQueue<QueuedChunk> impl$queue = new ConcurrentLinkedQueue<>();
     private final Object impl$lock = new Object();
+    // Chunk IO engine state, see ChunkIOEngine
+    private final Set<ChunkPos> impl$scheduledWrites = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger impl$pendingWrites = new AtomicInteger();
+    private final ChunkIOStatistics impl$ioStatistics = new ChunkIOStatistics();
+    private final LinkedHashMap<ChunkPos, NBTTagCompound> impl$readAheadCache = new LinkedHashMap<>();
+    // Counters of queued saves, striped by chunk position and guarded by impl$readAheadCache.
+    // A chunk read off-thread is discarded if a save of its stripe was queued while it was
+    // being read, so saves elsewhere in the world don't invalidate every running read.
+    private final long[] impl$saveCounters = new long[1024];
+    // Set once a load went through impl$getPendingOrReadAheadChunk. Nothing is read ahead
+    // before, so data is never cached when that redirect failed to apply.
+    private static volatile boolean impl$readAheadServed;
 
     @Shadow @Final private static Logger LOGGER;
     @Shadow @Final private Map<ChunkPos, NBTTagCompound> chunksToSave;
     @Shadow @Final private File chunkSaveLocation;
+    @Shadow @Final private DataFixer fixer;
     @Shadow private boolean flushing;
 
     @Shadow private void writeChunkData(final ChunkPos pos, final NBTTagCompound compound) { } // Shadow
@@ -94,33 +121,17 @@ public abstract class AnvilChunkLoaderMixin implements AnvilChunkLoaderBridge {
         final ChunkBridge chunk = (ChunkBridge) chunkIn;
 
         // Add tracked block positions
-        if (chunk.bridge$getTrackedShortPlayerPositions().size() > 0 || chunk.bridge$getTrackedIntPlayerPositions().size() > 0) {
+        final PlayerTrackerTable shortPositions = chunk.bridge$getTrackedShortPlayerPositions();
+        final PlayerTrackerTable intPositions = chunk.bridge$getTrackedIntPlayerPositions();
+        if (!shortPositions.isEmpty() || !intPositions.isEmpty()) {
             final NBTTagCompound trackedNbt = new NBTTagCompound();
-            final NBTTagList positions = new NBTTagList();
-            trackedNbt.setTag(Constants.Sponge.SPONGE_BLOCK_POS_TABLE, positions);
-            compound.setTag(Constants.Sponge.SPONGE_DATA, trackedNbt);
-
-            for (final Map.Entry<Short, PlayerTracker> mapEntry : chunk.bridge$getTrackedShortPlayerPositions().entrySet()) {
-                final Short pos = mapEntry.getKey();
-                final int ownerUniqueIdIndex = mapEntry.getValue().ownerIndex;
-                final int notifierUniqueIdIndex = mapEntry.getValue().notifierIndex;
-                final NBTTagCompound valueNbt = new NBTTagCompound();
-                valueNbt.setInteger("owner", ownerUniqueIdIndex);
-                valueNbt.setInteger("notifier", notifierUniqueIdIndex);
-                valueNbt.setShort("pos", pos);
-                positions.appendTag(valueNbt);
+            if (!shortPositions.isEmpty()) {
+                trackedNbt.setIntArray(Constants.Sponge.SPONGE_SHORT_POS_TABLE, shortPositions.toPackedArray());
             }
-
-            for (final Map.Entry<Integer, PlayerTracker> mapEntry : chunk.bridge$getTrackedIntPlayerPositions().entrySet()) {
-                final Integer pos = mapEntry.getKey();
-                final int ownerUniqueIdIndex = mapEntry.getValue().ownerIndex;
-                final int notifierUniqueIdIndex = mapEntry.getValue().notifierIndex;
-                final NBTTagCompound valueNbt = new NBTTagCompound();
-                valueNbt.setInteger("owner", ownerUniqueIdIndex);
-                valueNbt.setInteger("notifier", notifierUniqueIdIndex);
-                valueNbt.setInteger("ipos", pos);
-                positions.appendTag(valueNbt);
+            if (!intPositions.isEmpty()) {
+                trackedNbt.setIntArray(Constants.Sponge.SPONGE_INT_POS_TABLE, intPositions.toPackedArray());
             }
+            compound.setTag(Constants.Sponge.SPONGE_DATA, trackedNbt);
         }
     }
 
@@ -128,28 +139,39 @@ public abstract class AnvilChunkLoaderMixin implements AnvilChunkLoaderBridge {
     private void onReadChunkFromNBT(final World worldIn, final NBTTagCompound compound, final CallbackInfoReturnable<net.minecraft.world.chunk.Chunk> ci, final int chunkX,
       final int chunkZ, final net.minecraft.world.chunk.Chunk chunkIn) {
         if (compound.hasKey(Constants.Sponge.SPONGE_DATA)) {
-            final Map<Integer, PlayerTracker> trackedIntPlayerPositions = new HashMap<>();
-            final Map<Short, PlayerTracker> trackedShortPlayerPositions = new HashMap<>();
-            final NBTTagList positions = compound.getCompoundTag(Constants.Sponge.SPONGE_DATA).getTagList(Constants.Sponge.SPONGE_BLOCK_POS_TABLE, 10);
+            final NBTTagCompound spongeData = compound.getCompoundTag(Constants.Sponge.SPONGE_DATA);
             final ChunkBridge chunk = (ChunkBridge) chunkIn;
+            if (!spongeData.hasKey(Constants.Sponge.SPONGE_BLOCK_POS_TABLE, Constants.NBT.TAG_LIST)) {
+                chunk.bridge$setTrackedIntPlayerPositions(
+                    PlayerTrackerTable.fromPackedArray(spongeData.getIntArray(Constants.Sponge.SPONGE_INT_POS_TABLE)));
+                chunk.bridge$setTrackedShortPlayerPositions(
+                    PlayerTrackerTable.fromPackedArray(spongeData.getIntArray(Constants.Sponge.SPONGE_SHORT_POS_TABLE)));
+                return;
+            }
+
+            // Migrate the old list of compounds, it is replaced by the packed tables on the next save
+            final NBTTagList positions = spongeData.getTagList(Constants.Sponge.SPONGE_BLOCK_POS_TABLE, Constants.NBT.TAG_COMPOUND);
+            final PlayerTrackerTable trackedIntPlayerPositions = new PlayerTrackerTable();
+            final PlayerTrackerTable trackedShortPlayerPositions = new PlayerTrackerTable(positions.tagCount());
             for (int i = 0; i < positions.tagCount(); i++) {
                 final NBTTagCompound valueNbt = positions.getCompoundTagAt(i);
                 final boolean isShortPos = valueNbt.hasKey("pos");
-                final PlayerTracker tracker = new PlayerTracker();
+                int ownerIndex = -1;
+                int notifierIndex = -1;
                 if (valueNbt.hasKey("owner")) {
-                    tracker.ownerIndex = valueNbt.getInteger("owner");
+                    ownerIndex = valueNbt.getInteger("owner");
                 } else if (valueNbt.hasKey("uuid")) { // Migrate old data, remove in future
-                    tracker.ownerIndex = valueNbt.getInteger("uuid");
+                    ownerIndex = valueNbt.getInteger("uuid");
                 }
                 if (valueNbt.hasKey("notifier")) {
-                    tracker.notifierIndex = valueNbt.getInteger("notifier");
+                    notifierIndex = valueNbt.getInteger("notifier");
                 }
 
-                if (tracker.notifierIndex != -1 || tracker.ownerIndex != -1) {
+                if (notifierIndex != -1 || ownerIndex != -1) {
                     if (isShortPos) {
-                        trackedShortPlayerPositions.put(valueNbt.getShort("pos"), tracker);
+                        trackedShortPlayerPositions.put(valueNbt.getShort("pos"), ownerIndex, notifierIndex);
                     } else {
-                        trackedIntPlayerPositions.put(valueNbt.getInteger("ipos"), tracker);
+                        trackedIntPlayerPositions.put(valueNbt.getInteger("ipos"), ownerIndex, notifierIndex);
                     }
                 }
             }
@@ -233,6 +255,24 @@ protected void addChunkToPending(final ChunkPos pos, final NBTTagCompound compou
         synchronized (this.impl$lock) {
             this.chunksToSave.put(pos, compound);
         }
+        synchronized (this.impl$readAheadCache) {
+            this.impl$saveCounters[this.impl$getSaveStripe(pos.x, pos.z)]++;
+            this.impl$readAheadCache.remove(pos);
+        }
+
+        // Sponge start - Write through the chunk IO engine, a save of a chunk that is
+        // still waiting to be written only replaces the pending data.
+        if (ChunkIOEngine.isEnabled()) {
+            if (this.impl$scheduledWrites.add(pos)) {
+                this.impl$pendingWrites.incrementAndGet();
+                ChunkIOEngine.getInstance().scheduleWrite(this, pos);
+            } else {
+                this.impl$ioStatistics.recordCoalescedWrite();
+            }
+            return;
+        }
+        // Sponge end
+
         this.impl$queue.add(new QueuedChunk(pos, compound));
 
         ThreadedFileIOBase.getThreadedIOInstance().queueIO((AnvilChunkLoader) (Object) this);
@@ -254,52 +294,202 @@ public boolean writeNextIO() {
             return false;
         } else {
             final ChunkPos chunkpos = chunk.coords;
-            boolean lvt_3_1_;
+            // this.field_193415_c.add(chunkpos);
+            final NBTTagCompound nbttagcompound = chunk.compound;
 
-            try {
-                // this.field_193415_c.add(chunkpos);
-                final NBTTagCompound nbttagcompound = chunk.compound;
-
-                if (nbttagcompound != null) {
-                    int attempts = 0;
-                    Exception laste = null;
-                    while (attempts++ < 5) {
-                        try {
-                            this.writeChunkData(chunkpos, nbttagcompound);
-                            laste = null;
-                            break;
-                        } catch (Exception exception) {
-                            // LOGGER.error((String)"Failed to save chunk",
-                            // (Throwable)exception);
-                            laste = exception;
-                        }
-                        try {
-                            Thread.sleep(10);
-                        } catch (InterruptedException e) {
-                            e.printStackTrace();
-                        }
-                    }
-                    if (laste != null) {
-                        laste.printStackTrace();
-                    }
+            // Sponge - Skip data that was replaced by a newer save, which is queued as well
+            if (nbttagcompound != null && this.chunksToSave.get(chunkpos) != nbttagcompound) {
+                this.impl$ioStatistics.recordCoalescedWrite();
+                return true;
+            }
+
+            if (nbttagcompound != null) {
+                this.impl$writeChunkDataWithRetries(chunkpos, nbttagcompound);
+            }
+
+            synchronized (this.impl$lock) {
+                if (this.chunksToSave.get(chunkpos) == nbttagcompound) {
+                    this.chunksToSave.remove(chunkpos);
                 }
+            }
+            // Sponge - This will not equal if a newer version is still
+            // pending
+            // this.field_193415_c.remove(chunkpos);
+            return true;
+        }
+    }
 
+    private void impl$writeChunkDataWithRetries(final ChunkPos chunkpos, final NBTTagCompound nbttagcompound) {
+        final long start = System.nanoTime();
+        int attempts = 0;
+        Exception laste = null;
+        while (attempts++ < 5) {
+            try {
+                this.writeChunkData(chunkpos, nbttagcompound);
+                laste = null;
+                break;
+            } catch (Exception exception) {
+                // LOGGER.error((String)"Failed to save chunk",
+                // (Throwable)exception);
+                laste = exception;
+            }
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                e.printStackTrace();
+            }
+        }
+        if (laste != null) {
+            laste.printStackTrace();
+        }
+        this.impl$ioStatistics.recordWrite(System.nanoTime() - start);
+    }
+
+    @Override
+    public void bridge$writeQueuedChunk(final ChunkPos pos) {
+        // Unmark first, a save queued from now on needs another write
+        this.impl$scheduledWrites.remove(pos);
+        try {
+            final NBTTagCompound compound = this.chunksToSave.get(pos);
+            if (compound == null) {
+                return;
+            }
+            this.impl$writeChunkDataWithRetries(pos, compound);
+            synchronized (this.impl$lock) {
+                if (this.chunksToSave.get(pos) == compound) {
+                    this.chunksToSave.remove(pos);
+                }
+            }
+        } finally {
+            if (this.impl$pendingWrites.decrementAndGet() == 0) {
                 synchronized (this.impl$lock) {
-                    if (this.chunksToSave.get(chunkpos) == nbttagcompound) {
-                        this.chunksToSave.remove(chunkpos);
-                    }
+                    this.impl$lock.notifyAll();
                 }
-                // Sponge - This will not equal if a newer version is still
-                // pending
-                lvt_3_1_ = true;
-            } finally {
-                // this.field_193415_c.remove(chunkpos);
             }
+        }
+    }
 
-            return lvt_3_1_;
+    @Inject(method = "flush", at = @At("HEAD"))
+    private void impl$awaitChunkIOEngineWrites(final CallbackInfo ci) {
+        synchronized (this.impl$lock) {
+            while (this.impl$pendingWrites.get() > 0) {
+                try {
+                    this.impl$lock.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
         }
     }
 
+    @Override
+    public void bridge$readAheadChunk(final int x, final int z) {
+        if (!impl$readAheadServed
+            || SpongeImpl.getGlobalConfigAdapter().getConfig().getOptimizations().getChunkIOCategory().getReadAheadCacheSize() <= 0) {
+            return;
+        }
+        final ChunkPos pos = new ChunkPos(x, z);
+        if (this.chunksToSave.containsKey(pos)) {
+            return;
+        }
+        final long saveCounter;
+        synchronized (this.impl$readAheadCache) {
+            if (this.impl$readAheadCache.containsKey(pos)) {
+                return;
+            }
+            saveCounter = this.impl$saveCounters[this.impl$getSaveStripe(x, z)];
+        }
+        final NBTTagCompound compound;
+        try {
+            compound = this.bridge$readChunkData(x, z);
+        } catch (IOException e) {
+            // The regular load will report the failure
+            return;
+        }
+        if (compound != null && this.bridge$offerChunkData(pos, compound, saveCounter)) {
+            this.impl$ioStatistics.recordReadAhead();
+        }
+    }
+
+    @Nullable
+    @Override
+    public NBTTagCompound bridge$readChunkData(final int x, final int z) throws IOException {
+        try (final DataInputStream stream = RegionFileCache.getChunkInputStream(this.chunkSaveLocation, x, z)) {
+            if (stream == null) {
+                return null;
+            }
+            return this.fixer.process(FixTypes.CHUNK, CompressedStreamTools.read(stream));
+        }
+    }
+
+    @Override
+    public long bridge$getSaveCounter(final int x, final int z) {
+        synchronized (this.impl$readAheadCache) {
+            return this.impl$saveCounters[this.impl$getSaveStripe(x, z)];
+        }
+    }
+
+    private int impl$getSaveStripe(final int x, final int z) {
+        return (int) HashCommon.mix(ChunkPos.asLong(x, z)) & (this.impl$saveCounters.length - 1);
+    }
+
+    @Override
+    public boolean bridge$offerChunkData(final ChunkPos pos, final NBTTagCompound compound, final long saveCounter) {
+        if (!impl$readAheadServed) {
+            return false;
+        }
+        synchronized (this.impl$readAheadCache) {
+            if (this.impl$saveCounters[this.impl$getSaveStripe(pos.x, pos.z)] != saveCounter) {
+                return false;
+            }
+            final int maxSize = SpongeImpl.getGlobalConfigAdapter().getConfig().getOptimizations().getChunkIOCategory().getReadAheadCacheSize();
+            // Drop the chunks that were read ahead the longest time ago. Data offered by
+            // an async load is consumed right away, so it is kept even without a cache.
+            final Iterator<ChunkPos> iterator = this.impl$readAheadCache.keySet().iterator();
+            while (this.impl$readAheadCache.size() >= maxSize && iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+            }
+            this.impl$readAheadCache.put(pos, compound);
+            return true;
+        }
+    }
+
+    /**
+     * Serves chunks that were read ahead. Pending saves always take precedence,
+     * the read ahead data is dropped either way since the chunk is now loaded.
+     * SpongeForge loads chunks through its own async loader instead, where
+     * this doesn't apply and read ahead stays disabled.
+     */
+    @SuppressWarnings("unchecked")
+    @Redirect(method = "loadChunk",
+        at = @At(value = "INVOKE", target = "Ljava/util/Map;get(Ljava/lang/Object;)Ljava/lang/Object;", remap = false),
+        require = 0,
+        expect = 0)
+    private Object impl$getPendingOrReadAheadChunk(final Map<ChunkPos, NBTTagCompound> chunksToSave, final Object pos) {
+        if (!impl$readAheadServed) {
+            impl$readAheadServed = true;
+        }
+        final NBTTagCompound readAhead;
+        synchronized (this.impl$readAheadCache) {
+            readAhead = this.impl$readAheadCache.remove(pos);
+        }
+        final NBTTagCompound pending = chunksToSave.get(pos);
+        if (pending != null) {
+            return pending;
+        }
+        if (readAhead != null) {
+            this.impl$ioStatistics.recordReadAheadHit();
+        }
+        return readAhead;
+    }
+
+    @Override
+    public ChunkIOStatistics bridge$getIOStatistics() {
+        return this.impl$ioStatistics;
+    }
+
     @Override
     public Path bridge$getWorldDir() {
         return this.chunkSaveLocation.toPath();
@@ -30,7 +30,9 @@
 import org.spongepowered.asm.mixin.Overwrite;
 import org.spongepowered.asm.mixin.Shadow;
 import org.spongepowered.asm.mixin.injection.At;
-import org.spongepowered.asm.mixin.injection.Redirect;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.common.world.storage.MappedRegionFileCache;
 
 import java.io.DataInputStream;
 import java.io.File;
@@ -56,7 +58,15 @@ public static DataInputStream getChunkInputStream(File worldDir, int chunkX, int
             // already returns null if the file does not exist.
             return null;
         }
+        if (MappedRegionFileCache.isEnabled(worldDir)) {
+            return MappedRegionFileCache.getChunkInputStream(regionfile, worldDir, chunkX, chunkZ);
+        }
         // Sponge end
         return regionfile.getChunkDataInputStream(chunkX & 31, chunkZ & 31);
     }
+
+    @Inject(method = "clearRegionFileReferences", at = @At("HEAD"))
+    private static void impl$clearMappedRegionFiles(final CallbackInfo ci) {
+        MappedRegionFileCache.clear();
+    }
 }
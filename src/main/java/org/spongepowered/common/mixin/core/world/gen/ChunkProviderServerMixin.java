@@ -26,6 +26,7 @@
 
 import com.flowpowered.math.vector.Vector3i;
 import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
 import net.minecraft.crash.CrashReport;
 import net.minecraft.crash.CrashReportCategory;
 import net.minecraft.util.math.ChunkPos;
@@ -57,6 +58,7 @@
 import org.spongepowered.common.bridge.world.chunk.ChunkBridge;
 import org.spongepowered.common.bridge.world.chunk.ChunkProviderBridge;
 import org.spongepowered.common.bridge.world.chunk.ChunkProviderServerBridge;
+import org.spongepowered.common.bridge.world.chunk.storage.AnvilChunkLoaderBridge;
 import org.spongepowered.common.config.category.WorldCategory;
 import org.spongepowered.common.event.ShouldFire;
 import org.spongepowered.common.event.tracking.IPhaseState;
@@ -66,12 +68,18 @@
 import org.spongepowered.common.util.CachedLong2ObjectMap;
 import org.spongepowered.common.util.Constants;
 import org.spongepowered.common.world.SpongeEmptyChunk;
+import org.spongepowered.common.world.storage.ChunkIOEngine;
+import org.spongepowered.common.world.storage.IncrementalChunkSaver;
+import org.spongepowered.common.world.storage.MappedRegionFileCache;
 import org.spongepowered.common.world.storage.WorldStorageUtil;
 
 import java.io.ByteArrayOutputStream;
 import java.io.PrintStream;
 import java.util.Iterator;
+import java.util.Queue;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
 
 import javax.annotation.Nullable;
 
@@ -83,6 +91,12 @@ public abstract class ChunkProviderServerMixin implements ChunkProviderServerBri
     private boolean impl$forceChunkRequests = false;
     private long impl$chunkUnloadDelay = Constants.World.DEFAULT_CHUNK_UNLOAD_DELAY;
     private int impl$maxChunkUnloads = Constants.World.MAX_CHUNK_UNLOADS;
+    // Only accessed from the server thread
+    private final Long2ObjectMap<CompletableFuture<Chunk>> impl$pendingAsyncLoads = new Long2ObjectOpenHashMap<>();
+    // Chunks whose data was read off-thread, waiting to be added to the world on the server thread
+    private final Queue<Runnable> impl$completedAsyncReads = new ConcurrentLinkedQueue<>();
+    @Nullable private IncrementalChunkSaver impl$incrementalSaver;
+    private long impl$autoSaveTickBudget;
 
     @Shadow @Final private WorldServer world;
     @Shadow @Final private IChunkLoader chunkLoader;
@@ -91,6 +105,7 @@ public abstract class ChunkProviderServerMixin implements ChunkProviderServerBri
 
     @Shadow @Nullable public abstract Chunk getLoadedChunk(int x, int z);
     @Shadow @Nullable public abstract Chunk loadChunk(int x, int z);
+    @Shadow public abstract Chunk provideChunk(int x, int z);
     @Shadow protected abstract void saveChunkExtraData(Chunk chunkIn);
     @Shadow protected abstract void saveChunkData(Chunk chunkIn);
     @Shadow public abstract boolean shadow$canSave();
@@ -109,6 +124,22 @@ public abstract class ChunkProviderServerMixin implements ChunkProviderServerBri
         this.impl$denyChunkRequests = worldCategory.getDenyChunkRequests();
         this.impl$chunkUnloadDelay = worldCategory.getChunkUnloadDelay() * 1000;
         this.impl$maxChunkUnloads = worldCategory.getMaxChunkUnloads();
+        this.impl$autoSaveTickBudget = TimeUnit.MILLISECONDS.toNanos(Math.max(1, worldCategory.getAutoSaveTickBudget()));
+        this.impl$incrementalSaver = new IncrementalChunkSaver(this.loadedChunks, chunk -> {
+            this.saveChunkExtraData(chunk);
+            this.saveChunkData(chunk);
+            chunk.setModified(false);
+        });
+        if (chunkLoaderIn instanceof AnvilChunkLoaderBridge) {
+            MappedRegionFileCache.setEnabled(((AnvilChunkLoaderBridge) chunkLoaderIn).bridge$getWorldDir().toFile(),
+                worldCategory.useMappedRegionFiles());
+        }
+    }
+
+    @Nullable
+    @Override
+    public IncrementalChunkSaver bridge$getIncrementalSaver() {
+        return this.impl$incrementalSaver;
     }
 
     @Override
@@ -116,6 +147,63 @@ public abstract class ChunkProviderServerMixin implements ChunkProviderServerBri
         return WorldStorageUtil.doesChunkExistSync(this.world, this.chunkLoader, chunkCoords);
     }
 
+    @Override
+    public CompletableFuture<Chunk> bridge$loadChunkAsync(final int x, final int z, final boolean generate) {
+        final Chunk loaded = this.getLoadedChunk(x, z);
+        if (loaded != null) {
+            return CompletableFuture.completedFuture(loaded);
+        }
+        if (!(this.chunkLoader instanceof AnvilChunkLoaderBridge)) {
+            return CompletableFuture.completedFuture(generate ? this.provideChunk(x, z) : this.loadChunk(x, z));
+        }
+
+        final long key = ChunkPos.asLong(x, z);
+        CompletableFuture<Chunk> future = this.impl$pendingAsyncLoads.get(key);
+        if (future == null) {
+            final AnvilChunkLoaderBridge loader = (AnvilChunkLoaderBridge) this.chunkLoader;
+            final CompletableFuture<Chunk> read = new CompletableFuture<>();
+            // Any save queued after this point makes the data read below stale, see AnvilChunkLoaderBridge#bridge$offerChunkData
+            final long saveCounter = loader.bridge$getSaveCounter(x, z);
+            SpongeImpl.getScheduler().submitAsyncTask(() -> loader.bridge$readChunkData(x, z))
+                .whenComplete((compound, error) -> this.impl$completedAsyncReads.add(() -> {
+                    this.impl$pendingAsyncLoads.remove(key);
+                    // If the read failed, loading again reports the error through the regular path
+                    try {
+                        // Offered data is accepted regardless of the read ahead cache size, as it's consumed by the load below.
+                        // A chunk loaded in the meantime doesn't go through the loader again, so its data would stay cached.
+                        if (compound != null && this.getLoadedChunk(x, z) == null) {
+                            loader.bridge$offerChunkData(new ChunkPos(x, z), compound, saveCounter);
+                        }
+                        read.complete(this.loadChunk(x, z));
+                    } catch (Throwable t) {
+                        read.completeExceptionally(t);
+                    }
+                }));
+            this.impl$pendingAsyncLoads.put(key, read);
+            future = read;
+        }
+        // Dependent stages run on the server thread, as the read future is completed there
+        return generate ? future.thenApply(chunk -> chunk == null ? this.provideChunk(x, z) : chunk) : future;
+    }
+
+    /**
+     * Adds the chunks that were read off-thread to the world, within a time
+     * budget so a burst of completed reads can't stall the tick.
+     */
+    private void impl$processCompletedAsyncReads() {
+        if (this.impl$completedAsyncReads.isEmpty()) {
+            return;
+        }
+        final long deadline = System.nanoTime() + Constants.World.ASYNC_CHUNK_LOAD_BUDGET_NANOS;
+        Runnable task;
+        while ((task = this.impl$completedAsyncReads.poll()) != null) {
+            task.run();
+            if (System.nanoTime() - deadline >= 0) {
+                break;
+            }
+        }
+    }
+
     /**
      * @author blood - October 25th, 2016
      * @reason Removes usage of droppedChunksSet in favor of unloaded flag.
@@ -157,6 +245,25 @@ public void queueUnload(final Chunk chunkIn)
         return chunk;
     }
 
+    /**
+     * Chunks are usually requested next to each other, so once a chunk had
+     * to be loaded from disk, its unloaded neighbours are read ahead.
+     */
+    @Inject(method = "loadChunkFromFile", at = @At("RETURN"))
+    private void impl$readAheadNeighbourChunks(final int x, final int z, final CallbackInfoReturnable<Chunk> cir) {
+        if (cir.getReturnValue() == null || !(this.chunkLoader instanceof AnvilChunkLoaderBridge) || !ChunkIOEngine.isReadAheadEnabled()) {
+            return;
+        }
+        final ChunkIOEngine engine = ChunkIOEngine.getInstance();
+        for (int dx = -1; dx <= 1; dx++) {
+            for (int dz = -1; dz <= 1; dz++) {
+                if ((dx != 0 || dz != 0) && !this.loadedChunks.containsKey(ChunkPos.asLong(x + dx, z + dz))) {
+                    engine.scheduleReadAhead((AnvilChunkLoaderBridge) this.chunkLoader, x + dx, z + dz);
+                }
+            }
+        }
+    }
+
     @Inject(method = "provideChunk",
         at = @At(
             value = "INVOKE",
@@ -254,14 +361,25 @@ public void queueUnload(final Chunk chunkIn)
     public boolean tick()
     {
         // Sponge start
+        this.impl$processCompletedAsyncReads();
         final SerializationBehavior behavior = ((WorldProperties) this.world.getWorldInfo()).getSerializationBehavior();
         if (behavior != SerializationBehaviors.AUTOMATIC) {
+            if (this.impl$incrementalSaver != null) {
+                this.impl$incrementalSaver.clear();
+            }
             return false;
         }
         // Sponge end
 
         if (this.shadow$canSave() && !((WorldBridge) this.world).bridge$isFake())
         {
+            // Sponge start
+            if (this.impl$incrementalSaver != null && this.impl$incrementalSaver.getBacklog() > 0) {
+                ((WorldServerBridge) this.world).bridge$getTimingsHandler().incrementalSave.startTiming();
+                this.impl$incrementalSaver.tick(this.impl$autoSaveTickBudget);
+                ((WorldServerBridge) this.world).bridge$getTimingsHandler().incrementalSave.stopTiming();
+            }
+            // Sponge end
             ((WorldServerBridge) this.world).bridge$getTimingsHandler().doChunkUnload.startTiming();
             final Iterator<Chunk> iterator = this.loadedChunks.values().iterator();
             int chunksUnloaded = 0;
@@ -285,6 +403,11 @@ public boolean tick()
             }
             ((WorldServerBridge) this.world).bridge$getTimingsHandler().doChunkUnload.stopTiming();
         }
+        // Sponge start - saving was disabled (e.g. by /save-off), nothing may be written anymore
+        else if (this.impl$incrementalSaver != null) {
+            this.impl$incrementalSaver.clear();
+        }
+        // Sponge end
 
         this.chunkLoader.chunkTick();
         return false;
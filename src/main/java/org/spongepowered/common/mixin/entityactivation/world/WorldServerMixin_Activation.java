@@ -28,10 +28,19 @@
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 import org.spongepowered.common.mixin.core.world.WorldMixin;
+import org.spongepowered.common.mixin.plugin.entityactivation.ActivationRangeIndex;
 import org.spongepowered.common.mixin.plugin.entityactivation.EntityActivationRange;
+import org.spongepowered.common.mixin.plugin.entityactivation.interfaces.ActivationWorldCapability;
 
 @Mixin(value = WorldServer.class, priority = 1005)
-public abstract class WorldServerMixin_Activation extends WorldMixin {
+public abstract class WorldServerMixin_Activation extends WorldMixin implements ActivationWorldCapability {
+
+    private final ActivationRangeIndex activation$index = new ActivationRangeIndex();
+
+    @Override
+    public ActivationRangeIndex activation$getActivationIndex() {
+        return this.activation$index;
+    }
 
     @Override
     protected void impl$entityActivationCheck(final CallbackInfo ci) {
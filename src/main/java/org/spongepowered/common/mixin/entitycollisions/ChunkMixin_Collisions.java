@@ -52,51 +52,79 @@ public abstract class ChunkMixin_Collisions {
 
     @Shadow @Final private World world;
 
+    // The list size at which the query currently running in this chunk stops collecting
+    private int collisionsImpl$collisionLimit = Integer.MAX_VALUE;
+
     @SuppressWarnings("Guava")
-    @Inject(method = "getEntitiesWithinAABBForEntity",
-            at = @At(value = "INVOKE", target = "Ljava/util/List;add(Ljava/lang/Object;)Z", remap = false), cancellable = true)
-    private void collisionsImpl$checkForCollisionRules(final Entity entityIn, final AxisAlignedBB aabb, final List<Entity> listToFill,
+    @Inject(method = "getEntitiesWithinAABBForEntity", at = @At("HEAD"), cancellable = true)
+    private void collisionsImpl$resolveCollisionLimit(final Entity entityIn, final AxisAlignedBB aabb, final List<Entity> listToFill,
         final Predicate<? super Entity> predicate, final CallbackInfo ci) {
         // ignore players and entities with parts (ex. EnderDragon)
         if (((WorldBridge) this.world).bridge$isFake() || entityIn == null || entityIn instanceof EntityPlayer || entityIn.getParts() != null) {
+            this.collisionsImpl$collisionLimit = Integer.MAX_VALUE;
             return;
         }
 
-        if (!collisionsImpl$allowEntityCollision(listToFill)) {
+        this.collisionsImpl$collisionLimit = this.collisionsImpl$getCollisionLimit();
+        // Previous chunks may already have filled the list, don't scan this one at all
+        if (listToFill.size() >= this.collisionsImpl$collisionLimit) {
             ci.cancel();
         }
     }
 
     @SuppressWarnings("Guava")
-    @Inject(method = "getEntitiesOfTypeWithinAABB",
+    @Inject(method = "getEntitiesWithinAABBForEntity",
             at = @At(value = "INVOKE", target = "Ljava/util/List;add(Ljava/lang/Object;)Z", remap = false), cancellable = true)
-    private <T extends Entity> void collisionsImpl$checkForCollisionRules(final Class<? extends T> entityClass, final AxisAlignedBB aabb,
+    private void collisionsImpl$checkForCollisionRules(final Entity entityIn, final AxisAlignedBB aabb, final List<Entity> listToFill,
+        final Predicate<? super Entity> predicate, final CallbackInfo ci) {
+        if (listToFill.size() >= this.collisionsImpl$collisionLimit) {
+            ci.cancel();
+        }
+    }
+
+    @SuppressWarnings("Guava")
+    @Inject(method = "getEntitiesOfTypeWithinAABB", at = @At("HEAD"), cancellable = true)
+    private <T extends Entity> void collisionsImpl$resolveCollisionLimit(final Class<? extends T> entityClass, final AxisAlignedBB aabb,
         final List<T> listToFill, final Predicate<? super T> p_177430_4_, final CallbackInfo ci) {
         // ignore player checks
         // ignore item check (ex. Hoppers)
         if (this.world.isRemote || EntityPlayer.class.isAssignableFrom(entityClass) || EntityItem.class == entityClass) {
+            this.collisionsImpl$collisionLimit = Integer.MAX_VALUE;
             return;
         }
 
-        if (!collisionsImpl$allowEntityCollision(listToFill)) {
+        this.collisionsImpl$collisionLimit = this.collisionsImpl$getCollisionLimit();
+        if (listToFill.size() >= this.collisionsImpl$collisionLimit) {
             ci.cancel();
         }
     }
 
-    private <T extends Entity> boolean collisionsImpl$allowEntityCollision(final List<T> listToFill) {
+    @SuppressWarnings("Guava")
+    @Inject(method = "getEntitiesOfTypeWithinAABB",
+            at = @At(value = "INVOKE", target = "Ljava/util/List;add(Ljava/lang/Object;)Z", remap = false), cancellable = true)
+    private <T extends Entity> void collisionsImpl$checkForCollisionRules(final Class<? extends T> entityClass, final AxisAlignedBB aabb,
+        final List<T> listToFill, final Predicate<? super T> p_177430_4_, final CallbackInfo ci) {
+        if (listToFill.size() >= this.collisionsImpl$collisionLimit) {
+            ci.cancel();
+        }
+    }
+
+    /**
+     * Resolves the amount of entities the current collision source may
+     * collect, once per query instead of once per collected entity.
+     *
+     * @return The list size at which collecting stops
+     */
+    private int collisionsImpl$getCollisionLimit() {
         if (this.world instanceof WorldServerBridge) {
             if (!PhaseTracker.getInstance().getCurrentState().isCollision()) {
-                return true;
+                return Integer.MAX_VALUE;
             }
 
             final PhaseContext<?> phaseContext = PhaseTracker.getInstance().getCurrentContext();
             final Object source = phaseContext.getSource();
             if (!(source instanceof CollisionsCapability)) {
-                return true;
-            }
-
-            if (listToFill.size() < this.world.getGameRules().getInt("maxEntityCramming")) {
-                return true;
+                return Integer.MAX_VALUE;
             }
 
             final CollisionsCapability capability = (CollisionsCapability) source;
@@ -105,10 +133,14 @@ public abstract class ChunkMixin_Collisions {
                 capability.collision$requiresCollisionsCacheRefresh(false);
             }
 
-            return capability.collision$getMaxCollisions() < 0
-                    || listToFill.size() < capability.collision$getMaxCollisions();
+            final int maxCollisions = capability.collision$getMaxCollisions();
+            if (maxCollisions < 0) {
+                return Integer.MAX_VALUE;
+            }
+            // Entity cramming still needs to see enough entities to apply its damage
+            return Math.max(maxCollisions, this.world.getGameRules().getInt("maxEntityCramming"));
         }
 
-        return true;
+        return Integer.MAX_VALUE;
     }
 }
@@ -24,7 +24,6 @@
  */
 package org.spongepowered.common.mixin.optimization.world;
 
-import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.util.EnumFacing;
 import net.minecraft.util.math.BlockPos;
@@ -41,19 +40,17 @@
 import org.spongepowered.common.bridge.world.chunk.ChunkProviderBridge;
 import org.spongepowered.common.bridge.util.math.BlockPosBridge;
 import org.spongepowered.common.mixin.core.world.WorldMixin;
-import org.spongepowered.common.util.Constants;
+import org.spongepowered.common.world.lighting.AsyncLightingEngine;
+import org.spongepowered.common.world.lighting.ChunkLightQueue;
 
 import java.util.List;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 import javax.annotation.Nullable;
 
 @Mixin(value = WorldServer.class)
 public abstract class WorldServerMixin_Async_Lighting extends WorldMixin implements WorldServerBridge_AsyncLighting {
 
-    private ExecutorService asyncLightingImpl$lightExecutorService =
-                Executors.newFixedThreadPool(SpongeImpl.getGlobalConfigAdapter().getConfig().getOptimizations().getAsyncLightingCategory().getNumThreads(), new ThreadFactoryBuilder().setNameFormat("Sponge - Async Light Thread").build());
+    private volatile boolean asyncLightingImpl$shutdown;
 
     @Override
     public boolean checkLightFor(final EnumSkyBlock lightType, final BlockPos pos) {
@@ -67,7 +64,7 @@ public boolean checkLightFor(final EnumSkyBlock lightType, final BlockPos pos) {
         if (false && !this.isAreaLoaded(pos, 17, false)) {
             return false;
         } else {
-            final ChunkBridge_AsyncLighting spongeChunk = (ChunkBridge_AsyncLighting) currentChunk;
+            final int[] lightUpdateBlockList = AsyncLightingEngine.getLightUpdateBlockList(); // Sponge - one list per light thread
             int i = 0;
             int j = 0;
             //this.theProfiler.startSection("getBrightness"); // Sponge - don't use profiler off of main thread
@@ -78,12 +75,12 @@ public boolean checkLightFor(final EnumSkyBlock lightType, final BlockPos pos) {
             final int k1 = pos.getZ();
 
             if (l > k) {
-                this.lightUpdateBlockList[j++] = 133152;
+                lightUpdateBlockList[j++] = 133152;
             } else if (l < k) {
-                this.lightUpdateBlockList[j++] = 133152 | k << 18;
+                lightUpdateBlockList[j++] = 133152 | k << 18;
 
                 while (i < j) {
-                    final int l1 = this.lightUpdateBlockList[i++];
+                    final int l1 = lightUpdateBlockList[i++];
                     final int i2 = (l1 & 63) - 32 + i1;
                     final int j2 = (l1 >> 6 & 63) - 32 + j1;
                     final int k2 = (l1 >> 12 & 63) - 32 + k1;
@@ -116,8 +113,8 @@ public boolean checkLightFor(final EnumSkyBlock lightType, final BlockPos pos) {
                                     i3 = this.asyncLightingImpl$getLightForAsync(lightType, blockpos$pooledmutableblockpos, currentChunk, neighbors);
                                     // Sponge end
 
-                                    if (i3 == l2 - l4 && j < this.lightUpdateBlockList.length) {
-                                        this.lightUpdateBlockList[j++] = i4 - i1 + 32 | j4 - j1 + 32 << 6 | k4 - k1 + 32 << 12 | l2 - l4 << 18;
+                                    if (i3 == l2 - l4 && j < lightUpdateBlockList.length) {
+                                        lightUpdateBlockList[j++] = i4 - i1 + 32 | j4 - j1 + 32 << 6 | k4 - k1 + 32 << 12 | l2 - l4 << 18;
                                     }
                                 }
 
@@ -134,7 +131,7 @@ public boolean checkLightFor(final EnumSkyBlock lightType, final BlockPos pos) {
             //this.theProfiler.startSection("checkedPosition < toCheckCount"); // Sponge - don't use profiler off of main thread
 
             while (i < j) {
-                final int i5 = this.lightUpdateBlockList[i++];
+                final int i5 = lightUpdateBlockList[i++];
                 final int j5 = (i5 & 63) - 32 + i1;
                 final int k5 = (i5 >> 6 & 63) - 32 + j1;
                 final int l5 = (i5 >> 12 & 63) - 32 + k1;
@@ -149,32 +146,32 @@ public boolean checkLightFor(final EnumSkyBlock lightType, final BlockPos pos) {
                         final int k6 = Math.abs(j5 - i1);
                         final int l6 = Math.abs(k5 - j1);
                         final int i7 = Math.abs(l5 - k1);
-                        final boolean flag = j < this.lightUpdateBlockList.length - 6;
+                        final boolean flag = j < lightUpdateBlockList.length - 6;
 
                         if (k6 + l6 + i7 < 17 && flag) {
                             // Sponge start - use thread safe method asyncLightingImpl$getLightForAsync
                             if (this.asyncLightingImpl$getLightForAsync(lightType, blockpos1.west(), currentChunk, neighbors) < j6) {
-                                this.lightUpdateBlockList[j++] = j5 - 1 - i1 + 32 + (k5 - j1 + 32 << 6) + (l5 - k1 + 32 << 12);
+                                lightUpdateBlockList[j++] = j5 - 1 - i1 + 32 + (k5 - j1 + 32 << 6) + (l5 - k1 + 32 << 12);
                             }
 
                             if (this.asyncLightingImpl$getLightForAsync(lightType, blockpos1.east(), currentChunk, neighbors) < j6) {
-                                this.lightUpdateBlockList[j++] = j5 + 1 - i1 + 32 + (k5 - j1 + 32 << 6) + (l5 - k1 + 32 << 12);
+                                lightUpdateBlockList[j++] = j5 + 1 - i1 + 32 + (k5 - j1 + 32 << 6) + (l5 - k1 + 32 << 12);
                             }
 
                             if (this.asyncLightingImpl$getLightForAsync(lightType, blockpos1.down(), currentChunk, neighbors) < j6) {
-                                this.lightUpdateBlockList[j++] = j5 - i1 + 32 + (k5 - 1 - j1 + 32 << 6) + (l5 - k1 + 32 << 12);
+                                lightUpdateBlockList[j++] = j5 - i1 + 32 + (k5 - 1 - j1 + 32 << 6) + (l5 - k1 + 32 << 12);
                             }
 
                             if (this.asyncLightingImpl$getLightForAsync(lightType, blockpos1.up(), currentChunk, neighbors) < j6) {
-                                this.lightUpdateBlockList[j++] = j5 - i1 + 32 + (k5 + 1 - j1 + 32 << 6) + (l5 - k1 + 32 << 12);
+                                lightUpdateBlockList[j++] = j5 - i1 + 32 + (k5 + 1 - j1 + 32 << 6) + (l5 - k1 + 32 << 12);
                             }
 
                             if (this.asyncLightingImpl$getLightForAsync(lightType, blockpos1.north(), currentChunk, neighbors) < j6) {
-                                this.lightUpdateBlockList[j++] = j5 - i1 + 32 + (k5 - j1 + 32 << 6) + (l5 - 1 - k1 + 32 << 12);
+                                lightUpdateBlockList[j++] = j5 - i1 + 32 + (k5 - j1 + 32 << 6) + (l5 - 1 - k1 + 32 << 12);
                             }
 
                             if (this.asyncLightingImpl$getLightForAsync(lightType, blockpos1.south(), currentChunk, neighbors) < j6) {
-                                this.lightUpdateBlockList[j++] = j5 - i1 + 32 + (k5 - j1 + 32 << 6) + (l5 + 1 - k1 + 32 << 12);
+                                lightUpdateBlockList[j++] = j5 - i1 + 32 + (k5 - j1 + 32 << 6) + (l5 + 1 - k1 + 32 << 12);
                             }
                             // Sponge end
                         }
@@ -182,15 +179,6 @@ public boolean checkLightFor(final EnumSkyBlock lightType, final BlockPos pos) {
                 }
             }
 
-            // Sponge start - Asynchronous light updates
-            spongeChunk.asyncLightingBridge$getQueuedLightingUpdates(lightType).remove((Short) this.asyncLightingImpl$blockPosToShort(pos));
-            spongeChunk.asyncLightingBridge$getPendingLightUpdates().decrementAndGet();
-            for (final net.minecraft.world.chunk.Chunk neighborChunk : neighbors) {
-                final ChunkBridge_AsyncLighting neighbor = (ChunkBridge_AsyncLighting) neighborChunk;
-                neighbor.asyncLightingBridge$getPendingLightUpdates().decrementAndGet();
-            }
-
-            // Sponge end
             //this.theProfiler.endSection(); // Sponge - don't use profiler off of main thread
             return true;
         }
@@ -198,7 +186,7 @@ public boolean checkLightFor(final EnumSkyBlock lightType, final BlockPos pos) {
 
     @Override
     public boolean asyncLightingBridge$updateLightAsync(final EnumSkyBlock lightType, final BlockPos pos, @Nullable Chunk currentChunk) {
-        if (this.getMinecraftServer().isServerStopped() || this.asyncLightingImpl$lightExecutorService.isShutdown()) {
+        if (this.getMinecraftServer().isServerStopped() || this.asyncLightingImpl$shutdown) {
             return false;
         }
 
@@ -211,16 +199,36 @@ public boolean checkLightFor(final EnumSkyBlock lightType, final BlockPos pos) {
             return false;
         }
 
-        final short shortPos = this.asyncLightingImpl$blockPosToShort(pos);
-        if (spongeChunk.asyncLightingBridge$getQueuedLightingUpdates(lightType).contains(shortPos)) {
+        final int key = ChunkLightQueue.toKey(lightType, pos);
+        if (key == ChunkLightQueue.EMPTY) {
             return false;
         }
 
-        final Chunk chunk = currentChunk;
-        spongeChunk.asyncLightingBridge$getQueuedLightingUpdates(lightType).add(shortPos);
-        spongeChunk.asyncLightingBridge$getPendingLightUpdates().incrementAndGet();
-        spongeChunk.asyncLightingBridge$setLightUpdateTime(chunk.getWorld().getTotalWorldTime());
+        if (SpongeImpl.getServer().isCallingFromMinecraftThread()) {
+            if (!AsyncLightingEngine.getInstance().queueUpdate(this, currentChunk, key)) {
+                return false;
+            }
+        } else {
+            // Already running on a light thread, so the update is done right away
+            final ChunkLightQueue queue = spongeChunk.asyncLightingBridge$getLightQueue();
+            if (!queue.mark(key)) {
+                return false;
+            }
+            spongeChunk.asyncLightingBridge$getPendingLightUpdates().incrementAndGet();
+            try {
+                this.asyncLightingBridge$checkLightAsync(lightType, pos, currentChunk, this.asyncLightingBridge$getLightNeighbors(currentChunk));
+            } finally {
+                queue.unmark(key);
+                spongeChunk.asyncLightingBridge$getPendingLightUpdates().decrementAndGet();
+            }
+        }
+        spongeChunk.asyncLightingBridge$setLightUpdateTime(currentChunk.getWorld().getTotalWorldTime());
+        return true;
+    }
 
+    @Override
+    public List<Chunk> asyncLightingBridge$getLightNeighbors(final Chunk chunk) {
+        final ChunkBridge spongeChunk = (ChunkBridge) chunk;
         final List<Chunk> neighbors = spongeChunk.bridge$getNeighbors();
 
         // add diagonal chunks
@@ -246,28 +254,17 @@ public boolean checkLightFor(final EnumSkyBlock lightType, final BlockPos pos) {
                 neighbors.add(northWestChunk);
             }
         }
+        return neighbors;
+    }
 
-        for (final net.minecraft.world.chunk.Chunk neighborChunk : neighbors) {
-            final ChunkBridge_AsyncLighting neighbor = (ChunkBridge_AsyncLighting) neighborChunk;
-            neighbor.asyncLightingBridge$getPendingLightUpdates().incrementAndGet();
-            neighbor.asyncLightingBridge$setLightUpdateTime(chunk.getWorld().getTotalWorldTime());
-        }
-
-        //System.out.println("size = " + ((ThreadPoolExecutor) this.asyncLightingImpl$lightExecutorService).getQueue().size());
-        if (SpongeImpl.getServer().isCallingFromMinecraftThread()) {
-            this.asyncLightingImpl$lightExecutorService.execute(() -> {
-                this.asyncLightingBridge$checkLightAsync(lightType, pos, chunk, neighbors);
-            });
-        } else {
-            this.asyncLightingBridge$checkLightAsync(lightType, pos, chunk, neighbors);
-        }
-
-        return true;
+    @Override
+    public void asyncLightingBridge$shutdownLighting() {
+        this.asyncLightingImpl$shutdown = true;
     }
 
     @Override
-    public ExecutorService asyncLightingBridge$getLightingExecutor() {
-        return this.asyncLightingImpl$lightExecutorService;
+    public boolean asyncLightingBridge$isLightingShutdown() {
+        return this.asyncLightingImpl$shutdown;
     }
 
     // Thread safe methods to retrieve a chunk during async light updates
@@ -366,24 +363,4 @@ public boolean checkLightFor(final EnumSkyBlock lightType, final BlockPos pos) {
             }
         }
     }
-
-    private short asyncLightingImpl$blockPosToShort(final BlockPos pos) {
-        short serialized = (short) asyncLightingImpl$setNibble(0, pos.getX() & Constants.Chunk.XZ_MASK, 0, Constants.Chunk.NUM_XZ_BITS);
-        serialized = (short) asyncLightingImpl$setNibble(serialized, pos.getY() & Constants.Chunk.Y_SHORT_MASK, 1, Constants.Chunk.NUM_SHORT_Y_BITS);
-        serialized = (short) asyncLightingImpl$setNibble(serialized, pos.getZ() & Constants.Chunk.XZ_MASK, 3, Constants.Chunk.NUM_XZ_BITS);
-        return serialized;
-    }
-
-    /**
-     * Modifies bits in an integer.
-     *
-     * @param num Integer to modify
-     * @param data Bits of data to add
-     * @param which Index of nibble to start at
-     * @param bitsToReplace The number of bits to replace starting from nibble index
-     * @return The modified integer
-     */
-    private int asyncLightingImpl$setNibble(final int num, final int data, final int which, final int bitsToReplace) {
-        return (num & ~(bitsToReplace << (which * 4)) | (data << (which * 4)));
-    }
 }
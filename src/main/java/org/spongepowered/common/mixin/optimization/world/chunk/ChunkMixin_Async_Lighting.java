@@ -47,13 +47,12 @@
 import org.spongepowered.common.bridge.world.chunk.ChunkBridge_AsyncLighting;
 import org.spongepowered.common.bridge.world.chunk.ChunkProviderBridge;
 import org.spongepowered.common.util.Constants;
+import org.spongepowered.common.world.lighting.AsyncLightingEngine;
+import org.spongepowered.common.world.lighting.ChunkLightQueue;
 
 import java.util.Collections;
 import java.util.List;
-import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
-import java.util.concurrent.ExecutorService;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -62,13 +61,10 @@
 @Mixin(value = Chunk.class, priority = 1002)
 public abstract class ChunkMixin_Async_Lighting implements ChunkBridge_AsyncLighting {
 
-    // Keeps track of block positions in this chunk currently queued for sky light update
-    private Set<Short> asyncLighting$queuedSkyLightingUpdates = ConcurrentHashMap.newKeySet();
-    // Keeps track of block positions in this chunk currently queued for block light update
-    private Set<Short> asyncLighting$queuedBlockLightingUpdates = ConcurrentHashMap.newKeySet();
+    // Keeps track of block positions in this chunk currently queued for sky or block light update
+    private final ChunkLightQueue asyncLighting$lightQueue = new ChunkLightQueue();
     private AtomicInteger asyncLighting$pendingLightUpdates = new AtomicInteger();
     private long asyncLighting$lightUpdateTime;
-    private ExecutorService asyncLighting$lightExecutorService;
     private boolean asyncLighting$isServerChunk;
 
     @Shadow @Final private World world;
@@ -98,9 +94,6 @@ public abstract class ChunkMixin_Async_Lighting implements ChunkBridge_AsyncLigh
     @Inject(method = "<init>(Lnet/minecraft/world/World;II)V", at = @At("RETURN"))
     private void asyncLighting$initializeFields(final World worldIn, final int x, final int z, final CallbackInfo ci) {
         this.asyncLighting$isServerChunk = !((WorldBridge) worldIn).bridge$isFake();
-        if (this.asyncLighting$isServerChunk) {
-            this.asyncLighting$lightExecutorService = ((WorldServerBridge_AsyncLighting) worldIn).asyncLightingBridge$getLightingExecutor();
-        }
     }
 
     @Override
@@ -125,7 +118,7 @@ public abstract class ChunkMixin_Async_Lighting implements ChunkBridge_AsyncLigh
             final List<Chunk> neighbors = this.asyncLighting$getSurroundingChunks();
             if (this.isGapLightingUpdated && this.world.provider.hasSkyLight() && !skipRecheckGaps && !neighbors.isEmpty())
             {
-                this.asyncLighting$lightExecutorService.execute(() -> {
+                AsyncLightingEngine.getInstance().execute((WorldServerBridge_AsyncLighting) this.world, () -> {
                     this.asyncLighting$recheckGapsAsync(neighbors);
                 });
                 this.isGapLightingUpdated = false;
@@ -135,7 +128,7 @@ public abstract class ChunkMixin_Async_Lighting implements ChunkBridge_AsyncLigh
 
             if (!this.isLightPopulated && this.isTerrainPopulated && !neighbors.isEmpty())
             {
-                this.asyncLighting$lightExecutorService.execute(() -> {
+                AsyncLightingEngine.getInstance().execute((WorldServerBridge_AsyncLighting) this.world, () -> {
                     this.asyncLighting$checkLightAsync(neighbors);
                 });
                 // set to true to avoid requeuing the same task when not finished
@@ -259,7 +252,7 @@ public abstract class ChunkMixin_Async_Lighting implements ChunkBridge_AsyncLigh
     @Inject(method = "checkLight()V", at = @At("HEAD"), cancellable = true)
     private void asyncLighting$checkLightHead(final CallbackInfo ci) {
         if (this.asyncLighting$isServerChunk) {
-            if (this.world.getMinecraftServer().isServerStopped() || this.asyncLighting$lightExecutorService.isShutdown()) {
+            if (this.world.getMinecraftServer().isServerStopped() || ((WorldServerBridge_AsyncLighting) this.world).asyncLightingBridge$isLightingShutdown()) {
                 return;
             }
 
@@ -274,13 +267,13 @@ public abstract class ChunkMixin_Async_Lighting implements ChunkBridge_AsyncLigh
 
             if (SpongeImpl.getServer().isCallingFromMinecraftThread()) {
                 try {
-                    this.asyncLighting$lightExecutorService.execute(() -> {
+                    AsyncLightingEngine.getInstance().execute((WorldServerBridge_AsyncLighting) this.world, () -> {
                         this.asyncLighting$checkLightAsync(neighborChunks);
                     });
                 } catch (RejectedExecutionException e) {
                     // This could happen if ServerHangWatchdog kills the server
                     // between the start of the method and the execute() call.
-                    if (!this.world.getMinecraftServer().isServerStopped() && !this.asyncLighting$lightExecutorService.isShutdown()) {
+                    if (!this.world.getMinecraftServer().isServerStopped() && !((WorldServerBridge_AsyncLighting) this.world).asyncLightingBridge$isLightingShutdown()) {
                         throw e;
                     }
                 }
@@ -502,7 +495,7 @@ else if (flag && k == 0 && !this.asyncLighting$checkWorldLight(blockpos$mutableb
     @Inject(method = "relightBlock", at = @At("HEAD"), cancellable = true)
     private void asyncLighting$onRelightBlock(final int x, final int y, final int z, final CallbackInfo ci) {
         if (this.asyncLighting$isServerChunk) {
-            this.asyncLighting$lightExecutorService.execute(() -> {
+            AsyncLightingEngine.getInstance().execute((WorldServerBridge_AsyncLighting) this.world, () -> {
                 this.asyncLighting$relightBlockAsync(x, y, z);
             });
             ci.cancel();
@@ -701,17 +694,8 @@ else if (flag && k == 0 && !this.asyncLighting$checkWorldLight(blockpos$mutableb
         return flag;
     }
 
-    /**
-     * Gets the list of block positions currently queued for lighting updates.
-     *
-     * @param type The light type
-     * @return The list of queued block positions, empty if none
-     */
     @Override
-    public Set<Short> asyncLightingBridge$getQueuedLightingUpdates(final EnumSkyBlock type) {
-        if (type == EnumSkyBlock.SKY) {
-            return this.asyncLighting$queuedSkyLightingUpdates;
-        }
-        return this.asyncLighting$queuedBlockLightingUpdates;
+    public ChunkLightQueue asyncLightingBridge$getLightQueue() {
+        return this.asyncLighting$lightQueue;
     }
 }
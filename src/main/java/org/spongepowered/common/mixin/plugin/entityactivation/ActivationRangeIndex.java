@@ -0,0 +1,168 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.mixin.plugin.entityactivation;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.util.math.AxisAlignedBB;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.MathHelper;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A chunk aligned grid of the volumes players may activate entities in,
+ * rebuilt once per tick for each world.
+ *
+ * <p>Every cell holds the players whose maximum activation volume touches
+ * that chunk, so an entity only has to be tested against the players that
+ * could possibly activate it. Cells also remember the smallest activation
+ * range for which a single player's volume covers the whole chunk column,
+ * which resolves most entities near players without testing any of
+ * them.</p>
+ */
+public final class ActivationRangeIndex {
+
+    static final int VERTICAL_RANGE = 256;
+
+    static final class Cell {
+
+        int x;
+        int z;
+        AxisAlignedBB[] players = new AxisAlignedBB[4];
+        int playerCount;
+        // The smallest range for which one player covers the entire chunk square
+        double coverRange;
+        double coverMinY;
+        double coverMaxY;
+
+        void reset(final int x, final int z) {
+            this.x = x;
+            this.z = z;
+            Arrays.fill(this.players, 0, this.playerCount, null);
+            this.playerCount = 0;
+            this.coverRange = Double.POSITIVE_INFINITY;
+        }
+
+        void add(final AxisAlignedBB player) {
+            if (this.playerCount == this.players.length) {
+                this.players = Arrays.copyOf(this.players, this.playerCount * 2);
+            }
+            this.players[this.playerCount++] = player;
+
+            final double minX = this.x << 4;
+            final double minZ = this.z << 4;
+            final double range = Math.max(Math.max(player.minX - minX, minX + 16 - player.maxX),
+                    Math.max(player.minZ - minZ, minZ + 16 - player.maxZ));
+            if (range < this.coverRange) {
+                this.coverRange = Math.max(range, 0);
+                this.coverMinY = player.minY - VERTICAL_RANGE;
+                this.coverMaxY = player.maxY + VERTICAL_RANGE;
+            }
+        }
+
+        /**
+         * Checks whether the given entity bounds intersect the volume of any
+         * player in this cell grown by the activation range, the same test
+         * as {@link AxisAlignedBB#intersects(AxisAlignedBB)} without creating
+         * the grown boxes.
+         *
+         * @param entity The entity bounds
+         * @param range The activation range of the entity
+         * @return Whether the entity is in range of a player
+         */
+        boolean isInRange(final AxisAlignedBB entity, final int range) {
+            if (range >= this.coverRange && entity.maxY > this.coverMinY && entity.minY < this.coverMaxY) {
+                final double minX = this.x << 4;
+                final double minZ = this.z << 4;
+                if (entity.minX < minX + 16 && entity.maxX > minX && entity.minZ < minZ + 16 && entity.maxZ > minZ) {
+                    return true;
+                }
+            }
+            for (int i = 0; i < this.playerCount; i++) {
+                final AxisAlignedBB player = this.players[i];
+                if (entity.minX < player.maxX + range && entity.maxX > player.minX - range
+                        && entity.minY < player.maxY + VERTICAL_RANGE && entity.maxY > player.minY - VERTICAL_RANGE
+                        && entity.minZ < player.maxZ + range && entity.maxZ > player.minZ - range) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private final Long2ObjectOpenHashMap<Cell> cells = new Long2ObjectOpenHashMap<>();
+    // Cells are pooled between ticks, the set of chunks near players rarely changes much
+    private final List<Cell> pool = new ArrayList<>();
+    private int used;
+    int lastBuiltTick = Integer.MIN_VALUE;
+
+    void clear() {
+        this.cells.clear();
+        this.used = 0;
+    }
+
+    /**
+     * Adds a player to all the cells its maximum activation volume touches.
+     *
+     * @param player The bounds of the player
+     * @param maxRange The largest activation range of any entity type
+     */
+    void addPlayer(final AxisAlignedBB player, final int maxRange) {
+        final int minX = MathHelper.floor((player.minX - maxRange) / 16.0D);
+        final int maxX = MathHelper.floor((player.maxX + maxRange) / 16.0D);
+        final int minZ = MathHelper.floor((player.minZ - maxRange) / 16.0D);
+        final int maxZ = MathHelper.floor((player.maxZ + maxRange) / 16.0D);
+        for (int x = minX; x <= maxX; x++) {
+            for (int z = minZ; z <= maxZ; z++) {
+                final long key = ChunkPos.asLong(x, z);
+                Cell cell = this.cells.get(key);
+                if (cell == null) {
+                    cell = this.nextCell(x, z);
+                    this.cells.put(key, cell);
+                }
+                cell.add(player);
+            }
+        }
+    }
+
+    Iterable<Cell> getCells() {
+        return this.cells.values();
+    }
+
+    private Cell nextCell(final int x, final int z) {
+        final Cell cell;
+        if (this.used < this.pool.size()) {
+            cell = this.pool.get(this.used);
+        } else {
+            cell = new Cell();
+            this.pool.add(cell);
+        }
+        this.used++;
+        cell.reset(x, z);
+        return cell;
+    }
+}
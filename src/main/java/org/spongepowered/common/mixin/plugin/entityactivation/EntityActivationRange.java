@@ -51,7 +51,6 @@
 import net.minecraft.entity.projectile.EntityFireball;
 import net.minecraft.entity.projectile.EntityThrowable;
 import net.minecraft.util.math.AxisAlignedBB;
-import net.minecraft.util.math.MathHelper;
 import net.minecraft.world.World;
 import net.minecraft.world.WorldServer;
 import net.minecraft.world.chunk.Chunk;
@@ -77,8 +76,17 @@
 import org.spongepowered.common.mixin.core.entity.EntityLivingBaseAccessor;
 import org.spongepowered.common.mixin.entityactivation.util.math.AxisAlignedBBAccessor_EntityActivation;
 import org.spongepowered.common.mixin.plugin.entityactivation.interfaces.ActivationCapability;
+import org.spongepowered.common.mixin.plugin.entityactivation.interfaces.ActivationWorldCapability;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+
+import javax.annotation.Nullable;
 
 public class EntityActivationRange {
 
@@ -90,14 +98,11 @@ public class EntityActivationRange {
             .put((byte) 5, "misc")
             .build();
 
-    static AxisAlignedBB maxBB = new AxisAlignedBB(0, 0, 0, 0, 0, 0);
-    static AxisAlignedBB miscBB = new AxisAlignedBB(0, 0, 0, 0, 0, 0);
-    static AxisAlignedBB creatureBB = new AxisAlignedBB(0, 0, 0, 0, 0, 0);
-    static AxisAlignedBB monsterBB = new AxisAlignedBB(0, 0, 0, 0, 0, 0);
-    static AxisAlignedBB aquaticBB = new AxisAlignedBB(0, 0, 0, 0, 0, 0);
-    static AxisAlignedBB ambientBB = new AxisAlignedBB(0, 0, 0, 0, 0, 0);
     static AxisAlignedBB tileEntityBB = new AxisAlignedBB(0, 0, 0, 0, 0, 0);
-    static Map<Byte, Integer> maxActivationRanges = Maps.newHashMap();
+    // Written while entities are initialized and read while worlds are activated in parallel
+    static Map<Byte, Integer> maxActivationRanges = Maps.newConcurrentMap();
+
+    @Nullable private static ForkJoinPool activationPool;
 
     /**
      * Initializes an entities type on construction to specify what group this
@@ -214,10 +219,47 @@ public static void growBb(final AxisAlignedBB target, final AxisAlignedBB source
         ((AxisAlignedBBAccessor_EntityActivation) target).accessor$setMaxZ(source.maxZ + z);
     }
 
+    /**
+     * Performs the activation checks of all the given worlds ahead of
+     * ticking them, spreading the worlds across threads when there is more
+     * than one with players in it.
+     *
+     * @param worlds The worlds to perform activation checks in
+     */
+    public static void activateWorlds(final Collection<WorldServer> worlds) {
+        final List<WorldServer> active = new ArrayList<>(worlds.size());
+        for (final WorldServer world : worlds) {
+            if (!((WorldBridge) world).bridge$isFake() && !world.playerEntities.isEmpty()) {
+                active.add(world);
+            }
+        }
+        if (active.size() < 2) {
+            for (final WorldServer world : active) {
+                activateEntities(world);
+            }
+            return;
+        }
+
+        final ForkJoinPool pool = getActivationPool();
+        final List<ForkJoinTask<?>> tasks = new ArrayList<>(active.size() - 1);
+        for (int i = 1; i < active.size(); i++) {
+            final WorldServer world = active.get(i);
+            tasks.add(pool.submit(() -> activateEntities(world)));
+        }
+        // The main thread takes its share instead of idling until the others are done
+        activateEntities(active.get(0));
+        for (final ForkJoinTask<?> task : tasks) {
+            task.join();
+        }
+    }
+
     /**
      * Find what entities are in range of the players in the world and set
      * active if in range.
      *
+     * <p>Does nothing if the world was already activated during the current
+     * tick by {@link #activateWorlds(Collection)}.</p>
+     *
      * @param world The world to perform activation checks in
      */
     public static void activateEntities(final World world) {
@@ -225,32 +267,35 @@ public static void activateEntities(final World world) {
             return;
         }
 
-        for (final EntityPlayer player : world.playerEntities) {
+        final int currentTick = SpongeImpl.getServer().getTickCounter();
+        final ActivationRangeIndex index = ((ActivationWorldCapability) world).activation$getActivationIndex();
+        if (index.lastBuiltTick == currentTick) {
+            return;
+        }
+        index.lastBuiltTick = currentTick;
+        index.clear();
+        if (world.playerEntities.isEmpty()) {
+            return;
+        }
 
-            int maxRange = 0;
-            for (final Integer range : maxActivationRanges.values()) {
-                if (range > maxRange) {
-                    maxRange = range;
-                }
+        int maxRange = 0;
+        for (final Integer range : maxActivationRanges.values()) {
+            if (range > maxRange) {
+                maxRange = range;
             }
+        }
+        maxRange = Math.min((((org.spongepowered.api.world.World) world).getViewDistance() << 4) - 8, maxRange);
 
-            maxRange = Math.min((((org.spongepowered.api.world.World) world).getViewDistance() << 4) - 8, maxRange);
-            ((ActivationCapability) player).activation$setActivatedTick(SpongeImpl.getServer().getTickCounter());
-            growBb(maxBB, player.getEntityBoundingBox(), maxRange, 256, maxRange);
-
-            final int i = MathHelper.floor(maxBB.minX / 16.0D);
-            final int j = MathHelper.floor(maxBB.maxX / 16.0D);
-            final int k = MathHelper.floor(maxBB.minZ / 16.0D);
-            final int l = MathHelper.floor(maxBB.maxZ / 16.0D);
-
-            for (int i1 = i; i1 <= j; ++i1) {
-                for (int j1 = k; j1 <= l; ++j1) {
-                    final WorldServer worldserver = (WorldServer) world;
-                    final Chunk chunk = ((ChunkProviderBridge) worldserver.getChunkProvider()).bridge$getLoadedChunkWithoutMarkingActive(i1, j1);
-                    if (chunk != null) {
-                        activateChunkEntities(player, chunk);
-                    }
-                }
+        for (final EntityPlayer player : world.playerEntities) {
+            ((ActivationCapability) player).activation$setActivatedTick(currentTick);
+            index.addPlayer(player.getEntityBoundingBox(), maxRange);
+        }
+
+        final ChunkProviderBridge chunkProvider = (ChunkProviderBridge) ((WorldServer) world).getChunkProvider();
+        for (final ActivationRangeIndex.Cell cell : index.getCells()) {
+            final Chunk chunk = chunkProvider.bridge$getLoadedChunkWithoutMarkingActive(cell.x, cell.z);
+            if (chunk != null) {
+                activateChunkEntities(cell, chunk, currentTick);
             }
         }
     }
@@ -258,16 +303,16 @@ public static void activateEntities(final World world) {
     /**
      * Checks for the activation state of all entities in this chunk.
      *
+     * @param cell The players in range of the chunk
      * @param chunk Chunk to check for activation
+     * @param currentTick The current server tick
      */
-    private static void activateChunkEntities(final EntityPlayer player, final Chunk chunk) {
+    private static void activateChunkEntities(final ActivationRangeIndex.Cell cell, final Chunk chunk, final long currentTick) {
         for (int i = 0; i < chunk.getEntityLists().length; ++i) {
 
-            for (final Object o : chunk.getEntityLists()[i]) {
-                final Entity entity = (Entity) o;
+            for (final Entity entity : chunk.getEntityLists()[i]) {
                 final EntityType type = ((org.spongepowered.api.entity.Entity) entity).getType();
                 final ActivationCapability spongeEntity = (ActivationCapability) entity;
-                final long currentTick = SpongeImpl.getServer().getTickCounter();
                 if (!((EntityBridge) entity).bridge$shouldTick()) {
                     continue;
                 }
@@ -284,51 +329,15 @@ private static void activateChunkEntities(final EntityPlayer player, final Chunk
 
                     // check if activation cache needs to be updated
                     if (spongeEntity.activation$requiresActivationCacheRefresh()) {
-                        EntityActivationRange.initializeEntityActivationState(entity);
+                        // The config may be populated from several worlds at once
+                        synchronized (EntityActivationRange.class) {
+                            EntityActivationRange.initializeEntityActivationState(entity);
+                        }
                         spongeEntity.activation$requiresActivationCacheRefresh(false);
                     }
-                    // check for entity type overrides
-                    final byte activationType = spongeEntity.activation$getActivationType();
-                    final int bbActivationRange = spongeEntity.activation$getActivationRange();
-
-                    if (activationType == 5) {
-                        growBb(miscBB, player.getEntityBoundingBox(), bbActivationRange, 256, bbActivationRange);
-                    } else if (activationType == 4) {
-                        growBb(ambientBB, player.getEntityBoundingBox(), bbActivationRange, 256, bbActivationRange);
-                    } else if (activationType == 3) {
-                        growBb(aquaticBB, player.getEntityBoundingBox(), bbActivationRange, 256, bbActivationRange);
-                    } else if (activationType == 2) {
-                        growBb(creatureBB, player.getEntityBoundingBox(), bbActivationRange, 256, bbActivationRange);
-                    } else {
-                        growBb(monsterBB, player.getEntityBoundingBox(), bbActivationRange, 256, bbActivationRange);
-                    }
 
-                    switch (spongeEntity.activation$getActivationType()) {
-                        case 1:
-                            if (monsterBB.intersects(entity.getEntityBoundingBox())) {
-                                spongeEntity.activation$setActivatedTick(currentTick);
-                            }
-                            break;
-                        case 2:
-                            if (creatureBB.intersects(entity.getEntityBoundingBox())) {
-                                spongeEntity.activation$setActivatedTick(currentTick);
-                            }
-                            break;
-                        case 3:
-                            if (aquaticBB.intersects(entity.getEntityBoundingBox())) {
-                                spongeEntity.activation$setActivatedTick(currentTick);
-                            }
-                            break;
-                        case 4:
-                            if (ambientBB.intersects(entity.getEntityBoundingBox())) {
-                                spongeEntity.activation$setActivatedTick(currentTick);
-                            }
-                            break;
-                        case 5:
-                        default:
-                            if (miscBB.intersects(entity.getEntityBoundingBox())) {
-                                spongeEntity.activation$setActivatedTick(currentTick);
-                            }
+                    if (cell.isInRange(entity.getEntityBoundingBox(), spongeEntity.activation$getActivationRange())) {
+                        spongeEntity.activation$setActivatedTick(currentTick);
                     }
                 }
             }
@@ -434,7 +443,7 @@ public static boolean checkIfActive(final Entity entity) {
         return isActive;
     }
 
-    public static void addEntityToConfig(final World world, final SpongeEntityType type, final byte activationType) {
+    public static synchronized void addEntityToConfig(final World world, final SpongeEntityType type, final byte activationType) {
         checkNotNull(world, "world");
         checkNotNull(type, "type");
 
@@ -491,4 +500,16 @@ public static void addEntityToConfig(final World world, final SpongeEntityType t
             globalConfigAdapter.save();
         }
     }
+
+    private static synchronized ForkJoinPool getActivationPool() {
+        if (activationPool == null) {
+            activationPool = new ForkJoinPool(Math.max(1, Runtime.getRuntime().availableProcessors() - 1), pool -> {
+                final ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                thread.setName("Sponge - Entity Activation #" + thread.getPoolIndex());
+                thread.setDaemon(true);
+                return thread;
+            }, null, true);
+        }
+        return activationPool;
+    }
 }
@@ -53,6 +53,7 @@
 import org.spongepowered.common.config.SpongeConfig;
 import org.spongepowered.common.config.type.WorldConfig;
 import org.spongepowered.common.entity.PlayerTracker;
+import org.spongepowered.common.entity.PlayerTrackerTable;
 import org.spongepowered.common.event.tracking.PhaseTracker;
 import org.spongepowered.common.event.tracking.phase.generation.GenerationPhase;
 import org.spongepowered.common.profile.SpongeProfileManager;
@@ -60,7 +61,6 @@
 import org.spongepowered.common.util.SpongeHooks;
 import org.spongepowered.common.util.SpongeUsernameCache;
 
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
@@ -78,8 +78,8 @@ public abstract class ChunkMixin_Tracker implements ChunkBridge {
 
 
     @Nullable private UserStorageService trackerImpl$userStorageService;
-    private Map<Integer, PlayerTracker> trackerImpl$trackedIntBlockPositions = new HashMap<>();
-    private Map<Short, PlayerTracker> trackerImpl$trackedShortBlockPositions = new HashMap<>();
+    private PlayerTrackerTable trackerImpl$trackedIntBlockPositions = new PlayerTrackerTable();
+    private PlayerTrackerTable trackerImpl$trackedShortBlockPositions = new PlayerTrackerTable();
 
     @Inject(method = "<init>(Lnet/minecraft/world/World;II)V", at = @At("RETURN"))
     private void tracker$setUpUserService(@Nullable final World worldIn, final int x, final int z, final CallbackInfo ci) {
@@ -135,42 +135,29 @@ public abstract class ChunkMixin_Tracker implements ChunkBridge {
 
         final WorldInfoBridge worldInfo = (WorldInfoBridge) this.world.getWorldInfo();
         final int indexForUniqueId = worldInfo.bridge$getIndexForUniqueId(user.getUniqueId());
+        final PlayerTrackerTable trackedPositions;
+        final int blockPos;
         if (pos.getY() <= 255) {
-            final short blockPos = Constants.Sponge.blockPosToShort(pos);
-            final PlayerTracker playerTracker = this.trackerImpl$trackedShortBlockPositions.get(blockPos);
-            if (playerTracker != null) {
-                if (trackerType == PlayerTracker.Type.OWNER) {
-                    playerTracker.ownerIndex = indexForUniqueId;
-                    playerTracker.notifierIndex = indexForUniqueId;
-                } else {
-                    playerTracker.notifierIndex = indexForUniqueId;
-                }
-            } else {
-                this.trackerImpl$trackedShortBlockPositions.put(blockPos, new PlayerTracker(indexForUniqueId, trackerType));
-            }
+            trackedPositions = this.trackerImpl$trackedShortBlockPositions;
+            blockPos = Constants.Sponge.blockPosToShort(pos);
         } else {
-            final int blockPos = Constants.Sponge.blockPosToInt(pos);
-            final PlayerTracker playerTracker = this.trackerImpl$trackedIntBlockPositions.get(blockPos);
-            if (playerTracker != null) {
-                if (trackerType == PlayerTracker.Type.OWNER) {
-                    playerTracker.ownerIndex = indexForUniqueId;
-                    playerTracker.notifierIndex = indexForUniqueId;
-                } else {
-                    playerTracker.notifierIndex = indexForUniqueId;
-                }
-            } else {
-                this.trackerImpl$trackedIntBlockPositions.put(blockPos, new PlayerTracker(indexForUniqueId, trackerType));
-            }
+            trackedPositions = this.trackerImpl$trackedIntBlockPositions;
+            blockPos = Constants.Sponge.blockPosToInt(pos);
+        }
+        if (trackerType == PlayerTracker.Type.OWNER) {
+            trackedPositions.put(blockPos, indexForUniqueId, trackedPositions.containsKey(blockPos) ? indexForUniqueId : -1);
+        } else {
+            trackedPositions.setNotifier(blockPos, indexForUniqueId);
         }
     }
 
     @Override
-    public Map<Integer, PlayerTracker> bridge$getTrackedIntPlayerPositions() {
+    public PlayerTrackerTable bridge$getTrackedIntPlayerPositions() {
         return this.trackerImpl$trackedIntBlockPositions;
     }
 
     @Override
-    public Map<Short, PlayerTracker> bridge$getTrackedShortPlayerPositions() {
+    public PlayerTrackerTable bridge$getTrackedShortPlayerPositions() {
         return this.trackerImpl$trackedShortBlockPositions;
     }
 
@@ -180,17 +167,14 @@ public abstract class ChunkMixin_Tracker implements ChunkBridge {
             return Optional.empty();
         }
         final int intKey = Constants.Sponge.blockPosToInt(pos);
-        final PlayerTracker intTracker = this.trackerImpl$trackedIntBlockPositions.get(intKey);
-        if (intTracker != null) {
-            final int notifierIndex = intTracker.ownerIndex;
-            return this.tracker$getValidatedUser(intKey, notifierIndex);
-        } else {
-            final short shortKey = Constants.Sponge.blockPosToShort(pos);
-            final PlayerTracker shortTracker = this.trackerImpl$trackedShortBlockPositions.get(shortKey);
-            if (shortTracker != null) {
-                final int notifierIndex = shortTracker.ownerIndex;
-                return this.tracker$getValidatedUser(shortKey, notifierIndex);
-            }
+        if (this.trackerImpl$trackedIntBlockPositions.containsKey(intKey)) {
+            return this.tracker$getValidatedUser(this.trackerImpl$trackedIntBlockPositions, intKey,
+                this.trackerImpl$trackedIntBlockPositions.getOwner(intKey));
+        }
+        final short shortKey = Constants.Sponge.blockPosToShort(pos);
+        if (this.trackerImpl$trackedShortBlockPositions.containsKey(shortKey)) {
+            return this.tracker$getValidatedUser(this.trackerImpl$trackedShortBlockPositions, shortKey,
+                this.trackerImpl$trackedShortBlockPositions.getOwner(shortKey));
         }
 
         return Optional.empty();
@@ -202,17 +186,14 @@ public abstract class ChunkMixin_Tracker implements ChunkBridge {
             return Optional.empty();
         }
         final int key = Constants.Sponge.blockPosToInt(pos);
-        final PlayerTracker intTracker = this.trackerImpl$trackedIntBlockPositions.get(key);
-        if (intTracker != null) {
-            final int ownerIndex = intTracker.ownerIndex;
-            return this.tracker$getValidatedUUID(key, ownerIndex);
-        } else {
-            final short shortKey = Constants.Sponge.blockPosToShort(pos);
-            final PlayerTracker shortTracker = this.trackerImpl$trackedShortBlockPositions.get(shortKey);
-            if (shortTracker != null) {
-                final int ownerIndex = shortTracker.ownerIndex;
-                return this.tracker$getValidatedUUID(shortKey, ownerIndex);
-            }
+        if (this.trackerImpl$trackedIntBlockPositions.containsKey(key)) {
+            return this.tracker$getValidatedUUID(this.trackerImpl$trackedIntBlockPositions, key,
+                this.trackerImpl$trackedIntBlockPositions.getOwner(key));
+        }
+        final short shortKey = Constants.Sponge.blockPosToShort(pos);
+        if (this.trackerImpl$trackedShortBlockPositions.containsKey(shortKey)) {
+            return this.tracker$getValidatedUUID(this.trackerImpl$trackedShortBlockPositions, shortKey,
+                this.trackerImpl$trackedShortBlockPositions.getOwner(shortKey));
         }
 
         return Optional.empty();
@@ -224,15 +205,14 @@ public abstract class ChunkMixin_Tracker implements ChunkBridge {
             return Optional.empty();
         }
         final int intKey = Constants.Sponge.blockPosToInt(pos);
-        final PlayerTracker intTracker = this.trackerImpl$trackedIntBlockPositions.get(intKey);
-        if (intTracker != null) {
-            return this.tracker$getValidatedUser(intKey, intTracker.notifierIndex);
-        } else {
-            final short shortKey = Constants.Sponge.blockPosToShort(pos);
-            final PlayerTracker shortTracker = this.trackerImpl$trackedShortBlockPositions.get(shortKey);
-            if (shortTracker != null) {
-                return this.tracker$getValidatedUser(shortKey, shortTracker.notifierIndex);
-            }
+        if (this.trackerImpl$trackedIntBlockPositions.containsKey(intKey)) {
+            return this.tracker$getValidatedUser(this.trackerImpl$trackedIntBlockPositions, intKey,
+                this.trackerImpl$trackedIntBlockPositions.getNotifier(intKey));
+        }
+        final short shortKey = Constants.Sponge.blockPosToShort(pos);
+        if (this.trackerImpl$trackedShortBlockPositions.containsKey(shortKey)) {
+            return this.tracker$getValidatedUser(this.trackerImpl$trackedShortBlockPositions, shortKey,
+                this.trackerImpl$trackedShortBlockPositions.getNotifier(shortKey));
         }
 
         return Optional.empty();
@@ -244,22 +224,21 @@ public abstract class ChunkMixin_Tracker implements ChunkBridge {
             return Optional.empty();
         }
         final int key = Constants.Sponge.blockPosToInt(pos);
-        final PlayerTracker intTracker = this.trackerImpl$trackedIntBlockPositions.get(key);
-        if (intTracker != null) {
-            return this.tracker$getValidatedUUID(key, intTracker.notifierIndex);
-        } else {
-            final short shortKey = Constants.Sponge.blockPosToShort(pos);
-            final PlayerTracker shortTracker = this.trackerImpl$trackedShortBlockPositions.get(shortKey);
-            if (shortTracker != null) {
-                return this.tracker$getValidatedUUID(shortKey, shortTracker.notifierIndex);
-            }
+        if (this.trackerImpl$trackedIntBlockPositions.containsKey(key)) {
+            return this.tracker$getValidatedUUID(this.trackerImpl$trackedIntBlockPositions, key,
+                this.trackerImpl$trackedIntBlockPositions.getNotifier(key));
+        }
+        final short shortKey = Constants.Sponge.blockPosToShort(pos);
+        if (this.trackerImpl$trackedShortBlockPositions.containsKey(shortKey)) {
+            return this.tracker$getValidatedUUID(this.trackerImpl$trackedShortBlockPositions, shortKey,
+                this.trackerImpl$trackedShortBlockPositions.getNotifier(shortKey));
         }
 
         return Optional.empty();
     }
 
-    private Optional<User> tracker$getValidatedUser(final int key, final int ownerIndex) {
-        final Optional<UUID> uuid = this.tracker$getValidatedUUID(key, ownerIndex);
+    private Optional<User> tracker$getValidatedUser(final PlayerTrackerTable trackedPositions, final int key, final int ownerIndex) {
+        final Optional<UUID> uuid = this.tracker$getValidatedUUID(trackedPositions, key, ownerIndex);
         if (uuid.isPresent()) {
             final UUID userUniqueId = uuid.get();
             // get player if online
@@ -273,12 +252,12 @@ public abstract class ChunkMixin_Tracker implements ChunkBridge {
         return Optional.empty();
     }
 
-    private Optional<UUID> tracker$getValidatedUUID(final int key, final int ownerIndex) {
+    private Optional<UUID> tracker$getValidatedUUID(final PlayerTrackerTable trackedPositions, final int key, final int ownerIndex) {
         final UUID uuid = (((WorldInfoBridge) this.world.getWorldInfo()).bridge$getUniqueIdForIndex(ownerIndex)).orElse(null);
         if (uuid != null) {
             // Verify id is valid and not invalid
             if (SpongeImpl.getGlobalConfigAdapter().getConfig().getWorld().getInvalidLookupUuids().contains(uuid)) {
-                this.trackerImpl$trackedIntBlockPositions.remove(key);
+                trackedPositions.remove(key);
                 return Optional.empty();
             }
             // player is not online, get or create user from storage
@@ -311,26 +290,11 @@ public abstract class ChunkMixin_Tracker implements ChunkBridge {
         if (((WorldBridge) this.world).bridge$isFake()) {
             return;
         }
+        final int index = uuid == null ? -1 : ((WorldInfoBridge) this.world.getWorldInfo()).bridge$getIndexForUniqueId(uuid);
         if (pos.getY() <= 255) {
-            final short blockPos = Constants.Sponge.blockPosToShort(pos);
-            final PlayerTracker shortTracker = this.trackerImpl$trackedShortBlockPositions.get(blockPos);
-            if (shortTracker != null) {
-                shortTracker.notifierIndex = uuid == null ? -1 : ((WorldInfoBridge) this.world.getWorldInfo()).bridge$getIndexForUniqueId(uuid);
-            } else {
-                this.trackerImpl$trackedShortBlockPositions.put(blockPos,
-                        new PlayerTracker(uuid == null ? -1 : ((WorldInfoBridge) this.world.getWorldInfo()).bridge$getIndexForUniqueId(uuid),
-                                PlayerTracker.Type.NOTIFIER));
-            }
+            this.trackerImpl$trackedShortBlockPositions.setNotifier(Constants.Sponge.blockPosToShort(pos), index);
         } else {
-            final int blockPos = Constants.Sponge.blockPosToInt(pos);
-            final PlayerTracker intTracker = this.trackerImpl$trackedIntBlockPositions.get(blockPos);
-            if (intTracker != null) {
-                intTracker.notifierIndex = uuid == null ? -1 : ((WorldInfoBridge) this.world.getWorldInfo()).bridge$getIndexForUniqueId(uuid);
-            } else {
-                this.trackerImpl$trackedIntBlockPositions.put(blockPos,
-                        new PlayerTracker(uuid == null ? -1 : ((WorldInfoBridge) this.world.getWorldInfo()).bridge$getIndexForUniqueId(uuid),
-                                PlayerTracker.Type.NOTIFIER));
-            }
+            this.trackerImpl$trackedIntBlockPositions.setNotifier(Constants.Sponge.blockPosToInt(pos), index);
         }
     }
 
@@ -340,34 +304,21 @@ public abstract class ChunkMixin_Tracker implements ChunkBridge {
         if (((WorldBridge) this.world).bridge$isFake()) {
             return;
         }
+        final int index = uuid == null ? -1 : ((WorldInfoBridge) this.world.getWorldInfo()).bridge$getIndexForUniqueId(uuid);
         if (pos.getY() <= 255) {
-            final short blockPos = Constants.Sponge.blockPosToShort(pos);
-            final PlayerTracker shortTracker = this.trackerImpl$trackedShortBlockPositions.get(blockPos);
-            if (shortTracker != null) {
-                shortTracker.ownerIndex = uuid == null ? -1 : ((WorldInfoBridge) this.world.getWorldInfo()).bridge$getIndexForUniqueId(uuid);
-            } else {
-                this.trackerImpl$trackedShortBlockPositions.put(blockPos, new PlayerTracker(uuid == null ? -1 : ((WorldInfoBridge) this.world.getWorldInfo())
-                        .bridge$getIndexForUniqueId(uuid), PlayerTracker.Type.OWNER));
-            }
+            this.trackerImpl$trackedShortBlockPositions.setOwner(Constants.Sponge.blockPosToShort(pos), index);
         } else {
-            final int blockPos = Constants.Sponge.blockPosToInt(pos);
-            final PlayerTracker intTracker = this.trackerImpl$trackedIntBlockPositions.get(blockPos);
-            if (intTracker != null) {
-                intTracker.ownerIndex = uuid == null ? -1 : ((WorldInfoBridge) this.world.getWorldInfo()).bridge$getIndexForUniqueId(uuid);
-            } else {
-                this.trackerImpl$trackedIntBlockPositions.put(blockPos, new PlayerTracker(uuid == null ? -1 : ((WorldInfoBridge) this.world.getWorldInfo())
-                        .bridge$getIndexForUniqueId(uuid), PlayerTracker.Type.OWNER));
-            }
+            this.trackerImpl$trackedIntBlockPositions.setOwner(Constants.Sponge.blockPosToInt(pos), index);
         }
     }
 
     @Override
-    public void bridge$setTrackedIntPlayerPositions(final Map<Integer, PlayerTracker> trackedPositions) {
+    public void bridge$setTrackedIntPlayerPositions(final PlayerTrackerTable trackedPositions) {
         this.trackerImpl$trackedIntBlockPositions = trackedPositions;
     }
 
     @Override
-    public void bridge$setTrackedShortPlayerPositions(final Map<Short, PlayerTracker> trackedPositions) {
+    public void bridge$setTrackedShortPlayerPositions(final PlayerTrackerTable trackedPositions) {
         this.trackerImpl$trackedShortBlockPositions = trackedPositions;
     }
 
@@ -32,9 +32,11 @@
 import org.spongepowered.api.data.persistence.DataFormats;
 import org.spongepowered.api.registry.AdditionalCatalogRegistryModule;
 import org.spongepowered.api.registry.util.RegisterCatalog;
+import org.spongepowered.common.data.persistence.BinaryDataFormat;
 import org.spongepowered.common.data.persistence.HoconDataFormat;
 import org.spongepowered.common.data.persistence.JsonDataFormat;
 import org.spongepowered.common.data.persistence.NbtDataFormat;
+import org.spongepowered.common.data.persistence.SchematicDataFormat;
 
 import java.util.Collection;
 import java.util.HashMap;
@@ -70,5 +72,7 @@ public void registerDefaults() {
         this.dataFormatMappings.put("nbt", new NbtDataFormat("nbt"));
         this.dataFormatMappings.put("json", new JsonDataFormat());
         this.dataFormatMappings.put("hocon", new HoconDataFormat("hocon"));
+        this.dataFormatMappings.put("binary", new BinaryDataFormat("binary"));
+        this.dataFormatMappings.put("schematic", new SchematicDataFormat("schematic"));
     }
 }
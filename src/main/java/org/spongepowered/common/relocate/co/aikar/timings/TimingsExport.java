@@ -29,11 +29,13 @@
 import org.spongepowered.common.relocate.co.aikar.util.JSONUtil;
 import org.spongepowered.common.relocate.co.aikar.util.JSONUtil.JsonObjectBuilder;
 import com.google.common.base.Joiner;
+import com.google.common.cache.CacheStats;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import net.minecraft.world.WorldServer;
 import ninja.leaping.configurate.ConfigurationNode;
 import org.spongepowered.api.Platform;
 import org.spongepowered.api.Sponge;
@@ -47,6 +49,13 @@
 import org.spongepowered.api.text.channel.MessageReceiver;
 import org.spongepowered.api.text.format.TextColors;
 import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.bridge.world.chunk.ChunkProviderServerBridge;
+import org.spongepowered.common.data.ImmutableDataCachingUtil;
+import org.spongepowered.common.data.util.DataDispatchStatistics;
+import org.spongepowered.common.world.SpawnerStatistics;
+import org.spongepowered.common.world.WorldManager;
+import org.spongepowered.common.world.lighting.AsyncLightingEngine;
+import org.spongepowered.common.world.storage.IncrementalChunkSaver;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
@@ -201,6 +210,72 @@ static void reportTimings() {
             ).build();
         }));
 
+        // Asynchronous task statistics of each plugin
+
+        builder.add("scheduler", JSONUtil.mapArrayToObject(SpongeImpl.getScheduler().getAsyncPluginExecutors(), (executor) -> {
+            return JSONUtil.objectBuilder().add(executor.getPlugin().getId(), JSONUtil.objectBuilder()
+                    .add("queued", executor.getQueuedTasks())
+                    .add("running", executor.getRunningTasks())
+                    .add("completed", executor.getCompletedTasks())
+                    .add("rejected", executor.getRejectedTasks())
+                    .add("avgqueuewait", executor.getAverageQueueWait())
+            ).build();
+        }));
+
+        // Asynchronous lighting statistics, used to size the amount of light threads
+
+        if (SpongeImpl.getGlobalConfigAdapter().getConfig().getModules().useOptimizations()
+                && SpongeImpl.getGlobalConfigAdapter().getConfig().getOptimizations().useAsyncLighting()) {
+            final AsyncLightingEngine lighting = AsyncLightingEngine.getInstance();
+            builder.add("lighting", JSONUtil.objectBuilder()
+                    .add("threads", lighting.getThreads())
+                    .add("queuedupdates", lighting.getQueuedUpdates())
+                    .add("queuedtasks", lighting.getQueuedTasks())
+                    .add("processed", lighting.getProcessedUpdates())
+                    .add("avglag", lighting.getAverageLagMillis())
+                    .add("maxlag", lighting.getMaxLagMillis()));
+        }
+
+        // Hit rate of the per holder class data processor dispatch tables
+
+        builder.add("dataprocessors", JSONUtil.objectBuilder()
+                .add("hits", DataDispatchStatistics.getHits())
+                .add("misses", DataDispatchStatistics.getMisses())
+                .add("hitrate", DataDispatchStatistics.getHitRate())
+                .add("avgmisstime", DataDispatchStatistics.getAverageMissMicros()));
+
+        // Reuse of cached immutable data manipulators and values
+
+        builder.add("immutabledatacache", JSONUtil.objectBuilder()
+                .add("manipulators", serializeCacheStats(ImmutableDataCachingUtil.getManipulatorCacheStats(),
+                        ImmutableDataCachingUtil.getManipulatorCacheSize()))
+                .add("values", serializeCacheStats(ImmutableDataCachingUtil.getValueCacheStats(),
+                        ImmutableDataCachingUtil.getValueCacheSize())));
+
+        // Incremental auto-save progress of each world
+
+        final JsonObjectBuilder autoSaveBuilder = JSONUtil.objectBuilder();
+        for (WorldServer world : WorldManager.getWorlds()) {
+            final IncrementalChunkSaver saver = ((ChunkProviderServerBridge) world.getChunkProvider()).bridge$getIncrementalSaver();
+            if (saver != null) {
+                autoSaveBuilder.add(world.getWorldInfo().getWorldName(), JSONUtil.objectBuilder()
+                        .add("backlog", saver.getBacklog())
+                        .add("saved", saver.getSavedChunks())
+                        .add("avgtickcost", saver.getAverageTickMillis())
+                        .add("maxtickcost", saver.getMaxTickMillis()));
+            }
+        }
+        builder.add("autosave", autoSaveBuilder);
+
+        // Natural spawner search effort
+
+        builder.add("spawner", JSONUtil.objectBuilder()
+                .add("attempts", SpawnerStatistics.getAttempts())
+                .add("spawns", SpawnerStatistics.getSpawns())
+                .add("successrate", SpawnerStatistics.getSuccessRate())
+                .add("avgeligiblechunks", SpawnerStatistics.getAverageEligibleChunks())
+                .add("exhaustedticks", SpawnerStatistics.getExhaustedTicks()));
+
         // Information on the users Config
 
         builder.add("config", JSONUtil.objectBuilder()
@@ -244,6 +319,15 @@ static long getCost() {
         return timingsCost;
     }
 
+    private static JsonObjectBuilder serializeCacheStats(CacheStats stats, long size) {
+        return JSONUtil.objectBuilder()
+                .add("size", size)
+                .add("hits", stats.hitCount())
+                .add("misses", stats.missCount())
+                .add("evictions", stats.evictionCount())
+                .add("hitrate", stats.hitRate());
+    }
+
     private static JsonElement serializeConfigNode(ConfigurationNode node) {
         if (node.hasMapChildren()) {
             JsonObject object = new JsonObject();
@@ -34,6 +34,7 @@ public class WorldTimingsHandler {
 
     public final Timing mobSpawn;
     public final Timing doChunkUnload;
+    public final Timing incrementalSave;
     public final Timing doPortalForcer;
     public final Timing scheduledBlocks;
     public final Timing scheduledBlocksCleanup;
@@ -81,6 +82,7 @@ public WorldTimingsHandler(World world) {
 
         this.mobSpawn = SpongeTimingsFactory.ofSafe(name + "mobSpawn");
         this.doChunkUnload = SpongeTimingsFactory.ofSafe(name + "doChunkUnload");
+        this.incrementalSave = SpongeTimingsFactory.ofSafe(name + "incrementalSave");
         this.scheduledBlocks = SpongeTimingsFactory.ofSafe(name + "Scheduled Blocks");
         this.scheduledBlocksCleanup = SpongeTimingsFactory.ofSafe(name + "Scheduled Blocks - Cleanup");
         this.scheduledBlocksTicking = SpongeTimingsFactory.ofSafe(name + "Scheduled Blocks - Ticking");
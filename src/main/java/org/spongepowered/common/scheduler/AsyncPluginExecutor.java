@@ -0,0 +1,177 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.scheduler;
+
+import org.spongepowered.api.plugin.PluginContainer;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs the asynchronous work of a single plugin on the shared executor,
+ * limiting how many of its tasks may run and wait at the same time and
+ * keeping track of its task counters.
+ */
+public final class AsyncPluginExecutor implements Executor {
+
+    private final PluginContainer plugin;
+    private final Executor delegate;
+    private final int maxRunning;
+    private final int maxQueued;
+    private final Queue<QueuedRunnable> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger running = new AtomicInteger();
+    private final AtomicLong started = new AtomicLong();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong totalQueueWait = new AtomicLong();
+
+    AsyncPluginExecutor(PluginContainer plugin, Executor delegate, int maxRunning, int maxQueued) {
+        this.plugin = plugin;
+        this.delegate = delegate;
+        this.maxRunning = maxRunning;
+        this.maxQueued = maxQueued;
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        if (this.maxQueued > 0) {
+            int current;
+            do {
+                current = this.queued.get();
+                if (current >= this.maxQueued) {
+                    this.rejected.incrementAndGet();
+                    throw new RejectedExecutionException("Plugin " + this.plugin.getId() + " has reached its limit of " + this.maxQueued
+                            + " queued asynchronous tasks");
+                }
+            } while (!this.queued.compareAndSet(current, current + 1));
+        } else {
+            this.queued.incrementAndGet();
+        }
+        this.queue.add(new QueuedRunnable(command, System.nanoTime()));
+        this.drain();
+    }
+
+    /**
+     * Hands queued runnables to the shared executor while this plugin has
+     * free slots left.
+     */
+    private void drain() {
+        while (!this.queue.isEmpty()) {
+            final int current = this.running.get();
+            if (this.maxRunning > 0 && current >= this.maxRunning) {
+                // A finishing task will drain the queue again
+                return;
+            }
+            if (!this.running.compareAndSet(current, current + 1)) {
+                continue;
+            }
+            final QueuedRunnable next = this.queue.poll();
+            if (next == null) {
+                // Another thread took the runnable, give the slot back and
+                // check again in case something was queued meanwhile.
+                this.running.decrementAndGet();
+                continue;
+            }
+            this.queued.decrementAndGet();
+            try {
+                this.delegate.execute(() -> this.run(next));
+            } catch (RejectedExecutionException e) {
+                this.running.decrementAndGet();
+                this.rejected.incrementAndGet();
+                throw e;
+            }
+        }
+    }
+
+    private void run(QueuedRunnable queuedRunnable) {
+        this.totalQueueWait.addAndGet(System.nanoTime() - queuedRunnable.queuedAt);
+        this.started.incrementAndGet();
+        try {
+            queuedRunnable.runnable.run();
+        } finally {
+            this.running.decrementAndGet();
+            this.completed.incrementAndGet();
+            this.drain();
+        }
+    }
+
+    public PluginContainer getPlugin() {
+        return this.plugin;
+    }
+
+    /**
+     * Gets the amount of tasks waiting for a free slot of this plugin.
+     *
+     * @return The queued task count
+     */
+    public int getQueuedTasks() {
+        return this.queued.get();
+    }
+
+    /**
+     * Gets the amount of tasks that were handed to the shared executor and
+     * did not complete yet.
+     *
+     * @return The running task count
+     */
+    public int getRunningTasks() {
+        return this.running.get();
+    }
+
+    public long getCompletedTasks() {
+        return this.completed.get();
+    }
+
+    public long getRejectedTasks() {
+        return this.rejected.get();
+    }
+
+    /**
+     * Gets the average time a task spent between being submitted and
+     * starting to run, in nanoseconds.
+     *
+     * @return The average queue wait time
+     */
+    public long getAverageQueueWait() {
+        final long started = this.started.get();
+        return started == 0 ? 0 : this.totalQueueWait.get() / started;
+    }
+
+    private static final class QueuedRunnable {
+
+        final Runnable runnable;
+        final long queuedAt;
+
+        QueuedRunnable(Runnable runnable, long queuedAt) {
+            this.runnable = runnable;
+            this.queuedAt = queuedAt;
+        }
+    }
+}
@@ -24,32 +24,59 @@
  */
 package org.spongepowered.common.scheduler;
 
-import org.spongepowered.api.scheduler.Task;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.spongepowered.api.plugin.PluginContainer;
 import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.config.category.SchedulerCategory;
 
-import java.util.Set;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
 public class AsyncScheduler extends SchedulerBase {
 
-    // Adjustable timeout for pending Tasks
-    private long minimumTimeout = Long.MAX_VALUE;
-    private long lastProcessingTimestamp;
+    // Pending executions ordered by the nano time at which they are due. A
+    // task is present at most once: it is queued when added and re-queued
+    // once a repeating execution has finished. The queued execution of each
+    // task is kept so that cancelling it doesn't scan the queue.
+    private final TreeSet<PendingExecution> pendingExecutions = new TreeSet<>();
+    private final Map<ScheduledTask, PendingExecution> pendingByTask = new HashMap<>();
+    private long enqueueCounter = 0L;
     // Locking mechanism
     private final Lock lock = new ReentrantLock();
     private final Condition condition = this.lock.newCondition();
-    private final AtomicBoolean stateChanged = new AtomicBoolean(false);
-    // The dynamic thread pooling executor of asynchronous tasks.
-    private final ExecutorService executor = Executors.newCachedThreadPool();
+    // The shared executor of asynchronous tasks and the per plugin views of it
+    private final SchedulerCategory config;
+    private final ExecutorService executor;
+    // The threads of the executor if it is bounded, otherwise 0
+    private final int executorThreads;
+    // Sponge's own async work (chunk reads, profile lookups, world copies)
+    // never waits behind plugin tasks blocking the shared executor
+    private final ExecutorService internalExecutor = Executors.newCachedThreadPool(new ThreadFactoryBuilder()
+            .setNameFormat("Sponge Internal Async Worker #%d")
+            .build());
+    private final ConcurrentHashMap<String, AsyncPluginExecutor> pluginExecutors = new ConcurrentHashMap<>();
 
     AsyncScheduler() {
+        this(SpongeImpl.getGlobalConfigAdapter().getConfig().getScheduler());
+    }
+
+    AsyncScheduler(SchedulerCategory config) {
         super(ScheduledTask.TaskSynchronicity.ASYNCHRONOUS);
+        this.config = config;
+        this.executor = createExecutor(config);
+        this.executorThreads = this.executor instanceof ForkJoinPool ? ((ForkJoinPool) this.executor).getParallelism() : 0;
 
         Thread thread = new Thread(AsyncScheduler.this::mainLoop);
         thread.setName("Sponge Async Scheduler Thread");
@@ -61,88 +88,127 @@ ExecutorService getExecutor() {
         return this.executor;
     }
 
-    private void mainLoop() {
-        this.lastProcessingTimestamp = System.nanoTime();
-        while (true) {
-            recalibrateMinimumTimeout();
-            this.runTick();
+    AsyncPluginExecutor getPluginExecutor(PluginContainer plugin) {
+        return this.pluginExecutors.computeIfAbsent(plugin.getId(), id -> {
+            if (plugin == SpongeImpl.getPlugin()) {
+                return new AsyncPluginExecutor(plugin, this.internalExecutor, 0, 0);
+            }
+            return new AsyncPluginExecutor(plugin, this.executor, this.getMaxRunningTasks(id), this.config.getMaxQueuedTasks(id));
+        });
+    }
+
+    private int getMaxRunningTasks(String pluginId) {
+        final int maxRunning = this.config.getMaxRunningTasks(pluginId);
+        if (maxRunning < 0) {
+            return 0;
         }
+        if (maxRunning == 0) {
+            // Leave the other half of a bounded pool to the remaining plugins
+            return this.executorThreads > 0 ? Math.max(1, this.executorThreads / 2) : 0;
+        }
+        return maxRunning;
     }
 
-    private void recalibrateMinimumTimeout() {
-        this.lock.lock();
-        try {
-            Set<Task> tasks = this.getScheduledTasks();
-            this.minimumTimeout = Long.MAX_VALUE;
-            long now = System.nanoTime();
-            for (Task tmpTask : tasks) {
-                ScheduledTask task = (ScheduledTask) tmpTask;
-                if (task.getState() == ScheduledTask.ScheduledTaskState.EXECUTING) {
-                    // bail out for this task. We'll signal when we complete the task.
-                    continue;
-                }
-                // Recalibrate the wait delay for processing tasks before new
-                // tasks cause the scheduler to process pending tasks.
-                if (task.offset == 0 && task.period == 0) {
-                    this.minimumTimeout = 0;
-                }
-                // The time since the task last executed or was added to the map
-                long timeSinceLast = now - task.getTimestamp();
+    Collection<AsyncPluginExecutor> getPluginExecutors() {
+        return Collections.unmodifiableCollection(this.pluginExecutors.values());
+    }
 
-                if (task.offset > 0 && task.getState() == ScheduledTask.ScheduledTaskState.WAITING) {
-                    // There is an offset and the task hasn't run yet
-                    this.minimumTimeout = Math.min(task.offset - timeSinceLast, this.minimumTimeout);
-                }
-                if (task.period > 0 && task.getState().isActive) {
-                    // The task repeats and has run after the initial delay
-                    this.minimumTimeout = Math.min(task.period - timeSinceLast, this.minimumTimeout);
-                }
-                if (this.minimumTimeout <= 0) {
-                    break;
-                }
-            }
-            if (!tasks.isEmpty()) {
-                long latency = System.nanoTime() - this.lastProcessingTimestamp;
-                this.minimumTimeout -= (latency <= 0) ? 0 : latency;
-                this.minimumTimeout = (this.minimumTimeout < 0) ? 0 : this.minimumTimeout;
+    private static ExecutorService createExecutor(SchedulerCategory config) {
+        final String type = config.getAsyncExecutor();
+        if (SchedulerCategory.EXECUTOR_CACHED.equalsIgnoreCase(type)) {
+            return Executors.newCachedThreadPool();
+        }
+        if (SchedulerCategory.EXECUTOR_VIRTUAL.equalsIgnoreCase(type)) {
+            try {
+                return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            } catch (ReflectiveOperationException e) {
+                SpongeImpl.getLogger().warn("Virtual threads are not supported by this Java runtime, falling back to the '{}' async executor.",
+                        SchedulerCategory.EXECUTOR_WORK_STEALING);
             }
-        } finally {
-            this.lock.unlock();
+        } else if (!SchedulerCategory.EXECUTOR_WORK_STEALING.equalsIgnoreCase(type)) {
+            SpongeImpl.getLogger().warn("Unknown async executor '{}', falling back to '{}'.", type, SchedulerCategory.EXECUTOR_WORK_STEALING);
         }
+        final int threads = config.getAsyncThreads() > 0 ? config.getAsyncThreads() : Runtime.getRuntime().availableProcessors() * 2;
+        return new ForkJoinPool(threads, pool -> {
+            final ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("Sponge Async Worker #" + thread.getPoolIndex());
+            return thread;
+        }, null, true);
     }
 
-    @Override
-    protected void preTick() {
-        this.lock.lock();
-        try {
-            // If we have something that has indicated it needs to change,
-            // don't await, just continue.
-            if (!this.stateChanged.get()) {
-                this.condition.await(this.minimumTimeout, TimeUnit.NANOSECONDS);
+    private void mainLoop() {
+        while (true) {
+            this.lock.lock();
+            try {
+                this.dispatchExpired();
+                if (this.pendingExecutions.isEmpty()) {
+                    this.condition.await();
+                } else {
+                    final long timeout = this.pendingExecutions.first().timestamp - System.nanoTime();
+                    if (timeout > 0) {
+                        this.condition.awaitNanos(timeout);
+                    }
+                }
+            } catch (InterruptedException ignored) {
+                // The queue has been modified; there is work to do.
+                // Continue on without handling the Exception.
+            } catch (IllegalMonitorStateException e) {
+                SpongeImpl.getLogger().error("The scheduler internal state machine suffered a catastrophic error", e);
+            } finally {
+                this.lock.unlock();
             }
-            // We're processing now. Set to false.
-            this.stateChanged.set(false);
-        } catch (InterruptedException ignored) {
-            // The taskMap has been modified; there is work to do.
-            // Continue on without handling the Exception.
-        } catch (IllegalMonitorStateException e) {
-            SpongeImpl.getLogger().error("The scheduler internal state machine suffered a catastrophic error", e);
         }
     }
 
-    @Override
-    protected void postTick() {
-        this.lastProcessingTimestamp = System.nanoTime();
+    /**
+     * Starts every task whose execution timestamp has passed. Only the
+     * expired head of the queue is touched, tasks that are not yet due are
+     * never visited.
+     */
+    private void dispatchExpired() {
+        final long now = System.nanoTime();
+        while (!this.pendingExecutions.isEmpty() && this.pendingExecutions.first().timestamp - now <= 0) {
+            final ScheduledTask task = this.pendingExecutions.pollFirst().task;
+            this.pendingByTask.remove(task);
+            // If the task is now slated to be cancelled, we just remove it as if it
+            // no longer exists.
+            if (task.getState() == ScheduledTask.ScheduledTaskState.CANCELED) {
+                this.removeTask(task);
+                continue;
+            }
+            task.setState(ScheduledTask.ScheduledTaskState.SWITCHING);
+            task.setTimestamp(this.getTimestamp(task));
+            this.startTask(task);
+            // If task is one time shot, remove it from the map.
+            if (task.period == 0L) {
+                this.removeTask(task);
+            }
+        }
     }
 
-    @Override
-    protected void finallyPostTick() {
-        this.lock.unlock();
+    /**
+     * Queues the next execution of the task. The caller must hold the lock.
+     *
+     * @param task The task to queue
+     * @param timestamp The nano time at which the task should be started
+     */
+    private void enqueue(ScheduledTask task, long timestamp) {
+        final PendingExecution execution = new PendingExecution(task, timestamp, this.enqueueCounter++);
+        this.pendingExecutions.add(execution);
+        this.pendingByTask.put(task, execution);
+        this.condition.signalAll();
     }
 
     @Override
     protected void executeTaskRunnable(ScheduledTask task, Runnable runnable) {
-        this.executor.submit(runnable);
+        try {
+            this.getPluginExecutor(task.getOwner()).execute(runnable);
+        } catch (RejectedExecutionException e) {
+            SpongeImpl.getLogger().error("The Scheduler could not run the task {} owned by {}: {}", task.getName(), task.getOwner(), e.getMessage());
+            // Repeating tasks get another chance on their next execution
+            task.setState(ScheduledTask.ScheduledTaskState.RUNNING);
+            this.onTaskCompletion(task);
+        }
     }
 
     @Override
@@ -150,8 +216,7 @@ protected void addTask(ScheduledTask task) {
         this.lock.lock();
         try {
             super.addTask(task);
-            this.stateChanged.set(true);
-            this.condition.signalAll();
+            this.enqueue(task, task.getTimestamp() + task.offset);
         } finally {
             this.lock.unlock();
         }
@@ -159,15 +224,60 @@ protected void addTask(ScheduledTask task) {
 
     @Override
     protected void onTaskCompletion(ScheduledTask task) {
-        if (task.getState() == ScheduledTask.ScheduledTaskState.RUNNING) {
+        if (task.getState() == ScheduledTask.ScheduledTaskState.CANCELED) {
+            this.removeTask(task);
+            return;
+        }
+        if (task.getState() == ScheduledTask.ScheduledTaskState.RUNNING && task.period > 0) {
             this.lock.lock();
             try {
-                this.stateChanged.set(true);
-                this.condition.signalAll();
+                // The period is measured from the start of the previous
+                // execution, an overrunning task is started again right away.
+                this.enqueue(task, task.getTimestamp() + task.period);
             } finally {
                 this.lock.unlock();
             }
         }
     }
 
+    @Override
+    protected void onTaskCancelled(ScheduledTask task) {
+        this.lock.lock();
+        try {
+            // Don't keep a delayed task, and everything it references, around until it would have been due.
+            // A task that is executing right now is removed once it completes.
+            final PendingExecution execution = this.pendingByTask.remove(task);
+            if (execution != null) {
+                this.pendingExecutions.remove(execution);
+                this.removeTask(task);
+            }
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    private static final class PendingExecution implements Comparable<PendingExecution> {
+
+        final ScheduledTask task;
+        final long timestamp;
+        // Keeps tasks that are due at the same time in submission order
+        private final long sequence;
+
+        PendingExecution(ScheduledTask task, long timestamp, long sequence) {
+            this.task = task;
+            this.timestamp = timestamp;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public int compareTo(PendingExecution other) {
+            // nanoTime values may overflow, so compare the difference
+            final long diff = this.timestamp - other.timestamp;
+            if (diff != 0) {
+                return diff < 0 ? -1 : 1;
+            }
+            return Long.compare(this.sequence, other.sequence);
+        }
+    }
+
 }
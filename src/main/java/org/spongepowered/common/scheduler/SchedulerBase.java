@@ -80,6 +80,7 @@ protected long getTimestamp(ScheduledTask task) {
      */
     protected void addTask(ScheduledTask task) {
         task.setTimestamp(this.getTimestamp(task));
+        task.scheduler = this;
         this.taskMap.put(task.getUniqueId(), task);
     }
 
@@ -232,4 +233,11 @@ protected void onTaskCompletion(ScheduledTask task) {
         // no-op for sync methods.
     }
 
+    /**
+     * Run when a task has been cancelled, from the thread cancelling it.
+     */
+    protected void onTaskCancelled(ScheduledTask task) {
+        // no-op for sync methods, cancelled tasks are removed on the next tick.
+    }
+
 }
@@ -42,6 +42,7 @@
 import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.bridge.entity.player.InventoryPlayerBridge;
 
+import java.util.Collection;
 import java.util.Iterator;
 import java.util.Optional;
 import java.util.Set;
@@ -199,7 +200,17 @@ public void tickSyncScheduler() {
     }
 
     public <T> CompletableFuture<T> submitAsyncTask(Callable<T> callable) {
-        return Functional.asyncFailableFuture(callable, this.asyncScheduler.getExecutor());
+        return Functional.asyncFailableFuture(callable, this.asyncScheduler.getPluginExecutor(SpongeImpl.getPlugin()));
+    }
+
+    /**
+     * Gets the executors that run the asynchronous work of each plugin that
+     * submitted any so far, including their task counters.
+     *
+     * @return The per plugin async executors
+     */
+    public Collection<AsyncPluginExecutor> getAsyncPluginExecutors() {
+        return this.asyncScheduler.getPluginExecutors();
     }
 
     public Future<?> callSync(Runnable runnable) {
@@ -108,6 +108,7 @@
 import java.util.EnumSet;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 /**
  * A standard class where all various "constants" for various data are stored.
@@ -148,6 +149,8 @@ public static final class Sponge {
         public static final String SPONGE_ENTITY_CREATOR = "Creator";
         public static final String SPONGE_ENTITY_NOTIFIER = "Notifier";
         public static final String SPONGE_BLOCK_POS_TABLE = "BlockPosTable";
+        public static final String SPONGE_SHORT_POS_TABLE = "ShortPosTable";
+        public static final String SPONGE_INT_POS_TABLE = "IntPosTable";
         public static final String SPONGE_PLAYER_UUID_TABLE = "PlayerIdTable";
         public static final String CUSTOM_MANIPULATOR_TAG_LIST = "CustomManipulators";
         public static final DataQuery CUSTOM_MANIPULATOR_LIST = of(CUSTOM_MANIPULATOR_TAG_LIST);
@@ -388,6 +391,7 @@ public static final class World {
         public static final String GENERATE_BONUS_CHEST = "GenerateBonusChest";
         public static final int CHUNK_UNLOAD_DELAY = 30000;
         public static final int END_DIMENSION_ID = 1;
+        public static final long ASYNC_CHUNK_LOAD_BUDGET_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
 
         public static final class Teleporter {
 
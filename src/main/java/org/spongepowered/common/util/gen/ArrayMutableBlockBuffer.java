@@ -24,6 +24,8 @@
  */
 package org.spongepowered.common.util.gen;
 
+import static com.google.common.base.Preconditions.checkArgument;
+
 import com.flowpowered.math.vector.Vector3i;
 import net.minecraft.util.math.MathHelper;
 import org.spongepowered.api.block.BlockState;
@@ -90,6 +92,22 @@ public ArrayMutableBlockBuffer(Palette<BlockState> palette, Vector3i start, Vect
         this.data = new CharBackingData(blocks);
     }
 
+    /**
+     * Creates a buffer backed by the given ids, which are indexed in the
+     * same order as this buffer. Does not clone!
+     *
+     * @param palette The palette the ids belong to
+     * @param start The start block position
+     * @param size The block size
+     * @param ids The ids of the blocks
+     */
+    public ArrayMutableBlockBuffer(Palette<BlockState> palette, Vector3i start, Vector3i size, PackedBlockIds ids) {
+        super(start, size);
+        checkArgument(ids.size() == area(), "Expected %s ids, got %s", area(), ids.size());
+        this.palette = palette;
+        this.data = ids.getData();
+    }
+
     /**
      * Does not clone!
      *
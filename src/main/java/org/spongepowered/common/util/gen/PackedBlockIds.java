@@ -0,0 +1,98 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.util.gen;
+
+import org.spongepowered.common.util.gen.ArrayMutableBlockBuffer.PackedBackingData;
+
+/**
+ * A fixed length list of palette ids, packed into as few bits as the highest
+ * id written so far needs. Used to fill a block buffer without going through
+ * its palette, for instance while decoding a schematic.
+ */
+public final class PackedBlockIds {
+
+    private final int size;
+    private PackedBackingData data;
+    private int highestId;
+
+    /**
+     * Creates a list of the given size, initially able to hold ids up to the
+     * given id without growing.
+     *
+     * @param size The amount of ids
+     * @param highestId The highest expected id
+     */
+    public PackedBlockIds(int size, int highestId) {
+        this.size = size;
+        this.data = new PackedBackingData(size, Math.max(highestId, 1));
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Gets the highest id that was set so far.
+     *
+     * @return The highest id
+     */
+    public int getHighestId() {
+        return this.highestId;
+    }
+
+    public int get(int index) {
+        return this.data.get(index);
+    }
+
+    public void set(int index, int id) {
+        if (id < 0) {
+            throw new IllegalArgumentException("Ids must not be negative: " + id);
+        }
+        if (id > this.data.getMax()) {
+            final PackedBackingData grown = new PackedBackingData(this.size, Math.max(id, this.data.getMax() * 2 + 1));
+            for (int i = 0; i < this.size; i++) {
+                grown.set(i, this.data.get(i));
+            }
+            this.data = grown;
+        }
+        this.data.set(index, id);
+        if (id > this.highestId) {
+            this.highestId = id;
+        }
+    }
+
+    public PackedBlockIds copy() {
+        final PackedBlockIds copy = new PackedBlockIds(this.size, this.data.getMax());
+        for (int i = 0; i < this.size; i++) {
+            copy.data.set(i, this.data.get(i));
+        }
+        copy.highestId = this.highestId;
+        return copy;
+    }
+
+    PackedBackingData getData() {
+        return this.data;
+    }
+}
@@ -0,0 +1,453 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+
+import com.flowpowered.math.vector.Vector3i;
+import com.google.common.collect.ImmutableList;
+import it.unimi.dsi.fastutil.longs.Long2ObjectLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.shorts.ShortArrayList;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.init.Blocks;
+import net.minecraft.network.play.server.SPacketBlockChange;
+import net.minecraft.network.play.server.SPacketChunkData;
+import net.minecraft.network.play.server.SPacketMultiBlockChange;
+import net.minecraft.server.management.PlayerChunkMapEntry;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.EnumSkyBlock;
+import net.minecraft.world.WorldServer;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.storage.ExtendedBlockStorage;
+import org.spongepowered.api.Sponge;
+import org.spongepowered.api.block.BlockSnapshot;
+import org.spongepowered.api.block.BlockState;
+import org.spongepowered.api.data.Transaction;
+import org.spongepowered.api.event.CauseStackManager;
+import org.spongepowered.api.event.SpongeEventFactory;
+import org.spongepowered.api.event.block.ChangeBlockEvent;
+import org.spongepowered.api.event.cause.Cause;
+import org.spongepowered.api.util.PositionOutOfBoundsException;
+import org.spongepowered.api.world.BlockChangeFlag;
+import org.spongepowered.api.world.World;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.SpongeImplHooks;
+import org.spongepowered.common.block.SpongeBlockSnapshot;
+import org.spongepowered.common.block.SpongeBlockSnapshotBuilder;
+import org.spongepowered.common.bridge.world.WorldServerBridge;
+import org.spongepowered.common.event.ShouldFire;
+import org.spongepowered.common.event.tracking.PhaseTracker;
+import org.spongepowered.common.event.tracking.phase.plugin.BasicPluginContext;
+import org.spongepowered.common.event.tracking.phase.plugin.PluginPhase;
+import org.spongepowered.common.mixin.core.world.chunk.ChunkAccessor;
+import org.spongepowered.common.util.Constants;
+import org.spongepowered.common.util.VecHelper;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.Nullable;
+
+/**
+ * Collects many block changes to a world and applies them at once.
+ *
+ * <p>Changes are recorded into buffers for each chunk section and are not
+ * visible in the world until {@link #apply()} is called. Applying throws one
+ * {@link ChangeBlockEvent} for each kind of change that is listened to,
+ * followed by a {@link ChangeBlockEvent.Post}, writes the remaining changes
+ * straight into the section storage, and then relights and resends each
+ * changed chunk once. Neighbors are notified after every change has been
+ * written, if the flag asks for it.</p>
+ *
+ * <p>Blocks are placed without running their placement or break logic, in
+ * the same way as blocks restored from a snapshot. Tile entities are removed
+ * and created as needed, but the contents of removed tile entities are not
+ * dropped.</p>
+ */
+public final class BlockEditSession {
+
+    private static final int FULL_CHUNK_MASK = 0xFFFF;
+    // The amount of changes in a chunk from which its sections are resent, as in PlayerChunkMapEntry
+    private static final int MULTI_BLOCK_CHANGE_LIMIT = 64;
+
+    private final WorldServer world;
+    private final BlockChangeFlag flag;
+    private final Long2ObjectLinkedOpenHashMap<ChunkBuffer> chunks = new Long2ObjectLinkedOpenHashMap<>();
+    private int size;
+    private boolean applied;
+
+    public BlockEditSession(World world, BlockChangeFlag flag) {
+        this.world = (WorldServer) checkNotNull(world, "world");
+        this.flag = checkNotNull(flag, "flag");
+    }
+
+    /**
+     * Records a block change, replacing any change recorded earlier for the
+     * same position.
+     *
+     * @param x The X position
+     * @param y The Y position
+     * @param z The Z position
+     * @param state The new block state
+     */
+    public void setBlock(int x, int y, int z, BlockState state) {
+        checkNotNull(state, "state");
+        checkState(!this.applied, "This session has already been applied");
+        if (!((World) this.world).containsBlock(x, y, z)) {
+            throw new PositionOutOfBoundsException(new Vector3i(x, y, z), Constants.World.BLOCK_MIN, Constants.World.BLOCK_MAX);
+        }
+        final long key = ChunkPos.asLong(x >> 4, z >> 4);
+        ChunkBuffer buffer = this.chunks.get(key);
+        if (buffer == null) {
+            buffer = new ChunkBuffer(x >> 4, z >> 4);
+            this.chunks.put(key, buffer);
+        }
+        if (buffer.set(x, y, z, (IBlockState) state) == null) {
+            this.size++;
+        }
+    }
+
+    /**
+     * Gets the amount of block changes recorded so far.
+     *
+     * @return The amount of changes
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Applies every recorded change to the world. This may only be called
+     * once, from the main thread.
+     *
+     * @return The amount of blocks that were changed
+     */
+    public int apply() {
+        checkState(!this.applied, "This session has already been applied");
+        checkState(SpongeImplHooks.isMainThread(), "Block changes can only be applied on the main thread");
+        this.applied = true;
+        if (this.chunks.isEmpty()) {
+            return 0;
+        }
+        final boolean enterPhase = PhaseTracker.getInstance().getCurrentState() != PluginPhase.State.BLOCK_WORKER;
+        try (BasicPluginContext context = enterPhase ? PluginPhase.State.BLOCK_WORKER.createPhaseContext().source(this) : null) {
+            if (context != null) {
+                context.buildAndSwitch();
+            }
+            resolve();
+            if (ShouldFire.CHANGE_BLOCK_EVENT) {
+                throwEvents();
+            }
+            final LongArrayList changed = new LongArrayList(this.size);
+            for (final ChunkBuffer buffer : this.chunks.values()) {
+                write(buffer, changed);
+            }
+            if (this.flag.updateNeighbors()) {
+                for (int i = 0; i < changed.size(); i++) {
+                    final BlockPos pos = BlockPos.fromLong(changed.getLong(i));
+                    this.world.notifyNeighborsOfStateChange(pos, this.world.getBlockState(pos).getBlock(), this.flag.notifyObservers());
+                }
+            }
+            return changed.size();
+        }
+    }
+
+    /**
+     * Loads the chunks of every change, and drops the changes that would
+     * not change the block they are applied to.
+     */
+    private void resolve() {
+        for (final ChunkBuffer buffer : this.chunks.values()) {
+            buffer.chunk = this.world.getChunk(buffer.x, buffer.z);
+            final ExtendedBlockStorage[] storageArray = buffer.chunk.getBlockStorageArray();
+            for (int sectionY = 0; sectionY < 16; sectionY++) {
+                final IBlockState[] section = buffer.sections[sectionY];
+                if (section == null) {
+                    continue;
+                }
+                final ExtendedBlockStorage storage = storageArray[sectionY];
+                for (int index = 0; index < section.length; index++) {
+                    final IBlockState newState = section[index];
+                    if (newState != null && getStoredState(storage, index) == newState) {
+                        section[index] = null;
+                        this.size--;
+                    }
+                }
+            }
+        }
+    }
+
+    private void throwEvents() {
+        final Map<BlockChange, ImmutableList.Builder<Transaction<BlockSnapshot>>> builders = new EnumMap<>(BlockChange.class);
+        final BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+        for (final ChunkBuffer buffer : this.chunks.values()) {
+            final ExtendedBlockStorage[] storageArray = buffer.chunk.getBlockStorageArray();
+            for (int sectionY = 0; sectionY < 16; sectionY++) {
+                final IBlockState[] section = buffer.sections[sectionY];
+                if (section == null) {
+                    continue;
+                }
+                final ExtendedBlockStorage storage = storageArray[sectionY];
+                for (int index = 0; index < section.length; index++) {
+                    final IBlockState newState = section[index];
+                    if (newState == null) {
+                        continue;
+                    }
+                    final IBlockState oldState = getStoredState(storage, index);
+                    final BlockChange change = oldState.getBlock() == Blocks.AIR ? BlockChange.PLACE
+                                               : newState.getBlock() == Blocks.AIR ? BlockChange.BREAK
+                                               : BlockChange.MODIFY;
+                    if (!change.shouldFire() && !ShouldFire.CHANGE_BLOCK_EVENT_POST) {
+                        continue;
+                    }
+                    pos.setPos((buffer.x << 4) + (index & 15), (sectionY << 4) + (index >> 8), (buffer.z << 4) + (index >> 4 & 15));
+                    final BlockPos immutablePos = pos.toImmutable();
+                    final SpongeBlockSnapshot original =
+                        ((WorldServerBridge) this.world).bridge$createSnapshot(oldState, oldState, immutablePos, this.flag);
+                    final SpongeBlockSnapshot replacement = SpongeBlockSnapshotBuilder.pooled()
+                        .reset()
+                        .blockState(newState)
+                        .extendedState(newState)
+                        .worldId(((World) this.world).getUniqueId())
+                        .position(VecHelper.toVector3i(immutablePos))
+                        .flag(this.flag)
+                        .build();
+                    builders.computeIfAbsent(change, key -> ImmutableList.builder()).add(new Transaction<>(original, replacement));
+                }
+            }
+        }
+        if (builders.isEmpty()) {
+            return;
+        }
+
+        final Cause cause = Sponge.getCauseStackManager().getCurrentCause();
+        final ImmutableList.Builder<Transaction<BlockSnapshot>> all = ImmutableList.builder();
+        final List<ChangeBlockEvent> events = new ArrayList<>(builders.size());
+        try (CauseStackManager.StackFrame frame = Sponge.getCauseStackManager().pushCauseFrame()) {
+            for (final Map.Entry<BlockChange, ImmutableList.Builder<Transaction<BlockSnapshot>>> entry : builders.entrySet()) {
+                final ImmutableList<Transaction<BlockSnapshot>> transactions = entry.getValue().build();
+                all.addAll(transactions);
+                if (entry.getKey().shouldFire()) {
+                    final ChangeBlockEvent event = entry.getKey().createEvent(cause, transactions);
+                    SpongeImpl.postEvent(event);
+                    events.add(event);
+                    if (event.isCancelled()) {
+                        transactions.forEach(transaction -> transaction.setValid(false));
+                    }
+                }
+            }
+            final ImmutableList<Transaction<BlockSnapshot>> transactions = all.build();
+            if (ShouldFire.CHANGE_BLOCK_EVENT_POST) {
+                Cause postCause = cause;
+                for (final ChangeBlockEvent event : events) {
+                    postCause = postCause.with(event);
+                }
+                final ChangeBlockEvent.Post post = SpongeEventFactory.createChangeBlockEventPost(postCause, transactions);
+                SpongeImpl.postEvent(post);
+                if (post.isCancelled()) {
+                    transactions.forEach(transaction -> transaction.setValid(false));
+                }
+            }
+            for (final Transaction<BlockSnapshot> transaction : transactions) {
+                final Vector3i position = transaction.getOriginal().getPosition();
+                final ChunkBuffer buffer = this.chunks.get(ChunkPos.asLong(position.getX() >> 4, position.getZ() >> 4));
+                if (!transaction.isValid()) {
+                    if (buffer.set(position.getX(), position.getY(), position.getZ(), null) != null) {
+                        this.size--;
+                    }
+                } else if (transaction.getCustom().isPresent()) {
+                    buffer.set(position.getX(), position.getY(), position.getZ(), (IBlockState) transaction.getFinal().getState());
+                }
+            }
+        }
+    }
+
+    private void write(ChunkBuffer buffer, LongArrayList changed) {
+        final Chunk chunk = buffer.chunk;
+        final ExtendedBlockStorage[] storageArray = chunk.getBlockStorageArray();
+        final ShortArrayList changedInChunk = new ShortArrayList();
+        final LongArrayList lightChanges = new LongArrayList();
+        final BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+        final boolean hasSkyLight = this.world.provider.hasSkyLight();
+        boolean newSections = false;
+        int changedSections = 0;
+        for (int sectionY = 0; sectionY < 16; sectionY++) {
+            final IBlockState[] section = buffer.sections[sectionY];
+            if (section == null) {
+                continue;
+            }
+            ExtendedBlockStorage storage = storageArray[sectionY];
+            for (int index = 0; index < section.length; index++) {
+                final IBlockState newState = section[index];
+                if (newState == null) {
+                    continue;
+                }
+                final IBlockState oldState = getStoredState(storage, index);
+                if (oldState == newState) {
+                    continue;
+                }
+                final int x = index & 15;
+                final int y = (sectionY << 4) + (index >> 8);
+                final int z = index >> 4 & 15;
+                pos.setPos((buffer.x << 4) + x, y, (buffer.z << 4) + z);
+                @Nullable TileEntity keptTile = null;
+                if (SpongeImplHooks.hasBlockTileEntity(oldState.getBlock(), oldState)) {
+                    final TileEntity existing = chunk.getTileEntity(pos, Chunk.EnumCreateEntityType.CHECK);
+                    // Same as a regular block change, only tile entities that ask to be refreshed are replaced
+                    if (existing != null && !SpongeImplHooks.shouldRefresh(existing, this.world, pos, oldState, newState)) {
+                        keptTile = existing;
+                    } else {
+                        this.world.removeTileEntity(pos);
+                    }
+                }
+                final int oldLight = SpongeImplHooks.getChunkPosLight(oldState, this.world, pos);
+                final int oldOpacity = SpongeImplHooks.getBlockLightOpacity(oldState, this.world, pos);
+                final int height = chunk.getHeightValue(x, z);
+                if (storage == Chunk.NULL_BLOCK_STORAGE) {
+                    storage = new ExtendedBlockStorage(sectionY << 4, hasSkyLight);
+                    storageArray[sectionY] = storage;
+                    newSections = true;
+                }
+                storage.set(x, index >> 8, z, newState);
+                if (keptTile != null) {
+                    keptTile.updateContainingBlockInfo();
+                } else if (SpongeImplHooks.hasBlockTileEntity(newState.getBlock(), newState)) {
+                    chunk.getTileEntity(pos, Chunk.EnumCreateEntityType.IMMEDIATE);
+                }
+                final int newOpacity = SpongeImplHooks.getBlockLightOpacity(newState, this.world, pos);
+                if (hasSkyLight) {
+                    relightColumn(chunk, pos, height, oldOpacity, newOpacity);
+                }
+                if (oldLight != SpongeImplHooks.getChunkPosLight(newState, this.world, pos) || oldOpacity != newOpacity) {
+                    lightChanges.add(pos.toLong());
+                }
+                changed.add(pos.toLong());
+                changedInChunk.add((short) (x << 12 | z << 8 | y));
+                changedSections |= 1 << sectionY;
+            }
+        }
+        if (changedSections == 0) {
+            return;
+        }
+
+        if (newSections) {
+            // A new section has no sky light yet, so the columns above the terrain are lit again like Chunk#setBlockState does
+            chunk.generateSkylightMap();
+        }
+        for (int i = 0; i < lightChanges.size(); i++) {
+            // Rechecks both sky and block light, spreading them sideways and in to the neighbouring chunks
+            this.world.checkLight(BlockPos.fromLong(lightChanges.getLong(i)));
+        }
+        chunk.markDirty();
+
+        final PlayerChunkMapEntry entry = this.world.getPlayerChunkMap().getEntry(buffer.x, buffer.z);
+        if (entry == null) {
+            return;
+        }
+        if (changedInChunk.size() == 1) {
+            // The only change in this chunk is the last one added
+            entry.sendPacket(new SPacketBlockChange(this.world, BlockPos.fromLong(changed.getLong(changed.size() - 1))));
+        } else if (changedInChunk.size() < MULTI_BLOCK_CHANGE_LIMIT) {
+            entry.sendPacket(new SPacketMultiBlockChange(changedInChunk.size(), changedInChunk.toShortArray(), chunk));
+        } else if (changedSections == FULL_CHUNK_MASK) {
+            // A mask of 65535 would be sent as a full chunk, which replaces the chunk on the
+            // client, so the lowest section is sent on its own in that case.
+            entry.sendPacket(new SPacketChunkData(chunk, FULL_CHUNK_MASK - 1));
+            entry.sendPacket(new SPacketChunkData(chunk, 1));
+        } else {
+            entry.sendPacket(new SPacketChunkData(chunk, changedSections));
+        }
+    }
+
+    /**
+     * Updates the height map and the sky light of the column below a changed
+     * block and flags the neighbouring columns to be updated by the chunk, the
+     * same as {@link Chunk#setBlockState} does.
+     *
+     * @param chunk The chunk of the block
+     * @param pos The position of the block
+     * @param height The height of the column before the change
+     * @param oldOpacity The light opacity of the previous block
+     * @param newOpacity The light opacity of the new block
+     */
+    static void relightColumn(Chunk chunk, BlockPos pos, int height, int oldOpacity, int newOpacity) {
+        final int x = pos.getX() & 15;
+        final int y = pos.getY();
+        final int z = pos.getZ() & 15;
+        if (newOpacity > 0) {
+            if (y >= height) {
+                ((ChunkAccessor) chunk).accessor$relightBlock(x, y + 1, z);
+            }
+        } else if (y == height - 1) {
+            ((ChunkAccessor) chunk).accessor$relightBlock(x, y, z);
+        }
+        if (newOpacity != oldOpacity && (newOpacity < oldOpacity || chunk.getLightFor(EnumSkyBlock.SKY, pos) > 0
+            || chunk.getLightFor(EnumSkyBlock.BLOCK, pos) > 0)) {
+            ((ChunkAccessor) chunk).accessor$propagateSkylightOcclusion(x, z);
+        }
+    }
+
+    private static IBlockState getStoredState(@Nullable ExtendedBlockStorage storage, int index) {
+        return storage == Chunk.NULL_BLOCK_STORAGE ? Blocks.AIR.getDefaultState() : storage.get(index & 15, index >> 8, index >> 4 & 15);
+    }
+
+    /**
+     * The changes recorded for one chunk, stored per section in y, z, x
+     * order, the same as the section storage.
+     */
+    private static final class ChunkBuffer {
+
+        final int x;
+        final int z;
+        final IBlockState[][] sections = new IBlockState[16][];
+        @Nullable Chunk chunk;
+
+        ChunkBuffer(int x, int z) {
+            this.x = x;
+            this.z = z;
+        }
+
+        @Nullable
+        IBlockState set(int x, int y, int z, @Nullable IBlockState state) {
+            IBlockState[] section = this.sections[y >> 4];
+            if (section == null) {
+                if (state == null) {
+                    return null;
+                }
+                section = this.sections[y >> 4] = new IBlockState[16 * 16 * 16];
+            }
+            final int index = (y & 15) << 8 | (z & 15) << 4 | (x & 15);
+            final IBlockState previous = section[index];
+            section[index] = state;
+            return previous;
+        }
+    }
+}
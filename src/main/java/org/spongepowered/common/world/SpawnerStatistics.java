@@ -0,0 +1,91 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters of the natural mob spawner, shared by all worlds.
+ */
+public final class SpawnerStatistics {
+
+    private static final LongAdder attempts = new LongAdder();
+    private static final LongAdder spawns = new LongAdder();
+    private static final LongAdder eligibleChunks = new LongAdder();
+    private static final LongAdder spawnTicks = new LongAdder();
+    private static final LongAdder exhaustedTicks = new LongAdder();
+
+    public static void recordTick(final int eligible, final int attempted, final int spawned, final boolean budgetExhausted) {
+        spawnTicks.increment();
+        eligibleChunks.add(eligible);
+        attempts.add(attempted);
+        spawns.add(spawned);
+        if (budgetExhausted) {
+            exhaustedTicks.increment();
+        }
+    }
+
+    /**
+     * Gets the amount of positions that were tested for a spawn.
+     *
+     * @return The attempt count
+     */
+    public static long getAttempts() {
+        return attempts.sum();
+    }
+
+    /**
+     * Gets the amount of entities that were spawned by the natural spawner.
+     *
+     * @return The spawn count
+     */
+    public static long getSpawns() {
+        return spawns.sum();
+    }
+
+    public static double getSuccessRate() {
+        final long attempts = getAttempts();
+        return attempts == 0 ? 0 : (double) getSpawns() / attempts;
+    }
+
+    public static double getAverageEligibleChunks() {
+        final long ticks = spawnTicks.sum();
+        return ticks == 0 ? 0 : (double) eligibleChunks.sum() / ticks;
+    }
+
+    /**
+     * Gets the amount of spawn ticks that ran out of their search budget
+     * before every eligible chunk was tried.
+     *
+     * @return The exhausted tick count
+     */
+    public static long getExhaustedTicks() {
+        return exhaustedTicks.sum();
+    }
+
+    private SpawnerStatistics() {
+    }
+
+}
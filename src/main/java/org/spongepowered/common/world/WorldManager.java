@@ -555,9 +555,9 @@ public static boolean unloadWorld(final WorldServer worldServer, final boolean c
 
             try {
                 try {
-                    // Stop the lighting executor only when the world is going to unload - there's no point in running any more lighting tasks.
+                    // Stop lighting only when the world is going to unload - there's no point in running any more lighting tasks.
                     if (globalConfigAdapter.getConfig().getModules().useOptimizations() && globalConfigAdapter.getConfig().getOptimizations().useAsyncLighting()) {
-                        ((WorldServerBridge_AsyncLighting) worldServer).asyncLightingBridge$getLightingExecutor().shutdownNow();
+                        ((WorldServerBridge_AsyncLighting) worldServer).asyncLightingBridge$shutdownLighting();
                     }
                 } catch (Exception e) {
                     e.printStackTrace();
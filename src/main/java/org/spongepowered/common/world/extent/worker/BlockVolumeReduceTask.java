@@ -0,0 +1,123 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.extent.worker;
+
+import org.spongepowered.api.world.extent.UnmodifiableBlockVolume;
+import org.spongepowered.api.world.extent.worker.procedure.BlockVolumeReducer;
+
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BiFunction;
+
+/**
+ * Reduces a region of a block volume by splitting it in two until each half
+ * holds at most a chunk section worth of blocks. Regions are split on the
+ * outermost axis of the sequential iteration order (z, then y, then x), and
+ * at a multiple of 16 where possible, so that merging the left half with the
+ * right half visits blocks in the same order as a sequential reduction.
+ */
+final class BlockVolumeReduceTask<T> extends RecursiveTask<T> {
+
+    private static final long serialVersionUID = 1L;
+    static final int LEAF_SIZE = 16 * 16 * 16;
+
+    private final UnmodifiableBlockVolume volume;
+    private final BlockVolumeReducer<T> reducer;
+    private final BiFunction<T, T, T> merge;
+    private final T identity;
+    private final int xMin;
+    private final int yMin;
+    private final int zMin;
+    private final int xMax;
+    private final int yMax;
+    private final int zMax;
+
+    BlockVolumeReduceTask(UnmodifiableBlockVolume volume, BlockVolumeReducer<T> reducer, BiFunction<T, T, T> merge, T identity,
+        int xMin, int yMin, int zMin, int xMax, int yMax, int zMax) {
+        this.volume = volume;
+        this.reducer = reducer;
+        this.merge = merge;
+        this.identity = identity;
+        this.xMin = xMin;
+        this.yMin = yMin;
+        this.zMin = zMin;
+        this.xMax = xMax;
+        this.yMax = yMax;
+        this.zMax = zMax;
+    }
+
+    @Override
+    protected T compute() {
+        final long size = (long) (this.xMax - this.xMin + 1) * (this.yMax - this.yMin + 1) * (this.zMax - this.zMin + 1);
+        if (size <= LEAF_SIZE) {
+            return reduce(this.volume, this.reducer, this.identity, this.xMin, this.yMin, this.zMin, this.xMax, this.yMax, this.zMax);
+        }
+        final BlockVolumeReduceTask<T> left;
+        final BlockVolumeReduceTask<T> right;
+        if (this.zMax > this.zMin) {
+            final int split = split(this.zMin, this.zMax);
+            left = subTask(this.xMin, this.yMin, this.zMin, this.xMax, this.yMax, split - 1);
+            right = subTask(this.xMin, this.yMin, split, this.xMax, this.yMax, this.zMax);
+        } else if (this.yMax > this.yMin) {
+            final int split = split(this.yMin, this.yMax);
+            left = subTask(this.xMin, this.yMin, this.zMin, this.xMax, split - 1, this.zMax);
+            right = subTask(this.xMin, split, this.zMin, this.xMax, this.yMax, this.zMax);
+        } else {
+            final int split = split(this.xMin, this.xMax);
+            left = subTask(this.xMin, this.yMin, this.zMin, split - 1, this.yMax, this.zMax);
+            right = subTask(split, this.yMin, this.zMin, this.xMax, this.yMax, this.zMax);
+        }
+        right.fork();
+        final T leftReduction = left.compute();
+        return this.merge.apply(leftReduction, right.join());
+    }
+
+    private BlockVolumeReduceTask<T> subTask(int xMin, int yMin, int zMin, int xMax, int yMax, int zMax) {
+        return new BlockVolumeReduceTask<>(this.volume, this.reducer, this.merge, this.identity, xMin, yMin, zMin, xMax, yMax, zMax);
+    }
+
+    /**
+     * Gets the first coordinate of the upper half of the given range, which
+     * is the chunk section boundary closest to the middle of the range unless
+     * the range lies within one section.
+     */
+    private static int split(int min, int max) {
+        final int middle = (min + max + 1) >> 1;
+        final int aligned = (middle + 8) & ~15;
+        return aligned > min && aligned <= max ? aligned : middle;
+    }
+
+    static <T> T reduce(UnmodifiableBlockVolume volume, BlockVolumeReducer<T> reducer, T identity,
+        int xMin, int yMin, int zMin, int xMax, int yMax, int zMax) {
+        T reduction = identity;
+        for (int z = zMin; z <= zMax; z++) {
+            for (int y = yMin; y <= yMax; y++) {
+                for (int x = xMin; x <= xMax; x++) {
+                    reduction = reducer.reduce(volume, x, y, z, reduction);
+                }
+            }
+        }
+        return reduction;
+    }
+}
@@ -27,10 +27,14 @@
 import static com.google.common.base.Preconditions.checkArgument;
 
 import com.flowpowered.math.vector.Vector3i;
+import net.minecraft.world.WorldServer;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.block.BlockState;
 import org.spongepowered.api.event.CauseStackManager;
+import org.spongepowered.api.world.BlockChangeFlags;
+import org.spongepowered.api.world.World;
 import org.spongepowered.api.world.extent.BlockVolume;
+import org.spongepowered.api.world.extent.ImmutableBlockVolume;
 import org.spongepowered.api.world.extent.MutableBlockVolume;
 import org.spongepowered.api.world.extent.UnmodifiableBlockVolume;
 import org.spongepowered.api.world.extent.worker.BlockVolumeWorker;
@@ -38,11 +42,20 @@
 import org.spongepowered.api.world.extent.worker.procedure.BlockVolumeMerger;
 import org.spongepowered.api.world.extent.worker.procedure.BlockVolumeReducer;
 import org.spongepowered.api.world.extent.worker.procedure.BlockVolumeVisitor;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.SpongeImplHooks;
+import org.spongepowered.common.config.category.BlockWorkerCategory;
 import org.spongepowered.common.event.tracking.phase.plugin.BasicPluginContext;
 import org.spongepowered.common.event.tracking.phase.plugin.PluginPhase;
+import org.spongepowered.common.util.gen.AbstractBlockBuffer;
+import org.spongepowered.common.world.BlockEditSession;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.BiFunction;
 
+import javax.annotation.Nullable;
+
 /**
  *
  */
@@ -73,6 +86,7 @@ public void map(BlockVolumeMapper mapper, MutableBlockVolume destination) {
         final int xMax = unmodifiableVolume.getBlockMax().getX();
         final int yMax = unmodifiableVolume.getBlockMax().getY();
         final int zMax = unmodifiableVolume.getBlockMax().getZ();
+        final BlockEditSession session = createSession(destination);
         // a single go, requiring only one event
         try (BasicPluginContext phaseState = PluginPhase.State.BLOCK_WORKER.createPhaseContext()
             .source(this)) {
@@ -82,10 +96,17 @@ public void map(BlockVolumeMapper mapper, MutableBlockVolume destination) {
                     for (int x = xMin; x <= xMax; x++) {
                         final BlockState block = mapper.map(unmodifiableVolume, x, y, z);
 
-                        destination.setBlock(x + xOffset, y + yOffset, z + zOffset, block);
+                        if (session != null) {
+                            session.setBlock(x + xOffset, y + yOffset, z + zOffset, block);
+                        } else {
+                            destination.setBlock(x + xOffset, y + yOffset, z + zOffset, block);
+                        }
                     }
                 }
             }
+            if (session != null) {
+                session.apply();
+            }
         }
     }
 
@@ -107,6 +128,7 @@ public void merge(BlockVolume second, BlockVolumeMerger merger, MutableBlockVolu
         final int yMax = firstUnmodifiableVolume.getBlockMax().getY();
         final int zMax = firstUnmodifiableVolume.getBlockMax().getZ();
         final UnmodifiableBlockVolume secondUnmodifiableVolume = second.getUnmodifiableBlockView();
+        final BlockEditSession session = createSession(destination);
         try (BasicPluginContext context = PluginPhase.State.BLOCK_WORKER.createPhaseContext()
             .source(this)) {
             context.buildAndSwitch();
@@ -115,10 +137,17 @@ public void merge(BlockVolume second, BlockVolumeMerger merger, MutableBlockVolu
                     for (int x = xMin; x <= xMax; x++) {
                         final BlockState block = merger.merge(firstUnmodifiableVolume, x, y, z,
                             secondUnmodifiableVolume, x + xOffsetSecond, y + yOffsetSecond, z + zOffsetSecond);
-                        destination.setBlock(x + xOffsetDestination, y + yOffsetDestination, z + zOffsetDestination, block);
+                        if (session != null) {
+                            session.setBlock(x + xOffsetDestination, y + yOffsetDestination, z + zOffsetDestination, block);
+                        } else {
+                            destination.setBlock(x + xOffsetDestination, y + yOffsetDestination, z + zOffsetDestination, block);
+                        }
                     }
                 }
             }
+            if (session != null) {
+                session.apply();
+            }
         }
     }
 
@@ -130,6 +159,17 @@ public void iterate(BlockVolumeVisitor<V> visitor) {
         final int xMax = this.volume.getBlockMax().getX();
         final int yMax = this.volume.getBlockMax().getY();
         final int zMax = this.volume.getBlockMax().getZ();
+        if (isDetached() && !SpongeImplHooks.isMainThread()) {
+            // Nothing in a detached volume can cause world changes to track
+            for (int z = zMin; z <= zMax; z++) {
+                for (int y = yMin; y <= yMax; y++) {
+                    for (int x = xMin; x <= xMax; x++) {
+                        visitor.visit(this.volume, x, y, z);
+                    }
+                }
+            }
+            return;
+        }
         try (CauseStackManager.StackFrame frame = Sponge.getCauseStackManager().pushCauseFrame();
             BasicPluginContext context = PluginPhase.State.BLOCK_WORKER.createPhaseContext()
                 .source(this)) {
@@ -153,15 +193,70 @@ public <T> T reduce(BlockVolumeReducer<T> reducer, BiFunction<T, T, T> merge, T
         final int xMax = unmodifiableVolume.getBlockMax().getX();
         final int yMax = unmodifiableVolume.getBlockMax().getY();
         final int zMax = unmodifiableVolume.getBlockMax().getZ();
-        T reduction = identity;
-        for (int z = zMin; z <= zMax; z++) {
-            for (int y = yMin; y <= yMax; y++) {
-                for (int x = xMin; x <= xMax; x++) {
-                    reduction = reducer.reduce(unmodifiableVolume, x, y, z, reduction);
-                }
-            }
+        if (isDetached() && shouldReduceInParallel(unmodifiableVolume)) {
+            return ForkJoinPool.commonPool().invoke(new BlockVolumeReduceTask<>(unmodifiableVolume, reducer, merge, identity,
+                xMin, yMin, zMin, xMax, yMax, zMax));
+        }
+        return BlockVolumeReduceTask.reduce(unmodifiableVolume, reducer, identity, xMin, yMin, zMin, xMax, yMax, zMax);
+    }
+
+    /**
+     * Reduces an immutable copy of this volume off the calling thread. The
+     * copy is taken before this method returns, so the volume may be changed
+     * while the reduction is running. The identity has to be an identity of
+     * the merge function, as every split of the volume starts from it.
+     *
+     * @param reducer The reducer applied to each block
+     * @param merge The function combining the reductions of two regions
+     * @param identity The initial value of each reduction
+     * @param <T> The type of the reduction
+     * @return A future completing with the reduction
+     */
+    public <T> CompletableFuture<T> reduceAsync(BlockVolumeReducer<T> reducer, BiFunction<T, T, T> merge, T identity) {
+        final ImmutableBlockVolume snapshot = this.volume instanceof ImmutableBlockVolume
+                                              ? (ImmutableBlockVolume) this.volume
+                                              : this.volume.getImmutableBlockCopy();
+        final int xMin = snapshot.getBlockMin().getX();
+        final int yMin = snapshot.getBlockMin().getY();
+        final int zMin = snapshot.getBlockMin().getZ();
+        final int xMax = snapshot.getBlockMax().getX();
+        final int yMax = snapshot.getBlockMax().getY();
+        final int zMax = snapshot.getBlockMax().getZ();
+        if (shouldReduceInParallel(snapshot)) {
+            return CompletableFuture.supplyAsync(() -> new BlockVolumeReduceTask<>(snapshot, reducer, merge, identity,
+                xMin, yMin, zMin, xMax, yMax, zMax).invoke());
+        }
+        return CompletableFuture.supplyAsync(() -> BlockVolumeReduceTask.reduce(snapshot, reducer, identity, xMin, yMin, zMin, xMax, yMax, zMax));
+    }
+
+    /**
+     * Gets a session collecting the changes made to the given destination, if
+     * it is a world and batched world writes are enabled.
+     */
+    @Nullable
+    private static BlockEditSession createSession(MutableBlockVolume destination) {
+        if (destination instanceof WorldServer && SpongeImplHooks.isMainThread()
+            && SpongeImpl.getGlobalConfigAdapter().getConfig().getOptimizations().getBlockWorkerCategory().isBatchedWorldWrites()) {
+            return new BlockEditSession((World) destination, BlockChangeFlags.ALL);
+        }
+        return null;
+    }
+
+    /**
+     * Gets whether this worker's volume is backed by its own storage rather
+     * than a world, in which case it may be read from any thread.
+     */
+    private boolean isDetached() {
+        return this.volume instanceof ImmutableBlockVolume || this.volume instanceof AbstractBlockBuffer;
+    }
+
+    private static boolean shouldReduceInParallel(BlockVolume volume) {
+        final BlockWorkerCategory config = SpongeImpl.getGlobalConfigAdapter().getConfig().getOptimizations().getBlockWorkerCategory();
+        if (!config.isParallelReduce()) {
+            return false;
         }
-        return reduction;
+        final Vector3i size = volume.getBlockSize();
+        return (long) size.getX() * size.getY() * size.getZ() >= Math.max(config.getParallelThreshold(), BlockVolumeReduceTask.LEAF_SIZE * 2);
     }
 
     private Vector3i align(BlockVolume other) {
@@ -0,0 +1,268 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.lighting;
+
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.chunk.Chunk;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.bridge.world.WorldServerBridge_AsyncLighting;
+import org.spongepowered.common.bridge.world.chunk.ChunkBridge_AsyncLighting;
+import org.spongepowered.common.config.category.AsyncLightingCategory;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.Nullable;
+
+/**
+ * Runs the asynchronous light updates of all worlds on one shared
+ * work-stealing pool.
+ *
+ * <p>Single block light updates are queued per chunk in a
+ * {@link ChunkLightQueue} and processed in batches, with at most one batch
+ * per chunk running at a time. A batch that didn't empty its queue is
+ * resubmitted, so a chunk with a lot of updates can't starve the others.</p>
+ */
+public final class AsyncLightingEngine {
+
+    // Vanilla uses one array per world, which isn't safe with several light threads
+    private static final ThreadLocal<int[]> LIGHT_UPDATE_BLOCK_LIST = ThreadLocal.withInitial(() -> new int[32768]);
+
+    @Nullable private static AsyncLightingEngine instance;
+
+    private final ForkJoinPool pool;
+    private final int batchSize;
+
+    private final AtomicLong queuedUpdates = new AtomicLong();
+    private final AtomicLong processedUpdates = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong totalBatchLag = new AtomicLong();
+    private final AtomicLong maxBatchLag = new AtomicLong();
+
+    private AsyncLightingEngine(AsyncLightingCategory config) {
+        final int threads = config.getNumThreads() <= 0 ? Math.max(1, Runtime.getRuntime().availableProcessors() / 2) : config.getNumThreads();
+        this.pool = new ForkJoinPool(threads, pool -> {
+            final ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("Sponge - Async Light Thread #" + thread.getPoolIndex());
+            thread.setDaemon(true);
+            return thread;
+        }, null, true);
+        this.batchSize = Math.max(1, config.getBatchSize());
+    }
+
+    public static synchronized AsyncLightingEngine getInstance() {
+        if (instance == null) {
+            instance = new AsyncLightingEngine(SpongeImpl.getGlobalConfigAdapter().getConfig().getOptimizations().getAsyncLightingCategory());
+        }
+        return instance;
+    }
+
+    public static int[] getLightUpdateBlockList() {
+        return LIGHT_UPDATE_BLOCK_LIST.get();
+    }
+
+    /**
+     * Runs a light task that isn't queued per chunk, like the initial light
+     * calculation of a chunk. The task is dropped if the lighting of the
+     * world was shut down before it ran.
+     *
+     * @param world The world the task updates the light of
+     * @param task The task
+     */
+    public void execute(WorldServerBridge_AsyncLighting world, Runnable task) {
+        this.pool.execute(() -> {
+            if (!world.asyncLightingBridge$isLightingShutdown()) {
+                task.run();
+            }
+        });
+    }
+
+    /**
+     * Queues a single block light update, must be called from the thread
+     * ticking the world of the chunk.
+     *
+     * @param world The world of the chunk
+     * @param chunk The chunk containing the position
+     * @param key The key of the update, see {@link ChunkLightQueue#toKey}
+     * @return False if the update was already queued
+     */
+    public boolean queueUpdate(WorldServerBridge_AsyncLighting world, Chunk chunk, int key) {
+        final ChunkBridge_AsyncLighting lightChunk = (ChunkBridge_AsyncLighting) chunk;
+        final ChunkLightQueue queue = lightChunk.asyncLightingBridge$getLightQueue();
+        if (!queue.mark(key)) {
+            return false;
+        }
+        lightChunk.asyncLightingBridge$getPendingLightUpdates().incrementAndGet();
+        queue.push(key);
+        this.queuedUpdates.incrementAndGet();
+        if (queue.tryScheduleDrain()) {
+            // The neighbors are kept loaded until the batch finished
+            final List<Chunk> neighbors = world.asyncLightingBridge$getLightNeighbors(chunk);
+            final long time = chunk.getWorld().getTotalWorldTime();
+            for (final Chunk neighbor : neighbors) {
+                ((ChunkBridge_AsyncLighting) neighbor).asyncLightingBridge$getPendingLightUpdates().incrementAndGet();
+                ((ChunkBridge_AsyncLighting) neighbor).asyncLightingBridge$setLightUpdateTime(time);
+            }
+            this.submitDrain(world, chunk, queue, neighbors);
+        }
+        return true;
+    }
+
+    private void submitDrain(WorldServerBridge_AsyncLighting world, Chunk chunk, ChunkLightQueue queue, List<Chunk> neighbors) {
+        final long submitted = System.nanoTime();
+        this.pool.execute(() -> this.drain(world, chunk, queue, neighbors, submitted));
+    }
+
+    private void drain(WorldServerBridge_AsyncLighting world, Chunk chunk, ChunkLightQueue queue, List<Chunk> neighbors, long submitted) {
+        final long lag = System.nanoTime() - submitted;
+        this.batches.incrementAndGet();
+        this.totalBatchLag.addAndGet(lag);
+        this.maxBatchLag.accumulateAndGet(lag, Math::max);
+
+        final ChunkBridge_AsyncLighting lightChunk = (ChunkBridge_AsyncLighting) chunk;
+        final boolean shutdown = world.asyncLightingBridge$isLightingShutdown();
+        int processed = 0;
+        boolean finished = false;
+        boolean rescheduled = false;
+        try {
+            int key;
+            while (processed < this.batchSize && (key = queue.poll()) != ChunkLightQueue.EMPTY) {
+                try {
+                    if (!shutdown) {
+                        final BlockPos pos = ChunkLightQueue.getPos(key, chunk.x, chunk.z);
+                        world.asyncLightingBridge$checkLightAsync(ChunkLightQueue.getType(key), pos, chunk, neighbors);
+                    }
+                } catch (Exception e) {
+                    SpongeImpl.getLogger().error("Failed to update light in chunk [{}, {}]", chunk.x, chunk.z, e);
+                } finally {
+                    queue.unmark(key);
+                    lightChunk.asyncLightingBridge$getPendingLightUpdates().decrementAndGet();
+                    processed++;
+                }
+            }
+
+            if (!queue.isEmpty()) {
+                rescheduled = true;
+            } else {
+                queue.finishDrain();
+                finished = true;
+                // An update may have been pushed after the queue was found empty, but before the drain finished
+                rescheduled = !queue.isEmpty() && queue.tryScheduleDrain();
+            }
+        } finally {
+            this.queuedUpdates.addAndGet(-processed);
+            this.processedUpdates.addAndGet(processed);
+            if (!rescheduled) {
+                // Never leave the queue scheduled or the neighbors pinned, or the chunk can't relight or unload anymore
+                if (!finished) {
+                    queue.finishDrain();
+                }
+                for (final Chunk neighbor : neighbors) {
+                    ((ChunkBridge_AsyncLighting) neighbor).asyncLightingBridge$getPendingLightUpdates().decrementAndGet();
+                }
+            }
+        }
+        if (rescheduled) {
+            this.submitDrain(world, chunk, queue, this.refreshNeighbors(world, chunk, neighbors));
+        }
+    }
+
+    /**
+     * Gets the current neighbors of a chunk for its next batch, moving the
+     * pending update of the previous batch over to neighbors that were
+     * loaded in the meantime.
+     */
+    private List<Chunk> refreshNeighbors(WorldServerBridge_AsyncLighting world, Chunk chunk, List<Chunk> previous) {
+        final List<Chunk> neighbors = world.asyncLightingBridge$getLightNeighbors(chunk);
+        final long time = chunk.getWorld().getTotalWorldTime();
+        for (final Chunk neighbor : neighbors) {
+            if (!containsChunk(previous, neighbor)) {
+                ((ChunkBridge_AsyncLighting) neighbor).asyncLightingBridge$getPendingLightUpdates().incrementAndGet();
+                ((ChunkBridge_AsyncLighting) neighbor).asyncLightingBridge$setLightUpdateTime(time);
+            }
+        }
+        for (final Chunk neighbor : previous) {
+            if (!containsChunk(neighbors, neighbor)) {
+                ((ChunkBridge_AsyncLighting) neighbor).asyncLightingBridge$getPendingLightUpdates().decrementAndGet();
+            }
+        }
+        return neighbors;
+    }
+
+    private static boolean containsChunk(List<Chunk> chunks, Chunk chunk) {
+        for (final Chunk other : chunks) {
+            if (other == chunk) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gets the amount of single block light updates that are queued and
+     * not processed yet, across all worlds.
+     *
+     * @return The queued light updates
+     */
+    public long getQueuedUpdates() {
+        return this.queuedUpdates.get();
+    }
+
+    public long getProcessedUpdates() {
+        return this.processedUpdates.get();
+    }
+
+    /**
+     * Gets the amount of batches and other light tasks waiting for a light
+     * thread.
+     *
+     * @return The queued tasks
+     */
+    public long getQueuedTasks() {
+        return this.pool.getQueuedSubmissionCount() + this.pool.getQueuedTaskCount();
+    }
+
+    public int getThreads() {
+        return this.pool.getParallelism();
+    }
+
+    /**
+     * Gets the average time a batch waited for a light thread, in
+     * milliseconds. A growing lag means there are not enough light threads.
+     *
+     * @return The average batch lag
+     */
+    public double getAverageLagMillis() {
+        final long batches = this.batches.get();
+        return batches == 0 ? 0 : this.totalBatchLag.get() / (double) batches / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    public double getMaxLagMillis() {
+        return this.maxBatchLag.get() / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
@@ -0,0 +1,193 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.lighting;
+
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.EnumSkyBlock;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import javax.annotation.Nullable;
+
+/**
+ * The light updates queued for a single chunk, stored as packed
+ * {@code int} keys instead of boxed positions.
+ *
+ * <p>The queue itself is single producer, single consumer. Updates are only
+ * pushed by the thread ticking the world, and only polled by the batch that
+ * is currently draining the chunk, of which there is at most one at a time.
+ * Marking a position as queued is safe from any thread.</p>
+ */
+public final class ChunkLightQueue {
+
+    public static final int EMPTY = -1;
+
+    private static final int SEGMENT_SIZE = 256;
+    private static final int SKY_BIT = 1 << 16;
+    // Two bits per position of a section, one for each light type
+    private static final int SECTION_WORDS = (2 * 16 * 16 * 16) / Long.SIZE;
+
+    private static final class Segment {
+
+        final int[] keys = new int[SEGMENT_SIZE];
+        @Nullable Segment next;
+    }
+
+    // Lazily created, most chunks never see a light update of each section
+    private final AtomicReferenceArray<AtomicLongArray> queued = new AtomicReferenceArray<>(16);
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    // Only written by the producer, makes the pushed keys visible to the consumer
+    private final AtomicLong produced = new AtomicLong();
+
+    // Producer state
+    @Nullable private Segment tail;
+    private int tailIndex;
+
+    // Consumer state
+    @Nullable private Segment head;
+    private int headIndex;
+    private long consumed;
+
+    /**
+     * Packs the chunk relative position and light type of an update into a
+     * key, or returns {@link #EMPTY} if the position is outside of the build
+     * height and can't have light.
+     *
+     * @param type The light type
+     * @param pos The block position
+     * @return The key, or {@link #EMPTY}
+     */
+    public static int toKey(EnumSkyBlock type, BlockPos pos) {
+        if (pos.getY() < 0 || pos.getY() > 255) {
+            return EMPTY;
+        }
+        return (type == EnumSkyBlock.SKY ? SKY_BIT : 0) | pos.getY() << 8 | (pos.getZ() & 15) << 4 | (pos.getX() & 15);
+    }
+
+    public static EnumSkyBlock getType(int key) {
+        return (key & SKY_BIT) != 0 ? EnumSkyBlock.SKY : EnumSkyBlock.BLOCK;
+    }
+
+    public static BlockPos getPos(int key, int chunkX, int chunkZ) {
+        return new BlockPos(chunkX << 4 | key & 15, key >> 8 & 255, chunkZ << 4 | key >> 4 & 15);
+    }
+
+    /**
+     * Marks the update as queued.
+     *
+     * @param key The update key
+     * @return False if the update was already queued
+     */
+    public boolean mark(int key) {
+        final int section = key >> 12 & 15;
+        AtomicLongArray bits = this.queued.get(section);
+        if (bits == null) {
+            this.queued.compareAndSet(section, null, new AtomicLongArray(SECTION_WORDS));
+            bits = this.queued.get(section);
+        }
+        final int bit = (key & 0xFFF) << 1 | (key & SKY_BIT) >>> 16;
+        final long mask = 1L << (bit & 63);
+        long current;
+        do {
+            current = bits.get(bit >>> 6);
+            if ((current & mask) != 0) {
+                return false;
+            }
+        } while (!bits.compareAndSet(bit >>> 6, current, current | mask));
+        return true;
+    }
+
+    /**
+     * Clears the queued mark of a processed update.
+     *
+     * @param key The update key
+     */
+    public void unmark(int key) {
+        final AtomicLongArray bits = this.queued.get(key >> 12 & 15);
+        final int bit = (key & 0xFFF) << 1 | (key & SKY_BIT) >>> 16;
+        final long mask = 1L << (bit & 63);
+        long current;
+        do {
+            current = bits.get(bit >>> 6);
+        } while (!bits.compareAndSet(bit >>> 6, current, current & ~mask));
+    }
+
+    /**
+     * Pushes a marked update, must only be called by the thread ticking the
+     * world of the chunk.
+     *
+     * @param key The update key
+     */
+    public void push(int key) {
+        Segment segment = this.tail;
+        if (segment == null) {
+            // The consumer only reads the head after it observed the first push
+            segment = this.head = this.tail = new Segment();
+        } else if (this.tailIndex == SEGMENT_SIZE) {
+            segment = segment.next = this.tail = new Segment();
+            this.tailIndex = 0;
+        }
+        segment.keys[this.tailIndex++] = key;
+        this.produced.lazySet(this.produced.get() + 1);
+    }
+
+    /**
+     * Polls the next update, must only be called by the batch draining this
+     * queue.
+     *
+     * @return The update key, or {@link #EMPTY} if there is none
+     */
+    public int poll() {
+        if (this.consumed == this.produced.get()) {
+            return EMPTY;
+        }
+        if (this.headIndex == SEGMENT_SIZE) {
+            this.head = this.head.next;
+            this.headIndex = 0;
+        }
+        this.consumed++;
+        return this.head.keys[this.headIndex++];
+    }
+
+    public boolean isEmpty() {
+        return this.consumed == this.produced.get();
+    }
+
+    /**
+     * Claims the right to drain this queue.
+     *
+     * @return True if no batch was draining this queue yet
+     */
+    public boolean tryScheduleDrain() {
+        return this.scheduled.compareAndSet(false, true);
+    }
+
+    public void finishDrain() {
+        this.scheduled.set(false);
+    }
+}
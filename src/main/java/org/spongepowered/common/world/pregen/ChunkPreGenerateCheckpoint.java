@@ -0,0 +1,147 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.pregen;
+
+import com.flowpowered.math.vector.Vector3i;
+import net.minecraft.nbt.CompressedStreamTools;
+import net.minecraft.nbt.NBTTagCompound;
+import org.spongepowered.common.SpongeImpl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Optional;
+
+/**
+ * The progress of a {@link SpongeChunkPreGenerateTask}, saved to the world
+ * directory so that a task started again for the same area resumes where
+ * the previous one stopped.
+ *
+ * <p>The spiral state is the state before the oldest chunk group that was
+ * not completed yet, so resuming never skips a group.</p>
+ */
+final class ChunkPreGenerateCheckpoint {
+
+    static final String FILE_NAME = "sponge_pregen.dat";
+
+    private static final String CENTER_X = "CenterX";
+    private static final String CENTER_Z = "CenterZ";
+    private static final String RADIUS = "Radius";
+    private static final String POSITION_X = "PositionX";
+    private static final String POSITION_Z = "PositionZ";
+    private static final String LAYER = "Layer";
+    private static final String INDEX = "Index";
+    private static final String NEXT_JUMP = "NextJump";
+    private static final String GENERATED = "Generated";
+    private static final String SKIPPED = "Skipped";
+    private static final String TOTAL_TIME = "TotalTime";
+
+    final Vector3i center;
+    final int chunkRadius;
+    final Vector3i position;
+    final int layer;
+    final int index;
+    final int nextJump;
+    final int chunksGenerated;
+    final int chunksSkipped;
+    final long totalTime;
+
+    ChunkPreGenerateCheckpoint(Vector3i center, int chunkRadius, Vector3i position, int layer, int index, int nextJump,
+            int chunksGenerated, int chunksSkipped, long totalTime) {
+        this.center = center;
+        this.chunkRadius = chunkRadius;
+        this.position = position;
+        this.layer = layer;
+        this.index = index;
+        this.nextJump = nextJump;
+        this.chunksGenerated = chunksGenerated;
+        this.chunksSkipped = chunksSkipped;
+        this.totalTime = totalTime;
+    }
+
+    boolean matches(Vector3i center, int chunkRadius) {
+        return this.center.getX() == center.getX() && this.center.getZ() == center.getZ() && this.chunkRadius == chunkRadius;
+    }
+
+    static Optional<ChunkPreGenerateCheckpoint> read(Path worldDirectory) {
+        final Path file = worldDirectory.resolve(FILE_NAME);
+        if (Files.notExists(file)) {
+            return Optional.empty();
+        }
+        try (final InputStream stream = Files.newInputStream(file)) {
+            final NBTTagCompound compound = CompressedStreamTools.readCompressed(stream);
+            return Optional.of(new ChunkPreGenerateCheckpoint(
+                new Vector3i(compound.getInteger(CENTER_X), 0, compound.getInteger(CENTER_Z)),
+                compound.getInteger(RADIUS),
+                new Vector3i(compound.getInteger(POSITION_X), 0, compound.getInteger(POSITION_Z)),
+                compound.getInteger(LAYER),
+                compound.getInteger(INDEX),
+                compound.getInteger(NEXT_JUMP),
+                compound.getInteger(GENERATED),
+                compound.getInteger(SKIPPED),
+                compound.getLong(TOTAL_TIME)));
+        } catch (IOException e) {
+            SpongeImpl.getLogger().warn("Could not read the chunk pre-generation checkpoint {}, starting over.", file, e);
+            return Optional.empty();
+        }
+    }
+
+    void write(Path worldDirectory) {
+        final NBTTagCompound compound = new NBTTagCompound();
+        compound.setInteger(CENTER_X, this.center.getX());
+        compound.setInteger(CENTER_Z, this.center.getZ());
+        compound.setInteger(RADIUS, this.chunkRadius);
+        compound.setInteger(POSITION_X, this.position.getX());
+        compound.setInteger(POSITION_Z, this.position.getZ());
+        compound.setInteger(LAYER, this.layer);
+        compound.setInteger(INDEX, this.index);
+        compound.setInteger(NEXT_JUMP, this.nextJump);
+        compound.setInteger(GENERATED, this.chunksGenerated);
+        compound.setInteger(SKIPPED, this.chunksSkipped);
+        compound.setLong(TOTAL_TIME, this.totalTime);
+
+        final Path file = worldDirectory.resolve(FILE_NAME);
+        final Path newFile = worldDirectory.resolve(FILE_NAME + "_new");
+        try {
+            try (final OutputStream stream = Files.newOutputStream(newFile)) {
+                CompressedStreamTools.writeCompressed(compound, stream);
+            }
+            Files.move(newFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            SpongeImpl.getLogger().warn("Could not write the chunk pre-generation checkpoint {}.", file, e);
+        }
+    }
+
+    static void delete(Path worldDirectory) {
+        try {
+            Files.deleteIfExists(worldDirectory.resolve(FILE_NAME));
+        } catch (IOException e) {
+            SpongeImpl.getLogger().warn("Could not delete the chunk pre-generation checkpoint in {}.", worldDirectory, e);
+        }
+    }
+}
@@ -45,15 +45,21 @@
 import org.spongepowered.api.world.storage.WorldProperties;
 import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.bridge.world.chunk.ChunkProviderServerBridge;
+import org.spongepowered.common.config.category.ChunkPreGenerateCategory;
 import org.spongepowered.common.world.storage.SpongeChunkLayout;
 
 import java.time.Duration;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 
@@ -71,6 +77,9 @@ public class SpongeChunkPreGenerateTask implements ChunkPreGenerate, Consumer<Ta
             Vector3i.UNIT_X.negate().mul(2)
     };
 
+    // Shared by all reading ahead pre-generation tasks, created once the first one starts
+    @Nullable private static ForkJoinPool workers;
+
     private final Scheduler scheduler;
 
     private final World world;
@@ -84,6 +93,12 @@ public class SpongeChunkPreGenerateTask implements ChunkPreGenerate, Consumer<Ta
     private final Task spongeTask;
     private final int tickInterval;
     private final Object plugin;
+    private final Vector3i center;
+    private final long checkpointInterval;
+
+    // Chunk groups read ahead that were not completed yet, in spiral order
+    @Nullable private final Deque<ChunkGroup> inFlight;
+    private final int inFlightLimit;
 
     // If null, no listeners have been assigned, so they don't need to be registered or unregistered.
     @Nullable private final EventListener<ChunkPreGenerationEvent> eventListener;
@@ -100,6 +115,8 @@ public class SpongeChunkPreGenerateTask implements ChunkPreGenerate, Consumer<Ta
     // Used for wall clock times.
     private long generationStartTime = 0;
     private long generationEndTime = 0;
+    private long resumedTime = 0;
+    private long lastCheckpointTime = 0;
     private boolean isCancelled = false;
 
     private SpongeChunkPreGenerateTask(Object plugin,
@@ -135,6 +152,7 @@ private SpongeChunkPreGenerateTask(Object plugin,
         } else {
             throw new IllegalArgumentException("Center is not a valid chunk coordinate");
         }
+        this.center = this.currentPosition;
         this.currentGenCount = 4;
         this.currentLayer = 0;
         this.currentIndex = 0;
@@ -142,6 +160,24 @@ private SpongeChunkPreGenerateTask(Object plugin,
 
         this.totalChunksToGenerate = (int) Math.pow(this.chunkRadius * 2 + 1, 2);
 
+        final ChunkPreGenerateCategory config =
+            SpongeImpl.getGlobalConfigAdapter().getConfig().getOptimizations().getChunkPreGenerateCategory();
+        this.checkpointInterval = TimeUnit.SECONDS.toMillis(config.getCheckpointInterval());
+        if (this.checkpointInterval > 0) {
+            ChunkPreGenerateCheckpoint.read(world.getDirectory())
+                .filter(checkpoint -> checkpoint.matches(this.center, this.chunkRadius))
+                .ifPresent(this::resume);
+        }
+        // Existence checks of other chunk storages can't run off the server thread
+        if (config.isReadAhead() && world.getWorldStorage() instanceof ChunkProviderServerBridge) {
+            this.inFlight = new ArrayDeque<>();
+            this.inFlightLimit = Math.max(1, config.getInFlightChunks());
+            startWorkers(config.getWorkerThreads());
+        } else {
+            this.inFlight = null;
+            this.inFlightLimit = 0;
+        }
+
         this.spongeTask = this.scheduler
                 .createTaskBuilder()
                 .intervalTicks(tickInterval)
@@ -182,9 +218,23 @@ public int getTargetTotalChunks() {
 
     @Override
     public Duration getTotalTime() {
+        if (this.generationStartTime == 0) {
+            return Duration.of(this.resumedTime, ChronoUnit.MILLIS);
+        }
         return Duration.of((isCancelled() ? this.generationEndTime : System.currentTimeMillis()) - this.generationStartTime, ChronoUnit.MILLIS);
     }
 
+    /**
+     * Gets the average amount of chunks generated per second, including the
+     * time spent in between the steps of this task.
+     *
+     * @return The average amount of chunks generated per second
+     */
+    public double getChunksPerSecond() {
+        final long millis = getTotalTime().toMillis();
+        return millis == 0 ? 0 : this.chunksGenerated * 1000.0 / millis;
+    }
+
     @Override
     public boolean isCancelled() {
         if (this.isCancelled) {
@@ -208,6 +258,7 @@ public void cancel() {
             }
             this.spongeTask.cancel();
             this.isCancelled = true;
+            this.saveCheckpoint();
         }
     }
 
@@ -215,7 +266,8 @@ public void cancel() {
     public void accept(Task task) {
         final long stepStartTime = System.currentTimeMillis();
         if (this.generationStartTime == 0) {
-            this.generationStartTime = stepStartTime;
+            this.generationStartTime = stepStartTime - this.resumedTime;
+            this.lastCheckpointTime = stepStartTime;
         }
 
         // Create and fire event.
@@ -240,34 +292,71 @@ public void accept(Task task) {
         // Count how many chunks are generated during the tick
         int count = 0;
         int skipped = 0;
-        do {
-            final Vector3i position = nextChunkPosition();
-            final Vector3i pos1 = position.sub(Vector3i.UNIT_X);
-            final Vector3i pos2 = position.sub(Vector3i.UNIT_Z);
-            final Vector3i pos3 = pos2.sub(Vector3i.UNIT_X);
-
-            // We can only skip generation if all chunks are loaded.
-            if (!areAllChunksLoaded(position, pos1, pos2, pos3)) {
-
-                // At least one chunk isn't generated, so to populate, we need to load them all.
-                this.world.loadChunk(position, true);
-                this.world.loadChunk(pos1, true);
-                this.world.loadChunk(pos2, true);
-                this.world.loadChunk(pos3, true);
-
-                count += this.currentGenCount;
-            } else {
-
-                // Skipped them, log this.
-                skipped += this.currentGenCount;
+        if (this.inFlight != null) {
+            this.fillWindow();
+            // Groups are completed in spiral order, so the checkpoint can always resume from the oldest one
+            ChunkGroup group;
+            while ((group = this.inFlight.peekFirst()) != null && group.existence.isDone()
+                    && checkChunkCount(count) && checkTickTime(System.currentTimeMillis() - stepStartTime)) {
+                final boolean[] exists = group.existence.join();
+                // The check ran ahead of the server thread, chunks generated by earlier groups since are loaded now
+                for (int i = 0; i < exists.length; i++) {
+                    if (!exists[i] && this.world.getChunk(group.positions[i]).isPresent()) {
+                        exists[i] = true;
+                    }
+                }
+                if (exists[0] && exists[1] && exists[2] && exists[3]) {
+                    skipped += group.genCount;
+                    this.inFlight.pollFirst();
+                    continue;
+                }
+                if (group.reads == null) {
+                    group.reads = this.readExistingChunks(group, exists);
+                }
+                if (!group.reads.isDone()) {
+                    break;
+                }
+                // Only generation and population of the missing chunks is left for the server thread
+                for (Vector3i position : group.positions) {
+                    this.world.loadChunk(position, true);
+                }
+                count += group.genCount;
+                this.inFlight.pollFirst();
             }
-        } while (hasNextChunkPosition() && checkChunkCount(count) && checkTickTime(System.currentTimeMillis() - stepStartTime));
+            this.fillWindow();
+        } else {
+            do {
+                final Vector3i position = nextChunkPosition();
+                final Vector3i pos1 = position.sub(Vector3i.UNIT_X);
+                final Vector3i pos2 = position.sub(Vector3i.UNIT_Z);
+                final Vector3i pos3 = pos2.sub(Vector3i.UNIT_X);
+
+                // We can only skip generation if all chunks are loaded.
+                if (!areAllChunksLoaded(position, pos1, pos2, pos3)) {
+
+                    // At least one chunk isn't generated, so to populate, we need to load them all.
+                    this.world.loadChunk(position, true);
+                    this.world.loadChunk(pos1, true);
+                    this.world.loadChunk(pos2, true);
+                    this.world.loadChunk(pos3, true);
+
+                    count += this.currentGenCount;
+                } else {
+
+                    // Skipped them, log this.
+                    skipped += this.currentGenCount;
+                }
+            } while (hasNextChunkPosition() && checkChunkCount(count) && checkTickTime(System.currentTimeMillis() - stepStartTime));
+        }
 
         this.chunksGenerated += count;
         this.chunksSkipped += skipped;
 
         final long deltaTime = System.currentTimeMillis() - stepStartTime;
         this.generationEndTime = System.currentTimeMillis();
+        if (this.checkpointInterval > 0 && this.generationEndTime - this.lastCheckpointTime >= this.checkpointInterval) {
+            this.saveCheckpoint();
+        }
 
         // Create and fire event.
         if (Sponge.getEventManager().post(SpongeEventFactory.createChunkPreGenerationEventPost(
@@ -282,7 +371,7 @@ public void accept(Task task) {
             return;
         }
 
-        if (!hasNextChunkPosition()) {
+        if (!hasNextChunkPosition() && (this.inFlight == null || this.inFlight.isEmpty())) {
             // Generation has completed.
             Sponge.getEventManager().post(SpongeEventFactory.createChunkPreGenerationEventComplete(
                     this.cause,
@@ -293,6 +382,83 @@ public void accept(Task task) {
             this.isCancelled = true;
             unregisterListener();
             task.cancel();
+            if (this.checkpointInterval > 0) {
+                ChunkPreGenerateCheckpoint.delete(this.world.getDirectory());
+            }
+        }
+    }
+
+    private void fillWindow() {
+        while (this.inFlight.size() < this.inFlightLimit && hasNextChunkPosition()) {
+            final Vector3i spiralPosition = this.currentPosition;
+            final int layer = this.currentLayer;
+            final int index = this.currentIndex;
+            final int jump = this.nextJump;
+            final Vector3i position = nextChunkPosition();
+            final ChunkGroup group = new ChunkGroup(position, this.currentGenCount, spiralPosition, layer, index, jump);
+            group.existence = CompletableFuture.supplyAsync(() -> {
+                final boolean[] exists = new boolean[group.positions.length];
+                for (int i = 0; i < exists.length; i++) {
+                    exists[i] = this.doesChunkExistCheck.test(group.positions[i]);
+                }
+                return exists;
+            }, workers);
+            this.inFlight.addLast(group);
+        }
+    }
+
+    /**
+     * Reads the chunks of the group that already exist off the server thread,
+     * they are needed to populate the chunks that are missing.
+     */
+    private CompletableFuture<?> readExistingChunks(ChunkGroup group, boolean[] exists) {
+        final ChunkProviderServerBridge chunkProvider = (ChunkProviderServerBridge) this.world.getWorldStorage();
+        final List<CompletableFuture<?>> reads = new ArrayList<>(group.positions.length);
+        for (int i = 0; i < group.positions.length; i++) {
+            if (exists[i]) {
+                reads.add(chunkProvider.bridge$loadChunkAsync(group.positions[i].getX(), group.positions[i].getZ(), false));
+            }
+        }
+        return CompletableFuture.allOf(reads.toArray(new CompletableFuture<?>[0]));
+    }
+
+    private void resume(ChunkPreGenerateCheckpoint checkpoint) {
+        SpongeImpl.getLogger().info("Resuming chunk pre-generation of world {} from its last checkpoint, {} chunks generated.",
+            this.world.getName(), checkpoint.chunksGenerated);
+        this.currentPosition = checkpoint.position;
+        this.currentLayer = checkpoint.layer;
+        this.currentIndex = checkpoint.index;
+        this.nextJump = checkpoint.nextJump;
+        this.chunksGenerated = checkpoint.chunksGenerated;
+        this.chunksSkipped = checkpoint.chunksSkipped;
+        this.resumedTime = checkpoint.totalTime;
+    }
+
+    private void saveCheckpoint() {
+        if (this.checkpointInterval <= 0 || this.generationStartTime == 0) {
+            return;
+        }
+        final ChunkGroup oldest = this.inFlight == null ? null : this.inFlight.peekFirst();
+        final ChunkPreGenerateCheckpoint checkpoint;
+        if (oldest != null) {
+            checkpoint = new ChunkPreGenerateCheckpoint(this.center, this.chunkRadius, oldest.spiralPosition, oldest.layer, oldest.index,
+                oldest.nextJump, this.chunksGenerated, this.chunksSkipped, getTotalTime().toMillis());
+        } else {
+            checkpoint = new ChunkPreGenerateCheckpoint(this.center, this.chunkRadius, this.currentPosition, this.currentLayer,
+                this.currentIndex, this.nextJump, this.chunksGenerated, this.chunksSkipped, getTotalTime().toMillis());
+        }
+        checkpoint.write(this.world.getDirectory());
+        this.lastCheckpointTime = System.currentTimeMillis();
+    }
+
+    private static synchronized void startWorkers(int threads) {
+        if (workers == null) {
+            workers = new ForkJoinPool(threads <= 0 ? Runtime.getRuntime().availableProcessors() : threads, pool -> {
+                final ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                thread.setName("Sponge - Chunk Pre-Generator #" + thread.getPoolIndex());
+                thread.setDaemon(true);
+                return thread;
+            }, null, true);
         }
     }
 
@@ -316,6 +482,7 @@ private void cancelTask(Task task) {
 
         this.isCancelled = true;
         unregisterListener();
+        this.saveCheckpoint();
     }
 
     private boolean hasNextChunkPosition() {
@@ -364,6 +531,34 @@ private boolean checkChunkExistsAnvil(Vector3i v) {
         }
     }
 
+    /**
+     * A square of up to four chunks processed together, so the chunks can
+     * be populated once all of them were generated.
+     */
+    private static final class ChunkGroup {
+
+        final Vector3i[] positions;
+        final int genCount;
+        // The spiral state before this group, used to resume from a checkpoint
+        final Vector3i spiralPosition;
+        final int layer;
+        final int index;
+        final int nextJump;
+
+        CompletableFuture<boolean[]> existence;
+        @Nullable CompletableFuture<?> reads;
+
+        ChunkGroup(Vector3i position, int genCount, Vector3i spiralPosition, int layer, int index, int nextJump) {
+            final Vector3i pos2 = position.sub(Vector3i.UNIT_Z);
+            this.positions = new Vector3i[] {position, position.sub(Vector3i.UNIT_X), pos2, pos2.sub(Vector3i.UNIT_X)};
+            this.genCount = genCount;
+            this.spiralPosition = spiralPosition;
+            this.layer = layer;
+            this.index = index;
+            this.nextJump = nextJump;
+        }
+    }
+
     public static class Builder implements ChunkPreGenerate.Builder {
 
         private static final String TIME_FORMAT = "s's 'S'ms'";
@@ -401,11 +596,12 @@ public ChunkPreGenerate.Builder logger(@Nullable Logger logger) {
                 this.addListener(event -> {
                     if (event instanceof ChunkPreGenerationEvent.Post) {
                         ChunkPreGenerationEvent.Post post = (ChunkPreGenerationEvent.Post) event;
-                        logger.info("Generated {} chunks in {}, {}% complete", post.getChunksGeneratedThisStep(),
+                        logger.info("Generated {} chunks in {}, {}% complete ({} chunks/s)", post.getChunksGeneratedThisStep(),
                             DurationFormatUtils.formatDuration(post.getTimeTakenForStep().toMillis(), TIME_FORMAT, false),
                             GenericMath.floor(
                                 100 * (post.getChunkPreGenerate().getTotalGeneratedChunks() + post.getChunkPreGenerate().getTotalSkippedChunks())
-                                    / post.getChunkPreGenerate().getTargetTotalChunks())
+                                    / post.getChunkPreGenerate().getTargetTotalChunks()),
+                            String.format("%.1f", ((SpongeChunkPreGenerateTask) post.getChunkPreGenerate()).getChunksPerSecond())
                         );
                     } else if (event instanceof ChunkPreGenerationEvent.Complete) {
                         logger.info("Done! Generated a total of {} chunks in {}", event.getChunkPreGenerate().getTargetTotalChunks(),
@@ -30,6 +30,7 @@
 import com.google.common.collect.ImmutableListMultimap;
 import com.google.common.collect.ListMultimap;
 import com.google.common.collect.Maps;
+import net.minecraft.world.WorldServer;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.block.BlockState;
 import org.spongepowered.api.block.tileentity.TileEntityArchetype;
@@ -48,8 +49,10 @@
 import org.spongepowered.api.world.extent.UnmodifiableBlockVolume;
 import org.spongepowered.api.world.extent.worker.MutableBlockVolumeWorker;
 import org.spongepowered.api.world.schematic.Palette;
+import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.entity.SpongeEntityArchetype;
 import org.spongepowered.common.util.gen.AbstractBlockBuffer;
+import org.spongepowered.common.world.BlockEditSession;
 import org.spongepowered.common.world.extent.worker.SpongeMutableBlockVolumeWorker;
 
 import java.util.ArrayList;
@@ -127,9 +130,18 @@ public MutableBlockVolumeWorker<? extends ArchetypeVolume> getBlockWorker() {
 
     @Override
     public void apply(Location<World> location, BlockChangeFlag changeFlag) {
-        this.backing.getBlockWorker().iterate((v, x, y, z) -> {
-            location.getExtent().setBlock(x + location.getBlockX(), y + location.getBlockY(), z + location.getBlockZ(), v.getBlock(x, y, z), changeFlag);
-        });
+        if (location.getExtent() instanceof WorldServer
+            && SpongeImpl.getGlobalConfigAdapter().getConfig().getOptimizations().getBlockWorkerCategory().isBatchedWorldWrites()) {
+            final BlockEditSession session = new BlockEditSession(location.getExtent(), changeFlag);
+            this.backing.getBlockWorker().iterate((v, x, y, z) -> {
+                session.setBlock(x + location.getBlockX(), y + location.getBlockY(), z + location.getBlockZ(), v.getBlock(x, y, z));
+            });
+            session.apply();
+        } else {
+            this.backing.getBlockWorker().iterate((v, x, y, z) -> {
+                location.getExtent().setBlock(x + location.getBlockX(), y + location.getBlockY(), z + location.getBlockZ(), v.getBlock(x, y, z), changeFlag);
+            });
+        }
         for (Vector3i pos : this.tiles.keySet()) {
             TileEntityArchetype archetype = this.tiles.get(pos);
             archetype.apply(location.add(pos));
@@ -0,0 +1,113 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import net.minecraft.util.math.ChunkPos;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.bridge.world.chunk.storage.AnvilChunkLoaderBridge;
+import org.spongepowered.common.config.category.ChunkIOCategory;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javax.annotation.Nullable;
+
+/**
+ * Writes queued chunks on a pool of threads, replacing the single Vanilla
+ * file IO thread, and reads chunks ahead of them being requested.
+ *
+ * <p>Writes are sharded by region file. Every region file is always
+ * written by the same thread, which keeps writes of a chunk ordered and
+ * avoids contention on the region file itself.</p>
+ */
+public final class ChunkIOEngine {
+
+    @Nullable private static ChunkIOEngine instance;
+
+    private final ExecutorService[] writers;
+    @Nullable private final ExecutorService reader;
+
+    private ChunkIOEngine(ChunkIOCategory config) {
+        this.writers = new ExecutorService[Math.max(1, config.getWriterThreads())];
+        for (int i = 0; i < this.writers.length; i++) {
+            this.writers[i] = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder()
+                .setNameFormat("Sponge - Chunk Writer #" + i)
+                .setDaemon(true)
+                .build());
+        }
+        this.reader = config.isReadAheadEnabled() ? Executors.newFixedThreadPool(Math.max(1, config.getReadAheadThreads()),
+            new ThreadFactoryBuilder()
+                .setNameFormat("Sponge - Chunk Reader #%d")
+                .setDaemon(true)
+                .build()) : null;
+    }
+
+    private static ChunkIOCategory getConfig() {
+        return SpongeImpl.getGlobalConfigAdapter().getConfig().getOptimizations().getChunkIOCategory();
+    }
+
+    public static boolean isEnabled() {
+        return getConfig().isEnabled();
+    }
+
+    public static boolean isReadAheadEnabled() {
+        final ChunkIOCategory config = getConfig();
+        return config.isEnabled() && config.isReadAheadEnabled();
+    }
+
+    public static synchronized ChunkIOEngine getInstance() {
+        if (instance == null) {
+            instance = new ChunkIOEngine(getConfig());
+        }
+        return instance;
+    }
+
+    /**
+     * Schedules the pending chunk data of the given position to be written
+     * by the thread owning its region file.
+     *
+     * @param loader The chunk loader holding the pending chunk data
+     * @param pos The chunk position
+     */
+    public void scheduleWrite(AnvilChunkLoaderBridge loader, ChunkPos pos) {
+        final int shard = Math.floorMod(31 * (pos.x >> 5) + (pos.z >> 5), this.writers.length);
+        this.writers[shard].execute(() -> loader.bridge$writeQueuedChunk(pos));
+    }
+
+    /**
+     * Schedules the chunk at the given position to be read and decoded, so
+     * that a following load can skip the disk access.
+     *
+     * @param loader The chunk loader to read the chunk with
+     * @param x The chunk x coordinate
+     * @param z The chunk z coordinate
+     */
+    public void scheduleReadAhead(AnvilChunkLoaderBridge loader, int x, int z) {
+        if (this.reader != null) {
+            this.reader.execute(() -> loader.bridge$readAheadChunk(x, z));
+        }
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Chunk IO counters of a single world.
+ */
+public final class ChunkIOStatistics {
+
+    private final AtomicLong writes = new AtomicLong();
+    private final AtomicLong coalescedWrites = new AtomicLong();
+    private final AtomicLong totalWriteTime = new AtomicLong();
+    private final AtomicLong maxWriteTime = new AtomicLong();
+    private final AtomicLong readAheads = new AtomicLong();
+    private final AtomicLong readAheadHits = new AtomicLong();
+
+    public void recordWrite(long nanos) {
+        this.writes.incrementAndGet();
+        this.totalWriteTime.addAndGet(nanos);
+        this.maxWriteTime.accumulateAndGet(nanos, Math::max);
+    }
+
+    public void recordCoalescedWrite() {
+        this.coalescedWrites.incrementAndGet();
+    }
+
+    public void recordReadAhead() {
+        this.readAheads.incrementAndGet();
+    }
+
+    public void recordReadAheadHit() {
+        this.readAheadHits.incrementAndGet();
+    }
+
+    public long getWrites() {
+        return this.writes.get();
+    }
+
+    /**
+     * Gets the amount of saves that were skipped because a newer save of the
+     * same chunk was queued before they were written.
+     *
+     * @return The coalesced write count
+     */
+    public long getCoalescedWrites() {
+        return this.coalescedWrites.get();
+    }
+
+    public double getAverageWriteMillis() {
+        final long writes = this.writes.get();
+        return writes == 0 ? 0 : (double) this.totalWriteTime.get() / writes / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    public double getMaxWriteMillis() {
+        return (double) this.maxWriteTime.get() / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    public long getReadAheads() {
+        return this.readAheads.get();
+    }
+
+    public long getReadAheadHits() {
+        return this.readAheadHits.get();
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.chunk.Chunk;
+import org.spongepowered.common.mixin.core.world.chunk.ChunkAccessor;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import javax.annotation.Nullable;
+
+/**
+ * Saves the dirty chunks of a world a few at a time, spread over its
+ * auto-save interval, instead of all of them within a single tick.
+ *
+ * <p>Only accessed from the server thread.</p>
+ */
+public final class IncrementalChunkSaver {
+
+    private static final Comparator<Chunk> LEAST_RECENTLY_SAVED = Comparator.comparingLong(chunk -> ((ChunkAccessor) chunk).accessor$getLastSaveTime());
+
+    private final Long2ObjectMap<Chunk> loadedChunks;
+    private final Consumer<Chunk> saveFunction;
+    private final ArrayDeque<Chunk> queue = new ArrayDeque<>();
+    private int ticksLeft;
+    @Nullable private Runnable onSaved;
+
+    private long savedChunks;
+    private long savingTicks;
+    private long totalTickTime;
+    private long maxTickTime;
+
+    public IncrementalChunkSaver(Long2ObjectMap<Chunk> loadedChunks, Consumer<Chunk> saveFunction) {
+        this.loadedChunks = loadedChunks;
+        this.saveFunction = saveFunction;
+    }
+
+    /**
+     * Queues every loaded chunk that needs saving, to be saved over the
+     * given amount of ticks. Chunks still queued from the previous cycle are
+     * dirty as well, so they are simply collected again, and that cycle
+     * completes together with this one.
+     *
+     * @param interval The amount of ticks to spread the saves over
+     * @param onSaved Called once every queued chunk has been saved
+     */
+    public void start(int interval, Runnable onSaved) {
+        this.queue.clear();
+        final List<Chunk> dirty = new ArrayList<>();
+        for (Chunk chunk : this.loadedChunks.values()) {
+            if (chunk != null && chunk.needsSaving(true)) {
+                dirty.add(chunk);
+            }
+        }
+        // Chunks that went the longest without being saved go first
+        dirty.sort(LEAST_RECENTLY_SAVED);
+        this.queue.addAll(dirty);
+        this.ticksLeft = Math.max(1, interval);
+        this.onSaved = onSaved;
+        this.completeIfSaved();
+    }
+
+    /**
+     * Drops the queued chunks without saving them, as saving has been
+     * disabled. The current cycle is never completed.
+     */
+    public void clear() {
+        this.queue.clear();
+        this.onSaved = null;
+    }
+
+    /**
+     * Saves this tick's share of the queued chunks, stopping early once the
+     * budget is spent.
+     *
+     * @param budgetNanos The maximum time to spend saving
+     */
+    public void tick(long budgetNanos) {
+        if (this.queue.isEmpty()) {
+            return;
+        }
+        final long start = System.nanoTime();
+        // Enough chunks to drain the queue by the end of the interval
+        final int quota = (this.queue.size() + this.ticksLeft - 1) / this.ticksLeft;
+        if (this.ticksLeft > 1) {
+            this.ticksLeft--;
+        }
+        int saved = 0;
+        Chunk chunk;
+        while (saved < quota && (chunk = this.queue.poll()) != null) {
+            // Unloading and full saves write chunks as well, skip those already handled
+            if (this.loadedChunks.get(ChunkPos.asLong(chunk.x, chunk.z)) != chunk || !chunk.needsSaving(true)) {
+                continue;
+            }
+            this.saveFunction.accept(chunk);
+            saved++;
+            if (System.nanoTime() - start >= budgetNanos) {
+                break;
+            }
+        }
+        final long time = System.nanoTime() - start;
+        this.savedChunks += saved;
+        this.savingTicks++;
+        this.totalTickTime += time;
+        this.maxTickTime = Math.max(this.maxTickTime, time);
+        this.completeIfSaved();
+    }
+
+    private void completeIfSaved() {
+        if (this.queue.isEmpty() && this.onSaved != null) {
+            final Runnable onSaved = this.onSaved;
+            this.onSaved = null;
+            onSaved.run();
+        }
+    }
+
+    /**
+     * Gets the amount of chunks still queued to be saved in this cycle.
+     *
+     * @return The save backlog
+     */
+    public int getBacklog() {
+        return this.queue.size();
+    }
+
+    public long getSavedChunks() {
+        return this.savedChunks;
+    }
+
+    public double getAverageTickMillis() {
+        return this.savingTicks == 0 ? 0 : (double) this.totalTickTime / this.savingTicks / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    public double getMaxTickMillis() {
+        return (double) this.maxTickTime / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
@@ -0,0 +1,190 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import javax.annotation.Nullable;
+
+/**
+ * A read-only view of a region file. The offset table is memory mapped and
+ * every chunk is read with a single positional read into a buffer owned by
+ * the reading thread, instead of the seek and read into a new array per
+ * chunk done by Vanilla's {@code RegionFile}.
+ *
+ * <p>Writes keep going through the Vanilla {@code RegionFile}. Reads lock
+ * on the object passed in, which should be that {@code RegionFile}, so a
+ * chunk is never read while its sectors are being rewritten.</p>
+ *
+ * <p>The file is reference counted. Its opener holds the first reference,
+ * readers {@link #retain()} and {@link #release()} around each read and
+ * the channel is only closed once {@link #close()} was called and every
+ * read has finished.</p>
+ */
+public final class MappedRegionFile implements Closeable {
+
+    private static final int SECTOR_BYTES = 4096;
+    private static final int HEADER_BYTES = SECTOR_BYTES * 2;
+    private static final int CHUNK_HEADER_BYTES = 5;
+    private static final byte VERSION_GZIP = 1;
+    private static final byte VERSION_DEFLATE = 2;
+    // Java 8 inflaters only accept arrays, so the buffers are heap buffers
+    private static final ThreadLocal<ByteBuffer> READ_BUFFER = ThreadLocal.withInitial(() -> ByteBuffer.allocate(SECTOR_BYTES * 4));
+
+    private final FileChannel channel;
+    private final IntBuffer offsets;
+    private final AtomicInteger references = new AtomicInteger(1);
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    private MappedRegionFile(FileChannel channel, IntBuffer offsets) {
+        this.channel = channel;
+        this.offsets = offsets;
+    }
+
+    /**
+     * Opens the region file at the given path.
+     *
+     * @param path The region file path
+     * @return The mapped region file, or null if the file has no complete header
+     * @throws IOException If the file could not be opened
+     */
+    @Nullable
+    public static MappedRegionFile open(Path path) throws IOException {
+        final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        if (channel.size() < HEADER_BYTES) {
+            // Mapping beyond the end of the file is undefined, Vanilla pads the header when it opens the file
+            channel.close();
+            return null;
+        }
+        return new MappedRegionFile(channel, channel.map(FileChannel.MapMode.READ_ONLY, 0, SECTOR_BYTES).asIntBuffer());
+    }
+
+    /**
+     * Gets a stream of the decompressed data of a chunk. The stream is backed
+     * by a buffer of the calling thread and must be consumed before the same
+     * thread reads another chunk.
+     *
+     * @param lock The object writes to this region file synchronize on
+     * @param x The chunk x coordinate within the region
+     * @param z The chunk z coordinate within the region
+     * @return The chunk data, or null if the chunk is not present
+     * @throws IOException If the chunk could not be read
+     */
+    @Nullable
+    public DataInputStream getChunkDataInputStream(Object lock, int x, int z) throws IOException {
+        ByteBuffer buffer = READ_BUFFER.get();
+        final int length;
+        final byte version;
+        synchronized (lock) {
+            final int offset = this.offsets.get(x + z * 32);
+            if (offset == 0) {
+                return null;
+            }
+            final long position = (long) (offset >> 8) * SECTOR_BYTES;
+            final int size = (offset & 255) * SECTOR_BYTES;
+            if (size < CHUNK_HEADER_BYTES || position + size > this.channel.size()) {
+                return null;
+            }
+            if (buffer.capacity() < size) {
+                buffer = ByteBuffer.allocate(size);
+                READ_BUFFER.set(buffer);
+            }
+            buffer.clear().limit(size);
+            while (buffer.hasRemaining()) {
+                if (this.channel.read(buffer, position + buffer.position()) < 0) {
+                    return null;
+                }
+            }
+            length = buffer.getInt(0);
+            version = buffer.get(4);
+        }
+        if (length <= 1 || length + 4 > buffer.limit()) {
+            return null;
+        }
+        final InputStream data = new ByteArrayInputStream(buffer.array(), CHUNK_HEADER_BYTES, length - 1);
+        if (version == VERSION_GZIP) {
+            return new DataInputStream(new BufferedInputStream(new GZIPInputStream(data)));
+        }
+        if (version == VERSION_DEFLATE) {
+            return new DataInputStream(new BufferedInputStream(new InflaterInputStream(data)));
+        }
+        return null;
+    }
+
+    /**
+     * Acquires a reference for a read.
+     *
+     * @return False if the file has already been closed
+     */
+    public boolean retain() {
+        int count;
+        do {
+            count = this.references.get();
+            if (count <= 0) {
+                return false;
+            }
+        } while (!this.references.compareAndSet(count, count + 1));
+        return true;
+    }
+
+    /**
+     * Releases a reference acquired by {@link #retain()}, closing the
+     * channel if the file was closed in the meantime.
+     *
+     * @throws IOException If the channel could not be closed
+     */
+    public void release() throws IOException {
+        if (this.references.decrementAndGet() == 0) {
+            this.channel.close();
+        }
+    }
+
+    /**
+     * Releases the reference of the opener. The channel is closed as soon
+     * as no read holds a reference anymore.
+     *
+     * @throws IOException If the channel could not be closed
+     */
+    @Override
+    public void close() throws IOException {
+        if (this.closed.compareAndSet(false, true)) {
+            this.release();
+        }
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import net.minecraft.world.chunk.storage.RegionFile;
+import org.spongepowered.common.SpongeImpl;
+
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.Nullable;
+
+/**
+ * Keeps the {@link MappedRegionFile}s of worlds that read chunks through
+ * mapped region files, mirroring Vanilla's {@code RegionFileCache}.
+ *
+ * <p>Files are evicted least recently used first. Reads hold a reference
+ * to their file, so evicting or clearing files never closes a channel
+ * that another thread is still reading from.</p>
+ */
+public final class MappedRegionFileCache {
+
+    private static final int MAX_OPEN_FILES = 256;
+    private static final Set<File> ENABLED_WORLD_DIRECTORIES = ConcurrentHashMap.newKeySet();
+    private static final Map<File, MappedRegionFile> REGIONS_BY_FILE = new LinkedHashMap<>(16, 0.75f, true);
+
+    private MappedRegionFileCache() {
+    }
+
+    public static void setEnabled(File worldDir, boolean enabled) {
+        if (enabled) {
+            ENABLED_WORLD_DIRECTORIES.add(worldDir);
+        } else {
+            ENABLED_WORLD_DIRECTORIES.remove(worldDir);
+        }
+    }
+
+    public static boolean isEnabled(File worldDir) {
+        return !ENABLED_WORLD_DIRECTORIES.isEmpty() && ENABLED_WORLD_DIRECTORIES.contains(worldDir);
+    }
+
+    /**
+     * Gets a stream of the decompressed data of a chunk, see
+     * {@link MappedRegionFile#getChunkDataInputStream(Object, int, int)}.
+     *
+     * @param regionFile The Vanilla region file the chunk is written to
+     * @param worldDir The world directory
+     * @param chunkX The chunk x coordinate
+     * @param chunkZ The chunk z coordinate
+     * @return The chunk data, or null if the chunk is not present
+     */
+    @Nullable
+    public static DataInputStream getChunkInputStream(RegionFile regionFile, File worldDir, int chunkX, int chunkZ) {
+        final MappedRegionFile mappedFile = acquireMappedRegionFile(new File(new File(worldDir, "region"),
+            "r." + (chunkX >> 5) + "." + (chunkZ >> 5) + ".mca"));
+        if (mappedFile == null) {
+            return regionFile.getChunkDataInputStream(chunkX & 31, chunkZ & 31);
+        }
+        try {
+            return mappedFile.getChunkDataInputStream(regionFile, chunkX & 31, chunkZ & 31);
+        } catch (IOException e) {
+            // A failed read must never look like a missing chunk, that would regenerate it
+            SpongeImpl.getLogger().warn("Failed to read chunk [{}, {}] from mapped region file in {}, falling back to the region file",
+                chunkX, chunkZ, worldDir, e);
+            return regionFile.getChunkDataInputStream(chunkX & 31, chunkZ & 31);
+        } finally {
+            release(mappedFile);
+        }
+    }
+
+    /**
+     * Gets the mapped region file of the given file with a reference
+     * acquired for the caller, which must {@link #release(MappedRegionFile)}
+     * it once the read is done.
+     *
+     * @param file The region file
+     * @return The mapped region file, or null if it can't be mapped
+     */
+    @Nullable
+    private static synchronized MappedRegionFile acquireMappedRegionFile(File file) {
+        MappedRegionFile mappedFile = REGIONS_BY_FILE.get(file);
+        if (mappedFile == null) {
+            if (REGIONS_BY_FILE.size() >= MAX_OPEN_FILES) {
+                final Iterator<MappedRegionFile> iterator = REGIONS_BY_FILE.values().iterator();
+                close(iterator.next());
+                iterator.remove();
+            }
+            try {
+                mappedFile = MappedRegionFile.open(file.toPath());
+            } catch (IOException e) {
+                SpongeImpl.getLogger().error("Failed to map region file {}", file, e);
+                return null;
+            }
+            if (mappedFile == null) {
+                return null;
+            }
+            REGIONS_BY_FILE.put(file, mappedFile);
+        }
+        // Files are only closed after they've been removed from the map, so this always succeeds
+        return mappedFile.retain() ? mappedFile : null;
+    }
+
+    private static void release(MappedRegionFile mappedFile) {
+        try {
+            mappedFile.release();
+        } catch (IOException e) {
+            SpongeImpl.getLogger().error("Failed to close mapped region file", e);
+        }
+    }
+
+    private static void close(MappedRegionFile mappedFile) {
+        try {
+            mappedFile.close();
+        } catch (IOException e) {
+            SpongeImpl.getLogger().error("Failed to close mapped region file", e);
+        }
+    }
+
+    /**
+     * Removes all mapped region files. Files still being read from are
+     * closed once their reads finish.
+     */
+    public static synchronized void clear() {
+        for (MappedRegionFile mappedFile : REGIONS_BY_FILE.values()) {
+            close(mappedFile);
+        }
+        REGIONS_BY_FILE.clear();
+    }
+}
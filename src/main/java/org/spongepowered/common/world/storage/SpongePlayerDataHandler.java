@@ -99,7 +99,7 @@ public static void init() {
                         throw new RuntimeException("Failed to decompress player data within [" + playerFile + "]!");
                     }
 
-                    final DataContainer container = NbtTranslator.getInstance().translateFrom(compound);
+                    final DataContainer container = NbtTranslator.getInstance().translateFrom(compound, true);
                     final SpongePlayerData data = container.getSerializable(DataQuery.of(), SpongePlayerData.class).get();
                     handlerInstance.playerDataMap.put(data.uuid, data);
                 }
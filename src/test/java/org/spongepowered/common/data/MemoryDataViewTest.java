@@ -0,0 +1,91 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.data;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.Test;
+import org.spongepowered.api.data.DataContainer;
+import org.spongepowered.api.data.DataQuery;
+import org.spongepowered.common.data.util.DataQueryCache;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+public class MemoryDataViewTest {
+
+    @Test
+    public void testNestedPaths() {
+        final DataContainer container = new MemoryDataContainer();
+        container.set(DataQuery.of("a", "b", "c"), 5);
+        assertTrue(container.contains(DataQuery.of("a", "b", "c")));
+        assertFalse(container.contains(DataQuery.of("a", "c")));
+        assertEquals(5, (int) container.getInt(DataQuery.of("a", "b", "c")).get());
+        assertFalse(container.get(DataQuery.of("a", "b", "c", "d")).isPresent());
+    }
+
+    @Test
+    public void testUnboxedLists() {
+        final List<Integer> ints = IntStream.range(0, 32).boxed().collect(Collectors.toList());
+        final DataContainer container = new MemoryDataContainer();
+        container.set(DataQuery.of("ints"), ints);
+        assertEquals(ints, container.getIntegerList(DataQuery.of("ints")).get());
+        assertEquals(ints, container.getList(DataQuery.of("ints")).get());
+
+        final DataContainer boxed = new MemoryDataContainer();
+        boxed.set(DataQuery.of("ints"), ImmutableList.of(1, 2L, 3));
+        assertEquals(ImmutableList.of(1, 2L, 3), boxed.getList(DataQuery.of("ints")).get());
+    }
+
+    @Test
+    public void testCanonicalKeys() {
+        final DataContainer first = new MemoryDataContainer().set(DataQuery.of(new String("key")), 1);
+        final DataContainer second = new MemoryDataContainer().set(DataQuery.of(new String("key")), 2);
+        assertSame(first.getKeys(false).iterator().next(), second.getKeys(false).iterator().next());
+        assertSame(DataQueryCache.intern(new String("key")), DataQueryCache.intern("key"));
+    }
+
+    @Test
+    public void testCachedPathTails() {
+        final DataQuery path = DataQuery.of("a", "b", "c");
+        final DataQuery tail = DataQueryCache.popFirst(path);
+        assertEquals(DataQuery.of("b", "c"), tail);
+        assertSame(tail, DataQueryCache.popFirst(path));
+
+        final DataContainer first = new MemoryDataContainer().set(path, 1);
+        final DataContainer second = new MemoryDataContainer().set(path, 2);
+        assertEquals(1, (int) first.getInt(path).get());
+        assertEquals(2, (int) second.getInt(path).get());
+        second.remove(path);
+        assertFalse(second.contains(path));
+        assertTrue(second.contains(DataQuery.of("a", "b")));
+    }
+
+}
@@ -0,0 +1,128 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.data;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.ImmutableList;
+import net.minecraft.nbt.NBTTagCompound;
+import org.junit.Test;
+import org.spongepowered.api.data.DataContainer;
+import org.spongepowered.api.data.DataQuery;
+import org.spongepowered.api.data.DataView;
+import org.spongepowered.common.data.persistence.NbtTranslator;
+
+public class NbtDataViewTest {
+
+    private static DataContainer createContainer() {
+        return new MemoryDataContainer()
+                .set(DataQuery.of("string"), "value")
+                .set(DataQuery.of("int"), 5)
+                .set(DataQuery.of("long"), 7L)
+                .set(DataQuery.of("double"), 1.5D)
+                .set(DataQuery.of("flag"), true)
+                .set(DataQuery.of("strings"), ImmutableList.of("a", "b", "c"))
+                .set(DataQuery.of("nested", "int"), 3)
+                .set(DataQuery.of("nested", "deeper", "flag"), false);
+    }
+
+    @Test
+    public void testBooleans() {
+        final NBTTagCompound compound = new NBTTagCompound();
+        final DataContainer container = NbtTranslator.getInstance().wrap(compound);
+        container.set(DataQuery.of("flag"), true);
+        assertTrue(container.getBoolean(DataQuery.of("flag")).get());
+        assertTrue(compound.getBoolean("flag" + NbtTranslator.BOOLEAN_IDENTIFIER));
+
+        container.set(DataQuery.of("flag"), false);
+        assertFalse(container.getBoolean(DataQuery.of("flag")).get());
+        assertEquals(ImmutableList.of(DataQuery.of("flag")), ImmutableList.copyOf(container.getKeys(false)));
+        assertEquals(false, NbtTranslator.getInstance().translateFrom(compound).get(DataQuery.of("flag")).get());
+    }
+
+    @Test
+    public void testNestedViews() {
+        final NBTTagCompound compound = new NBTTagCompound();
+        final DataContainer container = NbtTranslator.getInstance().wrap(compound);
+        container.set(DataQuery.of("a", "b", "c"), 5);
+        assertEquals(5, compound.getCompoundTag("a").getCompoundTag("b").getInteger("c"));
+
+        // Writes through a child view reach the compound, as do writes to the compound itself
+        final DataView child = container.getView(DataQuery.of("a")).get();
+        assertEquals(DataQuery.of("a"), child.getCurrentPath());
+        child.set(DataQuery.of("d"), "value");
+        assertEquals("value", compound.getCompoundTag("a").getString("d"));
+        compound.getCompoundTag("a").getCompoundTag("b").setInteger("c", 6);
+        assertEquals(6, (int) container.getInt(DataQuery.of("a", "b", "c")).get());
+
+        container.remove(DataQuery.of("a", "b"));
+        assertFalse(compound.getCompoundTag("a").hasKey("b"));
+    }
+
+    @Test
+    public void testEqualToMemoryView() {
+        final DataContainer memory = createContainer();
+        final DataContainer wrapped = NbtTranslator.getInstance().wrap(NbtTranslator.getInstance().translateData(memory));
+        assertEquals(memory, wrapped);
+        assertEquals(wrapped, memory);
+        assertEquals(memory.getView(DataQuery.of("nested")).get(), wrapped.getView(DataQuery.of("nested")).get());
+        assertFalse(wrapped.equals(wrapped.getView(DataQuery.of("nested")).get()));
+    }
+
+    @Test
+    public void testRoundTrip() {
+        final DataContainer memory = createContainer();
+        final NBTTagCompound compound = NbtTranslator.getInstance().translateData(memory);
+        compound.setByteArray("bytes", new byte[] {1, 2, 3});
+        compound.setIntArray("ints", new int[] {4, 5, 6});
+        final DataContainer wrapped = NbtTranslator.getInstance().wrap(compound);
+        assertArrayEquals(new byte[] {1, 2, 3}, (byte[]) wrapped.get(DataQuery.of("bytes")).get());
+        assertArrayEquals(new int[] {4, 5, 6}, (int[]) wrapped.get(DataQuery.of("ints")).get());
+
+        final NBTTagCompound translated = NbtTranslator.getInstance().translateData(wrapped);
+        assertEquals(compound, translated);
+        translated.removeTag("bytes");
+        translated.removeTag("ints");
+        assertEquals(memory, NbtTranslator.getInstance().translateFrom(translated));
+    }
+
+    @Test
+    public void testSetInToMemoryView() {
+        final NBTTagCompound compound = NbtTranslator.getInstance().translateData(createContainer());
+        final DataContainer wrapped = NbtTranslator.getInstance().wrap(compound);
+        final DataContainer memory = new MemoryDataContainer().set(DataQuery.of("unsafe"), wrapped);
+        assertEquals(createContainer(), NbtTranslator.getInstance().translateFrom(
+                NbtTranslator.getInstance().translateData(memory.getView(DataQuery.of("unsafe")).get())));
+        assertEquals(DataQuery.of("unsafe", "nested"), memory.getView(DataQuery.of("unsafe", "nested")).get().getCurrentPath());
+
+        // The view is copied when it is set
+        compound.setInteger("int", 10);
+        assertEquals(5, (int) memory.getInt(DataQuery.of("unsafe", "int")).get());
+    }
+
+}
@@ -0,0 +1,109 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.data.persistence;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.spongepowered.api.data.DataContainer;
+import org.spongepowered.api.data.DataQuery;
+import org.spongepowered.api.data.DataView;
+import org.spongepowered.api.data.persistence.DataFormat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the throughput of round tripping plugin-like data, many small
+ * views sharing the same keys, through each of the data formats.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class DataFormatBenchmark {
+
+    @Param({"binary", "json", "nbt"})
+    public String format;
+
+    @Param({"100", "10000"})
+    public int entries;
+
+    private DataFormat dataFormat;
+    private DataContainer container;
+    private byte[] serialized;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        switch (this.format) {
+            case "binary":
+                this.dataFormat = new BinaryDataFormat("binary");
+                break;
+            case "json":
+                this.dataFormat = new JsonDataFormat();
+                break;
+            default:
+                this.dataFormat = new NbtDataFormat("nbt");
+                break;
+        }
+        this.container = DataContainer.createNew(DataView.SafetyMode.NO_DATA_CLONED);
+        for (int i = 0; i < this.entries; i++) {
+            final DataView claim = this.container.createView(DataQuery.of("claims", "claim" + i));
+            claim.set(DataQuery.of("owner"), UUID.randomUUID().toString());
+            claim.set(DataQuery.of("world"), "world");
+            claim.set(DataQuery.of("min"), new int[] {i, 0, i});
+            claim.set(DataQuery.of("max"), new int[] {i + 16, 255, i + 16});
+            claim.set(DataQuery.of("created"), System.currentTimeMillis());
+        }
+        this.serialized = write();
+    }
+
+    @Benchmark
+    public byte[] write() throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        this.dataFormat.writeTo(out, this.container);
+        return out.toByteArray();
+    }
+
+    @Benchmark
+    public DataContainer read() throws IOException {
+        return this.dataFormat.readFrom(new ByteArrayInputStream(this.serialized));
+    }
+
+}
@@ -0,0 +1,130 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.data.persistence;
+
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagDouble;
+import net.minecraft.nbt.NBTTagList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.spongepowered.api.data.DataContainer;
+import org.spongepowered.api.data.DataQuery;
+import org.spongepowered.api.data.DataView;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares copying entity-like compounds in to a memory container with
+ * wrapping them in a {@link NbtDataView}, for workloads that mostly read a
+ * few values and ones that mostly write.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class NbtDataViewBenchmark {
+
+    private static final DataQuery HEALTH = DataQuery.of("Health");
+    private static final DataQuery CUSTOM_NAME = DataQuery.of("ForgeData", "CustomName");
+    private static final DataQuery POS = DataQuery.of("Pos");
+
+    @Param({"8", "64"})
+    public int entries;
+
+    private NBTTagCompound compound;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.compound = new NBTTagCompound();
+        this.compound.setFloat("Health", 20.0F);
+        final NBTTagList pos = new NBTTagList();
+        pos.appendTag(new NBTTagDouble(1.5));
+        pos.appendTag(new NBTTagDouble(64.0));
+        pos.appendTag(new NBTTagDouble(-3.5));
+        this.compound.setTag("Pos", pos);
+        final NBTTagCompound forgeData = new NBTTagCompound();
+        forgeData.setString("CustomName", "Benchmark");
+        for (int i = 0; i < this.entries; i++) {
+            forgeData.setInteger("Int" + i, i);
+            forgeData.setIntArray("Array" + i, new int[16]);
+        }
+        this.compound.setTag("ForgeData", forgeData);
+        final NBTTagList items = new NBTTagList();
+        for (int i = 0; i < this.entries; i++) {
+            final NBTTagCompound item = new NBTTagCompound();
+            item.setString("id", "minecraft:stone");
+            item.setByte("Count", (byte) 1);
+            items.appendTag(item);
+        }
+        this.compound.setTag("Inventory", items);
+    }
+
+    @Benchmark
+    public Object readMemory() {
+        return read(NbtTranslator.getInstance().translateFrom(this.compound));
+    }
+
+    @Benchmark
+    public Object readWrapped() {
+        return read(NbtTranslator.getInstance().wrap(this.compound));
+    }
+
+    private static Object read(DataView view) {
+        return view.getFloat(HEALTH).get() + view.getString(CUSTOM_NAME).get().length() + view.getList(POS).get().size();
+    }
+
+    @Benchmark
+    public NBTTagCompound writeMemory() {
+        return NbtTranslator.getInstance().translate(write(DataContainer.createNew(DataView.SafetyMode.NO_DATA_CLONED)));
+    }
+
+    @Benchmark
+    public NBTTagCompound writeWrapped() {
+        return ((NbtDataView) write(NbtTranslator.getInstance().wrap(new NBTTagCompound()))).getCompound();
+    }
+
+    private DataView write(DataView view) {
+        view.set(HEALTH, 20.0F);
+        for (int i = 0; i < this.entries; i++) {
+            view.set(DataQuery.of("ForgeData", "Int" + i), i);
+            view.set(DataQuery.of("ForgeData", "Array" + i), new int[16]);
+        }
+        view.set(CUSTOM_NAME, "Benchmark");
+        return view;
+    }
+
+}
@@ -0,0 +1,146 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.data.persistence;
+
+import net.minecraft.nbt.CompressedStreamTools;
+import net.minecraft.nbt.NBTTagCompound;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.spongepowered.common.util.gen.PackedBlockIds;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares reading and writing the block data of synthetic schematics
+ * through an NBT tree with streaming it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SchematicCodecBenchmark {
+
+    private static final int PALETTE_SIZE = 300;
+    private static final StreamingSchematicCodec.BlockIdSource IDS = (x, y, z) -> (x * 31 + y * 17 + z) % PALETTE_SIZE;
+
+    @Param({"64", "256"})
+    public int size;
+
+    private byte[] blockData;
+    private byte[] nbt;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        final ByteArrayOutputStream blockBytes = new ByteArrayOutputStream();
+        StreamingSchematicCodec.writeBlockData(new DataOutputStream(blockBytes), IDS, this.size, this.size, this.size);
+        this.blockData = blockBytes.toByteArray();
+
+        final NBTTagCompound compound = new NBTTagCompound();
+        compound.setByteArray("BlockData", this.blockData);
+        final ByteArrayOutputStream nbtBytes = new ByteArrayOutputStream();
+        CompressedStreamTools.write(compound, new DataOutputStream(nbtBytes));
+        this.nbt = nbtBytes.toByteArray();
+    }
+
+    @Benchmark
+    public PackedBlockIds readTree() throws IOException {
+        final NBTTagCompound compound = CompressedStreamTools.read(new DataInputStream(new ByteArrayInputStream(this.nbt)));
+        final byte[] data = compound.getByteArray("BlockData");
+        final int area = this.size * this.size;
+        final PackedBlockIds ids = new PackedBlockIds(this.size * area, PALETTE_SIZE - 1);
+        int index = 0;
+        int i = 0;
+        while (i < data.length) {
+            int value = 0;
+            int varintLength = 0;
+            while (true) {
+                value |= (data[i] & 127) << (varintLength++ * 7);
+                if ((data[i++] & 128) != 128) {
+                    break;
+                }
+            }
+            final int y = index / area;
+            final int z = (index % area) / this.size;
+            final int x = (index % area) % this.size;
+            ids.set(x * area + z * this.size + y, value);
+            index++;
+        }
+        return ids;
+    }
+
+    @Benchmark
+    public PackedBlockIds readStreaming() throws IOException {
+        final DataInputStream in = new DataInputStream(new ByteArrayInputStream(this.blockData));
+        return StreamingSchematicCodec.readBlockData(in, this.blockData.length, this.size, this.size, this.size, PALETTE_SIZE - 1,
+            PALETTE_SIZE - 1);
+    }
+
+    @Benchmark
+    public void writeTree() throws IOException {
+        final ByteArrayOutputStream buffer = new ByteArrayOutputStream(this.size * this.size * this.size);
+        StreamingSchematicCodec.writeBlockData(new DataOutputStream(buffer), IDS, this.size, this.size, this.size);
+        final NBTTagCompound compound = new NBTTagCompound();
+        compound.setByteArray("BlockData", buffer.toByteArray());
+        CompressedStreamTools.write(compound, new DataOutputStream(NullOutputStream.INSTANCE));
+    }
+
+    @Benchmark
+    public long writeStreaming() throws IOException {
+        final long length = StreamingSchematicCodec.getBlockDataLength(IDS, this.size, this.size, this.size);
+        StreamingSchematicCodec.writeBlockData(new DataOutputStream(NullOutputStream.INSTANCE), IDS, this.size, this.size, this.size);
+        return length;
+    }
+
+    private static final class NullOutputStream extends OutputStream {
+
+        static final NullOutputStream INSTANCE = new NullOutputStream();
+
+        @Override
+        public void write(int b) {
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+        }
+    }
+}
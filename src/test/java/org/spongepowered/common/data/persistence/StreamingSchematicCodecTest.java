@@ -0,0 +1,169 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.data.persistence;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import com.flowpowered.math.vector.Vector3i;
+import net.minecraft.block.Block;
+import net.minecraft.block.state.IBlockState;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.spongepowered.api.block.BlockState;
+import org.spongepowered.api.data.persistence.InvalidDataException;
+import org.spongepowered.api.world.schematic.Palette;
+import org.spongepowered.api.world.schematic.PaletteTypes;
+import org.spongepowered.api.world.schematic.Schematic;
+import org.spongepowered.common.util.Constants;
+import org.spongepowered.common.util.gen.ArrayMutableBlockBuffer;
+import org.spongepowered.common.util.gen.PackedBlockIds;
+import org.spongepowered.common.world.schematic.BimapPalette;
+import org.spongepowered.common.world.schematic.SpongeSchematicBuilder;
+import org.spongepowered.lwts.runner.LaunchWrapperTestRunner;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+@RunWith(LaunchWrapperTestRunner.class)
+public class StreamingSchematicCodecTest {
+
+    private static final int WIDTH = 13;
+    private static final int HEIGHT = 7;
+    private static final int LENGTH = 11;
+    // Every id below 485 is used at least once by a palette up to that size
+    private static final StreamingSchematicCodec.BlockIdSource PATTERN = (x, y, z) -> x * 31 + y * 17 + z;
+
+    @Test
+    public void testNarrowPalette() throws IOException {
+        assertMatchesTranslator(20);
+    }
+
+    @Test
+    public void testWidePalette() throws IOException {
+        // Ids above 127 take two bytes, ids above 255 no longer fit in the initial packing
+        assertMatchesTranslator(300);
+    }
+
+    @Test
+    public void testThreeByteIds() throws IOException {
+        final StreamingSchematicCodec.BlockIdSource ids = (x, y, z) -> PATTERN.getId(x, y, z) * 200;
+        final byte[] blockData = write(ids);
+        assertEquals(StreamingSchematicCodec.getBlockDataLength(ids, WIDTH, HEIGHT, LENGTH), blockData.length);
+
+        final PackedBlockIds read = read(blockData, WIDTH, HEIGHT, LENGTH, Integer.MAX_VALUE);
+        assertEquals(PATTERN.getId(WIDTH - 1, HEIGHT - 1, LENGTH - 1) * 200, read.getHighestId());
+        assertIds(ids, read);
+    }
+
+    @Test(expected = InvalidDataException.class)
+    public void testIdOutsidePalette() throws IOException {
+        read(write(PATTERN), WIDTH, HEIGHT, LENGTH, 255);
+    }
+
+    @Test(expected = InvalidDataException.class)
+    public void testMoreBlocksThanSize() throws IOException {
+        read(write(PATTERN), WIDTH, HEIGHT, LENGTH - 1, Integer.MAX_VALUE);
+    }
+
+    @Test(expected = InvalidDataException.class)
+    public void testOversizedVarInt() throws IOException {
+        final byte[] blockData = {(byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, 0x01};
+        read(blockData, 1, 1, 1, Integer.MAX_VALUE);
+    }
+
+    private static void assertMatchesTranslator(final int paletteSize) throws IOException {
+        final Schematic schematic = createSchematic(paletteSize);
+        final Palette<BlockState> palette = schematic.getPalette();
+        final Vector3i min = schematic.getBlockMin();
+        final StreamingSchematicCodec.BlockIdSource ids =
+            (x, y, z) -> palette.getOrAssign(schematic.getBlock(min.getX() + x, min.getY() + y, min.getZ() + z));
+        assertEquals(paletteSize - 1, palette.getHighestId());
+
+        final byte[] translated = (byte[]) SchematicTranslator.get().translate(schematic).get(Constants.Sponge.Schematic.BLOCK_DATA).get();
+        assertArrayEquals(translated, write(ids));
+
+        final PackedBlockIds read = read(translated, WIDTH, HEIGHT, LENGTH, palette.getHighestId());
+        assertEquals(palette.getHighestId(), read.getHighestId());
+        assertIds(ids, read);
+    }
+
+    private static Schematic createSchematic(final int paletteSize) {
+        final Set<BlockState> distinctStates = new LinkedHashSet<>();
+        for (final IBlockState state : Block.BLOCK_STATE_IDS) {
+            if (distinctStates.size() == paletteSize) {
+                break;
+            }
+            distinctStates.add((BlockState) state);
+        }
+        final List<BlockState> states = new ArrayList<>(distinctStates);
+        assertEquals(paletteSize, states.size());
+
+        final Vector3i min = new Vector3i(-4, 2, -7);
+        final ArrayMutableBlockBuffer buffer =
+            new ArrayMutableBlockBuffer(new BimapPalette<>(PaletteTypes.LOCAL_BLOCKS), min, new Vector3i(WIDTH, HEIGHT, LENGTH));
+        for (int y = 0; y < HEIGHT; y++) {
+            for (int z = 0; z < LENGTH; z++) {
+                for (int x = 0; x < WIDTH; x++) {
+                    buffer.setBlock(min.getX() + x, min.getY() + y, min.getZ() + z, states.get(PATTERN.getId(x, y, z) % paletteSize));
+                }
+            }
+        }
+        return new SpongeSchematicBuilder()
+            .blocks(buffer)
+            .blockPalette(buffer.getPalette())
+            .build();
+    }
+
+    private static byte[] write(final StreamingSchematicCodec.BlockIdSource ids) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        StreamingSchematicCodec.writeBlockData(new DataOutputStream(bytes), ids, WIDTH, HEIGHT, LENGTH);
+        return bytes.toByteArray();
+    }
+
+    private static PackedBlockIds read(final byte[] blockData, final int width, final int height, final int length, final int maxId)
+        throws IOException {
+        return StreamingSchematicCodec.readBlockData(new DataInputStream(new ByteArrayInputStream(blockData)), blockData.length,
+            width, height, length, 0xFF, maxId);
+    }
+
+    private static void assertIds(final StreamingSchematicCodec.BlockIdSource expected, final PackedBlockIds actual) {
+        assertEquals(WIDTH * HEIGHT * LENGTH, actual.size());
+        for (int y = 0; y < HEIGHT; y++) {
+            for (int z = 0; z < LENGTH; z++) {
+                for (int x = 0; x < WIDTH; x++) {
+                    assertEquals(expected.getId(x, y, z), actual.get(x * HEIGHT * LENGTH + z * HEIGHT + y));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.entity;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+public class PlayerTrackerTableTest {
+
+    @Test
+    public void testOwnerAndNotifierDefaults() {
+        final PlayerTrackerTable table = new PlayerTrackerTable();
+        assertFalse(table.containsKey(5));
+        assertEquals(-1, table.getOwner(5));
+
+        table.setNotifier(5, 3);
+        assertTrue(table.containsKey(5));
+        assertEquals(-1, table.getOwner(5));
+        assertEquals(3, table.getNotifier(5));
+
+        table.setOwner(5, 7);
+        assertEquals(7, table.getOwner(5));
+        assertEquals(3, table.getNotifier(5));
+        assertEquals(1, table.size());
+    }
+
+    @Test
+    public void testGrowThroughSetters() {
+        final PlayerTrackerTable table = new PlayerTrackerTable();
+        for (int key = 1; key <= 1000; key++) {
+            table.setNotifier(key, key);
+        }
+        for (int key = -1; key >= -1000; key--) {
+            table.setOwner(key, -key);
+        }
+        assertEquals(2000, table.size());
+        for (int key = 1; key <= 1000; key++) {
+            assertEquals(key, table.getNotifier(key));
+            assertEquals(-1, table.getOwner(key));
+            assertEquals(key, table.getOwner(-key));
+            assertEquals(-1, table.getNotifier(-key));
+        }
+    }
+
+    @Test
+    public void testZeroAndNegativeKeys() {
+        final PlayerTrackerTable table = new PlayerTrackerTable();
+        table.put(0, 1, 2);
+        table.put(Short.MIN_VALUE, 3, 4);
+        table.put(-1, 5, 6);
+        assertEquals(3, table.size());
+        assertEquals(1, table.getOwner(0));
+        assertEquals(4, table.getNotifier(Short.MIN_VALUE));
+        assertEquals(5, table.getOwner(-1));
+
+        table.remove(0);
+        assertFalse(table.containsKey(0));
+        assertEquals(2, table.size());
+    }
+
+    @Test
+    public void testMatchesHashMap() {
+        final Random random = new Random(42);
+        final PlayerTrackerTable table = new PlayerTrackerTable();
+        final Map<Integer, int[]> expected = new HashMap<>();
+        for (int i = 0; i < 100000; i++) {
+            // Small key range so puts and removes collide often
+            final int key = random.nextInt(4096) - 2048;
+            if (random.nextInt(4) == 0) {
+                table.remove(key);
+                expected.remove(key);
+            } else {
+                final int owner = random.nextInt(16);
+                final int notifier = random.nextInt(16);
+                table.put(key, owner, notifier);
+                expected.put(key, new int[] {owner, notifier});
+            }
+        }
+        assertEquals(expected.size(), table.size());
+        for (int key = -2048; key < 2048; key++) {
+            final int[] indices = expected.get(key);
+            assertEquals(indices != null, table.containsKey(key));
+            if (indices != null) {
+                assertEquals(indices[0], table.getOwner(key));
+                assertEquals(indices[1], table.getNotifier(key));
+            }
+        }
+    }
+
+    @Test
+    public void testPackedRoundTrip() {
+        final PlayerTrackerTable table = new PlayerTrackerTable();
+        for (int i = -100; i < 100; i++) {
+            table.put(i * 31, i, -i);
+        }
+        // Entries without an owner or notifier aren't kept
+        final int[] packed = Arrays.copyOf(table.toPackedArray(), table.size() * 3 + 3);
+        packed[packed.length - 3] = 12345;
+        packed[packed.length - 2] = -1;
+        packed[packed.length - 1] = -1;
+
+        final PlayerTrackerTable read = PlayerTrackerTable.fromPackedArray(packed);
+        assertEquals(table.size(), read.size());
+        assertFalse(read.containsKey(12345));
+        final int[] original = table.toPackedArray();
+        final int[] copied = read.toPackedArray();
+        assertArrayEquals(sortTriples(original), sortTriples(copied));
+    }
+
+    private static int[] sortTriples(final int[] packed) {
+        final int[] keys = new int[packed.length / 3];
+        final Map<Integer, Integer> offsets = new HashMap<>();
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = packed[i * 3];
+            offsets.put(packed[i * 3], i * 3);
+        }
+        Arrays.sort(keys);
+        final int[] sorted = new int[packed.length];
+        for (int i = 0; i < keys.length; i++) {
+            final int offset = offsets.get(keys[i]);
+            System.arraycopy(packed, offset, sorted, i * 3, 3);
+        }
+        return sorted;
+    }
+}
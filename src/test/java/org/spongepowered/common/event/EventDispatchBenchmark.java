@@ -0,0 +1,130 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.spongepowered.api.plugin.PluginContainer;
+import org.spongepowered.api.plugin.PluginManager;
+import org.spongepowered.common.config.category.EventDispatchCategory;
+import org.spongepowered.common.event.listener.SimpleListener;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of posting an event to a number of annotated listeners,
+ * with and without compiled dispatchers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class EventDispatchBenchmark {
+
+    @Param({"0", "1", "10", "50"})
+    public int listeners;
+
+    @Param({"false", "true"})
+    public boolean compiled;
+
+    private SpongeEventManager eventManager;
+    private EventFilterTest.SubEvent event;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        final PluginManager pluginManager = mock(PluginManager.class);
+        final PluginContainer container = mock(PluginContainer.class);
+        when(container.getId()).thenReturn("benchmark");
+        final Object plugin = new Object();
+        when(pluginManager.fromInstance(plugin)).thenReturn(Optional.of(container));
+
+        this.eventManager = new BenchmarkEventManager(LogManager.getLogger("sponge"), pluginManager, this.compiled);
+        for (int i = 0; i < this.listeners; i++) {
+            this.eventManager.registerListeners(plugin, new SimpleListener());
+        }
+        this.event = new EventFilterTest.SubEvent(EventFilterTest.TEST_CAUSE);
+        // Compiles the dispatcher before measuring
+        this.eventManager.postServer(this.event);
+    }
+
+    @Benchmark
+    public boolean post() {
+        return this.eventManager.postServer(this.event);
+    }
+
+    /**
+     * Posts every event as if it was posted off the main thread, so only
+     * the dispatch itself is measured and no cause stack or timings are
+     * needed.
+     */
+    private static final class BenchmarkEventManager extends SpongeEventManager {
+
+        private final EventDispatchCategory config;
+
+        BenchmarkEventManager(final Logger logger, final PluginManager pluginManager, final boolean compiled) {
+            super(logger, pluginManager);
+            this.config = new EventDispatchCategory() {
+
+                @Override
+                public boolean isCompiled() {
+                    return compiled;
+                }
+
+                @Override
+                public int getCompileThreshold() {
+                    return 1;
+                }
+            };
+        }
+
+        @Override
+        protected EventDispatchCategory getDispatchConfig() {
+            return this.config;
+        }
+
+        @Override
+        protected boolean isMainThread() {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,236 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import co.aikar.timings.Timing;
+import co.aikar.timings.Timings;
+import co.aikar.timings.TimingsFactory;
+import com.google.common.collect.ImmutableList;
+import org.apache.logging.log4j.Logger;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.spongepowered.api.event.CauseStackManager;
+import org.spongepowered.api.plugin.PluginContainer;
+import org.spongepowered.api.plugin.PluginManager;
+import org.spongepowered.common.InjectedTest;
+import org.spongepowered.common.config.category.EventDispatchCategory;
+import org.spongepowered.common.event.listener.DispatchOrderListener;
+import org.spongepowered.lwts.runner.LaunchWrapperTestRunner;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+@RunWith(LaunchWrapperTestRunner.class)
+public class EventDispatcherTest extends InjectedTest {
+
+    private PluginManager pluginManager;
+    private Object plugin;
+    private Object untrackedPlugin;
+    private DispatchOrderListener listener;
+
+    @Before
+    public void init() throws ReflectiveOperationException {
+        // Timings are disabled by the mocked factory
+        final Field field = Timings.class.getDeclaredField("factory");
+        field.setAccessible(true);
+        final Field modifiersField = Field.class.getDeclaredField("modifiers");
+        modifiersField.setAccessible(true);
+        modifiersField.setInt(field, field.getModifiers() & ~Modifier.FINAL);
+        field.set(null, mock(TimingsFactory.class));
+
+        this.pluginManager = mock(PluginManager.class);
+        this.plugin = new Object();
+        this.untrackedPlugin = new Object();
+        final PluginContainer container = mock(PluginContainer.class);
+        when(container.getId()).thenReturn("tracked");
+        when(this.pluginManager.fromInstance(this.plugin)).thenReturn(Optional.of(container));
+        final PluginContainer untrackedContainer = mock(PluginContainer.class);
+        when(untrackedContainer.getId()).thenReturn("untracked");
+        when(this.pluginManager.fromInstance(this.untrackedPlugin)).thenReturn(Optional.of(untrackedContainer));
+
+        this.listener = new DispatchOrderListener();
+    }
+
+    @Test
+    public void testListenerOrder() {
+        final TestEventManager eventManager = this.createEventManager(this.plugin, true);
+
+        assertFalse(eventManager.postServer(new EventFilterTest.SubEvent(EventFilterTest.TEST_CAUSE)));
+        assertCompiled(eventManager);
+        assertEquals(ImmutableList.of("first", "early", "default", "late", "last"), this.listener.calls);
+        assertEquals(5, eventManager.frames.size());
+        for (final CauseStackManager.StackFrame frame : eventManager.frames) {
+            verify(frame).close();
+        }
+    }
+
+    @Test
+    public void testListenerOrderOffMainThread() {
+        final TestEventManager eventManager = this.createEventManager(this.plugin, false);
+
+        eventManager.postServer(new EventFilterTest.SubEvent(EventFilterTest.TEST_CAUSE));
+        assertCompiled(eventManager);
+        assertEquals(ImmutableList.of("first", "early", "default", "late", "last"), this.listener.calls);
+        assertTrue(eventManager.frames.isEmpty());
+    }
+
+    @Test
+    public void testFailingListenerIsIsolated() {
+        final TestEventManager eventManager = this.createEventManager(this.plugin, true);
+        this.listener.failEarly = true;
+
+        eventManager.postServer(new EventFilterTest.SubEvent(EventFilterTest.TEST_CAUSE));
+        assertCompiled(eventManager);
+        assertEquals(ImmutableList.of("first", "early", "default", "late", "last"), this.listener.calls);
+        assertEquals(5, eventManager.frames.size());
+        for (final CauseStackManager.StackFrame frame : eventManager.frames) {
+            verify(frame).close();
+        }
+    }
+
+    @Test
+    public void testFailingFrameCloseIsIsolated() {
+        final TestEventManager eventManager = this.createEventManager(this.plugin, true);
+        eventManager.failingTimingClose = 1;
+
+        eventManager.postServer(new EventFilterTest.SubEvent(EventFilterTest.TEST_CAUSE));
+        assertCompiled(eventManager);
+        assertEquals(ImmutableList.of("first", "early", "default", "late", "last"), this.listener.calls);
+        assertEquals(5, eventManager.frames.size());
+        for (final CauseStackManager.StackFrame frame : eventManager.frames) {
+            verify(frame).close();
+        }
+    }
+
+    @Test
+    public void testCancellation() {
+        final TestEventManager eventManager = this.createEventManager(this.plugin, true);
+        this.listener.cancel = true;
+
+        final EventFilterTest.SubEvent event = new EventFilterTest.SubEvent(EventFilterTest.TEST_CAUSE);
+        assertTrue(eventManager.postServer(event));
+        assertCompiled(eventManager);
+        assertTrue(event.isCancelled());
+        // Listeners not accepting cancelled events are skipped once the event was cancelled
+        assertEquals(ImmutableList.of("first", "early", "default", "last"), this.listener.calls);
+    }
+
+    @Test
+    public void testUntrackedPlugins() {
+        final TestEventManager trackedManager = this.createEventManager(this.plugin, true);
+        trackedManager.postServer(new EventFilterTest.SubEvent(EventFilterTest.TEST_CAUSE));
+        assertCompiled(trackedManager);
+        assertEquals(Collections.nCopies(5, true), trackedManager.tracked);
+
+        this.listener = new DispatchOrderListener();
+        final TestEventManager untrackedManager = this.createEventManager(this.untrackedPlugin, true);
+        untrackedManager.postServer(new EventFilterTest.SubEvent(EventFilterTest.TEST_CAUSE));
+        assertCompiled(untrackedManager);
+        assertEquals(Collections.nCopies(5, false), untrackedManager.tracked);
+    }
+
+    private TestEventManager createEventManager(final Object plugin, final boolean mainThread) {
+        final TestEventManager eventManager = new TestEventManager(this.logger, this.pluginManager, mainThread);
+        eventManager.registerListeners(plugin, this.listener);
+        return eventManager;
+    }
+
+    private static void assertCompiled(final TestEventManager eventManager) {
+        assertNotNull("No dispatcher was generated", eventManager.getHandlerCache(new EventFilterTest.SubEvent(EventFilterTest.TEST_CAUSE))
+            .dispatcher);
+    }
+
+    /**
+     * Generates a dispatcher on the first post and records the listener
+     * frames it opens instead of entering the cause stack and phases.
+     */
+    private static final class TestEventManager extends SpongeEventManager {
+
+        private final EventDispatchCategory config;
+        private final boolean mainThread;
+        final List<CauseStackManager.StackFrame> frames = new ArrayList<>();
+        final List<Boolean> tracked = new ArrayList<>();
+        // The index of the frame whose timing fails to close, or -1
+        int failingTimingClose = -1;
+
+        TestEventManager(final Logger logger, final PluginManager pluginManager, final boolean mainThread) {
+            super(logger, pluginManager);
+            this.mainThread = mainThread;
+            this.config = new EventDispatchCategory() {
+
+                @Override
+                public boolean isCompiled() {
+                    return true;
+                }
+
+                @Override
+                public int getCompileThreshold() {
+                    return 1;
+                }
+
+                @Override
+                public List<String> getUntrackedListenerPlugins() {
+                    return ImmutableList.of("untracked");
+                }
+            };
+        }
+
+        @Override
+        protected EventDispatchCategory getDispatchConfig() {
+            return this.config;
+        }
+
+        @Override
+        protected boolean isMainThread() {
+            return this.mainThread;
+        }
+
+        @Override
+        EventDispatcher.ListenerFrame openListenerFrame(final RegisteredListener<?> handler, final boolean tracked) {
+            final CauseStackManager.StackFrame frame = mock(CauseStackManager.StackFrame.class);
+            final Timing timing = mock(Timing.class);
+            if (this.frames.size() == this.failingTimingClose) {
+                doThrow(new IllegalStateException("Timing failure")).when(timing).close();
+            }
+            this.frames.add(frame);
+            this.tracked.add(tracked);
+            return new EventDispatcher.ListenerFrame(frame, null, timing);
+        }
+    }
+}
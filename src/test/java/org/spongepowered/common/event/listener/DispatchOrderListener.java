@@ -0,0 +1,74 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event.listener;
+
+import org.spongepowered.api.event.Listener;
+import org.spongepowered.api.event.Order;
+import org.spongepowered.api.event.filter.IsCancelled;
+import org.spongepowered.api.util.Tristate;
+import org.spongepowered.common.event.EventFilterTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class DispatchOrderListener {
+
+    public final List<String> calls = new ArrayList<>();
+    public boolean failEarly;
+    public boolean cancel;
+
+    @Listener(order = Order.LAST)
+    @IsCancelled(Tristate.UNDEFINED)
+    public void last(EventFilterTest.SubEvent event) {
+        this.calls.add("last");
+    }
+
+    @Listener(order = Order.LATE)
+    public void late(EventFilterTest.SubEvent event) {
+        this.calls.add("late");
+    }
+
+    @Listener
+    public void normal(EventFilterTest.SubEvent event) {
+        this.calls.add("default");
+        if (this.cancel) {
+            event.setCancelled(true);
+        }
+    }
+
+    @Listener(order = Order.EARLY)
+    public void early(EventFilterTest.SubEvent event) {
+        this.calls.add("early");
+        if (this.failEarly) {
+            throw new IllegalStateException("Listener failure");
+        }
+    }
+
+    @Listener(order = Order.FIRST)
+    public void first(EventFilterTest.SubEvent event) {
+        this.calls.add("first");
+    }
+
+}
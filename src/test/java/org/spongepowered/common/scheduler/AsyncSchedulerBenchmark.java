@@ -0,0 +1,142 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.scheduler;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.spongepowered.api.plugin.PluginContainer;
+import org.spongepowered.api.scheduler.Task;
+import org.spongepowered.common.config.category.SchedulerCategory;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the latency between submitting an immediate task to the
+ * {@link AsyncScheduler} and the task being dispatched, while a number of
+ * idle repeating tasks are scheduled, against the per wake-up cost of the
+ * previous scheduler. Run with {@code gradlew jmh -PjmhIncludes=AsyncSchedulerBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class AsyncSchedulerBenchmark {
+
+    @Param({"100", "10000", "100000"})
+    public int scheduledTasks;
+
+    private AsyncScheduler scheduler;
+    private PluginContainer plugin;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.plugin = mock(PluginContainer.class);
+        when(this.plugin.getId()).thenReturn("benchmark");
+        this.scheduler = new DirectAsyncScheduler();
+        final long hour = TimeUnit.HOURS.toNanos(1);
+        for (int i = 0; i < this.scheduledTasks; i++) {
+            this.scheduler.addTask(new ScheduledTask(ScheduledTask.TaskSynchronicity.ASYNCHRONOUS, task -> { }, "idle-" + i,
+                    hour, false, hour, false, this.plugin));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.scheduler.getScheduledTasks().forEach(task -> task.cancel());
+    }
+
+    @Benchmark
+    public void dispatchImmediateTask() throws InterruptedException {
+        final CountDownLatch latch = new CountDownLatch(1);
+        this.scheduler.addTask(new ScheduledTask(ScheduledTask.TaskSynchronicity.ASYNCHRONOUS, task -> latch.countDown(), "probe",
+                0, false, 0, false, this.plugin));
+        latch.await();
+    }
+
+    /**
+     * Baseline: the work the previous scheduler did on every wake-up before
+     * it could dispatch anything, recalibrating its timeout over a copy of
+     * every scheduled task. It then also scanned every task again to start
+     * the due ones, so this is a lower bound of its dispatch latency.
+     */
+    @Benchmark
+    public long recalibrateTimeoutBaseline() {
+        long minimumTimeout = Long.MAX_VALUE;
+        final long now = System.nanoTime();
+        for (final Task scheduled : this.scheduler.getScheduledTasks()) {
+            final ScheduledTask task = (ScheduledTask) scheduled;
+            if (task.getState() == ScheduledTask.ScheduledTaskState.EXECUTING) {
+                continue;
+            }
+            if (task.offset == 0 && task.period == 0) {
+                minimumTimeout = 0;
+            }
+            final long timeSinceLast = now - task.getTimestamp();
+            if (task.offset > 0 && task.getState() == ScheduledTask.ScheduledTaskState.WAITING) {
+                minimumTimeout = Math.min(task.offset - timeSinceLast, minimumTimeout);
+            }
+            if (task.period > 0 && task.getState().isActive) {
+                minimumTimeout = Math.min(task.period - timeSinceLast, minimumTimeout);
+            }
+            if (minimumTimeout <= 0) {
+                break;
+            }
+        }
+        return minimumTimeout;
+    }
+
+    /**
+     * Runs the task consumer directly on the scheduler thread so that only
+     * the dispatch cost is measured, not the executor hand-off or timings.
+     */
+    private static final class DirectAsyncScheduler extends AsyncScheduler {
+
+        DirectAsyncScheduler() {
+            super(new SchedulerCategory());
+        }
+
+        @Override
+        protected void startTask(ScheduledTask task) {
+            task.getConsumer().accept(task);
+        }
+    }
+}
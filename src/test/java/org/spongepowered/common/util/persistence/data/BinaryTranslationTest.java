@@ -0,0 +1,105 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.util.persistence.data;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.Test;
+import org.spongepowered.api.data.DataContainer;
+import org.spongepowered.api.data.DataQuery;
+import org.spongepowered.api.data.DataView;
+import org.spongepowered.common.data.persistence.BinaryDataFormat;
+import org.spongepowered.common.data.persistence.DataSerializers;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+public class BinaryTranslationTest {
+
+    private static DataContainer roundTrip(DataView view) throws IOException {
+        final BinaryDataFormat binary = new BinaryDataFormat("binary");
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        binary.writeTo(out, view);
+        return binary.readFrom(new ByteArrayInputStream(out.toByteArray()));
+    }
+
+    @Test
+    public void testSerializable() throws IOException {
+        final DataContainer container = DataContainer.createNew(DataView.SafetyMode.NO_DATA_CLONED);
+        container.set(DataQuery.of("foo"), "bar");
+        container.set(DataQuery.of("myFake"), new FakeSerializable("bar", 7, 10.0D, "nested"));
+        assertEquals(container, roundTrip(container));
+    }
+
+    @Test
+    public void testDotContainerKeys() throws IOException {
+        final DataContainer container = DataContainer.createNew(DataView.SafetyMode.NO_DATA_CLONED).set(DataQuery.of("my.key.to.data"), 1);
+        assertEquals(container, roundTrip(container));
+    }
+
+    @Test
+    public void testUUID() throws IOException {
+        final DataContainer container = DataContainer.createNew();
+        container.set(DataQuery.of("uuid"), DataSerializers.UUID_DATA_SERIALIZER.translate(UUID.randomUUID()));
+        assertEquals(container, roundTrip(container));
+    }
+
+    @Test
+    public void testNumbers() throws IOException {
+        final DataContainer container = DataContainer.createNew()
+            .set(DataQuery.of("byte"), (byte) -3)
+            .set(DataQuery.of("short"), (short) -300)
+            .set(DataQuery.of("integer"), Integer.MIN_VALUE)
+            .set(DataQuery.of("long"), Long.MAX_VALUE)
+            .set(DataQuery.of("float"), 1.5F)
+            .set(DataQuery.of("double"), 1.0)
+            .set(DataQuery.of("boolean"), true)
+            .set(DataQuery.of("char"), 'c');
+        assertEquals(container, roundTrip(container));
+    }
+
+    @Test
+    public void testListsAndArrays() throws IOException {
+        final DataContainer container = DataContainer.createNew()
+            .set(DataQuery.of("ints"), IntStream.range(-16, 16).boxed().collect(Collectors.toList()))
+            .set(DataQuery.of("strings"), ImmutableList.of("a", "b", "a"))
+            .set(DataQuery.of("views"), ImmutableList.of(new FakeSerializable("first", 1, 1.0D, "one"), new FakeSerializable("second", 2, 2.0D, "two")))
+            .set(DataQuery.of("bytes"), new byte[] {1, 2, 3})
+            .set(DataQuery.of("longs"), new long[] {Long.MIN_VALUE, 0, Long.MAX_VALUE});
+        final DataContainer read = roundTrip(container);
+        assertEquals(container.getIntegerList(DataQuery.of("ints")), read.getIntegerList(DataQuery.of("ints")));
+        assertEquals(container.getStringList(DataQuery.of("strings")), read.getStringList(DataQuery.of("strings")));
+        assertEquals(container.getViewList(DataQuery.of("views")), read.getViewList(DataQuery.of("views")));
+        assertArrayEquals((byte[]) container.get(DataQuery.of("bytes")).get(), (byte[]) read.get(DataQuery.of("bytes")).get());
+        assertArrayEquals((long[]) container.get(DataQuery.of("longs")).get(), (long[]) read.get(DataQuery.of("longs")).get());
+    }
+
+}
@@ -0,0 +1,117 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world;
+
+import static org.junit.Assert.assertEquals;
+
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.init.Blocks;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.EnumSkyBlock;
+import net.minecraft.world.World;
+import net.minecraft.world.WorldProvider;
+import net.minecraft.world.WorldServer;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.storage.ExtendedBlockStorage;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mockito;
+import org.spongepowered.lwts.runner.LaunchWrapperTestRunner;
+
+import java.lang.reflect.Field;
+
+@RunWith(LaunchWrapperTestRunner.class)
+public class BlockEditSessionTest {
+
+    private static final int GROUND = 4;
+    private static final BlockPos ROOF = new BlockPos(8, 20, 8);
+
+    private Chunk chunk;
+
+    @Before
+    public void setUp() throws ReflectiveOperationException {
+        final WorldServer world = Mockito.mock(WorldServer.class);
+        final WorldProvider provider = Mockito.mock(WorldProvider.class);
+        Mockito.when(provider.hasSkyLight()).thenReturn(true);
+        final Field providerField = World.class.getDeclaredField("provider");
+        providerField.setAccessible(true);
+        providerField.set(world, provider);
+
+        this.chunk = new Chunk(world, 0, 0);
+        final ExtendedBlockStorage[] storageArray = this.chunk.getBlockStorageArray();
+        storageArray[0] = new ExtendedBlockStorage(0, true);
+        storageArray[1] = new ExtendedBlockStorage(16, true);
+        for (int x = 0; x < 16; x++) {
+            for (int z = 0; z < 16; z++) {
+                for (int y = 0; y < GROUND; y++) {
+                    storageArray[0].set(x, y, z, Blocks.STONE.getDefaultState());
+                }
+            }
+        }
+        this.chunk.generateSkylightMap();
+    }
+
+    private void setBlock(BlockPos pos, IBlockState state) {
+        final IBlockState oldState = this.chunk.getBlockState(pos);
+        final int height = this.chunk.getHeightValue(pos.getX() & 15, pos.getZ() & 15);
+        this.chunk.getBlockStorageArray()[pos.getY() >> 4].set(pos.getX() & 15, pos.getY() & 15, pos.getZ() & 15, state);
+        BlockEditSession.relightColumn(this.chunk, pos, height, oldState.getLightOpacity(), state.getLightOpacity());
+    }
+
+    private int getSkyLight(int y) {
+        return this.chunk.getLightFor(EnumSkyBlock.SKY, new BlockPos(ROOF.getX(), y, ROOF.getZ()));
+    }
+
+    @Test
+    public void testRoofDarkensColumn() {
+        assertEquals(15, getSkyLight(ROOF.getY() - 1));
+
+        setBlock(ROOF, Blocks.STONE.getDefaultState());
+        assertEquals(ROOF.getY() + 1, this.chunk.getHeightValue(ROOF.getX(), ROOF.getZ()));
+        assertEquals(15, getSkyLight(ROOF.getY() + 1));
+        for (int y = GROUND; y <= ROOF.getY(); y++) {
+            assertEquals("Stale sky light at y " + y, 0, getSkyLight(y));
+        }
+    }
+
+    @Test
+    public void testRoofRemovalLightsColumn() {
+        setBlock(ROOF, Blocks.STONE.getDefaultState());
+        setBlock(ROOF, Blocks.AIR.getDefaultState());
+        assertEquals(GROUND, this.chunk.getHeightValue(ROOF.getX(), ROOF.getZ()));
+        for (int y = GROUND; y <= ROOF.getY() + 1; y++) {
+            assertEquals("Missing sky light at y " + y, 15, getSkyLight(y));
+        }
+    }
+
+    @Test
+    public void testTransparentBlockKeepsColumnLit() {
+        setBlock(ROOF, Blocks.GLASS.getDefaultState());
+        assertEquals(GROUND, this.chunk.getHeightValue(ROOF.getX(), ROOF.getZ()));
+        assertEquals(15, getSkyLight(ROOF.getY() - 1));
+    }
+
+}
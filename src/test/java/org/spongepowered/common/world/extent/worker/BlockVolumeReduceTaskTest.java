@@ -0,0 +1,116 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.extent.worker;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.spongepowered.api.world.extent.UnmodifiableBlockVolume;
+import org.spongepowered.api.world.extent.worker.procedure.BlockVolumeReducer;
+
+import java.util.concurrent.ForkJoinPool;
+
+public class BlockVolumeReduceTaskTest {
+
+    private static final long PRIME = 1_000_003L;
+
+    private static ForkJoinPool pool;
+
+    @BeforeClass
+    public static void startPool() {
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterClass
+    public static void stopPool() {
+        pool.shutdown();
+    }
+
+    @Test
+    public void testSectionAlignedVolume() {
+        assertSameAsSerial(0, 0, 0, 63, 31, 47);
+    }
+
+    @Test
+    public void testUnalignedVolume() {
+        assertSameAsSerial(-21, 3, -37, 15, 40, 9);
+    }
+
+    @Test
+    public void testSingleLayer() {
+        assertSameAsSerial(-100, 64, 5, 199, 64, 40);
+    }
+
+    @Test
+    public void testSingleRow() {
+        assertSameAsSerial(-5000, 10, 10, 5000, 10, 10);
+    }
+
+    private static void assertSameAsSerial(int xMin, int yMin, int zMin, int xMax, int yMax, int zMax) {
+        final UnmodifiableBlockVolume volume = mock(UnmodifiableBlockVolume.class);
+        final BlockVolumeReducer<Fold> reducer = (v, x, y, z, reduced) -> reduced.visit(x, y, z);
+
+        final Fold serial = BlockVolumeReduceTask.reduce(volume, reducer, Fold.IDENTITY, xMin, yMin, zMin, xMax, yMax, zMax);
+        final Fold split = pool.invoke(new BlockVolumeReduceTask<>(volume, reducer, Fold::merge, Fold.IDENTITY,
+            xMin, yMin, zMin, xMax, yMax, zMax));
+
+        assertEquals((long) (xMax - xMin + 1) * (yMax - yMin + 1) * (zMax - zMin + 1), serial.count);
+        assertEquals(serial.count, split.count);
+        assertEquals(serial.hash, split.hash);
+    }
+
+    /**
+     * A polynomial hash over the visited positions. Merging two folds gives
+     * the same hash as visiting their positions one after another, so any
+     * difference in the visit order changes the result.
+     */
+    private static final class Fold {
+
+        static final Fold IDENTITY = new Fold(0, 0, 1);
+
+        final long hash;
+        final long count;
+        // PRIME to the power of count, with the same overflow as hash
+        final long power;
+
+        private Fold(long hash, long count, long power) {
+            this.hash = hash;
+            this.count = count;
+            this.power = power;
+        }
+
+        Fold visit(int x, int y, int z) {
+            final long position = ((x * 31L + y) * 31L + z) & 0xFFFFFFFFL;
+            return new Fold(this.hash * PRIME + position, this.count + 1, this.power * PRIME);
+        }
+
+        Fold merge(Fold other) {
+            return new Fold(this.hash * other.power + other.hash, this.count + other.count, this.power * other.power);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import net.minecraft.nbt.CompressedStreamTools;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.world.chunk.storage.RegionFile;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loads every chunk of a synthetic 32x32 region through Vanilla's
+ * {@link RegionFile} and through {@link MappedRegionFile}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class RegionFileBenchmark {
+
+    private File directory;
+    private File file;
+    private RegionFile regionFile;
+    private MappedRegionFile mappedRegionFile;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        this.directory = Files.createTempDirectory("sponge-region-benchmark").toFile();
+        this.file = new File(this.directory, "r.0.0.mca");
+        final RegionFile writer = new RegionFile(this.file);
+        final Random random = new Random(0);
+        for (int x = 0; x < 32; x++) {
+            for (int z = 0; z < 32; z++) {
+                try (DataOutputStream stream = writer.getChunkDataOutputStream(x, z)) {
+                    CompressedStreamTools.write(createChunk(random, x, z), stream);
+                }
+            }
+        }
+        writer.close();
+        this.regionFile = new RegionFile(this.file);
+        this.mappedRegionFile = MappedRegionFile.open(this.file.toPath());
+    }
+
+    private static NBTTagCompound createChunk(Random random, int x, int z) {
+        final NBTTagCompound level = new NBTTagCompound();
+        level.setInteger("xPos", x);
+        level.setInteger("zPos", z);
+        final byte[] blocks = new byte[16 * 16 * 256];
+        for (int i = 0; i < blocks.length; i++) {
+            // Mostly uniform data like real terrain, so it compresses similarly
+            blocks[i] = (byte) (random.nextInt(16) == 0 ? random.nextInt(256) : 1);
+        }
+        level.setByteArray("Blocks", blocks);
+        final NBTTagCompound compound = new NBTTagCompound();
+        compound.setTag("Level", level);
+        return compound;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        this.regionFile.close();
+        this.mappedRegionFile.close();
+        this.file.delete();
+        this.directory.delete();
+    }
+
+    @Benchmark
+    public void vanillaRegionFile(Blackhole blackhole) throws IOException {
+        for (int x = 0; x < 32; x++) {
+            for (int z = 0; z < 32; z++) {
+                try (DataInputStream stream = this.regionFile.getChunkDataInputStream(x, z)) {
+                    blackhole.consume(CompressedStreamTools.read(stream));
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public void mappedRegionFile(Blackhole blackhole) throws IOException {
+        for (int x = 0; x < 32; x++) {
+            for (int z = 0; z < 32; z++) {
+                try (DataInputStream stream = this.mappedRegionFile.getChunkDataInputStream(this.regionFile, x, z)) {
+                    blackhole.consume(CompressedStreamTools.read(stream));
+                }
+            }
+        }
+    }
+}